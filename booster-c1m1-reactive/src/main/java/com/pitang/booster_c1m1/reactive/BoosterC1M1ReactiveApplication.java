@@ -0,0 +1,13 @@
+package com.pitang.booster_c1m1.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class BoosterC1M1ReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(BoosterC1M1ReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.pitang.booster_c1m1.reactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * Spring Boot only auto-configures {@code Pageable} arguments for Spring MVC; this registers the reactive
+ * resolver so {@code @PageableDefault} and {@code page/size/sort} behave as in the servlet controller.
+ */
+@Configuration
+public class WebFluxConfig implements WebFluxConfigurer {
+
+    private final int maxPageSize;
+
+    public WebFluxConfig(@Value("${spring.data.web.pageable.max-page-size:2000}") int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        ReactivePageableHandlerMethodArgumentResolver pageableResolver =
+                new ReactivePageableHandlerMethodArgumentResolver();
+        pageableResolver.setMaxPageSize(maxPageSize);
+        configurer.addCustomResolver(pageableResolver);
+    }
+}
@@ -0,0 +1,107 @@
+package com.pitang.booster_c1m1.reactive.controller;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.dto.EmailAvailabilityDTO;
+import com.pitang.booster_c1m1.dto.PaginatedResponseDTO;
+import com.pitang.booster_c1m1.dto.UpdateUserDTO;
+import com.pitang.booster_c1m1.dto.UserBatchRequestDTO;
+import com.pitang.booster_c1m1.dto.UserBatchResponseDTO;
+import com.pitang.booster_c1m1.dto.UserDTO;
+import com.pitang.booster_c1m1.reactive.service.ReactiveUserService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@code /v1/users} contract of the servlet {@code UserController} on WebFlux. Name suggestions are not
+ * offered here since they are served from the servlet instance's in-memory index.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/v1/users")
+@Validated
+@RequiredArgsConstructor
+public class ReactiveUserController {
+
+  private final ReactiveUserService userService;
+
+  @GetMapping
+  public Mono<ResponseEntity<PaginatedResponseDTO<UserDTO>>> getAllUsers(
+      @PageableDefault(size = 10, page = 0) Pageable pageable, @RequestParam(required = false) String name) {
+    log.info("getAllUsers - page: {}, size: {}, name: {}",
+        pageable.getPageNumber(), pageable.getPageSize(), name);
+    return userService.getAllUsers(pageable, name)
+        .map(users -> ResponseEntity.ok(PaginatedResponseDTO.from(users)));
+  }
+
+  @GetMapping("/email-availability")
+  public Mono<ResponseEntity<EmailAvailabilityDTO>> checkEmailAvailability(@RequestParam String email) {
+    return userService.checkEmailAvailability(email).map(ResponseEntity::ok);
+  }
+
+  @GetMapping(params = "ids")
+  public Mono<ResponseEntity<UserBatchResponseDTO>> getUsersByIds(@RequestParam List<Long> ids) {
+    log.info("getUsersByIds - count: {}", ids.size());
+    return userService.getUsersByIds(ids).map(ResponseEntity::ok);
+  }
+
+  @PostMapping("/batch")
+  public Mono<ResponseEntity<UserBatchResponseDTO>> getUsersByIdsBatch(
+      @Valid @RequestBody UserBatchRequestDTO request) {
+    log.info("getUsersByIdsBatch - count: {}", request.getIds().size());
+    return userService.getUsersByIds(request.getIds()).map(ResponseEntity::ok);
+  }
+
+  @GetMapping("/{id}")
+  public Mono<ResponseEntity<UserDTO>> getUserById(@PathVariable Long id) {
+    log.info("getUserById - id: {}", id);
+    return userService.getUserById(id).map(ResponseEntity::ok);
+  }
+
+  @PostMapping
+  public Mono<ResponseEntity<UserDTO>> createUser(@Valid @RequestBody CreateUserDTO createUserDTO) {
+    log.info("createUser - email: {}", createUserDTO.getEmail());
+    return userService.createUser(createUserDTO)
+        .map(user -> ResponseEntity.status(HttpStatus.CREATED).body(user));
+  }
+
+  @PutMapping("/{id}")
+  public Mono<ResponseEntity<UserDTO>> updateUser(
+      @PathVariable Long id, @Valid @RequestBody CreateUserDTO createUserDTO) {
+    log.info("updateUser - id: {}, email: {}", id, createUserDTO.getEmail());
+    return userService.updateUser(id, createUserDTO).map(ResponseEntity::ok);
+  }
+
+  @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", "application/json"})
+  public Mono<ResponseEntity<UserDTO>> patchUser(
+      @PathVariable Long id, @Valid @RequestBody UpdateUserDTO updateUserDTO) {
+    log.info("patchUser - id: {}", id);
+    return userService.patchUser(id, updateUserDTO).map(ResponseEntity::ok);
+  }
+
+  @DeleteMapping("/{id}")
+  public Mono<ResponseEntity<Void>> deleteUser(@PathVariable Long id) {
+    log.info("deleteUser - id: {}", id);
+    return userService.deleteUser(id).then(Mono.fromCallable(() -> ResponseEntity.noContent().<Void>build()));
+  }
+}
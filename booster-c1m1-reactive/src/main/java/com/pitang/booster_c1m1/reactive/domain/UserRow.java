@@ -0,0 +1,46 @@
+package com.pitang.booster_c1m1.reactive.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import com.pitang.booster_c1m1.domain.User;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * R2DBC mapping of the {@code users} table. Converts to and from the shared {@link User} so the
+ * servlet module's {@code UserMapper} produces the DTOs.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("users")
+public class UserRow {
+  @Id
+  private Long id;
+
+  private String name;
+
+  private String email;
+
+  private String password;
+
+  private String createdAt;
+
+  private String updatedAt;
+
+  public static UserRow from(User user) {
+    return new UserRow(user.getId(), user.getName(), user.getEmail(), user.getPassword(), user.getCreatedAt(),
+        user.getUpdatedAt());
+  }
+
+  public User toUser() {
+    return new User(id, name, email, password, createdAt, updatedAt);
+  }
+}
@@ -0,0 +1,23 @@
+package com.pitang.booster_c1m1.reactive.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+
+import com.pitang.booster_c1m1.reactive.domain.UserRow;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mirrors {@code UserRepository}: R2DBC derives a query for every method, and {@link Pageable}
+ * parameters become LIMIT/OFFSET with the page's sort. Totals come from the count methods.
+ */
+@Repository
+public interface ReactiveUserRepository extends R2dbcRepository<UserRow, Long> {
+  Mono<Boolean> existsByEmail(String email);
+  Mono<Boolean> existsByEmailAndIdNot(String email, Long id);
+  Flux<UserRow> findByNameContainingIgnoreCase(String name, Pageable pageable);
+  Mono<Long> countByNameContainingIgnoreCase(String name);
+  Flux<UserRow> findAllBy(Pageable pageable);
+}
@@ -0,0 +1,258 @@
+package com.pitang.booster_c1m1.reactive.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.dto.EmailAvailabilityDTO;
+import com.pitang.booster_c1m1.dto.UpdateUserDTO;
+import com.pitang.booster_c1m1.dto.UserBatchResponseDTO;
+import com.pitang.booster_c1m1.dto.UserDTO;
+import com.pitang.booster_c1m1.mapper.UserMapper;
+import com.pitang.booster_c1m1.reactive.domain.UserRow;
+import com.pitang.booster_c1m1.reactive.repository.ReactiveUserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the servlet module's {@code UserService}: same validation, status codes
+ * and metrics names, with every database call returning a {@link Mono} or {@code Flux}. Rows pass
+ * through the shared {@link User} so {@link UserMapper} builds the DTOs.
+ *
+ * <p>Writes here skip everything the servlet module does around a write (outbox, audit trail, cluster
+ * invalidation, email filter), so they are refused with 403 unless {@code users.reactive.writes-enabled}
+ * is set, which is only safe on a database no servlet node uses.
+ */
+@Slf4j
+@Service
+public class ReactiveUserService {
+    private static final UserMapper MAPPER = UserMapper.INSTANCE;
+    public static final int MAX_BATCH_IDS = 500;
+
+    private final ReactiveUserRepository userRepository;
+    private final Counter userCreatedCounter;
+    private final Counter userUpdatedCounter;
+    private final Counter userDeletedCounter;
+    private final Counter userNotFoundCounter;
+    private final Counter emailConflictCounter;
+    private final boolean writesEnabled;
+
+    public ReactiveUserService(ReactiveUserRepository userRepository, MeterRegistry meterRegistry,
+            @Value("${users.reactive.writes-enabled:false}") boolean writesEnabled) {
+        this.userRepository = userRepository;
+        this.writesEnabled = writesEnabled;
+        this.userCreatedCounter = meterRegistry.counter("users.created.total");
+        this.userUpdatedCounter = meterRegistry.counter("users.updated.total");
+        this.userDeletedCounter = meterRegistry.counter("users.deleted.total");
+        this.userNotFoundCounter = meterRegistry.counter("users.not_found.total");
+        this.emailConflictCounter = meterRegistry.counter("users.email_conflict.total");
+    }
+
+    public Mono<Page<UserDTO>> getAllUsers(Pageable pageable, String name) {
+        log.debug("Fetching users from database - name filter: {}", name);
+        if (name != null) {
+            return userRepository.findByNameContainingIgnoreCase(name, pageable).map(UserRow::toUser).collectList()
+                    .zipWith(userRepository.countByNameContainingIgnoreCase(name))
+                    .map(result -> toPage(result.getT1(), pageable, result.getT2()));
+        }
+        return userRepository.findAllBy(pageable).map(UserRow::toUser).collectList()
+                .zipWith(userRepository.count())
+                .map(result -> toPage(result.getT1(), pageable, result.getT2()));
+    }
+
+    public Mono<UserDTO> getUserById(Long id) {
+        log.debug("Searching for user with id: {}", id);
+        return findExisting(id).map(row -> MAPPER.toDto(row.toUser()));
+    }
+
+    /** Same contract as {@code UserService.getUsersByIds}: request order kept, missing ids reported. */
+    public Mono<UserBatchResponseDTO> getUsersByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one user ID is required"));
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > MAX_BATCH_IDS) {
+            log.warn("Batch lookup rejected - {} ids requested, limit is {}", uniqueIds.size(), MAX_BATCH_IDS);
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BATCH_IDS + " user IDs can be requested at once"));
+        }
+        if (uniqueIds.contains(null)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid user ID"));
+        }
+
+        return userRepository.findAllById(uniqueIds)
+                .collect(Collectors.toMap(UserRow::getId, Function.identity()))
+                .map(usersById -> toBatch(uniqueIds, usersById));
+    }
+
+    public Mono<EmailAvailabilityDTO> checkEmailAvailability(String email) {
+        if (email == null || email.isBlank()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email is required"));
+        }
+        return userRepository.existsByEmail(email).map(exists -> new EmailAvailabilityDTO(email, !exists));
+    }
+
+    @Transactional
+    public Mono<UserDTO> createUser(CreateUserDTO createUserDTO) {
+        log.debug("Attempting to create user with email: {}", createUserDTO.getEmail());
+        if (!writesEnabled) {
+            return writesDisabled();
+        }
+        User user = MAPPER.toUser(createUserDTO);
+        return userRepository.existsByEmail(user.getEmail())
+                .flatMap(exists -> {
+                    if (exists) {
+                        emailConflictCounter.increment();
+                        log.warn("Attempt to create user with existing email: {}", user.getEmail());
+                        return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Email already in use"));
+                    }
+                    user.setCreatedAt(Instant.now().toString());
+                    return userRepository.save(UserRow.from(user));
+                })
+                .map(saved -> {
+                    userCreatedCounter.increment();
+                    log.info("User created successfully with id: {} and email: {}", saved.getId(), saved.getEmail());
+                    return MAPPER.toDto(saved.toUser());
+                });
+    }
+
+    @Transactional
+    public Mono<UserDTO> updateUser(Long id, CreateUserDTO createUserDTO) {
+        log.debug("Attempting to update user with id: {}", id);
+        if (!writesEnabled) {
+            return writesDisabled();
+        }
+        return findExisting(id)
+                .flatMap(existing -> userRepository.existsByEmailAndIdNot(createUserDTO.getEmail(), id)
+                        .flatMap(taken -> {
+                            if (taken) {
+                                emailConflictCounter.increment();
+                                log.warn("Attempt to update user with existing email: {}", createUserDTO.getEmail());
+                                return Mono.error(
+                                        new ResponseStatusException(HttpStatus.CONFLICT, "Email already in use"));
+                            }
+                            User user = existing.toUser();
+                            MAPPER.updateUserFromDTO(createUserDTO, user);
+                            user.setUpdatedAt(Instant.now().toString());
+                            return userRepository.save(UserRow.from(user));
+                        }))
+                .map(updated -> {
+                    userUpdatedCounter.increment();
+                    log.info("User updated successfully with id: {} and email: {}",
+                            updated.getId(), updated.getEmail());
+                    return MAPPER.toDto(updated.toUser());
+                });
+    }
+
+    /** Merge patch; like the servlet service, a patch that changes nothing leaves the row untouched. */
+    @Transactional
+    public Mono<UserDTO> patchUser(Long id, UpdateUserDTO updateUserDTO) {
+        log.debug("Attempting to patch user with id: {}", id);
+        if (!writesEnabled) {
+            return writesDisabled();
+        }
+        return findExisting(id).flatMap(existing -> {
+            boolean emailChanged = changes(updateUserDTO.getEmail(), existing.getEmail());
+            Mono<Boolean> taken = emailChanged
+                    ? userRepository.existsByEmailAndIdNot(updateUserDTO.getEmail(), id)
+                    : Mono.just(false);
+            return taken.flatMap(conflict -> {
+                if (conflict) {
+                    emailConflictCounter.increment();
+                    log.warn("Attempt to patch user with existing email: {}", updateUserDTO.getEmail());
+                    return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Email already in use"));
+                }
+                boolean changed = emailChanged
+                        || changes(updateUserDTO.getName(), existing.getName())
+                        || changes(updateUserDTO.getPassword(), existing.getPassword());
+                if (!changed) {
+                    log.debug("Patch for user id: {} changes nothing, skipping update", id);
+                    return Mono.just(MAPPER.toDto(existing.toUser()));
+                }
+                User user = existing.toUser();
+                MAPPER.patchUserFromDTO(updateUserDTO, user);
+                user.setUpdatedAt(Instant.now().toString());
+                return userRepository.save(UserRow.from(user)).map(patched -> {
+                    userUpdatedCounter.increment();
+                    log.info("User patched successfully with id: {}", patched.getId());
+                    return MAPPER.toDto(patched.toUser());
+                });
+            });
+        });
+    }
+
+    @Transactional
+    public Mono<Void> deleteUser(Long id) {
+        log.debug("Attempting to delete user with id: {}", id);
+        if (!writesEnabled) {
+            return writesDisabled();
+        }
+        if (id == null || id <= 0) {
+            log.warn("Invalid user id provided for deletion: {}", id);
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid user ID"));
+        }
+        return findExisting(id)
+                .flatMap(userRepository::delete)
+                .doOnSuccess(done -> {
+                    userDeletedCounter.increment();
+                    log.info("User with id {} deleted successfully", id);
+                });
+    }
+
+    private static <T> Mono<T> writesDisabled() {
+        log.warn("Write refused - users.reactive.writes-enabled is off");
+        return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN,
+                "Writes are disabled on the reactive API; use the servlet API"));
+    }
+
+    private Mono<UserRow> findExisting(Long id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.defer(() -> {
+                    userNotFoundCounter.increment();
+                    log.warn("User not found with id: {}", id);
+                    return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+                }));
+    }
+
+    private static Page<UserDTO> toPage(List<User> users, Pageable pageable, long total) {
+        return new PageImpl<>(users.stream().map(MAPPER::toDto).toList(), pageable, total);
+    }
+
+    private static UserBatchResponseDTO toBatch(Set<Long> ids, Map<Long, UserRow> usersById) {
+        List<UserDTO> found = new ArrayList<>(usersById.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            UserRow row = usersById.get(id);
+            if (row != null) {
+                found.add(MAPPER.toDto(row.toUser()));
+            } else {
+                missing.add(id);
+            }
+        }
+        return new UserBatchResponseDTO(found, missing);
+    }
+
+    private static boolean changes(String requested, String current) {
+        return requested != null && !Objects.equals(requested, current);
+    }
+}
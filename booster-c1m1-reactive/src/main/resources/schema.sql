@@ -0,0 +1,8 @@
+create table if not exists users (
+    id bigint generated by default as identity primary key,
+    name varchar(255),
+    email varchar(255),
+    password varchar(255),
+    created_at varchar(255),
+    updated_at varchar(255)
+);
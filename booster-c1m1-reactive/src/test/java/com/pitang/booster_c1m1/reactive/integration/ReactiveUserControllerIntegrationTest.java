@@ -0,0 +1,218 @@
+package com.pitang.booster_c1m1.reactive.integration;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.dto.UpdateUserDTO;
+import com.pitang.booster_c1m1.dto.UserDTO;
+import com.pitang.booster_c1m1.reactive.domain.UserRow;
+import com.pitang.booster_c1m1.reactive.repository.ReactiveUserRepository;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+@DisplayName("ReactiveUserController Integration Tests")
+public class ReactiveUserControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    private UserRow joao;
+    private UserRow maria;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll().block();
+        joao = userRepository.save(row("João Silva", "joao@example.com")).block();
+        maria = userRepository.save(row("Maria Santos", "maria@example.com")).block();
+    }
+
+    @Test
+    @DisplayName("Should page users and filter by name like the servlet API")
+    void getAllUsers_PagesAndFilters() {
+        webTestClient.get().uri("/v1/users?page=0&size=1&sort=id")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].email").isEqualTo("joao@example.com")
+                .jsonPath("$.totalElements").isEqualTo(2)
+                .jsonPath("$.totalPages").isEqualTo(2);
+
+        webTestClient.get().uri("/v1/users?name=SANTOS")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].name").isEqualTo("Maria Santos")
+                .jsonPath("$.totalElements").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return a user by id and 404 for a missing one")
+    void getUserById_ReturnsUserOrNotFound() {
+        webTestClient.get().uri("/v1/users/{id}", joao.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("joao@example.com")
+                .jsonPath("$.password").doesNotExist();
+
+        webTestClient.get().uri("/v1/users/{id}", 999_999)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Should keep request order and report missing ids in batch lookups")
+    void getUsersByIds_KeepsOrder() {
+        webTestClient.get().uri("/v1/users?ids={a},{b},{c}", maria.getId(), 999_999, joao.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo(maria.getId())
+                .jsonPath("$.content[1].id").isEqualTo(joao.getId())
+                .jsonPath("$.missingIds[0]").isEqualTo(999_999);
+
+        webTestClient.post().uri("/v1/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"ids\":[" + joao.getId() + "]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].email").isEqualTo("joao@example.com");
+    }
+
+    @Test
+    @DisplayName("Should create a user, then reject the same email with 409")
+    void createUser_CreatesThenConflicts() {
+        CreateUserDTO request = CreateUserDTO.builder()
+                .name("Ana Lima").email("ana@example.com").password("password123").build();
+
+        UserDTO created = webTestClient.post().uri("/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UserDTO.class)
+                .returnResult().getResponseBody();
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(userRepository.findById(created.getId()).block().getCreatedAt()).isNotNull();
+
+        webTestClient.post().uri("/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid payloads with 400")
+    void createUser_InvalidPayload_ReturnsBadRequest() {
+        webTestClient.post().uri("/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"\",\"email\":\"invalid-email\",\"password\":\"\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Should update, patch and delete a user")
+    void updatePatchDelete() {
+        webTestClient.put().uri("/v1/users/{id}", joao.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(CreateUserDTO.builder()
+                        .name("João Updated").email("joao.updated@example.com").password("password123").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("joao.updated@example.com");
+
+        webTestClient.put().uri("/v1/users/{id}", joao.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(CreateUserDTO.builder()
+                        .name("João Updated").email("maria@example.com").password("password123").build())
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        webTestClient.patch().uri("/v1/users/{id}", joao.getId())
+                .contentType(MediaType.valueOf("application/merge-patch+json"))
+                .bodyValue(UpdateUserDTO.builder().name("João Patched").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("João Patched")
+                .jsonPath("$.email").isEqualTo("joao.updated@example.com");
+
+        assertThat(userRepository.findById(joao.getId()).block().getUpdatedAt()).isNotNull();
+
+        webTestClient.delete().uri("/v1/users/{id}", joao.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.delete().uri("/v1/users/{id}", joao.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Should leave the row untouched when a patch changes nothing")
+    void patchUser_NoChange_SkipsUpdate() {
+        webTestClient.patch().uri("/v1/users/{id}", maria.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(UpdateUserDTO.builder().name("Maria Santos").build())
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(userRepository.findById(maria.getId()).block().getUpdatedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should report email availability")
+    void checkEmailAvailability() {
+        webTestClient.get().uri("/v1/users/email-availability?email=maria@example.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.available").isEqualTo(false);
+
+        webTestClient.get().uri("/v1/users/email-availability?email=nobody@example.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.available").isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("Should expose the same user metrics as the servlet API")
+    void metrics_AreExposed() {
+        webTestClient.get().uri("/v1/users/{id}", 999_999).exchange().expectStatus().isNotFound();
+
+        webTestClient.get().uri("/actuator/metrics/users.not_found.total")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private static UserRow row(String name, String email) {
+        return UserRow.builder()
+                .name(name)
+                .email(email)
+                .password("password123")
+                .createdAt("2024-01-01T10:00:00Z")
+                .build();
+    }
+}
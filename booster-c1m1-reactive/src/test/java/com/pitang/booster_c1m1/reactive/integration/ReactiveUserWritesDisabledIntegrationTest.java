@@ -0,0 +1,81 @@
+package com.pitang.booster_c1m1.reactive.integration;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.dto.UpdateUserDTO;
+import com.pitang.booster_c1m1.reactive.domain.UserRow;
+import com.pitang.booster_c1m1.reactive.repository.ReactiveUserRepository;
+
+@SpringBootTest(properties = "users.reactive.writes-enabled=false")
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+@DisplayName("Reactive API with writes disabled")
+public class ReactiveUserWritesDisabledIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    private UserRow joao;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll().block();
+        joao = userRepository.save(UserRow.builder()
+                .name("João Silva")
+                .email("joao@example.com")
+                .password("password123")
+                .createdAt("2024-01-01T10:00:00Z")
+                .build()).block();
+    }
+
+    @Test
+    @DisplayName("Should refuse every write with 403 and leave the table untouched")
+    void writes_Return403() {
+        CreateUserDTO create = CreateUserDTO.builder()
+                .name("Ana Lima").email("ana@example.com").password("password123").build();
+
+        webTestClient.post().uri("/v1/users").contentType(MediaType.APPLICATION_JSON).bodyValue(create)
+                .exchange()
+                .expectStatus().isForbidden();
+        webTestClient.put().uri("/v1/users/{id}", joao.getId()).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(create)
+                .exchange()
+                .expectStatus().isForbidden();
+        webTestClient.patch().uri("/v1/users/{id}", joao.getId())
+                .contentType(MediaType.valueOf("application/merge-patch+json"))
+                .bodyValue(UpdateUserDTO.builder().name("Outro Nome").build())
+                .exchange()
+                .expectStatus().isForbidden();
+        webTestClient.delete().uri("/v1/users/{id}", joao.getId())
+                .exchange()
+                .expectStatus().isForbidden();
+
+        assertThat(userRepository.findAll().collectList().block())
+                .singleElement()
+                .satisfies(row -> assertThat(row.getName()).isEqualTo("João Silva"));
+    }
+
+    @Test
+    @DisplayName("Should keep serving reads")
+    void reads_StillWork() {
+        webTestClient.get().uri("/v1/users/{id}", joao.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("joao@example.com");
+    }
+}
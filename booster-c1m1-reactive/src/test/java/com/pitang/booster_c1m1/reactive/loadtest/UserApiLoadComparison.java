@@ -0,0 +1,276 @@
+package com.pitang.booster_c1m1.reactive.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.DoubleStream;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.convert.DurationStyle;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Closed-loop load comparison of the servlet and reactive user APIs. Users are seeded once, through
+ * {@code seedTarget} (the first target by default); each target then gets the same run: warm up, then keep
+ * {@code connections} requests in flight for {@code duration} (80% {@code GET /v1/users/{id}}, 20% list
+ * pages) while sampling heap and live threads from the target's actuator.
+ *
+ * <p>Targets run one after the other, never concurrently, against the same database: the reactive API
+ * refuses writes by default, so seeding has to go through the servlet one. Passing
+ * {@code -Dpids=servlet=<pid>,...} for local targets adds resident set size from {@code /proc}, which is
+ * where thread stacks show up.
+ *
+ * <pre>
+ * mvn -Pload-test test-compile exec:exec -Dtargets=servlet=http://localhost:8080,reactive=http://localhost:8081
+ * </pre>
+ */
+public final class UserApiLoadComparison {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Duration SAMPLE_INTERVAL = Duration.ofSeconds(1);
+    private static final long MAX_LATENCY_MICROS = Duration.ofMinutes(1).toNanos() / 1_000;
+
+    private final Map<String, String> targets;
+    private final Map<String, Long> pids;
+    private final int connections;
+    private final Duration duration;
+    private final Duration warmup;
+    private final int seedUsers;
+    private final String seedTarget;
+
+    private UserApiLoadComparison() {
+        this.targets = parsePairs(System.getProperty("targets",
+                "servlet=http://localhost:8080,reactive=http://localhost:8081"));
+        this.pids = new LinkedHashMap<>();
+        parsePairs(System.getProperty("pids", "")).forEach((name, pid) -> pids.put(name, Long.parseLong(pid)));
+        this.connections = Integer.getInteger("connections", 1000);
+        this.duration = DurationStyle.detectAndParse(System.getProperty("duration", "30s"));
+        this.warmup = DurationStyle.detectAndParse(System.getProperty("warmup", "10s"));
+        this.seedUsers = Integer.getInteger("seedUsers", 1000);
+        this.seedTarget = System.getProperty("seedTarget", targets.keySet().iterator().next());
+    }
+
+    public static void main(String[] args) {
+        new UserApiLoadComparison().run();
+    }
+
+    private void run() {
+        System.out.printf(Locale.ROOT, "%d connections, %s warmup, %s measured, %d seeded users%n%n",
+                connections, warmup, duration, seedUsers);
+        List<Long> ids = seed(seedTarget, targets.get(seedTarget));
+        List<Result> results = new ArrayList<>();
+        targets.forEach((name, baseUrl) -> results.add(runTarget(name, baseUrl, ids)));
+
+        System.out.printf(Locale.ROOT, "%-10s %10s %8s %8s %8s %8s %8s %7s %9s %9s %10s %10s%n",
+                "target", "req/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms", "errors",
+                "threads", "heap MB", "heap/conn", "rss/conn");
+        for (Result result : results) {
+            System.out.println(result.format(connections));
+        }
+    }
+
+    private Result runTarget(String name, String baseUrl, List<Long> ids) {
+        ConnectionProvider provider = ConnectionProvider.builder("load-" + name)
+                .maxConnections(connections)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofMinutes(1))
+                .build();
+        HttpClient client = HttpClient.create(provider)
+                .baseUrl(baseUrl)
+                .responseTimeout(Duration.ofSeconds(30));
+        try {
+            Sample idle = sample(client, name);
+            System.out.printf(Locale.ROOT, "[%s] warming up for %s%n", name, warmup);
+            drive(client, ids, warmup, new Recorder(MAX_LATENCY_MICROS, 3), new AtomicLong(), new AtomicLong());
+
+            System.out.printf(Locale.ROOT, "[%s] measuring for %s%n", name, duration);
+            Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+            AtomicLong completed = new AtomicLong();
+            AtomicLong errors = new AtomicLong();
+            List<Sample> underLoad = new CopyOnWriteArrayList<>();
+            long start = System.nanoTime();
+            Flux.interval(SAMPLE_INTERVAL, SAMPLE_INTERVAL)
+                    .takeUntilOther(Mono.delay(duration))
+                    .onBackpressureDrop()
+                    .concatMap(tick -> Mono.fromCallable(() -> sample(client, name))
+                            .subscribeOn(Schedulers.boundedElastic()))
+                    .doOnNext(underLoad::add)
+                    .subscribe();
+            drive(client, ids, duration, recorder, completed, errors);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            return new Result(name, recorder.getIntervalHistogram(), completed.get() / seconds, errors.get(),
+                    idle, Sample.average(underLoad));
+        } finally {
+            provider.disposeLater().block();
+        }
+    }
+
+    /** Keeps {@code connections} requests in flight until {@code length} has passed. */
+    private void drive(HttpClient client, List<Long> ids, Duration length, Recorder recorder, AtomicLong completed,
+            AtomicLong errors) {
+        long deadline = System.nanoTime() + length.toNanos();
+        Flux.range(0, connections)
+                .flatMap(worker -> Mono.defer(() -> request(client, ids, recorder, completed, errors))
+                        .repeat(() -> System.nanoTime() < deadline), connections)
+                .blockLast();
+    }
+
+    private Mono<Void> request(HttpClient client, List<Long> ids, Recorder recorder, AtomicLong completed,
+            AtomicLong errors) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String uri = random.nextInt(100) < 80
+                ? "/v1/users/" + ids.get(random.nextInt(ids.size()))
+                : "/v1/users?page=" + random.nextInt(Math.max(1, ids.size() / 20)) + "&size=20";
+        long started = System.nanoTime();
+        return client.get().uri(uri)
+                .responseSingle((response, body) -> body.asByteArray().defaultIfEmpty(new byte[0])
+                        .doOnNext(bytes -> {
+                            if (response.status().code() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        }))
+                .doOnSuccess(done -> {
+                    recorder.recordValue(Math.min((System.nanoTime() - started) / 1_000, MAX_LATENCY_MICROS));
+                    completed.incrementAndGet();
+                })
+                .onErrorResume(error -> {
+                    errors.incrementAndGet();
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private List<Long> seed(String name, String baseUrl) {
+        if (baseUrl == null) {
+            throw new IllegalArgumentException("seedTarget " + name + " is not one of the targets");
+        }
+        System.out.printf(Locale.ROOT, "[%s] seeding %d users at %s%n", name, seedUsers, baseUrl);
+        HttpClient client = HttpClient.create().baseUrl(baseUrl).responseTimeout(Duration.ofSeconds(30));
+        String run = name + "-" + Long.toString(System.currentTimeMillis(), 36);
+        List<Long> ids = Flux.range(0, seedUsers)
+                .flatMap(i -> client.headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, "application/json"))
+                        .post().uri("/v1/users")
+                        .send(ByteBufFlux.fromString(Mono.just(String.format(Locale.ROOT,
+                                "{\"name\":\"Load User %d\",\"email\":\"load-%s-%d@example.com\","
+                                        + "\"password\":\"password123\"}", i, run, i))))
+                        .responseSingle((response, body) -> body.asString())
+                        .map(body -> readTree(body).path("id").asLong()), 64)
+                .filter(id -> id > 0)
+                .collectList()
+                .block();
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalStateException("No users could be seeded through " + baseUrl);
+        }
+        return ids;
+    }
+
+    private Sample sample(HttpClient client, String name) {
+        double heap = metric(client, "jvm.memory.used?tag=area:heap");
+        double threads = metric(client, "jvm.threads.live");
+        Long pid = pids.get(name);
+        return new Sample(heap, threads, pid == null ? Double.NaN : residentSetBytes(pid));
+    }
+
+    private static double metric(HttpClient client, String path) {
+        try {
+            String body = client.get().uri("/actuator/metrics/" + path)
+                    .responseSingle((response, content) -> content.asString())
+                    .block(Duration.ofSeconds(30));
+            return readTree(body).path("measurements").path(0).path("value").asDouble(Double.NaN);
+        } catch (RuntimeException e) {
+            // the last sample is cancelled when the measured window ends
+            return Double.NaN;
+        }
+    }
+
+    private static double residentSetBytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"),
+                    StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024d;
+                }
+            }
+        } catch (IOException e) {
+            return Double.NaN;
+        }
+        return Double.NaN;
+    }
+
+    private static JsonNode readTree(String body) {
+        try {
+            return JSON.readTree(body == null ? "{}" : body);
+        } catch (IOException e) {
+            return JSON.createObjectNode();
+        }
+    }
+
+    private static Map<String, String> parsePairs(String value) {
+        Map<String, String> pairs = new LinkedHashMap<>();
+        for (String pair : value.split(",")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                pairs.put(pair.substring(0, separator).trim(), pair.substring(separator + 1).trim());
+            }
+        }
+        return pairs;
+    }
+
+    private record Sample(double heapBytes, double threads, double rssBytes) {
+
+        static Sample average(List<Sample> samples) {
+            return new Sample(finite(samples, Sample::heapBytes).average().orElse(Double.NaN),
+                    finite(samples, Sample::threads).max().orElse(Double.NaN),
+                    finite(samples, Sample::rssBytes).average().orElse(Double.NaN));
+        }
+
+        private static DoubleStream finite(List<Sample> samples, ToDoubleFunction<Sample> value) {
+            return samples.stream().mapToDouble(value).filter(Double::isFinite);
+        }
+    }
+
+    private record Result(String name, Histogram latency, double throughput, long errors, Sample idle,
+            Sample loaded) {
+
+        String format(int connections) {
+            return String.format(Locale.ROOT,
+                    "%-10s %10.0f %8.1f %8.1f %8.1f %8.1f %8.1f %7d %4.0f->%-4.0f %9.0f %8.1fKB %8.1fKB",
+                    name, throughput, millis(50), millis(90), millis(99), millis(99.9),
+                    latency.getMaxValue() / 1_000d, errors, idle.threads(), loaded.threads(),
+                    loaded.heapBytes() / (1024 * 1024),
+                    perConnection(idle.heapBytes(), loaded.heapBytes(), connections),
+                    perConnection(idle.rssBytes(), loaded.rssBytes(), connections));
+        }
+
+        private double millis(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1_000d;
+        }
+
+        private static double perConnection(double idle, double loaded, int connections) {
+            return (loaded - idle) / connections / 1024;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.pitang.booster_c1m1.cache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.SmartLifecycle;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps one dedicated Postgres connection (outside the Hikari pool) in LISTEN mode and evicts local
+ * caches for invalidations sent by other nodes. Notifications sent while the connection is down are
+ * lost, so every (re)connect drops all local cache entries before listening resumes. Waiting for
+ * notifications never touches the socket, so a half-open connection would look like a quiet channel;
+ * every wait that returns nothing is followed by a round trip that fails on a dead connection.
+ */
+@Slf4j
+public class ClusterInvalidationListener implements SmartLifecycle {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final ConnectionFactory connectionFactory;
+    private final List<UserCacheEvictor> caches;
+    private final String channel;
+    private final String nodeId;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final int validationTimeoutSeconds;
+
+    private final Counter receivedCounter;
+    private final Counter resyncCounter;
+    private final AtomicBoolean connected = new AtomicBoolean();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public ClusterInvalidationListener(ConnectionFactory connectionFactory, List<UserCacheEvictor> caches,
+            String channel, String nodeId, Duration pollTimeout, Duration reconnectDelay, MeterRegistry meterRegistry) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid NOTIFY channel name: " + channel);
+        }
+        this.connectionFactory = connectionFactory;
+        this.caches = caches;
+        this.channel = channel;
+        this.nodeId = nodeId;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+        this.validationTimeoutSeconds = (int) Math.max(1, pollTimeout.toSeconds());
+
+        this.receivedCounter = Counter.builder("users.cluster_invalidation.received.total")
+                .description("Total number of invalidations received from other nodes")
+                .register(meterRegistry);
+        this.resyncCounter = Counter.builder("users.cluster_invalidation.resyncs.total")
+                .description("Total number of full local cache drops after (re)connecting the listener")
+                .register(meterRegistry);
+        Gauge.builder("users.cluster_invalidation.connected", connected, flag -> flag.get() ? 1 : 0)
+                .description("Whether the invalidation listener connection is up")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "user-cache-invalidation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(reconnectDelay.plus(pollTimeout).plusSeconds(validationTimeoutSeconds).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isConnected() {
+        return connected.get();
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = connectionFactory.open()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                connected.set(true);
+                resync();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications == null || notifications.length == 0) {
+                        checkAlive(connection);
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener lost its connection, reconnecting in {}: {}",
+                            reconnectDelay, e.getMessage());
+                }
+            } finally {
+                connected.set(false);
+            }
+            if (!sleep(reconnectDelay)) {
+                return;
+            }
+        }
+    }
+
+    private void checkAlive(Connection connection) throws SQLException {
+        if (running && !connection.isValid(validationTimeoutSeconds)) {
+            throw new SQLException("connection did not answer within " + validationTimeoutSeconds + "s");
+        }
+    }
+
+    /**
+     * Drops every local entry: anything may have changed while no notifications were received.
+     */
+    void resync() {
+        caches.forEach(UserCacheEvictor::clear);
+        resyncCounter.increment();
+        log.info("Cache invalidation listener connected on channel '{}', local caches cleared", channel);
+    }
+
+    void handle(String payload) {
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalidation: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        receivedCounter.increment();
+        if (message.isAll()) {
+            caches.forEach(UserCacheEvictor::clear);
+        } else {
+            caches.forEach(cache -> cache.evictUser(message.userId()));
+        }
+        log.debug("Applied invalidation from node {} for user id: {}", message.origin(), message.userId());
+    }
+
+    private boolean sleep(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+            return running;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+}
@@ -0,0 +1,38 @@
+package com.pitang.booster_c1m1.cache;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.pitang.booster_c1m1.event.UserChangedEvent;
+import com.pitang.booster_c1m1.event.UsersBulkLoadedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends a NOTIFY for every user write. It runs inside the write transaction, and Postgres only
+ * delivers the notification when that transaction commits, so other nodes never evict for a rolled-back change.
+ * Bulk loads are announced after their commit with a single {@code *} message that drops every cached user.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ClusterInvalidationPublisher {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    private final String nodeId;
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        String payload = InvalidationMessage.forUser(nodeId, event.userId()).encode();
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, payload);
+        log.debug("Queued cluster invalidation for user id: {}", event.userId());
+    }
+
+    @EventListener
+    public void onUsersBulkLoaded(UsersBulkLoadedEvent event) {
+        String payload = InvalidationMessage.forAll(nodeId).encode();
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, payload);
+        log.debug("Sent cluster-wide invalidation after a bulk load of {} users", event.inserted());
+    }
+}
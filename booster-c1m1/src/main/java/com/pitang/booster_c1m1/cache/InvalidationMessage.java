@@ -0,0 +1,35 @@
+package com.pitang.booster_c1m1.cache;
+
+/**
+ * NOTIFY payload: {@code <origin node id>:<user id>}, or {@code <origin node id>:*} to drop every cached user.
+ */
+public record InvalidationMessage(String origin, Long userId) {
+
+    private static final String ALL = "*";
+
+    public static InvalidationMessage forUser(String origin, Long userId) {
+        return new InvalidationMessage(origin, userId);
+    }
+
+    public static InvalidationMessage forAll(String origin) {
+        return new InvalidationMessage(origin, null);
+    }
+
+    public boolean isAll() {
+        return userId == null;
+    }
+
+    public String encode() {
+        return origin + ":" + (userId == null ? ALL : userId.toString());
+    }
+
+    public static InvalidationMessage decode(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator <= 0 || separator == payload.length() - 1) {
+            throw new IllegalArgumentException("Malformed invalidation payload: " + payload);
+        }
+        String origin = payload.substring(0, separator);
+        String target = payload.substring(separator + 1);
+        return new InvalidationMessage(origin, ALL.equals(target) ? null : Long.valueOf(target));
+    }
+}
@@ -0,0 +1,344 @@
+package com.pitang.booster_c1m1.cache;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * LRU cache of serialized response bodies held in one direct {@link ByteBuffer} allocated up front, so
+ * cached bytes live outside the Java heap, are not traced by the GC, and storing a response allocates
+ * no new native memory.
+ *
+ * <p>The arena is carved into power-of-two blocks of at least {@value #MIN_BLOCK} bytes by a buddy
+ * allocator; a freed block merges back with its free buddy, so blocks of every size keep becoming
+ * available as entries come and go. When no block fits, least recently used entries are evicted until
+ * one does. A hit leases its entry's block until {@link CachedBody#close()}, and an entry removed while
+ * leased keeps its block until the last lease is closed, so bytes being written to a client are never
+ * overwritten by a later {@link #put}.
+ *
+ * <p>Entries belong either to one user ({@code /v1/users/{id}}) or to the list pages, which any
+ * write can change. Invalidations bump a generation number for the affected user's stripe and for the
+ * list pages; a response rendered before the bump is refused by {@link #put}, so a slow miss cannot
+ * store data older than the last write to it, while writes to other users do not block caching.
+ * Entries also expire after a fixed time to live, which bounds staleness from any path the
+ * generations do not see.
+ */
+public class OffHeapResponseCache implements UserCacheEvictor {
+
+    private static final int STRIPES = 1024;
+    private static final int LIST_STRIPE = STRIPES;
+    private static final int MIN_BLOCK_SHIFT = 6;
+    private static final int MIN_BLOCK = 1 << MIN_BLOCK_SHIFT;
+
+    private final ByteBuffer arena;
+    private final ByteBuffer readOnlyArena;
+    private final int topOrder;
+    private final BitSet[] freeBlocks;
+    private final long maxEntryBytes;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Long, Set<String>> keysByUser = new HashMap<>();
+    private final Set<String> listKeys = new HashSet<>();
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES + 1);
+
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public OffHeapResponseCache(long maxBytes, long maxEntryBytes, Duration ttl) {
+        this(maxBytes, maxEntryBytes, ttl, System::nanoTime);
+    }
+
+    OffHeapResponseCache(long maxBytes, long maxEntryBytes, Duration ttl, LongSupplier clock) {
+        long arenaLimit = Math.min(maxBytes, Integer.MAX_VALUE);
+        if (arenaLimit < MIN_BLOCK) {
+            throw new IllegalArgumentException("Response cache size must be at least " + MIN_BLOCK + " bytes");
+        }
+        int topBlock = (int) Math.min(Long.highestOneBit(arenaLimit), ceilPowerOfTwo(Math.max(maxEntryBytes, 1)));
+        topBlock = Math.max(topBlock, MIN_BLOCK);
+        int topBlocks = (int) (arenaLimit / topBlock);
+        this.topOrder = Integer.numberOfTrailingZeros(topBlock) - MIN_BLOCK_SHIFT;
+        this.freeBlocks = new BitSet[topOrder + 1];
+        for (int order = 0; order <= topOrder; order++) {
+            freeBlocks[order] = new BitSet();
+        }
+        freeBlocks[topOrder].set(0, topBlocks);
+        this.arena = ByteBuffer.allocateDirect(topBlocks * topBlock);
+        this.readOnlyArena = arena.asReadOnlyBuffer();
+        this.maxEntryBytes = Math.min(maxEntryBytes, topBlock);
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Returns a lease on the cached body, or {@code null} on a miss. The body must not be read after the
+     * lease is closed.
+     */
+    public synchronized CachedBody get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt - clock.getAsLong() <= 0) {
+            entries.remove(key);
+            discard(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        entry.leases++;
+        return new CachedBody(entry, readOnlyArena.slice(entry.offset, entry.length));
+    }
+
+    /**
+     * Generation to capture before rendering a response owned by {@code userId}, or by the list pages
+     * when {@code userId} is {@code null}, and to hand back to {@link #put}.
+     */
+    public long generation(Long userId) {
+        return generations.get(stripe(userId));
+    }
+
+    /**
+     * Stores {@code body} unless it is too large or {@code userId} was invalidated after {@code renderedAt}.
+     *
+     * @param userId owning user for single-user resources, {@code null} for list pages
+     */
+    public synchronized boolean put(String key, Long userId, byte[] body, long renderedAt) {
+        if (body.length > maxEntryBytes || renderedAt != generation(userId)) {
+            return false;
+        }
+        remove(key);
+        int order = order(body.length);
+        int offset = allocate(order);
+        while (offset < 0 && evictEldest()) {
+            offset = allocate(order);
+        }
+        if (offset < 0) {
+            return false;
+        }
+        arena.put(offset, body);
+        entries.put(key, new Entry(userId, offset, order, body.length, clock.getAsLong() + ttlNanos));
+        if (userId == null) {
+            listKeys.add(key);
+        } else {
+            keysByUser.computeIfAbsent(userId, id -> new HashSet<>()).add(key);
+        }
+        usedBytes += blockSize(order);
+        return true;
+    }
+
+    /**
+     * Drops the single-user entries of {@code userId} and every list page.
+     */
+    @Override
+    public synchronized void evictUser(Long userId) {
+        generations.incrementAndGet(stripe(userId));
+        generations.incrementAndGet(LIST_STRIPE);
+        Set<String> userKeys = keysByUser.remove(userId);
+        if (userKeys != null) {
+            userKeys.forEach(this::remove);
+        }
+        Set<String> pages = new HashSet<>(listKeys);
+        pages.forEach(this::remove);
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (int i = 0; i <= STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        new HashSet<>(entries.keySet()).forEach(this::remove);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Off-heap bytes taken by blocks, including entries that were removed while leased.
+     */
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("users.response_cache.entries", this, OffHeapResponseCache::size)
+                .description("Number of cached serialized responses")
+                .register(registry);
+        Gauge.builder("users.response_cache.offheap.bytes", this, OffHeapResponseCache::usedBytes)
+                .description("Off-heap bytes of the response cache arena taken by cached responses")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("users.response_cache.hit.ratio", this, OffHeapResponseCache::hitRatio)
+                .description("Share of cacheable requests served from the response cache")
+                .register(registry);
+        FunctionCounter.builder("users.response_cache.hits.total", this, cache -> cache.counts()[0])
+                .description("Total number of response cache hits")
+                .register(registry);
+        FunctionCounter.builder("users.response_cache.misses.total", this, cache -> cache.counts()[1])
+                .description("Total number of response cache misses")
+                .register(registry);
+        FunctionCounter.builder("users.response_cache.evictions.total", this, cache -> cache.counts()[2])
+                .description("Total number of responses evicted to stay within the size limit")
+                .register(registry);
+    }
+
+    private synchronized double[] counts() {
+        return new double[] {hits, misses, evictions};
+    }
+
+    private boolean evictEldest() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        if (!iterator.hasNext()) {
+            return false;
+        }
+        Map.Entry<String, Entry> eldest = iterator.next();
+        iterator.remove();
+        discard(eldest.getKey(), eldest.getValue());
+        evictions++;
+        return true;
+    }
+
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            discard(key, entry);
+        }
+    }
+
+    private void discard(String key, Entry entry) {
+        unindex(key, entry);
+        entry.removed = true;
+        if (entry.leases == 0) {
+            release(entry);
+        }
+    }
+
+    private void unindex(String key, Entry entry) {
+        if (entry.userId == null) {
+            listKeys.remove(key);
+            return;
+        }
+        Set<String> userKeys = keysByUser.get(entry.userId);
+        if (userKeys != null && userKeys.remove(key) && userKeys.isEmpty()) {
+            keysByUser.remove(entry.userId);
+        }
+    }
+
+    private void release(Entry entry) {
+        usedBytes -= blockSize(entry.order);
+        free(entry.offset, entry.order);
+    }
+
+    /** Takes a free block of {@code order}, splitting a larger one if needed; -1 when none is free. */
+    private int allocate(int order) {
+        for (int from = order; from <= topOrder; from++) {
+            int index = freeBlocks[from].nextSetBit(0);
+            if (index >= 0) {
+                freeBlocks[from].clear(index);
+                for (int split = from; split > order; split--) {
+                    index <<= 1;
+                    freeBlocks[split - 1].set(index + 1);
+                }
+                return index << (order + MIN_BLOCK_SHIFT);
+            }
+        }
+        return -1;
+    }
+
+    private void free(int offset, int order) {
+        int index = offset >>> (order + MIN_BLOCK_SHIFT);
+        while (order < topOrder && freeBlocks[order].get(index ^ 1)) {
+            freeBlocks[order].clear(index ^ 1);
+            index >>>= 1;
+            order++;
+        }
+        freeBlocks[order].set(index);
+    }
+
+    private static int order(int length) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(length, MIN_BLOCK) - 1) - MIN_BLOCK_SHIFT;
+    }
+
+    private static int blockSize(int order) {
+        return MIN_BLOCK << order;
+    }
+
+    private static long ceilPowerOfTwo(long value) {
+        return value == 1 ? 1 : Long.highestOneBit(value - 1) << 1;
+    }
+
+    private static int stripe(Long userId) {
+        return userId == null ? LIST_STRIPE : Math.floorMod(userId.hashCode(), STRIPES);
+    }
+
+    /**
+     * A hit: a read-only view of the cached body, valid until {@link #close()}.
+     */
+    public final class CachedBody implements AutoCloseable {
+
+        private final Entry entry;
+        private final ByteBuffer body;
+        private boolean closed;
+
+        private CachedBody(Entry entry, ByteBuffer body) {
+            this.entry = entry;
+            this.body = body;
+        }
+
+        public ByteBuffer body() {
+            return body;
+        }
+
+        @Override
+        public void close() {
+            synchronized (OffHeapResponseCache.this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                if (--entry.leases == 0 && entry.removed) {
+                    release(entry);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final Long userId;
+        private final int offset;
+        private final int order;
+        private final int length;
+        private final long expiresAt;
+        private int leases;
+        private boolean removed;
+
+        private Entry(Long userId, int offset, int order, int length, long expiresAt) {
+            this.userId = userId;
+            this.offset = offset;
+            this.order = order;
+            this.length = length;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
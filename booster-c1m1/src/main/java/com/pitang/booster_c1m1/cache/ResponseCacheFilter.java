@@ -0,0 +1,137 @@
+package com.pitang.booster_c1m1.cache;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.pitang.booster_c1m1.metrics.HotKeyTracker;
+import com.pitang.booster_c1m1.service.RequestCoalescer;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves GET /v1/users and GET /v1/users/{id} from {@link OffHeapResponseCache}. A hit is looked up
+ * here, reported to the {@link HotKeyTracker} since the service never sees it, and handed on as a request
+ * attribute; {@link ResponseCacheHitInterceptor} writes it once the request has passed the interceptors that
+ * assign request ids, log, and record deadlines and resource usage, so hits are traced like any other
+ * request without reaching the controller, the mapper or Jackson. The lease on the cached body is closed
+ * when the chain returns. A successful miss is captured and stored for the next request. A miss that shared
+ * another request's in-flight read is not stored, since that read may have started before the generation
+ * it captured.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String CACHE_HEADER = "X-Cache";
+    static final String CACHED_BODY = ResponseCacheFilter.class.getName() + ".CACHED_BODY";
+
+    private static final Pattern LIST_PATH = Pattern.compile("^/v1/users/?$");
+    private static final Pattern USER_PATH = Pattern.compile("^/v1/users/(\\d+)$");
+
+    private final OffHeapResponseCache cache;
+    private final HotKeyTracker hotKeyTracker;
+    private final int streamedPageSize;
+
+    /**
+     * @param streamedPageSize page size from which list responses are streamed; those are never
+     *     buffered for the cache
+     */
+    public ResponseCacheFilter(OffHeapResponseCache cache, HotKeyTracker hotKeyTracker, int streamedPageSize) {
+        this.cache = cache;
+        this.hotKeyTracker = hotKeyTracker;
+        this.streamedPageSize = streamedPageSize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null && !accept.contains("json") && !accept.contains("*/*")) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        if (LIST_PATH.matcher(path).matches()) {
+            return isStreamed(request.getParameter("size"));
+        }
+        return !USER_PATH.matcher(path).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = cacheKey(request);
+        Long userId = userId(request);
+        try (OffHeapResponseCache.CachedBody cached = cache.get(key)) {
+            if (cached != null) {
+                recordHotKey(request, userId);
+                request.setAttribute(CACHED_BODY, cached);
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    request.removeAttribute(CACHED_BODY);
+                }
+                return;
+            }
+        }
+
+        long generation = cache.generation(userId);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        boolean joinedFlight = RequestCoalescer.joinedFlight(request);
+
+        if (wrapper.getStatus() == HttpStatus.OK.value() && isJson(wrapper.getContentType()) && !joinedFlight) {
+            cache.put(key, userId, wrapper.getContentAsByteArray(), generation);
+            wrapper.setHeader(CACHE_HEADER, "MISS");
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void recordHotKey(HttpServletRequest request, Long userId) {
+        if (userId != null) {
+            hotKeyTracker.recordUserId(userId);
+        } else {
+            hotKeyTracker.recordSearchTerm(request.getParameter("name"));
+        }
+    }
+
+    private static String cacheKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        char separator = '?';
+        for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+            for (String value : parameter.getValue()) {
+                key.append(separator).append(parameter.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    private static Long userId(HttpServletRequest request) {
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI());
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    private boolean isStreamed(String size) {
+        try {
+            return size != null && Integer.parseInt(size) >= streamedPageSize;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType != null && contentType.contains("json");
+    }
+}
@@ -0,0 +1,39 @@
+package com.pitang.booster_c1m1.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes a response cache hit found by {@link ResponseCacheFilter}. Registered after the other interceptors,
+ * so the hit has its request ids, MDC, access log, deadline and resource metrics like a rendered response;
+ * returning {@code false} stops the request before the handler runs while still completing those interceptors.
+ */
+public class ResponseCacheHitInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(request.getAttribute(ResponseCacheFilter.CACHED_BODY) instanceof OffHeapResponseCache.CachedBody hit)) {
+            return true;
+        }
+        ByteBuffer body = hit.body();
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.remaining());
+        response.setHeader(ResponseCacheFilter.CACHE_HEADER, "HIT");
+        WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+        while (body.hasRemaining()) {
+            channel.write(body);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+package com.pitang.booster_c1m1.cache;
+
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.pitang.booster_c1m1.event.UserChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evicts cached responses once a user write has committed.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ResponseCacheInvalidator {
+
+    private final OffHeapResponseCache cache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        cache.evictUser(event.userId());
+        log.debug("Evicted cached responses for user id: {}", event.userId());
+    }
+}
@@ -0,0 +1,39 @@
+package com.pitang.booster_c1m1.cache;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drops Hibernate second-level and query cache entries for users changed outside this node's
+ * {@code EntityManager}: writes on other nodes and JDBC bulk loads. Local JPA writes keep the
+ * caches current on their own.
+ */
+@Slf4j
+public class SecondLevelCacheEvictor implements UserCacheEvictor {
+
+    private final Cache cache;
+
+    public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @Override
+    public void evictUser(Long userId) {
+        cache.evictEntityData(User.class, userId);
+        cache.evictQueryRegion(UserRepository.NAME_QUERY_CACHE_REGION);
+        log.debug("Evicted second-level cache entries for user id: {}", userId);
+    }
+
+    @Override
+    public void clear() {
+        cache.evictEntityData(User.class);
+        cache.evictQueryRegion(UserRepository.NAME_QUERY_CACHE_REGION);
+        log.debug("Evicted all second-level cache entries for users");
+    }
+}
@@ -0,0 +1,12 @@
+package com.pitang.booster_c1m1.cache;
+
+/**
+ * A node-local cache holding user data. Implementations are evicted by local writes and by
+ * invalidations received from other nodes.
+ */
+public interface UserCacheEvictor {
+
+    void evictUser(Long userId);
+
+    void clear();
+}
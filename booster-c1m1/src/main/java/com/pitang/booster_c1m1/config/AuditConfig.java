@@ -0,0 +1,27 @@
+package com.pitang.booster_c1m1.config;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.service.audit.AuditTrail;
+import com.pitang.booster_c1m1.service.audit.AuditWal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "users.audit.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditConfig {
+
+    @Bean
+    public AuditTrail auditTrail(AuditProperties properties, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        AuditWal wal = new AuditWal(Path.of(properties.getWalFile()), objectMapper, properties.isFsync(),
+                properties.getWalCompactThreshold());
+        return new AuditTrail(properties, wal, jdbcTemplate, objectMapper, meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.pitang.booster_c1m1.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.audit")
+public class AuditProperties {
+
+    /** Whether committed user changes are written to the audit trail. */
+    private boolean enabled = true;
+
+    /** Capacity of the in-memory queue between request threads and the writer. */
+    private int queueCapacity = 10_000;
+
+    /** Maximum rows per batch insert. */
+    private int batchSize = 500;
+
+    /** How long a request thread waits for queue space before writing its record itself. */
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    /** Pause before retrying a batch the database rejected. */
+    private Duration retryDelay = Duration.ofSeconds(1);
+
+    /** How long shutdown waits for the queue to drain. */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /** Write-ahead file holding records until they are in the database. */
+    private String walFile = "data/user-audit.wal";
+
+    /** Acknowledged records after which a write-ahead file with outstanding records is rewritten. */
+    private int walCompactThreshold = 10_000;
+
+    /** Whether every append is forced to disk; without it a process crash loses nothing, an OS crash may. */
+    private boolean fsync = false;
+}
@@ -0,0 +1,50 @@
+package com.pitang.booster_c1m1.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.cache.UserCacheEvictor;
+import com.pitang.booster_c1m1.controller.UserBulkLoadController;
+import com.pitang.booster_c1m1.service.bulk.UserBulkLoader;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "users.bulk-load.enabled", havingValue = "true")
+public class BulkLoadConfig {
+
+    /**
+     * The loader writes straight to the main datasource's {@code users} table; with sharding on that would
+     * bypass the shards and the email directory, so the two cannot be enabled together.
+     */
+    @Bean
+    public UserBulkLoader userBulkLoader(DataSource dataSource, BulkLoadProperties properties,
+            ShardingProperties shardingProperties, AuditProperties auditProperties,
+            ObjectProvider<UserCacheEvictor> caches, ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        if (shardingProperties.isEnabled()) {
+            throw new IllegalStateException(
+                    "users.bulk-load.enabled cannot be combined with users.sharding.enabled: "
+                            + "bulk loads write to the main datasource, not the shards");
+        }
+        return new UserBulkLoader(dataSource, properties, auditProperties.isEnabled(),
+                caches.orderedStream().toList(), eventPublisher, objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<BearerTokenFilter> bulkLoadAccessFilter(BulkLoadProperties properties) {
+        FilterRegistrationBean<BearerTokenFilter> registration =
+                new FilterRegistrationBean<>(new BearerTokenFilter(properties.getToken()));
+        registration.addUrlPatterns(UserBulkLoadController.PATH, UserBulkLoadController.PATH + "/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,30 @@
+package com.pitang.booster_c1m1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.bulk-load")
+public class BulkLoadProperties {
+
+    /** Whether the admin bulk-load endpoint is exposed. */
+    private boolean enabled = false;
+
+    /** Bearer token required by the bulk-load endpoints; with none set every request is refused. */
+    private String token;
+
+    /** Log a progress line every this many input rows. */
+    private long progressInterval = 100_000;
+
+    /** Rows per JDBC batch when staging without COPY (non-Postgres databases). */
+    private int batchSize = 1_000;
+
+    /** How many already-registered emails a load reports back. */
+    private int rejectedSampleSize = 100;
+
+    /** Whether every inserted user gets a CREATED outbox event, written in the load transaction. */
+    private boolean outboxEvents = true;
+}
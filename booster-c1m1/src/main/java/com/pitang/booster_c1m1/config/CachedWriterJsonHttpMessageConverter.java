@@ -0,0 +1,92 @@
+package com.pitang.booster_c1m1.config;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pitang.booster_c1m1.dto.PaginatedResponseDTO;
+import com.pitang.booster_c1m1.dto.UserBatchResponseDTO;
+import com.pitang.booster_c1m1.dto.UserDTO;
+
+/**
+ * Writes the user response DTOs with one {@link ObjectWriter} per declared response type, built
+ * once with its root serializer resolved, instead of the per-request writer lookup of the generic
+ * Jackson converter. Output is identical: the writers come from the application's
+ * {@link ObjectMapper}. Everything else, including all reads, is left to the Jackson converter.
+ */
+public class CachedWriterJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final Set<Class<?>> RESPONSE_TYPES =
+            Set.of(UserDTO.class, PaginatedResponseDTO.class, UserBatchResponseDTO.class);
+
+    private final ObjectMapper objectMapper;
+    private final Map<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public CachedWriterJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RESPONSE_TYPES.contains(clazz);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return supports(clazz) && (type == null || supports(rawClass(type))) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        writers.computeIfAbsent(type != null ? type : body.getClass(), this::writerFor)
+                .writeValue(StreamUtils.nonClosing(outputMessage.getBody()), body);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    private ObjectWriter writerFor(Type type) {
+        return objectMapper.writerFor(objectMapper.constructType(type));
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> clazz) {
+            return clazz;
+        }
+        return Object.class;
+    }
+}
@@ -0,0 +1,45 @@
+package com.pitang.booster_c1m1.config;
+
+import java.sql.DriverManager;
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.pitang.booster_c1m1.cache.ClusterInvalidationListener;
+import com.pitang.booster_c1m1.cache.ClusterInvalidationPublisher;
+import com.pitang.booster_c1m1.cache.UserCacheEvictor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "users.cluster-invalidation.enabled", havingValue = "true")
+public class ClusterInvalidationConfig {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Bean
+    public ClusterInvalidationPublisher clusterInvalidationPublisher(JdbcTemplate jdbcTemplate,
+            ClusterInvalidationProperties properties) {
+        return new ClusterInvalidationPublisher(jdbcTemplate, properties.getChannel(), nodeId);
+    }
+
+    @Bean
+    public ClusterInvalidationListener clusterInvalidationListener(DataSourceProperties dataSourceProperties,
+            ObjectProvider<UserCacheEvictor> caches, ClusterInvalidationProperties properties,
+            MeterRegistry meterRegistry) {
+        return new ClusterInvalidationListener(
+                () -> DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                        dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword()),
+                caches.orderedStream().toList(),
+                properties.getChannel(),
+                nodeId,
+                properties.getPollTimeout(),
+                properties.getReconnectDelay(),
+                meterRegistry);
+    }
+}
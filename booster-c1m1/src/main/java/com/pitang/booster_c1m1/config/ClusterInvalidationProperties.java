@@ -0,0 +1,29 @@
+package com.pitang.booster_c1m1.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.cluster-invalidation")
+public class ClusterInvalidationProperties {
+
+    /** Whether user cache invalidations are exchanged with other nodes over Postgres LISTEN/NOTIFY. */
+    private boolean enabled = false;
+
+    /** NOTIFY channel shared by all nodes. */
+    private String channel = "user_cache_invalidation";
+
+    /**
+     * How long one wait for notifications blocks. A wait that returns nothing is followed by a validation
+     * round trip, allowed the same time (at least one second); a connection that fails it is reopened.
+     */
+    private Duration pollTimeout = Duration.ofSeconds(5);
+
+    /** Delay before reconnecting after the listener connection is lost. */
+    private Duration reconnectDelay = Duration.ofSeconds(2);
+}
@@ -0,0 +1,20 @@
+package com.pitang.booster_c1m1.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.pitang.booster_c1m1.deadline.DeadlineDataSourcePostProcessor;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "users.deadline.enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineConfig {
+
+    private DeadlineConfig() {
+    }
+
+    @Bean
+    public static DeadlineDataSourcePostProcessor deadlineDataSourcePostProcessor() {
+        return new DeadlineDataSourcePostProcessor();
+    }
+}
@@ -0,0 +1,31 @@
+package com.pitang.booster_c1m1.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.deadline")
+public class DeadlineProperties {
+
+    /** Whether requests get a deadline that bounds their database work. */
+    private boolean enabled = true;
+
+    /** Request header carrying the client's timeout in milliseconds. */
+    private String header = "X-Request-Timeout";
+
+    /** Deadline for endpoints without their own entry. */
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    /** Upper bound for timeouts asked for in the header. */
+    private Duration maxTimeout = Duration.ofSeconds(30);
+
+    /** Per-endpoint defaults, keyed by controller method name (e.g. {@code getAllUsers}). */
+    private Map<String, Duration> endpoints = new HashMap<>();
+}
@@ -0,0 +1,27 @@
+package com.pitang.booster_c1m1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.email-filter")
+public class EmailFilterProperties {
+
+    /** When false every availability check goes to the database. */
+    private boolean enabled = true;
+
+    /** Minimum number of emails the filter is sized for; rebuilds grow it with the table. */
+    private long expectedInsertions = 1_000_000;
+
+    /** Target false-positive probability at the expected number of emails. */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Delay between full rebuilds from the database, in milliseconds. Rebuilds drop emails of deleted
+     * users and resize the filter when the table outgrows it.
+     */
+    private long rebuildInterval = 3_600_000;
+}
@@ -0,0 +1,36 @@
+package com.pitang.booster_c1m1.config;
+
+import org.springframework.boot.actuate.endpoint.EndpointId;
+import org.springframework.boot.actuate.endpoint.web.PathMappedEndpoints;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.core.Ordered;
+
+import jakarta.servlet.Filter;
+
+/**
+ * Registers filters on the paths actuator actually serves its endpoints under, so base-path and
+ * path-mapping changes cannot leave an endpoint unguarded.
+ */
+final class EndpointFilterRegistrations {
+
+    private EndpointFilterRegistrations() {
+    }
+
+    /**
+     * Registers {@code filter} first in the chain for every listed endpoint that is exposed over HTTP;
+     * the registration is disabled when none is.
+     */
+    static <F extends Filter> FilterRegistrationBean<F> forEndpoints(F filter, PathMappedEndpoints endpoints,
+            String... ids) {
+        FilterRegistrationBean<F> registration = new FilterRegistrationBean<>(filter);
+        for (String id : ids) {
+            String path = endpoints.getPath(EndpointId.of(id));
+            if (path != null) {
+                registration.addUrlPatterns(path, path + "/*");
+            }
+        }
+        registration.setEnabled(!registration.getUrlPatterns().isEmpty());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,39 @@
+package com.pitang.booster_c1m1.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.hotkeys")
+public class HotKeyProperties {
+
+    /** Whether read paths feed the heavy-hitter trackers. */
+    private boolean enabled = true;
+
+    /** Candidate keys kept per bucket, and the default number of keys reported. */
+    private int topK = 20;
+
+    /** Length of one time bucket. */
+    private Duration bucketDuration = Duration.ofSeconds(10);
+
+    /** Buckets in the ring; bucket-duration times this is the longest window. */
+    private int buckets = 60;
+
+    /** Rows of each count-min sketch. */
+    private int sketchDepth = 4;
+
+    /** Counters per sketch row. */
+    private int sketchWidth = 512;
+
+    /** Whether search terms are tracked as truncated SHA-256 digests instead of plain text. */
+    private boolean hashSearchTerms = true;
+
+    /** Windows reported by the hotkeys actuator endpoint. */
+    private List<Duration> windows = List.of(Duration.ofMinutes(1), Duration.ofMinutes(10));
+}
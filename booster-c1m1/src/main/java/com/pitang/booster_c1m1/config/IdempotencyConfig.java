@@ -0,0 +1,29 @@
+package com.pitang.booster_c1m1.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.idempotency.DatabaseIdempotencyStore;
+import com.pitang.booster_c1m1.idempotency.IdempotencyStore;
+import com.pitang.booster_c1m1.idempotency.InMemoryIdempotencyStore;
+import com.pitang.booster_c1m1.repository.IdempotencyRecordRepository;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "users.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties properties) {
+        return new InMemoryIdempotencyStore(properties.getMaxEntries());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "users.idempotency.store", havingValue = "database")
+    public IdempotencyStore databaseIdempotencyStore(IdempotencyRecordRepository repository,
+            TransactionTemplate transactionTemplate, ObjectMapper objectMapper) {
+        return new DatabaseIdempotencyStore(repository, transactionTemplate, objectMapper);
+    }
+}
@@ -0,0 +1,38 @@
+package com.pitang.booster_c1m1.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.idempotency")
+public class IdempotencyProperties {
+
+    /** Whether {@code Idempotency-Key} is honoured on {@code POST /v1/users}. Without it the header is ignored. */
+    private boolean enabled = true;
+
+    /** Store type: {@code memory} (this instance only) or {@code database} (shared by every instance). */
+    private String store = "memory";
+
+    /** How long a stored response is replayed for. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** Capacity of the {@code memory} store; the least recently used keys are dropped first. */
+    private int maxEntries = 10_000;
+
+    /** Longest accepted key. */
+    private int maxKeyLength = 255;
+
+    /** How long a duplicate waits for the in-flight request with the same key before getting 409. */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /** An in-flight claim older than this is treated as abandoned by a crashed instance and taken over. */
+    private Duration inFlightTimeout = Duration.ofMinutes(1);
+
+    /** Delay between purges of expired keys from the {@code database} store, in milliseconds. */
+    private long purgeInterval = 600_000;
+}
@@ -0,0 +1,21 @@
+package com.pitang.booster_c1m1.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Boot registers every Jackson {@code Module} bean with the application's {@code ObjectMapper}.
+ * Blackbird replaces reflective getter calls with generated lambdas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "users.json.blackbird", havingValue = "true", matchIfMissing = true)
+public class JacksonConfig {
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
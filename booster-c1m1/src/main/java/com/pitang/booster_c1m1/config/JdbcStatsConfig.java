@@ -0,0 +1,23 @@
+package com.pitang.booster_c1m1.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.pitang.booster_c1m1.jdbc.StatementRecorder;
+import com.pitang.booster_c1m1.jdbc.StatementStatsDataSourcePostProcessor;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "users.jdbc-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class JdbcStatsConfig {
+
+    private JdbcStatsConfig() {
+    }
+
+    @Bean
+    public static StatementStatsDataSourcePostProcessor statementStatsDataSourcePostProcessor(
+            ObjectProvider<StatementRecorder> statementRecorder) {
+        return new StatementStatsDataSourcePostProcessor(statementRecorder);
+    }
+}
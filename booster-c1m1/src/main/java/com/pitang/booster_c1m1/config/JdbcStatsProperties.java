@@ -0,0 +1,26 @@
+package com.pitang.booster_c1m1.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.jdbc-stats")
+public class JdbcStatsProperties {
+
+    /** Whether JDBC statements are timed and counted per request. */
+    private boolean enabled = true;
+
+    /** Statements taking at least this long are logged. */
+    private Duration slowThreshold = Duration.ofMillis(200);
+
+    /** A statement run at least this many times in one request is reported as a possible N+1. */
+    private int repeatedStatementThreshold = 5;
+
+    /** Distinct statements that get their own timer; the rest share the {@code other} timer. */
+    private int maxStatementMetrics = 200;
+}
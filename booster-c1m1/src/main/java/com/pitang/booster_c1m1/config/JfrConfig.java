@@ -0,0 +1,39 @@
+package com.pitang.booster_c1m1.config;
+
+import org.springframework.boot.actuate.endpoint.web.PathMappedEndpoints;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.pitang.booster_c1m1.profiling.JfrAccessFilter;
+import com.pitang.booster_c1m1.profiling.JfrEndpoint;
+import com.pitang.booster_c1m1.profiling.JfrRecorder;
+import com.pitang.booster_c1m1.profiling.JfrSummaryEndpoint;
+
+@Configuration
+@ConditionalOnProperty(name = "users.jfr.enabled", havingValue = "true")
+public class JfrConfig {
+
+    @Bean
+    public JfrRecorder jfrRecorder(JfrProperties properties) {
+        return new JfrRecorder(properties);
+    }
+
+    @Bean
+    public JfrEndpoint jfrEndpoint(JfrRecorder recorder) {
+        return new JfrEndpoint(recorder);
+    }
+
+    @Bean
+    public JfrSummaryEndpoint jfrSummaryEndpoint(JfrRecorder recorder) {
+        return new JfrSummaryEndpoint(recorder);
+    }
+
+    @Bean
+    public FilterRegistrationBean<JfrAccessFilter> jfrAccessFilter(JfrProperties properties,
+            PathMappedEndpoints endpoints) {
+        return EndpointFilterRegistrations.forEndpoints(new JfrAccessFilter(properties.getToken()), endpoints,
+                "jfr", "jfrsummary");
+    }
+}
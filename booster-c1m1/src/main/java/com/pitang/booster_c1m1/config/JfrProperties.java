@@ -0,0 +1,52 @@
+package com.pitang.booster_c1m1.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.jfr")
+public class JfrProperties {
+
+    /** Whether the {@code jfr} and {@code jfrsummary} actuator endpoints are available. */
+    private boolean enabled = false;
+
+    /** Bearer token required by the endpoints. Without one every call is refused. */
+    private String token;
+
+    /** Package whose frames the summaries attribute samples to. */
+    private String packagePrefix = "com.pitang.booster_c1m1";
+
+    /** Recording length when none is requested. */
+    private Duration defaultDuration = Duration.ofSeconds(30);
+
+    /** Longest on-demand recording accepted. */
+    private Duration maxDuration = Duration.ofMinutes(5);
+
+    /** Size cap of an on-demand recording. */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    private Continuous continuous = new Continuous();
+
+    @Getter
+    @Setter
+    public static class Continuous {
+
+        /** Whether a low-overhead recording runs for the lifetime of the service. */
+        private boolean enabled = false;
+
+        /** JFR settings ({@code default} or {@code profile}). */
+        private String profile = "default";
+
+        /** How far back the ring buffer reaches. */
+        private Duration maxAge = Duration.ofMinutes(15);
+
+        /** Size cap of the ring buffer. */
+        private DataSize maxSize = DataSize.ofMegabytes(100);
+    }
+}
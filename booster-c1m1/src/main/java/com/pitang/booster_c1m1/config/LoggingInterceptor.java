@@ -1,13 +1,16 @@
 package com.pitang.booster_c1m1.config;
 
-import java.time.Instant;
-import java.util.UUID;
-
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.servlet.ModelAndView;
+
+import com.pitang.booster_c1m1.correlation.MdcFields;
+import com.pitang.booster_c1m1.correlation.RequestHeaders;
+import com.pitang.booster_c1m1.correlation.RequestIds;
+import com.pitang.booster_c1m1.correlation.RequestLogSampler;
+import com.pitang.booster_c1m1.correlation.TraceContext;
+import com.pitang.booster_c1m1.warmup.WarmupScope;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -17,59 +20,83 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class LoggingInterceptor implements HandlerInterceptor {
 
-    private static final String REQUEST_ID_HEADER = "X-Request-ID";
-    private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
+    /** Request attribute holding the request's {@link TraceContext}, for outgoing calls. */
+    public static final String TRACE_CONTEXT = TraceContext.class.getName();
+
     private static final String REQUEST_START_TIME = "requestStartTime";
+    private static final String CLIENT_ADDRESS = "requestClientAddress";
+
+    private final MdcFields mdcFields;
+    private final RequestLogSampler sampler;
+
+    public LoggingInterceptor(RequestLoggingProperties properties, RequestLogSampler sampler) {
+        this.sampler = sampler;
+        this.mdcFields = properties.getMdcFields().isEmpty()
+                ? MdcFields.detect(LoggerFactory.getILoggerFactory())
+                : MdcFields.of(properties.getMdcFields());
+        log.info("Request logging fills MDC keys: {}", mdcFields);
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        long startTime = Instant.now().toEpochMilli();
-        request.setAttribute(REQUEST_START_TIME, startTime);
-
-        String requestId = request.getHeader(REQUEST_ID_HEADER);
-        if (!StringUtils.hasText(requestId)) {
-            requestId = UUID.randomUUID().toString();
+        request.setAttribute(REQUEST_START_TIME, System.nanoTime());
+
+        RequestHeaders headers = RequestHeaders.scan(request);
+        String requestId = hasText(headers.requestId()) ? headers.requestId() : RequestIds.next();
+        String correlationId = hasText(headers.correlationId()) ? headers.correlationId() : requestId;
+        TraceContext trace = TraceContext.continueOrStart(headers.traceparent());
+        String clientAddress = headers.clientAddress(request);
+        request.setAttribute(TRACE_CONTEXT, trace);
+
+        put(MdcFields.REQUEST_ID, requestId);
+        put(MdcFields.CORRELATION_ID, correlationId);
+        put(MdcFields.TRACE_ID, trace.traceId());
+        put(MdcFields.SPAN_ID, trace.spanId());
+        put(MdcFields.METHOD, request.getMethod());
+        put(MdcFields.URI, request.getRequestURI());
+        put(MdcFields.REMOTE_ADDR, clientAddress);
+        put(MdcFields.USER_AGENT, headers.userAgent());
+
+        response.setHeader(RequestHeaders.REQUEST_ID, requestId);
+        response.setHeader(RequestHeaders.CORRELATION_ID, correlationId);
+
+        if (WarmupScope.isActive()) {
+            return true;
         }
-
-        String correlationId = request.getHeader(CORRELATION_ID_HEADER);
-        if (!StringUtils.hasText(correlationId)) {
-            correlationId = UUID.randomUUID().toString();
+        if (sampler.isSampling()) {
+            request.setAttribute(CLIENT_ADDRESS, clientAddress);
+        } else {
+            logStarted(request, clientAddress);
         }
 
-        MDC.put("requestId", requestId);
-        MDC.put("correlationId", correlationId);
-        MDC.put("method", request.getMethod());
-        MDC.put("uri", request.getRequestURI());
-        MDC.put("remoteAddr", getClientIpAddress(request));
-        MDC.put("userAgent", request.getHeader("User-Agent"));
-
-        response.setHeader(REQUEST_ID_HEADER, requestId);
-        response.setHeader(CORRELATION_ID_HEADER, correlationId);
-
-        log.info("HTTP Request started - {} {} from {}",
-            request.getMethod(), request.getRequestURI(), getClientIpAddress(request));
-
         return true;
     }
 
     @Override
-    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
-            ModelAndView modelAndView) {
-        MDC.put("responseStatus", String.valueOf(response.getStatus()));
-    }
-
-    @Override
-    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
         try {
+            if (WarmupScope.isActive()) {
+                return;
+            }
             Long startTime = (Long) request.getAttribute(REQUEST_START_TIME);
-            long duration = startTime != null ? Instant.now().toEpochMilli() - startTime : 0;
+            long duration = startTime != null ? (System.nanoTime() - startTime) / 1_000_000 : 0;
 
-            MDC.put("duration", String.valueOf(duration));
-            MDC.put("responseStatus", String.valueOf(response.getStatus()));
+            RequestLogSampler.Decision decision = sampler.decide(response.getStatus(), ex, duration);
+            if (!decision.logged()) {
+                return;
+            }
+            Object bufferedClientAddress = request.getAttribute(CLIENT_ADDRESS);
+            if (bufferedClientAddress != null) {
+                logStarted(request, (String) bufferedClientAddress);
+            }
+
+            put(MdcFields.DURATION, duration);
+            put(MdcFields.RESPONSE_STATUS, response.getStatus());
 
             if (ex != null) {
-                MDC.put("exception", ex.getClass().getSimpleName());
-                MDC.put("exceptionMessage", ex.getMessage());
+                put(MdcFields.EXCEPTION, ex.getClass().getSimpleName());
+                put(MdcFields.EXCEPTION_MESSAGE, ex.getMessage());
                 log.error("HTTP Request completed with exception - {} {} - Status: {} - Duration: {}ms",
                     request.getMethod(), request.getRequestURI(), response.getStatus(), duration, ex);
             } else {
@@ -81,17 +108,23 @@ public class LoggingInterceptor implements HandlerInterceptor {
         }
     }
 
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (StringUtils.hasText(xForwardedFor)) {
-            return xForwardedFor.split(",")[0].trim();
+    private static void logStarted(HttpServletRequest request, String clientAddress) {
+        log.info("HTTP Request started - {} {} from {}", request.getMethod(), request.getRequestURI(), clientAddress);
+    }
+
+    private void put(String key, String value) {
+        if (value != null && mdcFields.has(key)) {
+            MDC.put(key, value);
         }
+    }
 
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (StringUtils.hasText(xRealIp)) {
-            return xRealIp;
+    private void put(String key, long value) {
+        if (mdcFields.has(key)) {
+            MDC.put(key, String.valueOf(value));
         }
+    }
 
-        return request.getRemoteAddr();
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
     }
-}
\ No newline at end of file
+}
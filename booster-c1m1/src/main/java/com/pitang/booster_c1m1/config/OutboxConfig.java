@@ -0,0 +1,28 @@
+package com.pitang.booster_c1m1.config;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.service.outbox.FileUserEventSink;
+import com.pitang.booster_c1m1.service.outbox.InMemoryUserEventSink;
+import com.pitang.booster_c1m1.service.outbox.UserEventSink;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "users.outbox.sink", havingValue = "memory")
+    public UserEventSink inMemoryUserEventSink(OutboxProperties properties) {
+        return new InMemoryUserEventSink(properties.getMemoryCapacity());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "users.outbox.sink", havingValue = "file", matchIfMissing = true)
+    public UserEventSink fileUserEventSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new FileUserEventSink(Path.of(properties.getFile()), objectMapper);
+    }
+}
@@ -0,0 +1,33 @@
+package com.pitang.booster_c1m1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.outbox")
+public class OutboxProperties {
+
+    /** Whether the scheduled publisher drains the outbox. Events are always recorded. */
+    private boolean publisherEnabled = true;
+
+    /** Delay between drain runs, in milliseconds. */
+    private long pollInterval = 1000;
+
+    /** Maximum events handed to the sink per batch. */
+    private int batchSize = 100;
+
+    /** Maximum batches per drain run, so one run cannot monopolise the scheduler thread. */
+    private int maxBatchesPerRun = 10;
+
+    /** Sink type: {@code memory} or {@code file}. */
+    private String sink = "file";
+
+    /** Target file for the {@code file} sink. */
+    private String file = "logs/user-events.jsonl";
+
+    /** Capacity of the {@code memory} sink. */
+    private int memoryCapacity = 10_000;
+}
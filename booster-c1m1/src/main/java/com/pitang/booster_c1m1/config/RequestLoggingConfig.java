@@ -0,0 +1,19 @@
+package com.pitang.booster_c1m1.config;
+
+import org.springframework.boot.actuate.endpoint.web.PathMappedEndpoints;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.pitang.booster_c1m1.correlation.RequestLoggingAccessFilter;
+
+@Configuration
+public class RequestLoggingConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestLoggingAccessFilter> requestLoggingAccessFilter(
+            RequestLoggingProperties properties, PathMappedEndpoints endpoints) {
+        return EndpointFilterRegistrations.forEndpoints(new RequestLoggingAccessFilter(properties.getToken()),
+                endpoints, "requestlogging");
+    }
+}
@@ -0,0 +1,37 @@
+package com.pitang.booster_c1m1.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.request-logging")
+public class RequestLoggingProperties {
+
+    /**
+     * MDC keys the request interceptor fills. Empty means: whatever the active logback
+     * configuration prints.
+     */
+    private List<String> mdcFields = new ArrayList<>();
+
+    /** Fraction of ordinary requests that are logged; errors and slow requests always are. */
+    private double sampleRate = 1.0;
+
+    /** Requests taking at least this long are always logged. */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    /**
+     * Responses with at least this status are always logged. Exceptions handled by a resolver reach the
+     * sampler only as a status, so this defaults to capturing client errors as well.
+     */
+    private int errorStatus = 400;
+
+    /** Bearer token required to change the sampling settings over HTTP. Without one, changes are refused. */
+    private String token;
+}
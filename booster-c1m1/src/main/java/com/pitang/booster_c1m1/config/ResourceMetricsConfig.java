@@ -0,0 +1,23 @@
+package com.pitang.booster_c1m1.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.pitang.booster_c1m1.metrics.ResourceUsageInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registers the per-request allocation and CPU time interceptor unless {@code users.resource-metrics.enabled}
+ * is {@code false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "users.resource-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class ResourceMetricsConfig {
+
+    @Bean
+    public ResourceUsageInterceptor resourceUsageInterceptor(MeterRegistry meterRegistry) {
+        return new ResourceUsageInterceptor(meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.pitang.booster_c1m1.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.pitang.booster_c1m1.cache.OffHeapResponseCache;
+import com.pitang.booster_c1m1.cache.ResponseCacheFilter;
+import com.pitang.booster_c1m1.cache.ResponseCacheHitInterceptor;
+import com.pitang.booster_c1m1.cache.ResponseCacheInvalidator;
+import com.pitang.booster_c1m1.metrics.HotKeyTracker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "users.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    @Bean
+    public OffHeapResponseCache offHeapResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        OffHeapResponseCache cache = new OffHeapResponseCache(
+                properties.getMaxSize().toBytes(), properties.getMaxEntrySize().toBytes(), properties.getTtl());
+        cache.bindTo(meterRegistry);
+        return cache;
+    }
+
+    @Bean
+    public ResponseCacheInvalidator responseCacheInvalidator(OffHeapResponseCache offHeapResponseCache) {
+        return new ResponseCacheInvalidator(offHeapResponseCache);
+    }
+
+    @Bean
+    public ResponseCacheHitInterceptor responseCacheHitInterceptor() {
+        return new ResponseCacheHitInterceptor();
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(OffHeapResponseCache offHeapResponseCache,
+            HotKeyTracker hotKeyTracker, StreamingProperties streamingProperties) {
+        int streamedPageSize = streamingProperties.isEnabled() ? streamingProperties.getThreshold() : Integer.MAX_VALUE;
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(
+                new ResponseCacheFilter(offHeapResponseCache, hotKeyTracker, streamedPageSize));
+        registration.addUrlPatterns("/v1/users", "/v1/users/*");
+        return registration;
+    }
+}
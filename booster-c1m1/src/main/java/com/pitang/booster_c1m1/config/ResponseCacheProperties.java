@@ -0,0 +1,27 @@
+package com.pitang.booster_c1m1.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.response-cache")
+public class ResponseCacheProperties {
+
+    /** Whether serialized GET /v1/users responses are cached. */
+    private boolean enabled = true;
+
+    /** Total off-heap memory the cache may hold. */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    /** Responses larger than this are never cached. */
+    private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+
+    /** How long a cached response may be served before it is rendered again. */
+    private Duration ttl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,99 @@
+package com.pitang.booster_c1m1.config;
+
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.pitang.booster_c1m1.cache.SecondLevelCacheEvictor;
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns on Hibernate's second-level and query cache for {@link User} on a Caffeine JCache heap store.
+ * Regions are created here from {@link SecondLevelCacheProperties} rather than from a provider config
+ * file; Hibernate is told to fail on any region it would otherwise create unbounded. Cache statistics
+ * are enabled so Spring Boot binds them to Micrometer ({@code hibernate.second.level.cache.*},
+ * {@code hibernate.query.cache.*}).
+ *
+ * <p>With {@code users.l2-cache.enabled=false} both caches are switched off explicitly: Hibernate turns the
+ * second-level cache on by itself whenever a region factory such as hibernate-jcache is on the classpath.
+ */
+@Slf4j
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final List<String> REGIONS = List.of(
+            User.CACHE_REGION,
+            UserRepository.NAME_QUERY_CACHE_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    /** Each context gets its own manager; the provider's default one is shared JVM-wide. */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "users.l2-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("users-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String name : REGIONS) {
+            SecondLevelCacheProperties.Region region = properties.region(name);
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaxEntries()));
+            if (!region.getTimeToLive().isZero()) {
+                configuration.setExpireAfterWrite(OptionalLong.of(region.getTimeToLive().toNanos()));
+            }
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+            log.info("Second-level cache region '{}': {} entries, ttl {}", name, region.getMaxEntries(),
+                    region.getTimeToLive());
+        }
+        // One entry per table; evicting or expiring it would let the query cache serve stale results.
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "users.l2-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "users.l2-cache", name = "enabled", havingValue = "false")
+    public HibernatePropertiesCustomizer secondLevelCacheDisabledCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "users.l2-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public SecondLevelCacheEvictor secondLevelCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        return new SecondLevelCacheEvictor(entityManagerFactory);
+    }
+}
@@ -0,0 +1,40 @@
+package com.pitang.booster_c1m1.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.l2-cache")
+public class SecondLevelCacheProperties {
+
+    /** Enables the Hibernate second-level and query cache. */
+    private boolean enabled = true;
+
+    /** Settings for regions not listed in {@link #regions}. */
+    private Region defaults = new Region();
+
+    /** Per-region settings, keyed by region name (users, users-by-name, default-query-results-region). */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    public Region region(String name) {
+        return regions.getOrDefault(name, defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Region {
+
+        /** Entries kept on the heap before least-recently-used ones are evicted. */
+        private long maxEntries = 10_000;
+
+        /** Time an entry lives after being written; zero keeps it until evicted. */
+        private Duration timeToLive = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,81 @@
+package com.pitang.booster_c1m1.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.pitang.booster_c1m1.deadline.DeadlineAwareDataSource;
+import com.pitang.booster_c1m1.jdbc.StatementRecorder;
+import com.pitang.booster_c1m1.jdbc.StatementStatsDataSource;
+import com.pitang.booster_c1m1.repository.UserRepository;
+import com.pitang.booster_c1m1.sharding.ShardedUserRepository;
+import com.pitang.booster_c1m1.sharding.ShardedUserRepositoryAdapter;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Moves user rows onto {@code users.sharding.shards}. The shard pools are deliberately not beans, so
+ * the main datasource (outbox, JPA infrastructure) keeps being auto-configured as before; they get the
+ * same deadline and statement-stats wrappers here instead.
+ */
+@Configuration
+@ConditionalOnProperty(name = "users.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardedUserRepository shardedUserRepository(ShardingProperties properties,
+            JdbcStatsProperties jdbcStatsProperties, ObjectProvider<StatementRecorder> statementRecorder) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException(
+                    "users.sharding.enabled is set but no users.sharding.shards are configured");
+        }
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < properties.getShards().size(); i++) {
+            ShardingProperties.Shard shard = properties.getShards().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("users-shard-" + i);
+            pool.setJdbcUrl(shard.getUrl());
+            pool.setUsername(shard.getUsername());
+            pool.setPassword(shard.getPassword());
+            pool.setMaximumPoolSize(shard.getMaximumPoolSize());
+            DataSource target = jdbcStatsProperties.isEnabled()
+                    ? new StatementStatsDataSource(pool, statementRecorder::getObject)
+                    : pool;
+            dataSources.add(new ClosingDeadlineAwareDataSource(target, pool));
+        }
+        ShardedUserRepository repository = new ShardedUserRepository(dataSources, properties.getScatterThreads(),
+                properties.getClaimTimeout());
+        if (properties.isInitializeSchema()) {
+            repository.initializeSchema();
+        }
+        return repository;
+    }
+
+    @Bean
+    @Primary
+    public UserRepository shardedUserRepositoryAdapter(ShardedUserRepository shardedUserRepository) {
+        return ShardedUserRepositoryAdapter.wrap(shardedUserRepository);
+    }
+
+    private static final class ClosingDeadlineAwareDataSource extends DeadlineAwareDataSource
+            implements AutoCloseable {
+
+        private final HikariDataSource pool;
+
+        ClosingDeadlineAwareDataSource(DataSource target, HikariDataSource pool) {
+            super(target);
+            this.pool = pool;
+        }
+
+        @Override
+        public void close() {
+            pool.close();
+        }
+    }
+}
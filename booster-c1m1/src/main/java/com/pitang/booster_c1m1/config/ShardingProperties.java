@@ -0,0 +1,40 @@
+package com.pitang.booster_c1m1.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.sharding")
+public class ShardingProperties {
+
+    /** Whether user rows are spread over the shards below instead of the main datasource. */
+    private boolean enabled = false;
+
+    /** Shard datasources. Shard 0 also holds the global email directory. The order must never change. */
+    private List<Shard> shards = new ArrayList<>();
+
+    /** Create the shard tables on startup when they do not exist. */
+    private boolean initializeSchema = true;
+
+    /** Shard queries run in parallel across all requests; beyond this the request thread runs them itself. */
+    private int scatterThreads = 32;
+
+    /** Age after which an email claim that never got its user is repaired or released. */
+    private Duration claimTimeout = Duration.ofMinutes(1);
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,54 @@
+package com.pitang.booster_c1m1.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.dto.StreamedPageDTO;
+
+/**
+ * Writes {@link StreamedPageDTO} responses through a {@link JsonGenerator} on the servlet output
+ * stream, so rows leave the process as the generator's buffer fills. Registered ahead of the
+ * Jackson converter, which would otherwise serialize the empty inherited view.
+ */
+public class StreamedPageHttpMessageConverter extends AbstractHttpMessageConverter<StreamedPageDTO<?>> {
+
+    private final ObjectMapper objectMapper;
+
+    public StreamedPageHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StreamedPageDTO.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected StreamedPageDTO<?> readInternal(Class<? extends StreamedPageDTO<?>> clazz,
+            HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Streamed pages are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(StreamedPageDTO<?> page, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(
+                StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8)) {
+            page.writeTo(generator);
+        }
+    }
+}
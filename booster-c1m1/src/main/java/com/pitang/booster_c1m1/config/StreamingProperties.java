@@ -0,0 +1,22 @@
+package com.pitang.booster_c1m1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The largest accepted page size is Spring Data's {@code spring.data.web.pageable.max-page-size};
+ * larger requests are clamped to it.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.streaming")
+public class StreamingProperties {
+
+    /** Whether large list pages are streamed row by row instead of built in memory. */
+    private boolean enabled = true;
+
+    /** Page size from which GET /v1/users streams its response. */
+    private int threshold = 500;
+}
@@ -0,0 +1,30 @@
+package com.pitang.booster_c1m1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.suggest")
+public class SuggestProperties {
+
+    /** Suggestions returned when the request does not ask for a number. */
+    private int defaultLimit = 10;
+
+    /** Largest number of suggestions a request may ask for. */
+    private int maxLimit = 50;
+
+    /** Words of a name that are indexed, so long names cannot blow up the index. */
+    private int maxWordsPerName = 4;
+
+    /** Pending writes merged into the packed index once this many accumulate. */
+    private int compactThreshold = 1024;
+
+    /**
+     * Delay between full rebuilds from the database, in milliseconds. Picks up writes made by other
+     * instances and by the bulk loader, which bypass this instance's events.
+     */
+    private long rebuildInterval = 600_000;
+}
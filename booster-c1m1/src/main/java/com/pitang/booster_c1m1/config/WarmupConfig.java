@@ -0,0 +1,53 @@
+package com.pitang.booster_c1m1.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.warmup.UserWarmup;
+import com.pitang.booster_c1m1.warmup.WarmupFilter;
+import com.pitang.booster_c1m1.warmup.WarmupHealthIndicator;
+import com.pitang.booster_c1m1.warmup.WarmupScope;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationPredicate;
+
+/**
+ * Always registered, even with warm-up disabled, because the readiness group names the
+ * {@code warmup} indicator and Boot refuses to start when a group member is missing.
+ */
+@Configuration
+public class WarmupConfig {
+
+    @Bean
+    public UserWarmup userWarmup(WarmupProperties properties, ObjectMapper objectMapper, DataSource dataSource,
+            MeterRegistry meterRegistry) {
+        return new UserWarmup(properties, objectMapper, dataSource, meterRegistry);
+    }
+
+    @Bean
+    public WarmupHealthIndicator warmupHealthIndicator(UserWarmup userWarmup) {
+        return new WarmupHealthIndicator(userWarmup);
+    }
+
+    /** First in the chain, so the observation filter already sees the warm-up scope. */
+    @Bean
+    public FilterRegistrationBean<WarmupFilter> warmupFilter(WarmupProperties properties, UserWarmup userWarmup) {
+        FilterRegistrationBean<WarmupFilter> registration =
+                new FilterRegistrationBean<>(new WarmupFilter(userWarmup.getToken()));
+        registration.addUrlPatterns("/v1/users", "/v1/users/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+
+    /** Keeps warm-up requests out of {@code http.server.requests} and every other observation. */
+    @Bean
+    public ObservationPredicate warmupObservationPredicate() {
+        return (name, context) -> !WarmupScope.isActive();
+    }
+}
@@ -0,0 +1,29 @@
+package com.pitang.booster_c1m1.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.warmup")
+public class WarmupProperties {
+
+    /** Whether readiness waits for a synthetic warm-up after startup. */
+    private boolean enabled = true;
+
+    /** Rounds of read-only calls per worker; each round reads users by id, every tenth lists a page. */
+    private int iterations = 500;
+
+    /** Parallel workers, so the pool and contended paths warm up too. */
+    private int concurrency = 4;
+
+    /** Connections opened up front; capped at the pool's maximum size. */
+    private int connections = 10;
+
+    /** Readiness is released after this long even if the rounds are not done. */
+    private Duration timeout = Duration.ofSeconds(60);
+}
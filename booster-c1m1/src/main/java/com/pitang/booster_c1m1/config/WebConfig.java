@@ -1,9 +1,19 @@
 package com.pitang.booster_c1m1.config;
 
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.cache.ResponseCacheHitInterceptor;
+import com.pitang.booster_c1m1.deadline.DeadlineInterceptor;
+import com.pitang.booster_c1m1.jdbc.StatementStatsInterceptor;
+import com.pitang.booster_c1m1.metrics.ResourceUsageInterceptor;
+
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -11,11 +21,32 @@ import lombok.RequiredArgsConstructor;
 public class WebConfig implements WebMvcConfigurer {
 
     private final LoggingInterceptor loggingInterceptor;
+    private final DeadlineInterceptor deadlineInterceptor;
+    private final StatementStatsInterceptor statementStatsInterceptor;
+    private final ObjectProvider<ResourceUsageInterceptor> resourceUsageInterceptor;
+    private final ObjectProvider<ResponseCacheHitInterceptor> responseCacheHitInterceptor;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new StreamedPageHttpMessageConverter(objectMapper));
+        converters.add(1, new CachedWriterJsonHttpMessageConverter(objectMapper));
+    }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        resourceUsageInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                .addPathPatterns("/**")
+                .excludePathPatterns("/actuator/**", "/swagger-ui/**", "/v3/api-docs/**"));
         registry.addInterceptor(loggingInterceptor)
                 .addPathPatterns("/**")
                 .excludePathPatterns("/actuator/**", "/swagger-ui/**", "/v3/api-docs/**");
+        registry.addInterceptor(deadlineInterceptor)
+                .addPathPatterns("/v1/**")
+                .excludePathPatterns("/v1/admin/**");
+        registry.addInterceptor(statementStatsInterceptor)
+                .addPathPatterns("/v1/**");
+        responseCacheHitInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                .addPathPatterns("/v1/users", "/v1/users/*"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.pitang.booster_c1m1.controller;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pitang.booster_c1m1.dto.BulkLoadResultDTO;
+import com.pitang.booster_c1m1.dto.BulkLoadStatusDTO;
+import com.pitang.booster_c1m1.service.bulk.UserBulkLoader;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping(UserBulkLoadController.PATH)
+@ConditionalOnProperty(name = "users.bulk-load.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class UserBulkLoadController {
+
+  public static final String PATH = "/v1/admin/users/bulk-load";
+
+  private final UserBulkLoader userBulkLoader;
+
+  @PostMapping(consumes = {"text/csv", "text/plain"})
+  public ResponseEntity<BulkLoadResultDTO> bulkLoadUsers(HttpServletRequest request) throws IOException {
+    log.info("Received bulk load request, content length: {}", request.getContentLengthLong());
+    try (Reader csv = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+      return ResponseEntity.ok(userBulkLoader.load(csv));
+    }
+  }
+
+  @GetMapping
+  public ResponseEntity<BulkLoadStatusDTO> getBulkLoadStatus() {
+    return ResponseEntity.ok(userBulkLoader.status());
+  }
+}
@@ -1,5 +1,8 @@
 package com.pitang.booster_c1m1.controller;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -8,18 +11,31 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.dto.EmailAvailabilityDTO;
 import com.pitang.booster_c1m1.dto.PaginatedResponseDTO;
+import com.pitang.booster_c1m1.dto.StreamedPageDTO;
+import com.pitang.booster_c1m1.dto.UpdateUserDTO;
+import com.pitang.booster_c1m1.dto.UserBatchRequestDTO;
+import com.pitang.booster_c1m1.dto.UserBatchResponseDTO;
 import com.pitang.booster_c1m1.dto.UserDTO;
+import com.pitang.booster_c1m1.dto.UserSuggestionDTO;
+import com.pitang.booster_c1m1.idempotency.IdempotencyService;
+import com.pitang.booster_c1m1.idempotency.IdempotentResponse;
+import com.pitang.booster_c1m1.service.UserPageStreamer;
 import com.pitang.booster_c1m1.service.UserService;
+import com.pitang.booster_c1m1.suggest.UserSuggestService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -33,17 +49,51 @@ import lombok.extern.slf4j.Slf4j;
 public class UserController {
 
   private final UserService userService;
+  private final UserPageStreamer userPageStreamer;
+  private final UserSuggestService userSuggestService;
+  private final IdempotencyService idempotencyService;
 
   @GetMapping
   public ResponseEntity<PaginatedResponseDTO<UserDTO>> getAllUsers(
       @PageableDefault(size = 10, page = 0) Pageable pageable, @RequestParam(required = false) String name) {
     log.info("getAllUsers - page: {}, size: {}, name: {}",
         pageable.getPageNumber(), pageable.getPageSize(), name);
+    Optional<StreamedPageDTO<UserDTO>> streamed = userPageStreamer.streamIfLarge(pageable, name);
+    if (streamed.isPresent()) {
+      log.debug("Streaming page of {} users", pageable.getPageSize());
+      return ResponseEntity.ok(streamed.get());
+    }
     Page<UserDTO> users = userService.getAllUsers(pageable, name);
     log.debug("Found {} users", users.getTotalElements());
     return ResponseEntity.ok(PaginatedResponseDTO.from(users));
   }
 
+  @GetMapping("/email-availability")
+  public ResponseEntity<EmailAvailabilityDTO> checkEmailAvailability(@RequestParam String email) {
+    return ResponseEntity.ok(userService.checkEmailAvailability(email));
+  }
+
+  @GetMapping("/suggest")
+  public ResponseEntity<List<UserSuggestionDTO>> suggestUsers(
+      @RequestParam String prefix, @RequestParam(required = false) Integer limit) {
+    if (prefix.isBlank() || (limit != null && limit < 1)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "prefix must not be blank and limit must be positive");
+    }
+    return ResponseEntity.ok(userSuggestService.suggest(prefix, limit));
+  }
+
+  @GetMapping(params = "ids")
+  public ResponseEntity<UserBatchResponseDTO> getUsersByIds(@RequestParam List<Long> ids) {
+    log.info("getUsersByIds - count: {}", ids.size());
+    return ResponseEntity.ok(userService.getUsersByIds(ids));
+  }
+
+  @PostMapping("/batch")
+  public ResponseEntity<UserBatchResponseDTO> getUsersByIdsBatch(@Valid @RequestBody UserBatchRequestDTO request) {
+    log.info("getUsersByIdsBatch - count: {}", request.getIds().size());
+    return ResponseEntity.ok(userService.getUsersByIds(request.getIds()));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
     log.info("getUserById - id: {}", id);
@@ -52,10 +102,18 @@ public class UserController {
   }
 
   @PostMapping
-  public ResponseEntity<UserDTO> createUser(@Valid @RequestBody CreateUserDTO createUserDTO) {
+  public ResponseEntity<UserDTO> createUser(@Valid @RequestBody CreateUserDTO createUserDTO,
+      @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey) {
     log.info("createUser - email: {}", createUserDTO.getEmail());
-    UserDTO user = userService.createUser(createUserDTO);
-    return ResponseEntity.status(HttpStatus.CREATED).body(user);
+    if (idempotencyKey == null) {
+      UserDTO user = userService.createUser(createUserDTO);
+      return ResponseEntity.status(HttpStatus.CREATED).body(user);
+    }
+    IdempotentResponse response = idempotencyService.execute(idempotencyKey, createUserDTO,
+        () -> userService.createUser(createUserDTO));
+    return ResponseEntity.status(response.status())
+        .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(response.replayed()))
+        .body(response.body());
   }
 
   @PutMapping("/{id}")
@@ -65,6 +123,13 @@ public class UserController {
     return ResponseEntity.ok(user);
   }
 
+  @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", "application/json"})
+  public ResponseEntity<UserDTO> patchUser(@PathVariable Long id, @Valid @RequestBody UpdateUserDTO updateUserDTO) {
+    log.info("patchUser - id: {}", id);
+    UserDTO user = userService.patchUser(id, updateUserDTO);
+    return ResponseEntity.ok(user);
+  }
+
   @DeleteMapping("/{id}")
   public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
     log.info("deleteUser - id: {}", id);
@@ -0,0 +1,130 @@
+package com.pitang.booster_c1m1.correlation;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.ILoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.spi.AppenderAttachable;
+
+/**
+ * The MDC keys worth populating. Filling MDC entries nobody prints costs allocations on every
+ * request, so unless configured explicitly the set is read from the active logback configuration:
+ * pattern layouts contribute the keys they reference with {@code %X{key}} (and {@code %correlationId}
+ * contributes {@code traceId}/{@code spanId}); any other encoder, such as the JSON ones that dump the
+ * whole MDC, or a bare {@code %X}, means every key is used. {@code requestId} is always kept because
+ * other components quote it in their own log messages.
+ */
+public final class MdcFields {
+
+    public static final String REQUEST_ID = "requestId";
+    public static final String CORRELATION_ID = "correlationId";
+    public static final String TRACE_ID = "traceId";
+    public static final String SPAN_ID = "spanId";
+    public static final String METHOD = "method";
+    public static final String URI = "uri";
+    public static final String REMOTE_ADDR = "remoteAddr";
+    public static final String USER_AGENT = "userAgent";
+    public static final String RESPONSE_STATUS = "responseStatus";
+    public static final String DURATION = "duration";
+    public static final String EXCEPTION = "exception";
+    public static final String EXCEPTION_MESSAGE = "exceptionMessage";
+
+    private static final Pattern MDC_CONVERSION = Pattern.compile("%(?:X|mdc)(?:\\{([^}]*)})?");
+
+    private static final MdcFields ALL = new MdcFields(null);
+
+    private final Set<String> keys;
+
+    private MdcFields(Set<String> keys) {
+        this.keys = keys;
+    }
+
+    public static MdcFields all() {
+        return ALL;
+    }
+
+    public static MdcFields of(Collection<String> keys) {
+        Set<String> withRequestId = new HashSet<>(keys);
+        withRequestId.add(REQUEST_ID);
+        return new MdcFields(Set.copyOf(withRequestId));
+    }
+
+    public static MdcFields detect(ILoggerFactory loggerFactory) {
+        if (!(loggerFactory instanceof LoggerContext context)) {
+            return ALL;
+        }
+        Set<String> used = new HashSet<>();
+        used.add(REQUEST_ID);
+        for (Logger logger : context.getLoggerList()) {
+            if (!collect(logger, used)) {
+                return ALL;
+            }
+        }
+        return new MdcFields(Set.copyOf(used));
+    }
+
+    public boolean has(String key) {
+        return keys == null || keys.contains(key);
+    }
+
+    public boolean isEmpty() {
+        return keys != null && keys.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return keys == null ? "all" : keys.toString();
+    }
+
+    private static boolean collect(AppenderAttachable<ILoggingEvent> attachable, Set<String> used) {
+        for (Iterator<Appender<ILoggingEvent>> it = attachable.iteratorForAppenders(); it.hasNext();) {
+            Appender<ILoggingEvent> appender = it.next();
+            if (appender instanceof OutputStreamAppender<ILoggingEvent> stream
+                    && stream.getEncoder() instanceof PatternLayoutEncoder encoder) {
+                if (!collect(encoder.getPattern(), used)) {
+                    return false;
+                }
+            } else if (appender instanceof AppenderAttachable<?> nested) {
+                @SuppressWarnings("unchecked")
+                AppenderAttachable<ILoggingEvent> wrapped = (AppenderAttachable<ILoggingEvent>) nested;
+                if (!collect(wrapped, used)) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean collect(String pattern, Set<String> used) {
+        if (pattern == null) {
+            return true;
+        }
+        Matcher matcher = MDC_CONVERSION.matcher(pattern);
+        while (matcher.find()) {
+            String key = matcher.group(1);
+            if (key == null || key.isBlank()) {
+                return false;
+            }
+            int fallback = key.indexOf(":-");
+            used.add((fallback < 0 ? key : key.substring(0, fallback)).trim());
+        }
+        if (pattern.contains("%correlationId")) {
+            used.add(TRACE_ID);
+            used.add(SPAN_ID);
+        }
+        return true;
+    }
+}
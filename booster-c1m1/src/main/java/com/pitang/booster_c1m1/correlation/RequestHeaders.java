@@ -0,0 +1,56 @@
+package com.pitang.booster_c1m1.correlation;
+
+import java.util.Enumeration;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * The request headers the logging interceptor needs, collected in one pass over the header names
+ * instead of one container lookup per header.
+ */
+public record RequestHeaders(String requestId, String correlationId, String traceparent, String forwardedFor,
+        String realIp, String userAgent) {
+
+    public static final String REQUEST_ID = "X-Request-ID";
+    public static final String CORRELATION_ID = "X-Correlation-ID";
+
+    public static RequestHeaders scan(HttpServletRequest request) {
+        String requestId = null;
+        String correlationId = null;
+        String traceparent = null;
+        String forwardedFor = null;
+        String realIp = null;
+        String userAgent = null;
+        Enumeration<String> names = request.getHeaderNames();
+        while (names != null && names.hasMoreElements()) {
+            String name = names.nextElement();
+            if (REQUEST_ID.equalsIgnoreCase(name)) {
+                requestId = request.getHeader(name);
+            } else if (CORRELATION_ID.equalsIgnoreCase(name)) {
+                correlationId = request.getHeader(name);
+            } else if (TraceContext.HEADER.equalsIgnoreCase(name)) {
+                traceparent = request.getHeader(name);
+            } else if ("X-Forwarded-For".equalsIgnoreCase(name)) {
+                forwardedFor = request.getHeader(name);
+            } else if ("X-Real-IP".equalsIgnoreCase(name)) {
+                realIp = request.getHeader(name);
+            } else if ("User-Agent".equalsIgnoreCase(name)) {
+                userAgent = request.getHeader(name);
+            }
+        }
+        return new RequestHeaders(requestId, correlationId, traceparent, forwardedFor, realIp, userAgent);
+    }
+
+    /** The first address of {@code X-Forwarded-For}, then {@code X-Real-IP}, then the peer address. */
+    public String clientAddress(HttpServletRequest request) {
+        if (hasText(forwardedFor)) {
+            int comma = forwardedFor.indexOf(',');
+            return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+        }
+        return hasText(realIp) ? realIp : request.getRemoteAddr();
+    }
+
+    static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,38 @@
+package com.pitang.booster_c1m1.correlation;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ULID-style request ids: 48 bits of epoch milliseconds followed by 80 random bits, encoded as 26
+ * Crockford base32 characters. Ids sort by creation time, and the random part comes from
+ * {@link ThreadLocalRandom} rather than the {@code SecureRandom} behind {@code UUID.randomUUID()},
+ * so generating one never contends with other threads. They are not meant to be unguessable.
+ */
+public final class RequestIds {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private RequestIds() {
+    }
+
+    public static String next() {
+        return next(System.currentTimeMillis(), ThreadLocalRandom.current());
+    }
+
+    static String next(long epochMillis, ThreadLocalRandom random) {
+        char[] id = new char[26];
+        long time = epochMillis;
+        for (int i = 9; i >= 0; i--) {
+            id[i] = ALPHABET[(int) (time & 31)];
+            time >>>= 5;
+        }
+        long high = random.nextInt() & 0xFFFF;
+        long low = random.nextLong();
+        for (int i = 25; i >= 10; i--) {
+            id[i] = ALPHABET[(int) (low & 31)];
+            low = (low >>> 5) | (high << 59);
+            high >>>= 5;
+        }
+        return new String(id);
+    }
+}
@@ -0,0 +1,100 @@
+package com.pitang.booster_c1m1.correlation;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+import com.pitang.booster_c1m1.config.RequestLoggingProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Decides at completion whether a request is logged. Requests that failed, by exception or with a
+ * response status of at least {@code errorStatus} (client errors included by default), and slow
+ * requests always are; the rest are kept with probability {@code sampleRate}. Rate and threshold start from
+ * {@link RequestLoggingProperties} and can be changed at runtime through {@code /actuator/requestlogging}.
+ */
+@Component
+public class RequestLogSampler {
+
+    public enum Decision {
+        /** Sampling is off: every request is logged as it happens. */
+        ALWAYS,
+        ERROR,
+        SLOW,
+        SAMPLED,
+        SUPPRESSED;
+
+        public boolean logged() {
+            return this != SUPPRESSED;
+        }
+    }
+
+    private final int errorStatus;
+    private final Counter errorCounter;
+    private final Counter slowCounter;
+    private final Counter sampledCounter;
+    private final Counter suppressedCounter;
+
+    private volatile double sampleRate;
+    private volatile long slowThresholdMillis;
+
+    public RequestLogSampler(RequestLoggingProperties properties, MeterRegistry meterRegistry) {
+        this.errorStatus = properties.getErrorStatus();
+        this.errorCounter = counter(meterRegistry, Decision.ERROR);
+        this.slowCounter = counter(meterRegistry, Decision.SLOW);
+        this.sampledCounter = counter(meterRegistry, Decision.SAMPLED);
+        this.suppressedCounter = counter(meterRegistry, Decision.SUPPRESSED);
+        update(properties.getSampleRate(), properties.getSlowThreshold());
+    }
+
+    /** Whether request logging is deferred to completion. */
+    public boolean isSampling() {
+        return sampleRate < 1.0;
+    }
+
+    public Decision decide(int status, Exception ex, long durationMillis) {
+        if (!isSampling()) {
+            return Decision.ALWAYS;
+        }
+        if (ex != null || status >= errorStatus) {
+            errorCounter.increment();
+            return Decision.ERROR;
+        }
+        if (durationMillis >= slowThresholdMillis) {
+            slowCounter.increment();
+            return Decision.SLOW;
+        }
+        if (ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            sampledCounter.increment();
+            return Decision.SAMPLED;
+        }
+        suppressedCounter.increment();
+        return Decision.SUPPRESSED;
+    }
+
+    public void update(double rate, Duration threshold) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1, was " + rate);
+        }
+        this.sampleRate = rate;
+        this.slowThresholdMillis = threshold.toMillis();
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public Duration getSlowThreshold() {
+        return Duration.ofMillis(slowThresholdMillis);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, Decision decision) {
+        return Counter.builder("users.request-logs.total")
+                .description("Completed requests by request-log sampling decision")
+                .tag("decision", decision.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.pitang.booster_c1m1.correlation;
+
+import org.springframework.http.HttpMethod;
+
+import com.pitang.booster_c1m1.config.BearerTokenFilter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Requires the request-logging token for writes to {@code /actuator/requestlogging}. A sample rate of 1
+ * with a zero slow threshold logs every request, so changing the settings is not left open; reading
+ * them is.
+ */
+public class RequestLoggingAccessFilter extends BearerTokenFilter {
+
+    public RequestLoggingAccessFilter(String token) {
+        super(token);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+}
@@ -0,0 +1,40 @@
+package com.pitang.booster_c1m1.correlation;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/requestlogging}: reads and changes the request-log sample rate and slow
+ * threshold without a restart. Changes are not persisted.
+ */
+@Component
+@Endpoint(id = "requestlogging")
+@RequiredArgsConstructor
+public class RequestLoggingEndpoint {
+
+    private final RequestLogSampler sampler;
+
+    @ReadOperation
+    public Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("sampleRate", sampler.getSampleRate());
+        settings.put("slowThreshold", sampler.getSlowThreshold().toString());
+        return settings;
+    }
+
+    @WriteOperation
+    public Map<String, Object> update(@Nullable Double sampleRate, @Nullable Long slowThresholdMillis) {
+        sampler.update(sampleRate != null ? sampleRate : sampler.getSampleRate(),
+                slowThresholdMillis != null ? Duration.ofMillis(slowThresholdMillis) : sampler.getSlowThreshold());
+        return settings();
+    }
+}
@@ -0,0 +1,85 @@
+package com.pitang.booster_c1m1.correlation;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The W3C Trace Context carried in the {@code traceparent} header
+ * ({@code version-traceId-parentId-flags}). A request continues the caller's trace with a span id of
+ * its own, or starts a new trace when the header is missing or malformed.
+ */
+public record TraceContext(String traceId, String spanId, String flags) {
+
+    public static final String HEADER = "traceparent";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final String SAMPLED = "01";
+
+    /** Continues the trace of {@code traceparent}, or starts a new sampled one. */
+    public static TraceContext continueOrStart(String traceparent) {
+        TraceContext parent = parse(traceparent);
+        return parent == null
+                ? new TraceContext(randomHex(2), randomHex(1), SAMPLED)
+                : new TraceContext(parent.traceId(), randomHex(1), parent.flags());
+    }
+
+    /** Parses a {@code traceparent} value, returning {@code null} when it is not valid. */
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null || traceparent.length() < 55) {
+            return null;
+        }
+        if (traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+        String version = traceparent.substring(0, 2);
+        if (!isHex(version) || "ff".equals(version)
+                || (traceparent.length() > 55 && ("00".equals(version) || traceparent.charAt(55) != '-'))) {
+            return null;
+        }
+        String traceId = traceparent.substring(3, 35);
+        String parentId = traceparent.substring(36, 52);
+        String flags = traceparent.substring(53, 55);
+        if (!isHex(traceId) || !isHex(parentId) || !isHex(flags) || isZero(traceId) || isZero(parentId)) {
+            return null;
+        }
+        return new TraceContext(traceId, parentId, flags);
+    }
+
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + "-" + flags;
+    }
+
+    private static String randomHex(int longs) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] hex = new char[longs * 16];
+        for (int i = 0; i < longs; i++) {
+            long value;
+            do {
+                value = random.nextLong();
+            } while (value == 0);
+            for (int j = 15; j >= 0; j--) {
+                hex[i * 16 + j] = HEX[(int) (value & 0xF)];
+                value >>>= 4;
+            }
+        }
+        return new String(hex);
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
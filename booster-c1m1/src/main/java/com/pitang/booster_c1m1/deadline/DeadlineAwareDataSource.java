@@ -0,0 +1,71 @@
+package com.pitang.booster_c1m1.deadline;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Applies the current {@link RequestDeadline} to every JDBC statement as its query timeout, so the
+ * database cancels work the client no longer waits for. Statements are refused outright once the
+ * deadline has passed; connections are still handed out so transaction setup fails through the
+ * same query-timeout path. Threads without a deadline are not affected.
+ */
+public class DeadlineAwareDataSource extends DelegatingDataSource {
+
+    public DeadlineAwareDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                    if (result instanceof Statement statement) {
+                        applyDeadline(statement);
+                    }
+                    return result;
+                });
+    }
+
+    static void applyDeadline(Statement statement) throws SQLException {
+        Long remaining = RequestDeadline.remainingMillis();
+        if (remaining == null) {
+            return;
+        }
+        if (remaining <= 0) {
+            statement.close();
+            throw new SQLTimeoutException("Request deadline exceeded");
+        }
+        statement.setQueryTimeout((int) Math.max(1, (remaining + 999) / 1000));
+    }
+}
@@ -0,0 +1,60 @@
+package com.pitang.booster_c1m1.deadline;
+
+import java.time.Duration;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.pitang.booster_c1m1.config.DeadlineProperties;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts the {@link RequestDeadline} for each request: the client's {@code X-Request-Timeout}
+ * (milliseconds, capped at the configured maximum) or the endpoint's configured default.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    private final DeadlineProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (properties.isEnabled()) {
+            RequestDeadline.start(timeoutFor(request, handler));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        RequestDeadline.clear();
+    }
+
+    private Duration timeoutFor(HttpServletRequest request, Object handler) {
+        String requested = request.getHeader(properties.getHeader());
+        if (StringUtils.hasText(requested)) {
+            try {
+                Duration timeout = Duration.ofMillis(Math.max(0, Long.parseLong(requested.trim())));
+                return timeout.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : timeout;
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring invalid {} header: {}", properties.getHeader(), requested);
+            }
+        }
+        if (handler instanceof HandlerMethod handlerMethod) {
+            Duration endpointTimeout = properties.getEndpoints().get(handlerMethod.getMethod().getName());
+            if (endpointTimeout != null) {
+                return endpointTimeout;
+            }
+        }
+        return properties.getDefaultTimeout();
+    }
+}
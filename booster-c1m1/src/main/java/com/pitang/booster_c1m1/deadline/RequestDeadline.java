@@ -0,0 +1,70 @@
+package com.pitang.booster_c1m1.deadline;
+
+import java.time.Duration;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import com.pitang.booster_c1m1.exception.DeadlineExceededException;
+
+/**
+ * Deadline of the request being handled on the current thread. Set by {@link DeadlineInterceptor}
+ * and read wherever work can be bounded: JDBC statements and coalesced waits.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void start(Duration timeout) {
+        DEADLINE_NANOS.set(System.nanoTime() + timeout.toNanos());
+    }
+
+    public static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    /**
+     * The current thread's deadline as a {@link System#nanoTime()} value, or {@code null}; hand it to
+     * {@link #restore} on a thread doing part of the same request.
+     */
+    public static Long capture() {
+        return DEADLINE_NANOS.get();
+    }
+
+    public static void restore(Long deadlineNanos) {
+        if (deadlineNanos == null) {
+            DEADLINE_NANOS.remove();
+        } else {
+            DEADLINE_NANOS.set(deadlineNanos);
+        }
+    }
+
+    /**
+     * Milliseconds left before the deadline (zero or negative once expired), or {@code null} when
+     * the current thread has no deadline.
+     */
+    public static Long remainingMillis() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline == null ? null : Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+    }
+
+    public static boolean isExpired() {
+        Long remaining = remainingMillis();
+        return remaining != null && remaining <= 0;
+    }
+
+    /**
+     * Whether {@code failure} is a request running out of time rather than the work itself failing: a
+     * caller that shared it and still has time left can run the work again.
+     */
+    public static boolean isDeadlineFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException || cause instanceof QueryTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
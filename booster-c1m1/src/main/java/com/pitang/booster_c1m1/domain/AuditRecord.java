@@ -0,0 +1,53 @@
+package com.pitang.booster_c1m1.domain;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One committed user change. Rows are inserted in batches by the audit trail after the change has
+ * committed; the id is assigned when the change is recorded, so replaying the write-ahead file
+ * after a crash cannot insert a change twice.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "user_audit", indexes = @Index(name = "idx_user_audit_user_id", columnList = "userId"))
+public class AuditRecord {
+  @EqualsAndHashCode.Include
+  @Id
+  @Column(length = 26)
+  private String id;
+
+  @Column(nullable = false)
+  private Long userId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private UserChangeType type;
+
+  @Column(length = 64)
+  private String requestId;
+
+  @Column(length = 4000)
+  private String payload;
+
+  @Column(nullable = false)
+  private Instant occurredAt;
+}
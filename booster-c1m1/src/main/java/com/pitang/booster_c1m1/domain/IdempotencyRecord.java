@@ -0,0 +1,52 @@
+package com.pitang.booster_c1m1.domain;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Result of a {@code POST /v1/users} made with an {@code Idempotency-Key}, shared by every instance when
+ * {@code users.idempotency.store=database}. The row is inserted before the user is created, so the primary
+ * key decides which of several concurrent duplicates runs; {@code status} stays null until it finishes.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "user_idempotency_keys",
+    indexes = @Index(name = "idx_user_idempotency_keys_expires_at", columnList = "expiresAt"))
+public class IdempotencyRecord {
+  @EqualsAndHashCode.Include
+  @Id
+  @Column(length = 255)
+  private String idempotencyKey;
+
+  @Column(nullable = false, length = 64)
+  private String fingerprint;
+
+  private Integer status;
+
+  @Column(length = 4000)
+  private String body;
+
+  private String message;
+
+  @Column(nullable = false)
+  private Instant createdAt;
+
+  @Column(nullable = false)
+  private Instant expiresAt;
+}
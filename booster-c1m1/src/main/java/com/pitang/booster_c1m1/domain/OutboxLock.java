@@ -0,0 +1,29 @@
+package com.pitang.booster_c1m1.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Single row locked by the outbox publisher for the duration of each batch, so only one node drains at
+ * a time and events for a user are published in the order they were recorded.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "user_outbox_lock")
+public class OutboxLock {
+  public static final String DRAIN = "drain";
+
+  @EqualsAndHashCode.Include
+  @Id
+  private String name;
+}
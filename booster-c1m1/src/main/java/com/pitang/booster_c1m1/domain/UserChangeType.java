@@ -0,0 +1,7 @@
+package com.pitang.booster_c1m1.domain;
+
+public enum UserChangeType {
+  CREATED,
+  UPDATED,
+  DELETED
+}
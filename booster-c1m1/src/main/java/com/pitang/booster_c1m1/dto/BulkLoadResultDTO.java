@@ -0,0 +1,18 @@
+package com.pitang.booster_c1m1.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BulkLoadResultDTO {
+    private long received;
+    private long inserted;
+    private long rejected;
+    private List<String> existingEmails;
+    private long elapsedMillis;
+}
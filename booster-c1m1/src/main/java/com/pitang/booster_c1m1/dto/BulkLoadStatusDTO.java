@@ -0,0 +1,14 @@
+package com.pitang.booster_c1m1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BulkLoadStatusDTO {
+    private boolean running;
+    private long rowsRead;
+    private String startedAt;
+}
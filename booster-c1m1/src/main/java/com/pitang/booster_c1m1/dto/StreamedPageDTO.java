@@ -0,0 +1,20 @@
+package com.pitang.booster_c1m1.dto;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * A page whose rows are written to a {@link JsonGenerator} as they are read, in the same JSON shape
+ * as {@link PaginatedResponseDTO}, instead of being collected first. Content and totals are only
+ * known while writing, so the inherited getters describe an empty page.
+ */
+public abstract class StreamedPageDTO<T> extends PaginatedResponseDTO<T> {
+
+  protected StreamedPageDTO(int page, int size) {
+    super(List.of(), page, size, 0, 0);
+  }
+
+  public abstract void writeTo(JsonGenerator generator) throws IOException;
+}
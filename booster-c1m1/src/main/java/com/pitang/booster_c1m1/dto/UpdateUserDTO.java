@@ -1,21 +1,43 @@
 package com.pitang.booster_c1m1.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+
 import jakarta.validation.constraints.Email;
-import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+/**
+ * JSON Merge Patch body for {@code PATCH /v1/users/{id}}. Absent fields are left unchanged. In a merge
+ * patch an explicit {@code null} asks for the member to be removed, and none of these fields can be, so
+ * the body is rejected with 400 rather than the null being silently ignored. For the same reason unset
+ * fields are left out when the DTO is written, so clients building a patch from it send a valid one.
+ */
+@Builder
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class UpdateUserDTO {
 
-  @NotBlank(message = "Name is mandatory")
+  @Pattern(regexp = ".*\\S.*", message = "Name must not be blank")
+  @JsonSetter(nulls = Nulls.FAIL)
   private String name;
 
   @Email(message = "Email should be valid")
+  @Pattern(regexp = ".*\\S.*", message = "Email must not be blank")
+  @JsonSetter(nulls = Nulls.FAIL)
   private String email;
 
-  @NotBlank(message = "Password is mandatory")
+  @Size(min = 6, message = "Password must be at least 6 characters long")
+  @JsonSetter(nulls = Nulls.FAIL)
   private String password;
 
 }
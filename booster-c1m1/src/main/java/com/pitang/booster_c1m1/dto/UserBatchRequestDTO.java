@@ -0,0 +1,18 @@
+package com.pitang.booster_c1m1.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRequestDTO {
+    @NotEmpty(message = "Ids are required")
+    private List<Long> ids;
+}
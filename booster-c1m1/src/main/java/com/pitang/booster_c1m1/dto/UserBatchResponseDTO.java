@@ -0,0 +1,15 @@
+package com.pitang.booster_c1m1.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class UserBatchResponseDTO {
+    private List<UserDTO> content;
+    private List<Long> missingIds;
+}
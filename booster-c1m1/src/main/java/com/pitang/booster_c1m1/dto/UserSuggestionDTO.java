@@ -0,0 +1,13 @@
+package com.pitang.booster_c1m1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class UserSuggestionDTO {
+    private Long id;
+    private String name;
+}
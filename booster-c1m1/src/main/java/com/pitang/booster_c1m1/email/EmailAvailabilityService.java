@@ -0,0 +1,190 @@
+package com.pitang.booster_c1m1.email;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.pitang.booster_c1m1.cache.UserCacheEvictor;
+import com.pitang.booster_c1m1.config.EmailFilterProperties;
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.event.UserChangedEvent;
+import com.pitang.booster_c1m1.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers GET /v1/users/email-availability from an {@link EmailBloomFilter} over trimmed, lower-cased
+ * emails, so the common "no" costs no query. A "maybe" is confirmed with {@code existsByEmail}.
+ *
+ * <p>The answer is advisory: an email written by another node or a bulk load is only seen once its
+ * invalidation or the next rebuild reaches this node. Writes therefore never consult the filter;
+ * create, update and patch keep their {@code existsByEmail} checks. The filter is fed from the
+ * after-commit {@link UserChangedEvent} (recorded into a rebuild that is running, too), from other
+ * nodes' invalidations, which reload the user, and from full rebuilds on bulk loads and listener
+ * reconnects. Until the first build finishes every check goes to the database.
+ */
+@Slf4j
+@Service
+public class EmailAvailabilityService implements UserCacheEvictor {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final EmailFilterProperties properties;
+    private final Counter negativeCounter;
+    private final Counter falsePositiveCounter;
+    private final Counter registeredCounter;
+    private final Counter bypassedCounter;
+    private final Timer rebuildTimer;
+
+    private final Object lock = new Object();
+    private volatile EmailBloomFilter filter;
+    private List<String> pending;
+
+    public EmailAvailabilityService(UserRepository userRepository, EmailFilterProperties properties,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.negativeCounter = lookups(meterRegistry, "negative");
+        this.falsePositiveCounter = lookups(meterRegistry, "false_positive");
+        this.registeredCounter = lookups(meterRegistry, "registered");
+        this.bypassedCounter = lookups(meterRegistry, "bypassed");
+        this.rebuildTimer = Timer.builder("users.email-filter.rebuild.duration")
+                .description("Time to rebuild the email Bloom filter from the database")
+                .register(meterRegistry);
+        Gauge.builder("users.email-filter.expected-fpp", this,
+                service -> service.filter == null ? Double.NaN : service.filter.expectedFalsePositiveRate())
+                .description("False-positive probability implied by the filter's fill")
+                .register(meterRegistry);
+        Gauge.builder("users.email-filter.bytes", this,
+                service -> service.filter == null ? 0 : service.filter.sizeInBytes())
+                .description("Memory held by the email Bloom filter")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /** Only queries the database when the filter cannot rule the email out. */
+    public boolean isRegistered(String email) {
+        if (!mightBeRegistered(email)) {
+            negativeCounter.increment();
+            return false;
+        }
+        boolean registered = userRepository.existsByEmail(email);
+        if (filter == null) {
+            bypassedCounter.increment();
+        } else if (registered) {
+            registeredCounter.increment();
+        } else {
+            falsePositiveCounter.increment();
+        }
+        return registered;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${users.email-filter.rebuild-interval:3600000}",
+            initialDelayString = "${users.email-filter.rebuild-interval:3600000}")
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        synchronized (lock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            long users = userRepository.count();
+            EmailBloomFilter rebuilt = new EmailBloomFilter(
+                    Math.max(properties.getExpectedInsertions(), users + users / 2), properties.getFalsePositiveRate());
+            long lastId = 0;
+            List<User> page;
+            do {
+                page = userRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_PAGE_SIZE));
+                for (User user : page) {
+                    rebuilt.put(normalize(user.getEmail()));
+                    lastId = user.getId();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+            synchronized (lock) {
+                pending.forEach(rebuilt::put);
+                filter = rebuilt;
+            }
+            long elapsed = System.nanoTime() - start;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Email filter rebuilt: {} emails, {} KiB, expected false-positive rate {} in {} ms",
+                    rebuilt.puts(), rebuilt.sizeInBytes() / 1024,
+                    String.format(Locale.ROOT, "%.5f", rebuilt.expectedFalsePositiveRate()),
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } finally {
+            synchronized (lock) {
+                pending = null;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.user() != null) {
+            record(event.user().getEmail());
+        }
+    }
+
+    @Override
+    public void evictUser(Long userId) {
+        userRepository.findById(userId).ifPresent(user -> record(user.getEmail()));
+    }
+
+    @Override
+    public void clear() {
+        rebuild();
+    }
+
+    /** {@code false} only when no user has this email; {@code true} means "ask the database". */
+    private boolean mightBeRegistered(String email) {
+        EmailBloomFilter current = filter;
+        return current == null || email == null || current.mightContain(normalize(email));
+    }
+
+    private void record(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = normalize(email);
+        synchronized (lock) {
+            EmailBloomFilter current = filter;
+            if (current != null) {
+                current.put(key);
+            }
+            if (pending != null) {
+                pending.add(key);
+            }
+        }
+    }
+
+    static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("users.email-filter.lookups.total")
+                .description("Email availability checks by outcome; false_positive / (false_positive + negative) "
+                        + "is the observed false-positive rate")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.pitang.booster_c1m1.event;
+
+import com.pitang.booster_c1m1.domain.UserChangeType;
+import com.pitang.booster_c1m1.dto.UserDTO;
+
+/**
+ * Published by {@code UserService} after every successful write, inside the write transaction.
+ * {@code user} is the state after the change, or {@code null} for deletions.
+ */
+public record UserChangedEvent(UserChangeType type, Long userId, UserDTO user) {
+
+    public static UserChangedEvent created(UserDTO user) {
+        return new UserChangedEvent(UserChangeType.CREATED, user.getId(), user);
+    }
+
+    public static UserChangedEvent updated(UserDTO user) {
+        return new UserChangedEvent(UserChangeType.UPDATED, user.getId(), user);
+    }
+
+    public static UserChangedEvent deleted(Long userId) {
+        return new UserChangedEvent(UserChangeType.DELETED, userId, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.pitang.booster_c1m1.event;
+
+/**
+ * Published by {@code UserBulkLoader} once a load has committed. Bulk loads bypass {@code UserService},
+ * so no {@link UserChangedEvent} is published for the users they insert; the loader writes their outbox
+ * events and audit rows itself.
+ */
+public record UsersBulkLoadedEvent(long inserted) {
+}
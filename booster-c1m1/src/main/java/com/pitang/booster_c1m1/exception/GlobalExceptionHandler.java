@@ -0,0 +1,40 @@
+package com.pitang.booster_c1m1.exception;
+
+import java.io.IOException;
+
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class GlobalExceptionHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Database work cancelled by the request deadline, or a coalesced wait that ran out of time,
+     * is reported as 504 through the standard error response.
+     */
+    @ExceptionHandler({QueryTimeoutException.class, DeadlineExceededException.class})
+    public void handleDeadlineExceeded(Exception ex, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String source = ex instanceof DeadlineExceededException ? "wait" : "query";
+        Counter.builder("users.deadline.exceeded.total")
+                .description("Total number of requests cancelled by their deadline")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Request deadline exceeded ({}) - {} {}", source, request.getMethod(), request.getRequestURI());
+        response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), "Request deadline exceeded");
+    }
+}
@@ -0,0 +1,110 @@
+package com.pitang.booster_c1m1.idempotency;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.domain.IdempotencyRecord;
+import com.pitang.booster_c1m1.dto.UserDTO;
+import com.pitang.booster_c1m1.repository.IdempotencyRecordRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Store backed by the {@code user_idempotency_keys} table, so a retry is recognised whichever instance it
+ * reaches. Each call runs in its own transaction, or joins the one opened by {@link #inWriteTransaction}:
+ * the created user and its stored response then commit together. Expired rows are purged on a schedule
+ * and replaced in place when their key is reused.
+ */
+@Slf4j
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository repository, TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Optional<IdempotencyEntry> find(String key, Instant now) {
+        return repository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(now))
+                .map(this::toEntry);
+    }
+
+    @Override
+    public boolean claim(IdempotencyEntry entry) {
+        if (insert(entry)) {
+            return true;
+        }
+        Integer expired = transactionTemplate.execute(status ->
+                repository.deleteIfExpired(entry.key(), entry.createdAt()));
+        return expired != null && expired > 0 && insert(entry);
+    }
+
+    @Override
+    public void complete(String key, int status, UserDTO body, String message) {
+        String json = body == null ? null : write(body);
+        transactionTemplate.executeWithoutResult(tx -> repository.complete(key, status, json, message));
+    }
+
+    @Override
+    public <T> T inWriteTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    @Override
+    public void remove(String key, Instant createdAt) {
+        transactionTemplate.executeWithoutResult(tx -> repository.deleteClaim(key, createdAt));
+    }
+
+    @Scheduled(fixedDelayString = "${users.idempotency.purge-interval:600000}",
+            initialDelayString = "${users.idempotency.purge-interval:600000}")
+    public void purgeExpired() {
+        Integer purged = transactionTemplate.execute(status -> repository.deleteExpired(Instant.now()));
+        log.debug("Purged {} expired idempotency keys", purged);
+    }
+
+    private boolean insert(IdempotencyEntry entry) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> repository.insert(entry.key(), entry.fingerprint(),
+                    entry.createdAt(), entry.expiresAt()));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private IdempotencyEntry toEntry(IdempotencyRecord record) {
+        UserDTO body = record.getBody() == null ? null : read(record.getBody());
+        return new IdempotencyEntry(record.getIdempotencyKey(), record.getFingerprint(), record.getCreatedAt(),
+                record.getExpiresAt(), record.getStatus(), body, record.getMessage());
+    }
+
+    private String write(UserDTO body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent response", e);
+        }
+    }
+
+    private UserDTO read(String body) {
+        try {
+            return objectMapper.readValue(body, UserDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read idempotent response", e);
+        }
+    }
+}
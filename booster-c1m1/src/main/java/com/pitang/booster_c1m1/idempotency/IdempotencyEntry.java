@@ -0,0 +1,30 @@
+package com.pitang.booster_c1m1.idempotency;
+
+import java.time.Instant;
+
+import com.pitang.booster_c1m1.dto.UserDTO;
+
+/**
+ * What is kept per {@code Idempotency-Key}: the request fingerprint and, once the first request
+ * finished, its status with either the created user or the error reason. A {@code null} status
+ * means the request is still in flight.
+ */
+public record IdempotencyEntry(String key, String fingerprint, Instant createdAt, Instant expiresAt,
+        Integer status, UserDTO body, String message) {
+
+    public static IdempotencyEntry inFlight(String key, String fingerprint, Instant createdAt, Instant expiresAt) {
+        return new IdempotencyEntry(key, fingerprint, createdAt, expiresAt, null, null, null);
+    }
+
+    public IdempotencyEntry complete(int resultStatus, UserDTO resultBody, String resultMessage) {
+        return new IdempotencyEntry(key, fingerprint, createdAt, expiresAt, resultStatus, resultBody, resultMessage);
+    }
+
+    public boolean completed() {
+        return status != null;
+    }
+
+    public boolean expired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
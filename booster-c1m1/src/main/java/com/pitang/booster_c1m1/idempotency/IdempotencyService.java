@@ -0,0 +1,261 @@
+package com.pitang.booster_c1m1.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.pitang.booster_c1m1.config.IdempotencyProperties;
+import com.pitang.booster_c1m1.deadline.RequestDeadline;
+import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.dto.UserDTO;
+import com.pitang.booster_c1m1.exception.DeadlineExceededException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@code Idempotency-Key} handling for {@code POST /v1/users}. The first request with a key claims it in the
+ * {@link IdempotencyStore} and runs; its 201, or its 4xx, is stored and replayed to retries until the key
+ * expires. Duplicates arriving while it runs wait for that result: on this instance through a shared future,
+ * across instances by polling the store. A 5xx or unexpected failure before the user is created releases the
+ * key so a retry runs again. Once the user exists the key is never released: the database store saves the
+ * 201 in the creating transaction, and if storing it fails anyway the key stays in flight until
+ * {@code in-flight-timeout}, so a retry cannot create a second user in the meantime. A duplicate waiting on
+ * this instance does not inherit the first request running out of its own deadline: if it still has time
+ * it runs the request itself.
+ *
+ * <p>Reusing a key for a different request is rejected with 422. The request fingerprint covers name and
+ * email only, so no password-derived value is ever stored.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    private final ConcurrentMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public IdempotencyService(IdempotencyStore store, IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public IdempotentResponse execute(String key, CreateUserDTO request, Supplier<UserDTO> create) {
+        if (!properties.isEnabled()) {
+            return new IdempotentResponse(HttpStatus.CREATED.value(), create.get(), false);
+        }
+        if (key.isBlank() || key.length() > properties.getMaxKeyLength()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER + " must be 1 to " + properties.getMaxKeyLength() + " characters");
+        }
+        String fingerprint = fingerprint(request);
+        Flight flight = new Flight(fingerprint, new CompletableFuture<>());
+        Flight existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            checkFingerprint(key, existing.fingerprint(), fingerprint);
+            count("waited");
+            IdempotencyEntry entry;
+            try {
+                entry = await(key, existing.result());
+            } catch (RuntimeException e) {
+                if (existing.result().isCompletedExceptionally() && RequestDeadline.isDeadlineFailure(e)
+                        && !RequestDeadline.isExpired()) {
+                    count("retried");
+                    return execute(key, request, create);
+                }
+                throw e;
+            }
+            return respond(entry, true);
+        }
+
+        // The flight is removed before it completes, so a duplicate retrying after a deadline failure claims
+        // the key again rather than finding this flight.
+        Outcome outcome;
+        try {
+            outcome = claimAndRun(key, fingerprint, create);
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.result().completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(key, flight);
+        flight.result().complete(outcome.entry());
+        count(outcome.replayed() ? "replayed" : "executed");
+        return respond(outcome.entry(), outcome.replayed());
+    }
+
+    private Outcome claimAndRun(String key, String fingerprint, Supplier<UserDTO> create) {
+        long waitUntil = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        while (true) {
+            Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            Optional<IdempotencyEntry> stored = store.find(key, now);
+            if (stored.isEmpty()) {
+                IdempotencyEntry claim =
+                        IdempotencyEntry.inFlight(key, fingerprint, now, now.plus(properties.getTtl()));
+                if (store.claim(claim)) {
+                    return new Outcome(run(claim, create), false);
+                }
+                continue;
+            }
+
+            IdempotencyEntry entry = stored.get();
+            checkFingerprint(key, entry.fingerprint(), fingerprint);
+            if (entry.completed()) {
+                return new Outcome(entry, true);
+            }
+            if (entry.createdAt().plus(properties.getInFlightTimeout()).isBefore(now)) {
+                log.warn("Taking over idempotency key {} abandoned since {}", key, entry.createdAt());
+                store.remove(key, entry.createdAt());
+                continue;
+            }
+            // Claimed by another instance: wait for it to store its result.
+            long remainingNanos = waitUntil - System.nanoTime();
+            Long deadline = RequestDeadline.remainingMillis();
+            if (deadline != null && deadline <= 0) {
+                throw new DeadlineExceededException();
+            }
+            if (remainingNanos <= 0) {
+                throw stillInProgress(key);
+            }
+            sleep(Math.min(POLL_INTERVAL.toNanos(), remainingNanos));
+        }
+    }
+
+    private IdempotencyEntry run(IdempotencyEntry claim, Supplier<UserDTO> create) {
+        boolean[] created = {false};
+        try {
+            return store.inWriteTransaction(() -> {
+                UserDTO user = create.get();
+                created[0] = true;
+                store.complete(claim.key(), HttpStatus.CREATED.value(), user, null);
+                return claim.complete(HttpStatus.CREATED.value(), user, null);
+            });
+        } catch (ResponseStatusException e) {
+            if (!created[0] && e.getStatusCode().is4xxClientError()) {
+                store.complete(claim.key(), e.getStatusCode().value(), null, e.getReason());
+                return claim.complete(e.getStatusCode().value(), null, e.getReason());
+            }
+            release(claim, created[0], e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            release(claim, created[0], e);
+            throw e;
+        }
+    }
+
+    private void release(IdempotencyEntry claim, boolean created, Throwable failure) {
+        if (created) {
+            count("unrecorded");
+            log.error("Could not record the result for idempotency key {}; it stays in flight for {}",
+                    claim.key(), properties.getInFlightTimeout(), failure);
+            return;
+        }
+        store.remove(claim.key(), claim.createdAt());
+    }
+
+    private IdempotencyEntry await(String key, CompletableFuture<IdempotencyEntry> result) {
+        long waitMillis = properties.getWaitTimeout().toMillis();
+        Long remaining = RequestDeadline.remainingMillis();
+        boolean boundedByDeadline = remaining != null && remaining < waitMillis;
+        if (boundedByDeadline) {
+            waitMillis = Math.max(0, remaining);
+        }
+        try {
+            return result.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            if (boundedByDeadline) {
+                throw new DeadlineExceededException();
+            }
+            throw stillInProgress(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw stillInProgress(key);
+        }
+    }
+
+    private static IdempotentResponse respond(IdempotencyEntry entry, boolean replayed) {
+        if (entry.status() >= 400) {
+            throw new ResponseStatusException(HttpStatus.valueOf(entry.status()), entry.message());
+        }
+        return new IdempotentResponse(entry.status(), entry.body(), replayed);
+    }
+
+    private void checkFingerprint(String key, String stored, String requested) {
+        if (!stored.equals(requested)) {
+            count("mismatch");
+            log.warn("Idempotency key {} reused for a different request", key);
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request");
+        }
+    }
+
+    private ResponseStatusException stillInProgress(String key) {
+        count("in_progress");
+        log.warn("Gave up waiting for in-flight request with idempotency key {}", key);
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "A request with this " + HEADER + " is still being processed");
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("users.idempotency.requests.total", "result", result).increment();
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Interrupted waiting for in-flight request");
+        }
+    }
+
+    public static String fingerprint(CreateUserDTO request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(request.getName()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(request.getEmail()).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Flight(String fingerprint, CompletableFuture<IdempotencyEntry> result) {
+    }
+
+    private record Outcome(IdempotencyEntry entry, boolean replayed) {
+    }
+}
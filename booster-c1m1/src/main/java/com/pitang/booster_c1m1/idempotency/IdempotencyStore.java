@@ -0,0 +1,33 @@
+package com.pitang.booster_c1m1.idempotency;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.pitang.booster_c1m1.dto.UserDTO;
+
+/**
+ * Storage for {@code Idempotency-Key} results. {@link #claim} must be atomic across every caller that
+ * shares the store, since it decides which request runs.
+ */
+public interface IdempotencyStore {
+
+    /** The entry for {@code key}, unless it expired at {@code now}. */
+    Optional<IdempotencyEntry> find(String key, Instant now);
+
+    /** Records {@code entry} as in flight; {@code false} when the key is already taken. */
+    boolean claim(IdempotencyEntry entry);
+
+    void complete(String key, int status, UserDTO body, String message);
+
+    /**
+     * Runs {@code work} so that a {@link #complete} inside it is stored in the same transaction as
+     * {@code work}'s own writes, when the store shares their database. Other stores just run it.
+     */
+    default <T> T inWriteTransaction(Supplier<T> work) {
+        return work.get();
+    }
+
+    /** Drops the entry for {@code key} only if it is still the one claimed at {@code createdAt}. */
+    void remove(String key, Instant createdAt);
+}
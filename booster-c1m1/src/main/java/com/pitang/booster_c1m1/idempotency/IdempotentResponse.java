@@ -0,0 +1,7 @@
+package com.pitang.booster_c1m1.idempotency;
+
+import com.pitang.booster_c1m1.dto.UserDTO;
+
+/** A successful create, either run for this request or replayed from an earlier one with the same key. */
+public record IdempotentResponse(int status, UserDTO body, boolean replayed) {
+}
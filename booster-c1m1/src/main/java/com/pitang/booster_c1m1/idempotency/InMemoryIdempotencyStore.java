@@ -0,0 +1,63 @@
+package com.pitang.booster_c1m1.idempotency;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.pitang.booster_c1m1.dto.UserDTO;
+
+/**
+ * Bounded in-process store: least recently used keys are dropped beyond {@code maxEntries}, expired
+ * ones when they are next looked up. Only deduplicates retries that reach the same instance.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, IdempotencyEntry> entries;
+
+    public InMemoryIdempotencyStore(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<IdempotencyEntry> find(String key, Instant now) {
+        IdempotencyEntry entry = entries.get(key);
+        if (entry != null && entry.expired(now)) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    @Override
+    public synchronized boolean claim(IdempotencyEntry entry) {
+        IdempotencyEntry existing = entries.get(entry.key());
+        if (existing != null && !existing.expired(entry.createdAt())) {
+            return false;
+        }
+        entries.put(entry.key(), entry);
+        return true;
+    }
+
+    @Override
+    public synchronized void complete(String key, int status, UserDTO body, String message) {
+        entries.computeIfPresent(key, (k, entry) -> entry.complete(status, body, message));
+    }
+
+    @Override
+    public synchronized void remove(String key, Instant createdAt) {
+        IdempotencyEntry entry = entries.get(key);
+        if (entry != null && entry.createdAt().equals(createdAt)) {
+            entries.remove(key);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
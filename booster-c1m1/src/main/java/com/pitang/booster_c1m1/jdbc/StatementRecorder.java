@@ -0,0 +1,149 @@
+package com.pitang.booster_c1m1.jdbc;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import com.pitang.booster_c1m1.config.JdbcStatsProperties;
+import com.pitang.booster_c1m1.correlation.MdcFields;
+import com.pitang.booster_c1m1.warmup.WarmupScope;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns statement executions into metrics and log lines: a timer per statement fingerprint, a warning
+ * for each slow statement, and per-request totals with N+1 detection when the request completes.
+ * Statements run by the startup warm-up are left out.
+ */
+@Slf4j
+@Component
+public class StatementRecorder {
+
+    static final String OTHER = "other";
+
+    private static final int MAX_FINGERPRINT_LENGTH = 200;
+    private static final int MAX_CACHED_FINGERPRINTS = 1_000;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private final MeterRegistry meterRegistry;
+    private final long slowNanos;
+    private final int nPlusOneThreshold;
+    private final int maxStatementMetrics;
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Counter slowCounter;
+    private final Counter nPlusOneCounter;
+    private final DistributionSummary statementsPerRequest;
+    private final Timer timePerRequest;
+
+    public StatementRecorder(JdbcStatsProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.slowNanos = properties.getSlowThreshold().toNanos();
+        this.nPlusOneThreshold = properties.getRepeatedStatementThreshold();
+        this.maxStatementMetrics = properties.getMaxStatementMetrics();
+        this.slowCounter = Counter.builder("users.jdbc.slow.total")
+                .description("Statements slower than the slow-query threshold")
+                .register(meterRegistry);
+        this.nPlusOneCounter = Counter.builder("users.jdbc.n_plus_one.total")
+                .description("Requests repeating one statement at least the N+1 threshold")
+                .register(meterRegistry);
+        this.statementsPerRequest = DistributionSummary.builder("users.jdbc.request.statements")
+                .description("SQL statements executed per request")
+                .register(meterRegistry);
+        this.timePerRequest = Timer.builder("users.jdbc.request.time")
+                .description("Time spent executing SQL per request")
+                .register(meterRegistry);
+    }
+
+    public void executed(String sql, long nanos) {
+        if (WarmupScope.isActive()) {
+            return;
+        }
+        String fingerprint = fingerprint(sql);
+        timer(fingerprint).record(nanos, TimeUnit.NANOSECONDS);
+        StatementStats stats = StatementStats.current();
+        if (stats != null) {
+            stats.record(fingerprint, nanos);
+        }
+        if (nanos >= slowNanos) {
+            slowCounter.increment();
+            log.warn("Slow SQL statement ({} ms, request {}): {}",
+                    TimeUnit.NANOSECONDS.toMillis(nanos), requestId(), fingerprint);
+        }
+    }
+
+    public void requestCompleted(StatementStats stats, String method, String uri) {
+        if (WarmupScope.isActive()) {
+            return;
+        }
+        statementsPerRequest.record(stats.count());
+        timePerRequest.record(stats.totalNanos(), TimeUnit.NANOSECONDS);
+        Map<String, Integer> repeated = stats.repeated(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            nPlusOneCounter.increment();
+            repeated.forEach((sql, times) -> log.warn("Possible N+1 in {} {} (request {}): {} executions of {}",
+                    method, uri, requestId(), times, sql));
+        }
+        log.debug("{} {} ran {} SQL statements in {} ms", method, uri, stats.count(),
+                Duration.ofNanos(stats.totalNanos()).toMillis());
+    }
+
+    /**
+     * The statement with literals replaced by {@code ?}, whitespace collapsed and {@code IN} lists
+     * folded, so executions differing only in their values share one fingerprint.
+     */
+    static String normalize(String sql) {
+        if (sql == null) {
+            return OTHER;
+        }
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?)");
+        return normalized.length() > MAX_FINGERPRINT_LENGTH
+                ? normalized.substring(0, MAX_FINGERPRINT_LENGTH) : normalized;
+    }
+
+    private String fingerprint(String sql) {
+        if (sql == null) {
+            return OTHER;
+        }
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint == null) {
+            fingerprint = normalize(sql);
+            if (fingerprints.size() < MAX_CACHED_FINGERPRINTS) {
+                fingerprints.put(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    private Timer timer(String fingerprint) {
+        Timer timer = timers.get(fingerprint);
+        if (timer != null) {
+            return timer;
+        }
+        String key = timers.size() < maxStatementMetrics ? fingerprint : OTHER;
+        return timers.computeIfAbsent(key, sql -> Timer.builder("users.jdbc.statement")
+                .description("Execution time per SQL statement fingerprint")
+                .tag("sql", sql)
+                .register(meterRegistry));
+    }
+
+    private static String requestId() {
+        String requestId = MDC.get(MdcFields.REQUEST_ID);
+        return requestId != null ? requestId : "-";
+    }
+}
@@ -0,0 +1,121 @@
+package com.pitang.booster_c1m1.jdbc;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL statements run on the current thread since {@link #start()}, keyed by statement fingerprint,
+ * and the rows read from their result sets. Scopes nest: a scope started inside another (a test
+ * measuring a MockMvc call, which starts the request's own scope) also counts towards the outer one.
+ * Started by {@link StatementStatsInterceptor} for requests; threads without stats record metrics only.
+ */
+public final class StatementStats {
+
+    private static final ThreadLocal<StatementStats> CURRENT = new ThreadLocal<>();
+
+    private final StatementStats parent;
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int count;
+    private long totalNanos;
+    private long rows;
+
+    private StatementStats(StatementStats parent) {
+        this.parent = parent;
+    }
+
+    public static StatementStats start() {
+        StatementStats stats = new StatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static StatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * A scope with no enclosing one, for statements run on another thread on behalf of a request;
+     * install it there with {@link #swap} and add it back with {@link #addTo} once the work is joined.
+     */
+    public static StatementStats detached() {
+        return new StatementStats(null);
+    }
+
+    /** Makes {@code stats} the current thread's scope and returns the one it replaced. */
+    public static StatementStats swap(StatementStats stats) {
+        StatementStats previous = CURRENT.get();
+        if (stats == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats);
+        }
+        return previous;
+    }
+
+    /** Adds this scope's counts to {@code target} and every scope enclosing it. */
+    public void addTo(StatementStats target) {
+        for (StatementStats stats = target; stats != null; stats = stats.parent) {
+            stats.count += count;
+            stats.totalNanos += totalNanos;
+            stats.rows += rows;
+            for (Map.Entry<String, Integer> execution : executions.entrySet()) {
+                stats.executions.merge(execution.getKey(), execution.getValue(), Integer::sum);
+            }
+        }
+    }
+
+    /** Ends the innermost scope, returning to the enclosing one if any. */
+    public static void clear() {
+        StatementStats stats = CURRENT.get();
+        if (stats != null && stats.parent != null) {
+            CURRENT.set(stats.parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    void record(String fingerprint, long nanos) {
+        for (StatementStats stats = this; stats != null; stats = stats.parent) {
+            stats.count++;
+            stats.totalNanos += nanos;
+            stats.executions.merge(fingerprint, 1, Integer::sum);
+        }
+    }
+
+    void recordRow() {
+        for (StatementStats stats = this; stats != null; stats = stats.parent) {
+            stats.rows++;
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    /** Rows read through {@code ResultSet.next()}. */
+    public long rows() {
+        return rows;
+    }
+
+    /** Execution count per statement fingerprint. */
+    public Map<String, Integer> executions() {
+        return Collections.unmodifiableMap(executions);
+    }
+
+    /** Statements executed at least {@code threshold} times, with their execution counts. */
+    public Map<String, Integer> repeated(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executions.forEach((sql, times) -> {
+            if (times >= threshold) {
+                repeated.put(sql, times);
+            }
+        });
+        return repeated;
+    }
+}
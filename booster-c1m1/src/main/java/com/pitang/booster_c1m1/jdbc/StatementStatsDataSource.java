@@ -0,0 +1,132 @@
+package com.pitang.booster_c1m1.jdbc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Times every {@code execute*} call on statements from this data source and hands the SQL and
+ * duration to the {@link StatementRecorder}. A batch counts as one execution. While a
+ * {@link StatementStats} scope is active, rows read from result sets are counted as well.
+ */
+public class StatementStatsDataSource extends DelegatingDataSource {
+
+    private final Supplier<StatementRecorder> recorderSupplier;
+    private volatile StatementRecorder recorder;
+
+    public StatementStatsDataSource(DataSource targetDataSource, Supplier<StatementRecorder> recorder) {
+        super(targetDataSource);
+        this.recorderSupplier = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    Object result = invoke(target, method, args);
+                    if (result instanceof Statement statement) {
+                        String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                        return wrapStatement(statement, sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement wrapStatement(Statement target, String preparedSql) {
+        Class<?> type = target instanceof CallableStatement ? CallableStatement.class
+                : target instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    if (!method.getName().startsWith("execute")) {
+                        Object result = invoke(target, method, args);
+                        return result instanceof ResultSet resultSet ? countRows(resultSet) : result;
+                    }
+                    String sql = preparedSql != null ? preparedSql
+                            : args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                    long start = System.nanoTime();
+                    Object result;
+                    try {
+                        result = invoke(target, method, args);
+                    } finally {
+                        recorder().executed(sql, System.nanoTime() - start);
+                    }
+                    return result instanceof ResultSet resultSet ? countRows(resultSet) : result;
+                });
+    }
+
+    private static ResultSet countRows(ResultSet target) {
+        StatementStats stats = StatementStats.current();
+        if (stats == null) {
+            return target;
+        }
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    Object result = invoke(target, method, args);
+                    if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                        stats.recordRow();
+                    }
+                    return result;
+                });
+    }
+
+    private StatementRecorder recorder() {
+        StatementRecorder current = recorder;
+        if (current == null) {
+            current = recorderSupplier.get();
+            recorder = current;
+        }
+        return current;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
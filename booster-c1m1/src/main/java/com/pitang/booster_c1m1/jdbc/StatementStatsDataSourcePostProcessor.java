@@ -0,0 +1,27 @@
+package com.pitang.booster_c1m1.jdbc;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Wraps the application {@link DataSource} in a {@link StatementStatsDataSource}. The recorder is
+ * looked up on first use so this post-processor does not initialize it early.
+ */
+public class StatementStatsDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<StatementRecorder> recorder;
+
+    public StatementStatsDataSourcePostProcessor(ObjectProvider<StatementRecorder> recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof StatementStatsDataSource)) {
+            return new StatementStatsDataSource(dataSource, recorder::getObject);
+        }
+        return bean;
+    }
+}
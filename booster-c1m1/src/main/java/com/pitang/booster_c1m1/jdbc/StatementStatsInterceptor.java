@@ -0,0 +1,39 @@
+package com.pitang.booster_c1m1.jdbc;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.pitang.booster_c1m1.config.JdbcStatsProperties;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Collects {@link StatementStats} for each request and reports them when it completes.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatementStatsInterceptor implements HandlerInterceptor {
+
+    private final JdbcStatsProperties properties;
+    private final StatementRecorder recorder;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (properties.isEnabled()) {
+            StatementStats.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        StatementStats stats = StatementStats.current();
+        StatementStats.clear();
+        if (stats != null) {
+            recorder.requestCompleted(stats, request.getMethod(), request.getRequestURI());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.pitang.booster_c1m1.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fixed-size frequency sketch. Estimates never undercount; they overcount by at most
+ * about {@code 2 * total / width} with probability {@code 1 - 0.5^depth}.
+ *
+ * <p>Row indexes come from a 64-bit hash of the key's characters under a per-sketch random seed, not
+ * from {@link String#hashCode()}: keys sharing a 32-bit hash code would otherwise collide in every row,
+ * and anyone choosing keys could make them do so on purpose.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final long seed;
+    private final int mask;
+    private final int[][] counts;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        this(depth, width, ThreadLocalRandom.current().nextLong());
+    }
+
+    CountMinSketch(int depth, int width, long seed) {
+        this.depth = depth;
+        this.seed = seed;
+        int size = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.mask = size - 1;
+        this.counts = new int[depth][size];
+    }
+
+    /**
+     * Counts one occurrence of {@code key} and returns its new estimate.
+     */
+    public int add(String key) {
+        long hash = hash(key);
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int[] counters = counts[row];
+            int index = index(hash, row);
+            if (counters[index] < Integer.MAX_VALUE) {
+                counters[index]++;
+            }
+            estimate = Math.min(estimate, counters[index]);
+        }
+        return estimate;
+    }
+
+    public int estimate(String key) {
+        long hash = hash(key);
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts[row][index(hash, row)]);
+        }
+        return estimate;
+    }
+
+    public void reset() {
+        for (int[] row : counts) {
+            Arrays.fill(row, 0);
+        }
+    }
+
+    public long sizeInBytes() {
+        return (long) depth * counts[0].length * Integer.BYTES;
+    }
+
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return (h1 + row * h2) & mask;
+    }
+
+    /**
+     * FNV-1a over the UTF-16 code units, finished with the SplitMix64 mixer so every bit of the seed and
+     * the key reaches both 32-bit halves used by {@link #index}.
+     */
+    private long hash(String key) {
+        long h = seed ^ 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) | 1L << 32;
+    }
+}
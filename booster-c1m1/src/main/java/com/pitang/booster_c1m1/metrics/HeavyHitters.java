@@ -0,0 +1,205 @@
+package com.pitang.booster_c1m1.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding-window top-K tracker for one key dimension. Time is split into a ring of buckets; each
+ * bucket holds a {@link CountMinSketch} and its {@code k} strongest candidate keys, so memory is fixed
+ * regardless of how many distinct keys are seen. A window query merges the buckets it covers.
+ * Buckets are striped by key so recording rarely contends on one lock.
+ */
+public class HeavyHitters {
+
+    private static final int STRIPES = 8;
+    private static final int MIN_STRIPE_WIDTH = 16;
+
+    private final int topK;
+    private final long bucketMillis;
+    private final Bucket[] buckets;
+    private final LongSupplier clock;
+
+    public HeavyHitters(int topK, Duration bucketDuration, int bucketCount, int sketchDepth, int sketchWidth,
+            LongSupplier clock) {
+        this.topK = topK;
+        this.bucketMillis = bucketDuration.toMillis();
+        this.clock = clock;
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket(sketchDepth, sketchWidth, topK);
+        }
+    }
+
+    public void record(String key) {
+        long epoch = clock.getAsLong() / bucketMillis;
+        buckets[(int) (epoch % buckets.length)].record(key, epoch);
+    }
+
+    /**
+     * Top keys over the most recent {@code window}, capped at the full ring length.
+     */
+    public List<HeavyHitter> top(Duration window, int limit) {
+        long currentEpoch = clock.getAsLong() / bucketMillis;
+        long covered = Math.min(buckets.length, Math.max(1, window.toMillis() / bucketMillis));
+        long oldestEpoch = currentEpoch - covered + 1;
+
+        List<Bucket> active = new ArrayList<>();
+        Set<String> candidates = new HashSet<>();
+        for (Bucket bucket : buckets) {
+            if (bucket.collectCandidates(oldestEpoch, currentEpoch, candidates)) {
+                active.add(bucket);
+            }
+        }
+
+        List<HeavyHitter> result = new ArrayList<>(candidates.size());
+        for (String key : candidates) {
+            long estimate = 0;
+            for (Bucket bucket : active) {
+                estimate += bucket.estimate(key, oldestEpoch, currentEpoch);
+            }
+            result.add(new HeavyHitter(key, estimate));
+        }
+        result.sort(Comparator.comparingLong(HeavyHitter::estimate).reversed()
+                .thenComparing(HeavyHitter::key));
+        return result.size() > limit ? List.copyOf(result.subList(0, limit)) : result;
+    }
+
+    public Duration maxWindow() {
+        return Duration.ofMillis(bucketMillis * buckets.length);
+    }
+
+    public int topK() {
+        return topK;
+    }
+
+    public long sizeInBytes() {
+        return buckets.length * buckets[0].sizeInBytes();
+    }
+
+    public record HeavyHitter(String key, long estimate) {
+    }
+
+    /**
+     * One time bucket, split into stripes by key hash so concurrent recorders of different keys take
+     * different locks. Each stripe has its own slice of the sketch width, so total memory and accuracy
+     * match a single sketch of the configured width.
+     */
+    private static final class Bucket {
+        private final Stripe[] stripes;
+        private final int capacity;
+
+        Bucket(int depth, int width, int capacity) {
+            this.capacity = capacity;
+            this.stripes = new Stripe[STRIPES];
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe(depth, Math.max(MIN_STRIPE_WIDTH, width / STRIPES), capacity);
+            }
+        }
+
+        void record(String key, long currentEpoch) {
+            stripeFor(key).record(key, currentEpoch);
+        }
+
+        /**
+         * Adds the bucket's strongest {@code capacity} candidates across all stripes.
+         */
+        boolean collectCandidates(long oldestEpoch, long currentEpoch, Set<String> target) {
+            List<Map.Entry<String, Integer>> bucketCandidates = new ArrayList<>();
+            boolean active = false;
+            for (Stripe stripe : stripes) {
+                active |= stripe.collectCandidates(oldestEpoch, currentEpoch, bucketCandidates);
+            }
+            bucketCandidates.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+            for (int i = 0; i < Math.min(capacity, bucketCandidates.size()); i++) {
+                target.add(bucketCandidates.get(i).getKey());
+            }
+            return active;
+        }
+
+        int estimate(String key, long oldestEpoch, long currentEpoch) {
+            return stripeFor(key).estimate(key, oldestEpoch, currentEpoch);
+        }
+
+        long sizeInBytes() {
+            long size = 0;
+            for (Stripe stripe : stripes) {
+                size += stripe.sketch.sizeInBytes();
+            }
+            return size;
+        }
+
+        private Stripe stripeFor(String key) {
+            int hash = key.hashCode();
+            return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        }
+    }
+
+    private static final class Stripe {
+        private final CountMinSketch sketch;
+        private final Map<String, Integer> candidates;
+        private final int capacity;
+        private long epoch = -1;
+        private String weakestKey;
+        private int weakestCount;
+
+        Stripe(int depth, int width, int capacity) {
+            this.sketch = new CountMinSketch(depth, width);
+            this.capacity = capacity;
+            this.candidates = new HashMap<>(capacity * 2);
+        }
+
+        synchronized void record(String key, long currentEpoch) {
+            if (epoch != currentEpoch) {
+                sketch.reset();
+                candidates.clear();
+                weakestKey = null;
+                epoch = currentEpoch;
+            }
+            int estimate = sketch.add(key);
+            if (candidates.containsKey(key)) {
+                candidates.put(key, estimate);
+                if (key.equals(weakestKey)) {
+                    findWeakest();
+                }
+            } else if (candidates.size() < capacity) {
+                candidates.put(key, estimate);
+                findWeakest();
+            } else if (estimate > weakestCount) {
+                candidates.remove(weakestKey);
+                candidates.put(key, estimate);
+                findWeakest();
+            }
+        }
+
+        synchronized boolean collectCandidates(long oldestEpoch, long currentEpoch,
+                List<Map.Entry<String, Integer>> target) {
+            if (epoch < oldestEpoch || epoch > currentEpoch) {
+                return false;
+            }
+            target.addAll(Map.copyOf(candidates).entrySet());
+            return true;
+        }
+
+        synchronized int estimate(String key, long oldestEpoch, long currentEpoch) {
+            return epoch < oldestEpoch || epoch > currentEpoch ? 0 : sketch.estimate(key);
+        }
+
+        private void findWeakest() {
+            weakestKey = null;
+            weakestCount = Integer.MAX_VALUE;
+            for (Map.Entry<String, Integer> entry : candidates.entrySet()) {
+                if (entry.getValue() < weakestCount) {
+                    weakestKey = entry.getKey();
+                    weakestCount = entry.getValue();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.pitang.booster_c1m1.metrics;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.pitang.booster_c1m1.config.HotKeyProperties;
+import com.pitang.booster_c1m1.metrics.HeavyHitters.HeavyHitter;
+import com.pitang.booster_c1m1.warmup.WarmupScope;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tracks the most requested user ids and name searches without tagging metrics by key,
+ * which would explode cardinality. Search terms are kept as truncated SHA-256 digests unless
+ * {@code users.hotkeys.hash-search-terms} is off, so the actuator endpoint does not expose what users typed.
+ */
+@Component
+public class HotKeyTracker {
+
+    public static final String USER_ID = "userId";
+    public static final String SEARCH_TERM = "searchTerm";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final boolean enabled;
+    private final boolean hashSearchTerms;
+    private final Map<String, HeavyHitters> dimensions = new LinkedHashMap<>();
+
+    public HotKeyTracker(HotKeyProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.hashSearchTerms = properties.isHashSearchTerms();
+        for (String dimension : List.of(USER_ID, SEARCH_TERM)) {
+            dimensions.put(dimension, new HeavyHitters(properties.getTopK(), properties.getBucketDuration(),
+                    properties.getBuckets(), properties.getSketchDepth(), properties.getSketchWidth(),
+                    System::currentTimeMillis));
+        }
+        Gauge.builder("users.hotkeys.memory.bytes", this, HotKeyTracker::sizeInBytes)
+                .description("Memory held by the heavy-hitter sketches")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public void recordUserId(Long id) {
+        if (enabled && id != null && !WarmupScope.isActive()) {
+            dimensions.get(USER_ID).record(id.toString());
+        }
+    }
+
+    public void recordSearchTerm(String name) {
+        if (enabled && name != null && !WarmupScope.isActive()) {
+            String term = name.trim().toLowerCase(Locale.ROOT);
+            dimensions.get(SEARCH_TERM).record(hashSearchTerms ? hash(term) : term);
+        }
+    }
+
+    /**
+     * Key under which a normalized search term is reported when hashing is on; lets an operator check a
+     * suspected term against the endpoint.
+     */
+    public static String hash(String term) {
+        byte[] digest = SHA_256.get().digest(term.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest, 0, 8);
+    }
+
+    public List<HeavyHitter> top(String dimension, Duration window, int limit) {
+        HeavyHitters hitters = dimensions.get(dimension);
+        if (hitters == null) {
+            throw new IllegalArgumentException("Unknown hot key dimension: " + dimension);
+        }
+        return hitters.top(window, limit);
+    }
+
+    public Iterable<String> dimensionNames() {
+        return dimensions.keySet();
+    }
+
+    public long sizeInBytes() {
+        return dimensions.values().stream().mapToLong(HeavyHitters::sizeInBytes).sum();
+    }
+}
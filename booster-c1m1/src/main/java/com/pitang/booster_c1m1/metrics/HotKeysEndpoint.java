@@ -0,0 +1,52 @@
+package com.pitang.booster_c1m1.metrics;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.pitang.booster_c1m1.config.HotKeyProperties;
+import com.pitang.booster_c1m1.metrics.HeavyHitters.HeavyHitter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/hotkeys}: current heavy hitters per dimension for each configured window.
+ */
+@Component
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeysEndpoint {
+
+    private final HotKeyTracker tracker;
+    private final HotKeyProperties properties;
+
+    @ReadOperation
+    public Map<String, Map<String, List<HeavyHitter>>> hotKeys(@Nullable Integer limit) {
+        Map<String, Map<String, List<HeavyHitter>>> result = new LinkedHashMap<>();
+        for (String dimension : tracker.dimensionNames()) {
+            result.put(dimension, byWindow(dimension, limit));
+        }
+        return result;
+    }
+
+    @ReadOperation
+    public Map<String, List<HeavyHitter>> hotKeysForDimension(@Selector String dimension, @Nullable Integer limit) {
+        return byWindow(dimension, limit);
+    }
+
+    private Map<String, List<HeavyHitter>> byWindow(String dimension, Integer limit) {
+        int max = limit != null ? limit : properties.getTopK();
+        Map<String, List<HeavyHitter>> windows = new LinkedHashMap<>();
+        for (Duration window : properties.getWindows()) {
+            windows.put(window.toString(), tracker.top(dimension, window, max));
+        }
+        return windows;
+    }
+}
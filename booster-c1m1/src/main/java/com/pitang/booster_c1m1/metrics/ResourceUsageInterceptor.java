@@ -0,0 +1,111 @@
+package com.pitang.booster_c1m1.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.pitang.booster_c1m1.warmup.WarmupScope;
+import com.sun.management.ThreadMXBean;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records the bytes allocated and CPU time used by the request thread between the start and end of
+ * each request, read from {@link ThreadMXBean}. Summaries carry the same tags as
+ * {@code http.server.requests}. Work a request hands to other threads is not included, and requests
+ * completing on another thread (async dispatch) are skipped, as is warm-up traffic.
+ */
+@Slf4j
+public class ResourceUsageInterceptor implements HandlerInterceptor {
+
+    private static final String START = ResourceUsageInterceptor.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadMXBean threads;
+    private final boolean allocationSupported;
+    private final boolean cpuSupported;
+    private final DefaultServerRequestObservationConvention convention =
+            new DefaultServerRequestObservationConvention();
+
+    public ResourceUsageInterceptor(MeterRegistry meterRegistry) {
+        this(meterRegistry, (ThreadMXBean) ManagementFactory.getThreadMXBean());
+    }
+
+    ResourceUsageInterceptor(MeterRegistry meterRegistry, ThreadMXBean threads) {
+        this.meterRegistry = meterRegistry;
+        this.threads = threads;
+        this.allocationSupported = threads.isThreadAllocatedMemorySupported()
+                && threads.isThreadAllocatedMemoryEnabled();
+        this.cpuSupported = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+        if (!allocationSupported || !cpuSupported) {
+            log.warn("Per-request resource metrics partially unavailable: allocation={}, cpu={}",
+                    allocationSupported, cpuSupported);
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (WarmupScope.isActive()) {
+            return true;
+        }
+        request.setAttribute(START, new long[] {
+            Thread.currentThread().getId(),
+            allocationSupported ? threads.getCurrentThreadAllocatedBytes() : 0,
+            cpuSupported ? threads.getCurrentThreadCpuTime() : 0
+        });
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (!(request.getAttribute(START) instanceof long[] start) || start[0] != Thread.currentThread().getId()) {
+            return;
+        }
+        // Read the counters before building tags and looking up meters, so that work is not charged to the request
+        long allocated = allocationSupported ? threads.getCurrentThreadAllocatedBytes() - start[1] : 0;
+        long cpuNanos = cpuSupported ? threads.getCurrentThreadCpuTime() - start[2] : 0;
+        Tags tags = tags(request, response, ex);
+        if (allocationSupported) {
+            DistributionSummary.builder("users.request.allocated")
+                    .description("Bytes allocated by the request thread while handling a request")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(allocated);
+        }
+        if (cpuSupported) {
+            DistributionSummary.builder("users.request.cpu")
+                    .description("CPU time used by the request thread while handling a request")
+                    .baseUnit("seconds")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(cpuNanos / 1e9);
+        }
+    }
+
+    private Tags tags(HttpServletRequest request, HttpServletResponse response, Exception ex) {
+        ServerRequestObservationContext context = new ServerRequestObservationContext(request, response);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern instanceof String pathPattern) {
+            context.setPathPattern(pathPattern);
+        }
+        if (ex != null) {
+            context.setError(ex);
+        }
+        Tags tags = Tags.empty();
+        for (KeyValue keyValue : convention.getLowCardinalityKeyValues(context)) {
+            tags = tags.and(keyValue.getKey(), keyValue.getValue());
+        }
+        return tags;
+    }
+}
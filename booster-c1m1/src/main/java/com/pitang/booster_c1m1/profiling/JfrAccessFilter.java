@@ -0,0 +1,15 @@
+package com.pitang.booster_c1m1.profiling;
+
+import com.pitang.booster_c1m1.config.BearerTokenFilter;
+
+/**
+ * Guards the profiling endpoints with a shared bearer token. Recordings expose stack traces and
+ * class names, and each one occupies the recorder for its whole duration, so they stay closed unless
+ * a token is configured and presented.
+ */
+public class JfrAccessFilter extends BearerTokenFilter {
+
+    public JfrAccessFilter(String token) {
+        super(token);
+    }
+}
@@ -0,0 +1,93 @@
+package com.pitang.booster_c1m1.profiling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/jfr}: {@code POST} starts recording for {@code durationSeconds} with the
+ * {@code profile} JFR settings and answers 202 with the recording's id; {@code GET /actuator/jfr/<id>}
+ * answers 202 while it runs and streams the {@code .jfr} file once it has finished.
+ * {@code GET /actuator/jfr/continuous} dumps the continuous ring buffer. Open the files with JDK Mission
+ * Control or {@code jfr print}.
+ */
+@WebEndpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrEndpoint {
+
+    private static final String OCTET_STREAM = "application/octet-stream";
+    private static final int STATUS_ACCEPTED = 202;
+
+    private final JfrRecorder recorder;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("recording", recorder.isOnDemandRunning());
+        status.put("continuous", recorder.isContinuousRunning());
+        OnDemandRecording last = recorder.lastOnDemand();
+        if (last != null) {
+            status.put("onDemand", last.describe());
+        }
+        return status;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> record(@Nullable String profile, @Nullable Long durationSeconds) {
+        return start(recorder, profile, durationSeconds);
+    }
+
+    static WebEndpointResponse<Map<String, Object>> start(JfrRecorder recorder, String profile,
+            Long durationSeconds) {
+        Duration duration = durationSeconds != null ? Duration.ofSeconds(durationSeconds) : null;
+        try {
+            return new WebEndpointResponse<>(recorder.record(profile, duration).describe(), STATUS_ACCEPTED);
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+    }
+
+    @ReadOperation(produces = OCTET_STREAM)
+    public WebEndpointResponse<Resource> dump(@Selector String recording) throws IOException {
+        if ("continuous".equals(recording)) {
+            Path file = recorder.dumpContinuous();
+            return file == null ? new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND) : file(file);
+        }
+        OnDemandRecording onDemand = recorder.onDemand(recording);
+        if (onDemand == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (!onDemand.isDone()) {
+            return new WebEndpointResponse<>(STATUS_ACCEPTED);
+        }
+        Path file = recorder.take(recording);
+        if (file == null) {
+            return new WebEndpointResponse<>(onDemand.isFailed()
+                    ? WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR : WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return file(file);
+    }
+
+    private static WebEndpointResponse<Resource> file(Path file) throws IOException {
+        // The temporary file goes away once the response has been streamed.
+        return new WebEndpointResponse<>(new InputStreamResource(
+                Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE)), WebEndpointResponse.STATUS_OK);
+    }
+}
@@ -0,0 +1,246 @@
+package com.pitang.booster_c1m1.profiling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.SmartLifecycle;
+
+import com.pitang.booster_c1m1.config.JfrProperties;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Java Flight Recorder recordings for the profiling endpoints: bounded on-demand recordings, one at a
+ * time, and an optional continuous recording kept as a ring buffer ({@code maxAge}/{@code maxSize})
+ * that can be dumped at any moment. Recordings are written to temporary files the caller deletes.
+ *
+ * <p>On-demand recordings are stopped by the recorder's own thread, so no request waits for one. The
+ * finished file is kept until it is taken or the next recording starts.
+ */
+@Slf4j
+public class JfrRecorder implements SmartLifecycle {
+
+    private final JfrProperties properties;
+    private final ScheduledExecutorService stopper;
+    private OnDemandRecording onDemand;
+    private volatile Recording continuous;
+    private volatile boolean running;
+
+    public JfrRecorder(JfrProperties properties) {
+        this.properties = properties;
+        this.stopper = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "users-jfr-recorder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts recording for {@code duration} (capped at the configured maximum) with the named JFR
+     * settings and returns at once; the handle's file completes when the recording has stopped.
+     *
+     * @throws IllegalArgumentException for unknown settings
+     * @throws IllegalStateException when another on-demand recording is running
+     */
+    public synchronized OnDemandRecording record(String profile, Duration duration) {
+        Configuration configuration = configuration(profile != null ? profile : "profile");
+        Duration requested = duration != null ? duration : properties.getDefaultDuration();
+        Duration maximum = properties.getMaxDuration();
+        Duration bounded = requested.compareTo(maximum) > 0 ? maximum : requested;
+        if (isOnDemandRunning()) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        discard(onDemand);
+        Recording recording = new Recording(configuration);
+        recording.setName("users-on-demand");
+        recording.setToDisk(true);
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        log.info("Starting {} JFR recording with '{}' settings", bounded, configuration.getName());
+        recording.start();
+        Instant startedAt = Instant.now();
+        OnDemandRecording handle = new OnDemandRecording(UUID.randomUUID().toString(), configuration.getName(),
+                startedAt, startedAt.plus(bounded));
+        onDemand = handle;
+        stopper.schedule(() -> finish(recording, handle), bounded.toMillis(), TimeUnit.MILLISECONDS);
+        return handle;
+    }
+
+    /** The current or last on-demand recording if it has this id, otherwise {@code null}. */
+    public synchronized OnDemandRecording onDemand(String id) {
+        return onDemand != null && onDemand.id().equals(id) ? onDemand : null;
+    }
+
+    /** The current or last on-demand recording, or {@code null} when there is none. */
+    public synchronized OnDemandRecording lastOnDemand() {
+        return onDemand;
+    }
+
+    /**
+     * Hands over the file of a finished recording; the caller deletes it. Returns {@code null} when
+     * the recording is unknown, still running, failed, or was already taken.
+     */
+    public synchronized Path take(String id) {
+        OnDemandRecording handle = onDemand(id);
+        if (handle == null || !handle.isDone() || handle.isFailed()) {
+            return null;
+        }
+        onDemand = null;
+        return handle.file().join();
+    }
+
+    /** Dumps the continuous recording, or returns {@code null} when it is not running. */
+    public Path dumpContinuous() throws IOException {
+        Recording recording = continuous;
+        return recording == null ? null : dump(recording);
+    }
+
+    public boolean isContinuousRunning() {
+        return continuous != null;
+    }
+
+    public synchronized boolean isOnDemandRunning() {
+        return onDemand != null && !onDemand.isDone();
+    }
+
+    public JfrSummary summarize(Path file, int limit) throws IOException {
+        String prefix = properties.getPackagePrefix();
+        Map<String, Long> hotMethods = new HashMap<>();
+        Map<String, Long> allocationSites = new HashMap<>();
+        long samples = 0;
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String type = event.getEventType().getName();
+                if ("jdk.ExecutionSample".equals(type)) {
+                    samples++;
+                    String site = site(event.getStackTrace(), prefix);
+                    if (site != null) {
+                        hotMethods.merge(site, 1L, Long::sum);
+                    }
+                } else if ("jdk.ObjectAllocationSample".equals(type)) {
+                    String site = site(event.getStackTrace(), prefix);
+                    if (site != null) {
+                        allocationSites.merge(site + " " + event.getClass("objectClass").getName(),
+                                event.getLong("weight"), Long::sum);
+                    }
+                }
+            }
+        }
+        return new JfrSummary(samples, top(hotMethods, limit), top(allocationSites, limit));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        JfrProperties.Continuous settings = properties.getContinuous();
+        if (!settings.isEnabled()) {
+            return;
+        }
+        Recording recording = new Recording(configuration(settings.getProfile()));
+        recording.setName("users-continuous");
+        recording.setToDisk(true);
+        recording.setMaxAge(settings.getMaxAge());
+        recording.setMaxSize(settings.getMaxSize().toBytes());
+        recording.start();
+        continuous = recording;
+        log.info("Continuous JFR recording started ({} settings, max age {}, max size {})",
+                settings.getProfile(), settings.getMaxAge(), settings.getMaxSize());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Recording recording = continuous;
+        continuous = null;
+        if (recording != null) {
+            recording.close();
+        }
+        synchronized (this) {
+            discard(onDemand);
+            onDemand = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static Configuration configuration(String name) {
+        try {
+            return Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + name, e);
+        }
+    }
+
+    private static void finish(Recording recording, OnDemandRecording handle) {
+        try (recording) {
+            recording.stop();
+            handle.file().complete(dump(recording));
+            log.info("JFR recording {} finished", handle.id());
+        } catch (IOException | RuntimeException e) {
+            log.warn("JFR recording {} failed", handle.id(), e);
+            handle.file().completeExceptionally(e);
+        }
+    }
+
+    /** Deletes the file of a finished recording nobody took; a running one is left to finish. */
+    private static void discard(OnDemandRecording handle) {
+        if (handle == null) {
+            return;
+        }
+        handle.file().thenAccept(file -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete JFR recording {}", file, e);
+            }
+        });
+    }
+
+    private static Path dump(Recording recording) throws IOException {
+        Path file = Files.createTempFile("users-", ".jfr");
+        recording.dump(file);
+        return file;
+    }
+
+    private static String site(RecordedStackTrace stackTrace, String prefix) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(prefix)) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return null;
+    }
+
+    private static List<JfrSummary.Site> top(Map<String, Long> counts, int limit) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(entry -> new JfrSummary.Site(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,13 @@
+package com.pitang.booster_c1m1.profiling;
+
+import java.util.List;
+
+/**
+ * Hot spots of one recording, restricted to frames of the application's packages: execution samples
+ * per method and line, and sampled allocation weight (estimated bytes) per site and allocated class.
+ */
+public record JfrSummary(long executionSamples, List<Site> hotMethods, List<Site> allocationSites) {
+
+    public record Site(String site, long value) {
+    }
+}
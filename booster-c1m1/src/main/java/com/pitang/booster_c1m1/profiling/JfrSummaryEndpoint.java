@@ -0,0 +1,72 @@
+package com.pitang.booster_c1m1.profiling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.lang.Nullable;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/jfrsummary}: the top hot methods and allocation sites of the application's
+ * packages. {@code GET} summarizes the continuous ring buffer; {@code POST} starts a fresh recording
+ * like {@code /actuator/jfr}, and {@code GET /actuator/jfrsummary/<id>} summarizes it instead of
+ * returning the file once it has finished.
+ */
+@WebEndpoint(id = "jfrsummary")
+@RequiredArgsConstructor
+public class JfrSummaryEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int STATUS_ACCEPTED = 202;
+
+    private final JfrRecorder recorder;
+
+    @ReadOperation
+    public WebEndpointResponse<JfrSummary> continuous(@Nullable Integer limit) throws IOException {
+        Path file = recorder.dumpContinuous();
+        if (file == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return summarize(file, limit);
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> record(@Nullable String profile, @Nullable Long durationSeconds) {
+        return JfrEndpoint.start(recorder, profile, durationSeconds);
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<JfrSummary> recording(@Selector String id, @Nullable Integer limit)
+            throws IOException {
+        OnDemandRecording onDemand = recorder.onDemand(id);
+        if (onDemand == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (!onDemand.isDone()) {
+            return new WebEndpointResponse<>(STATUS_ACCEPTED);
+        }
+        Path file = recorder.take(id);
+        if (file == null) {
+            return new WebEndpointResponse<>(onDemand.isFailed()
+                    ? WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR : WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return summarize(file, limit);
+    }
+
+    private WebEndpointResponse<JfrSummary> summarize(Path file, Integer limit) throws IOException {
+        int bounded = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        try {
+            return new WebEndpointResponse<>(recorder.summarize(file, bounded));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
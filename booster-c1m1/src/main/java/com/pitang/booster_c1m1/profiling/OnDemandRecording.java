@@ -0,0 +1,53 @@
+package com.pitang.booster_c1m1.profiling;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle of an on-demand recording started by {@link JfrRecorder#record}. The recording runs on the
+ * recorder's own thread; {@link #file()} completes with the dumped file once it has stopped.
+ */
+public final class OnDemandRecording {
+
+    private final String id;
+    private final String settings;
+    private final Instant startedAt;
+    private final Instant endsAt;
+    private final CompletableFuture<Path> file = new CompletableFuture<>();
+
+    OnDemandRecording(String id, String settings, Instant startedAt, Instant endsAt) {
+        this.id = id;
+        this.settings = settings;
+        this.startedAt = startedAt;
+        this.endsAt = endsAt;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public CompletableFuture<Path> file() {
+        return file;
+    }
+
+    public boolean isDone() {
+        return file.isDone();
+    }
+
+    public boolean isFailed() {
+        return file.isCompletedExceptionally();
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", id);
+        description.put("settings", settings);
+        description.put("state", isFailed() ? "failed" : isDone() ? "finished" : "recording");
+        description.put("startedAt", startedAt.toString());
+        description.put("endsAt", endsAt.toString());
+        return description;
+    }
+}
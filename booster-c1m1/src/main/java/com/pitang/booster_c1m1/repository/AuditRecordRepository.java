@@ -0,0 +1,14 @@
+package com.pitang.booster_c1m1.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.pitang.booster_c1m1.domain.AuditRecord;
+
+@Repository
+public interface AuditRecordRepository extends JpaRepository<AuditRecord, String> {
+
+  List<AuditRecord> findByUserIdOrderByOccurredAtAsc(Long userId);
+}
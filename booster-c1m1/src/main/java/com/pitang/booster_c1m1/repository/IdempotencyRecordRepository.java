@@ -0,0 +1,43 @@
+package com.pitang.booster_c1m1.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.pitang.booster_c1m1.domain.IdempotencyRecord;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+  /**
+   * Plain insert rather than {@code save}, which would merge into an existing row: a duplicate key has to
+   * fail so only one request claims it.
+   */
+  @Modifying
+  @Query(value = "insert into user_idempotency_keys (idempotency_key, fingerprint, created_at, expires_at) "
+      + "values (:key, :fingerprint, :createdAt, :expiresAt)", nativeQuery = true)
+  int insert(@Param("key") String key, @Param("fingerprint") String fingerprint,
+      @Param("createdAt") Instant createdAt, @Param("expiresAt") Instant expiresAt);
+
+  @Modifying
+  @Query("update IdempotencyRecord r set r.status = :status, r.body = :body, r.message = :message "
+      + "where r.idempotencyKey = :key")
+  int complete(@Param("key") String key, @Param("status") int status, @Param("body") String body,
+      @Param("message") String message);
+
+  @Modifying
+  @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.createdAt = :createdAt")
+  int deleteClaim(@Param("key") String key, @Param("createdAt") Instant createdAt);
+
+  @Modifying
+  @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.expiresAt <= :now")
+  int deleteIfExpired(@Param("key") String key, @Param("now") Instant now);
+
+  @Modifying
+  @Query("delete from IdempotencyRecord r where r.expiresAt <= :now")
+  int deleteExpired(@Param("now") Instant now);
+}
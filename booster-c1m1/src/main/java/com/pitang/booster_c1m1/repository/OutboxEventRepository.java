@@ -0,0 +1,19 @@
+package com.pitang.booster_c1m1.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.pitang.booster_c1m1.domain.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+  /** Oldest pending events first; callers hold the {@code OutboxLock} so only one node drains at a time. */
+  List<OutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+
+  Optional<OutboxEvent> findFirstByOrderByIdAsc();
+}
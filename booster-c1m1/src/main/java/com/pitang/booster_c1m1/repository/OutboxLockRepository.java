@@ -0,0 +1,21 @@
+package com.pitang.booster_c1m1.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.pitang.booster_c1m1.domain.OutboxLock;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface OutboxLockRepository extends JpaRepository<OutboxLock, String> {
+
+  /** Blocks until no other publisher holds the lock row. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select l from OutboxLock l where l.name = :name")
+  Optional<OutboxLock> lockByName(String name);
+}
@@ -1,15 +1,43 @@
 package com.pitang.booster_c1m1.repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.pitang.booster_c1m1.domain.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+  String NAME_QUERY_CACHE_REGION = "users-by-name";
+
   boolean existsByEmail(String email);
   boolean existsByEmailAndIdNot(String email, Long id);
+
+  /** Both the page and its count query are served from the query cache until a users write. */
+  @QueryHints({
+      @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = NAME_QUERY_CACHE_REGION)
+  })
   Page<User> findByNameContainingIgnoreCase(String name, Pageable pageable);
-}
\ No newline at end of file
+  long countByNameContainingIgnoreCase(String name);
+
+  /** The next {@code limit} users after {@code id}: a keyset page that costs the same however deep it is. */
+  List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  /** One page read through a cursor; must be consumed and closed inside a transaction. */
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<User> streamAllBy(Pageable pageable);
+
+  /** One filtered page read through a cursor; must be consumed and closed inside a transaction. */
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<User> streamByNameContainingIgnoreCase(String name, Pageable pageable);
+}
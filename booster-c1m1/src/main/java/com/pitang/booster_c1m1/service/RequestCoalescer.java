@@ -0,0 +1,141 @@
+package com.pitang.booster_c1m1.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.pitang.booster_c1m1.deadline.RequestDeadline;
+import com.pitang.booster_c1m1.exception.DeadlineExceededException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single-flight execution for identical concurrent reads: the first caller for a key runs the loader,
+ * callers arriving while it is in flight wait for and share its result or exception.
+ * Nothing is cached once the call completes. Callers that shared a flight are flagged on their request
+ * (see {@link #joinedFlight}) so a response cache does not store a result read before it looked.
+ *
+ * <p>The one exception not shared is the leader running out of its own deadline: followers whose deadline
+ * has not passed start a new flight instead of failing with it.
+ *
+ * <p>A follower gets whatever the leader read, and the leader may have started before a write the follower
+ * had just committed to the same key. Coalesced reads are therefore not read-your-writes: a client that
+ * needs its own write back should use the write's response. Such a result is never stored by the response
+ * cache, so it only affects that one response.
+ */
+@Slf4j
+@Component
+public class RequestCoalescer {
+
+    private static final String JOINED_FLIGHT = RequestCoalescer.class.getName() + ".JOINED_FLIGHT";
+
+    private final ConcurrentMap<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Duration maxWait;
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+            @Value("${users.coalescing.max-wait:2s}") Duration maxWait) {
+        this.meterRegistry = meterRegistry;
+        this.maxWait = maxWait;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> V execute(String operation, Object key, Supplier<V> loader) {
+        FlightKey flightKey = new FlightKey(operation, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+
+        if (existing == null) {
+            // The flight is removed before it completes, so followers retrying after a deadline failure
+            // start a new one rather than finding this one again.
+            V value;
+            try {
+                value = loader.get();
+            } catch (RuntimeException | Error e) {
+                inFlight.remove(flightKey, flight);
+                flight.completeExceptionally(e);
+                throw e;
+            }
+            inFlight.remove(flightKey, flight);
+            flight.complete(value);
+            return value;
+        }
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(JOINED_FLIGHT, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+        counter("users.coalesced.total", "Total number of reads served by an identical in-flight call",
+                operation).increment();
+        long waitMillis = maxWait.toMillis();
+        Long remaining = RequestDeadline.remainingMillis();
+        boolean boundedByDeadline = remaining != null && remaining < waitMillis;
+        if (boundedByDeadline) {
+            waitMillis = Math.max(0, remaining);
+        }
+        try {
+            return (V) existing.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (RequestDeadline.isDeadlineFailure(cause) && !RequestDeadline.isExpired()) {
+                counter("users.coalesced.retries.total",
+                        "Total number of coalesced reads run again after the shared call ran out of time",
+                        operation).increment();
+                return execute(operation, key, loader);
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            counter("users.coalesced.timeouts.total", "Total number of coalesced reads that gave up waiting",
+                    operation).increment();
+            log.warn("Timed out after {}ms waiting for in-flight {} with key {}", waitMillis, operation, key);
+            if (boundedByDeadline) {
+                throw new DeadlineExceededException();
+            }
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Timed out waiting for in-flight request");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Interrupted waiting for in-flight request");
+        }
+    }
+
+    /**
+     * Whether a read made while handling {@code request} was served by another caller's in-flight call.
+     * The flag lives on the request, so it cannot outlive it on a pooled thread.
+     */
+    public static boolean joinedFlight(HttpServletRequest request) {
+        return request.getAttribute(JOINED_FLIGHT) != null;
+    }
+
+    private Counter counter(String name, String description, String operation) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private record FlightKey(String operation, Object key) {
+    }
+}
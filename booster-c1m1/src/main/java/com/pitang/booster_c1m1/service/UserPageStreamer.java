@@ -0,0 +1,112 @@
+package com.pitang.booster_c1m1.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.pitang.booster_c1m1.config.StreamingProperties;
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.dto.StreamedPageDTO;
+import com.pitang.booster_c1m1.dto.UserDTO;
+import com.pitang.booster_c1m1.mapper.UserMapper;
+import com.pitang.booster_c1m1.metrics.HotKeyTracker;
+import com.pitang.booster_c1m1.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves large GET /v1/users pages without holding them in memory: rows are read through a
+ * forward-only JPA stream, mapped, written and detached one at a time inside a read-only
+ * transaction that lives for the duration of the response. The total is computed after the rows
+ * the same way Spring Data does, so small and short last pages skip the count query.
+ */
+@Slf4j
+@Service
+public class UserPageStreamer {
+
+    private static final UserMapper MAPPER = UserMapper.INSTANCE;
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final HotKeyTracker hotKeyTracker;
+    private final StreamingProperties properties;
+
+    public UserPageStreamer(UserRepository userRepository, EntityManager entityManager,
+            PlatformTransactionManager transactionManager, HotKeyTracker hotKeyTracker,
+            StreamingProperties properties) {
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.hotKeyTracker = hotKeyTracker;
+        this.properties = properties;
+    }
+
+    /** A streamed page when {@code pageable} is at or above the streaming threshold, otherwise empty. */
+    public Optional<StreamedPageDTO<UserDTO>> streamIfLarge(Pageable pageable, String name) {
+        if (!properties.isEnabled() || pageable.isUnpaged() || pageable.getPageSize() < properties.getThreshold()) {
+            return Optional.empty();
+        }
+        hotKeyTracker.recordSearchTerm(name);
+        return Optional.of(new StreamedPageDTO<>(pageable.getPageNumber(), pageable.getPageSize()) {
+            @Override
+            public void writeTo(JsonGenerator generator) throws IOException {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> write(generator, pageable, name));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+        });
+    }
+
+    private void write(JsonGenerator generator, Pageable pageable, String name) {
+        try {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("content");
+            long rows = 0;
+            try (Stream<User> users = name != null
+                    ? userRepository.streamByNameContainingIgnoreCase(name, pageable)
+                    : userRepository.streamAllBy(pageable)) {
+                Iterator<User> iterator = users.iterator();
+                while (iterator.hasNext()) {
+                    User user = iterator.next();
+                    generator.writeObject(MAPPER.toDto(user));
+                    entityManager.detach(user);
+                    rows++;
+                }
+            }
+            generator.writeEndArray();
+            long total = total(pageable, rows, name);
+            int size = pageable.getPageSize();
+            generator.writeNumberField("page", pageable.getPageNumber());
+            generator.writeNumberField("size", size);
+            generator.writeNumberField("totalPages", (int) Math.ceil((double) total / size));
+            generator.writeNumberField("totalElements", total);
+            generator.writeEndObject();
+            log.debug("Streamed {} users", rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long total(Pageable pageable, long rows, String name) {
+        if (pageable.getOffset() == 0 && rows < pageable.getPageSize()) {
+            return rows;
+        }
+        if (rows != 0 && rows < pageable.getPageSize()) {
+            return pageable.getOffset() + rows;
+        }
+        return name != null ? userRepository.countByNameContainingIgnoreCase(name) : userRepository.count();
+    }
+}
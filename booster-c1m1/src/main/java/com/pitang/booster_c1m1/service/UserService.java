@@ -1,17 +1,32 @@
 package com.pitang.booster_c1m1.service;
 
 import java.time.Instant;
-
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.pitang.booster_c1m1.domain.User;
 import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.dto.EmailAvailabilityDTO;
+import com.pitang.booster_c1m1.dto.UpdateUserDTO;
+import com.pitang.booster_c1m1.dto.UserBatchResponseDTO;
 import com.pitang.booster_c1m1.dto.UserDTO;
+import com.pitang.booster_c1m1.email.EmailAvailabilityService;
+import com.pitang.booster_c1m1.event.UserChangedEvent;
 import com.pitang.booster_c1m1.mapper.UserMapper;
+import com.pitang.booster_c1m1.metrics.HotKeyTracker;
 import com.pitang.booster_c1m1.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -23,6 +38,7 @@ import io.micrometer.core.instrument.Counter;
 @RequiredArgsConstructor
 public class UserService {
     private static final UserMapper MAPPER = UserMapper.INSTANCE;
+    public static final int MAX_BATCH_IDS = 500;
 
     private final UserRepository userRepository;
     private final Counter userCreatedCounter;
@@ -30,8 +46,23 @@ public class UserService {
     private final Counter userDeletedCounter;
     private final Counter userNotFoundCounter;
     private final Counter emailConflictCounter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RequestCoalescer requestCoalescer;
+    private final HotKeyTracker hotKeyTracker;
+    private final EmailAvailabilityService emailAvailability;
 
     public Page<UserDTO> getAllUsers(Pageable pageable, String name) {
+        hotKeyTracker.recordSearchTerm(name);
+        return requestCoalescer.execute("getAllUsers", new PageQuery(name, pageable),
+                () -> loadUsers(pageable, name));
+    }
+
+    public UserDTO getUserById(Long id) {
+        hotKeyTracker.recordUserId(id);
+        return requestCoalescer.execute("getUserById", id, () -> loadUser(id));
+    }
+
+    private Page<UserDTO> loadUsers(Pageable pageable, String name) {
         log.debug("Fetching users from database - name filter: {}", name);
         Page<User> users;
         if (name != null) {
@@ -44,7 +75,7 @@ public class UserService {
         return users.map(MAPPER::toDto);
     }
 
-    public UserDTO getUserById(Long id) {
+    private UserDTO loadUser(Long id) {
         log.debug("Searching for user with id: {}", id);
         User user = userRepository.findById(id)
                 .orElseThrow(() -> {
@@ -56,6 +87,53 @@ public class UserService {
         return MAPPER.toDto(user);
     }
 
+    /**
+     * Resolves a set of users with a single query. Results follow the order of {@code ids}
+     * (duplicates collapsed to their first occurrence); ids with no user are reported in {@code missingIds}.
+     */
+    public UserBatchResponseDTO getUsersByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one user ID is required");
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > MAX_BATCH_IDS) {
+            log.warn("Batch lookup rejected - {} ids requested, limit is {}", uniqueIds.size(), MAX_BATCH_IDS);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BATCH_IDS + " user IDs can be requested at once");
+        }
+        if (uniqueIds.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid user ID");
+        }
+
+        uniqueIds.forEach(hotKeyTracker::recordUserId);
+        log.debug("Fetching {} users by id", uniqueIds.size());
+        Map<Long, User> usersById = new HashMap<>();
+        for (User user : userRepository.findAllById(uniqueIds)) {
+            usersById.put(user.getId(), user);
+        }
+
+        List<UserDTO> found = new ArrayList<>(usersById.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            User user = usersById.get(id);
+            if (user != null) {
+                found.add(MAPPER.toDto(user));
+            } else {
+                missing.add(id);
+            }
+        }
+        log.debug("Batch lookup found {} users, {} missing", found.size(), missing.size());
+        return new UserBatchResponseDTO(found, missing);
+    }
+
+    public EmailAvailabilityDTO checkEmailAvailability(String email) {
+        if (email == null || email.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email is required");
+        }
+        return new EmailAvailabilityDTO(email, !emailAvailability.isRegistered(email));
+    }
+
+    @Transactional
     public UserDTO createUser(CreateUserDTO createUserDTO) {
         log.debug("Attempting to create user with email: {}", createUserDTO.getEmail());
         User user = MAPPER.toUser(createUserDTO);
@@ -71,9 +149,12 @@ public class UserService {
         userCreatedCounter.increment();
         log.info("User created successfully with id: {} and email: {}", savedUser.getId(), savedUser.getEmail());
 
-        return MAPPER.toDto(savedUser);
+        UserDTO createdUser = MAPPER.toDto(savedUser);
+        eventPublisher.publishEvent(UserChangedEvent.created(createdUser));
+        return createdUser;
     }
 
+    @Transactional
     public UserDTO updateUser(Long id, CreateUserDTO createUserDTO) {
         log.debug("Attempting to update user with id: {}", id);
         User existingUser = userRepository.findById(id).orElseThrow(() -> {
@@ -94,9 +175,52 @@ public class UserService {
         userUpdatedCounter.increment();
         log.info("User updated successfully with id: {} and email: {}", updatedUser.getId(), updatedUser.getEmail());
 
-        return MAPPER.toDto(updatedUser);
+        UserDTO updatedUserDTO = MAPPER.toDto(updatedUser);
+        eventPublisher.publishEvent(UserChangedEvent.updated(updatedUserDTO));
+        return updatedUserDTO;
     }
 
+    /**
+     * Applies a merge patch. The email uniqueness check only runs when the email actually changes,
+     * and a patch that changes nothing leaves the row (including {@code updatedAt}) untouched.
+     * {@code User} is mapped with {@code @DynamicUpdate}, so the UPDATE only lists modified columns.
+     */
+    @Transactional
+    public UserDTO patchUser(Long id, UpdateUserDTO updateUserDTO) {
+        log.debug("Attempting to patch user with id: {}", id);
+        User existingUser = userRepository.findById(id).orElseThrow(() -> {
+            userNotFoundCounter.increment();
+            log.warn("User not found with id: {}", id);
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        });
+
+        boolean emailChanged = changes(updateUserDTO.getEmail(), existingUser.getEmail());
+        if (emailChanged && userRepository.existsByEmailAndIdNot(updateUserDTO.getEmail(), id)) {
+            emailConflictCounter.increment();
+            log.warn("Attempt to patch user with existing email: {}", updateUserDTO.getEmail());
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already in use");
+        }
+
+        boolean changed = emailChanged
+                || changes(updateUserDTO.getName(), existingUser.getName())
+                || changes(updateUserDTO.getPassword(), existingUser.getPassword());
+        if (!changed) {
+            log.debug("Patch for user id: {} changes nothing, skipping update", id);
+            return MAPPER.toDto(existingUser);
+        }
+
+        MAPPER.patchUserFromDTO(updateUserDTO, existingUser);
+        existingUser.setUpdatedAt(Instant.now().toString());
+        User patchedUser = userRepository.save(existingUser);
+        userUpdatedCounter.increment();
+        log.info("User patched successfully with id: {}", patchedUser.getId());
+
+        UserDTO patchedUserDTO = MAPPER.toDto(patchedUser);
+        eventPublisher.publishEvent(UserChangedEvent.updated(patchedUserDTO));
+        return patchedUserDTO;
+    }
+
+    @Transactional
     public void deleteUser(Long id) {
         log.debug("Attempting to delete user with id: {}", id);
 
@@ -105,13 +229,23 @@ public class UserService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid user ID");
         }
 
-        if (!userRepository.existsById(id)) {
+        // findById rather than existsById: the entity is usually in the second-level cache, and
+        // deleteById below reuses it from the persistence context instead of loading it again.
+        if (userRepository.findById(id).isEmpty()) {
             userNotFoundCounter.increment();
             log.warn("Attempt to delete non-existent user with id: {}", id);
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
         }
         userRepository.deleteById(id);
         userDeletedCounter.increment();
+        eventPublisher.publishEvent(UserChangedEvent.deleted(id));
         log.info("User with id {} deleted successfully", id);
     }
-}
\ No newline at end of file
+
+    private static boolean changes(String requested, String current) {
+        return requested != null && !Objects.equals(requested, current);
+    }
+
+    private record PageQuery(String name, Pageable pageable) {
+    }
+}
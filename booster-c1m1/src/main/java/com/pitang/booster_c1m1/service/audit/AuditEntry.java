@@ -0,0 +1,12 @@
+package com.pitang.booster_c1m1.service.audit;
+
+import java.time.Instant;
+
+import com.pitang.booster_c1m1.domain.UserChangeType;
+
+/**
+ * An audit record on its way to the database, as queued and as written to the write-ahead file.
+ */
+public record AuditEntry(String id, Long userId, UserChangeType type, String requestId, String payload,
+        Instant occurredAt) {
+}
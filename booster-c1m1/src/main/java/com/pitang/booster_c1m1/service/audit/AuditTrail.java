@@ -0,0 +1,325 @@
+package com.pitang.booster_c1m1.service.audit;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.MDC;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.config.AuditProperties;
+import com.pitang.booster_c1m1.correlation.MdcFields;
+import com.pitang.booster_c1m1.correlation.RequestIds;
+import com.pitang.booster_c1m1.event.UserChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind audit trail. Each {@link UserChangedEvent} is appended to the {@link AuditWal} just before
+ * its transaction commits; a failed append rolls the transaction back, so no change commits without its
+ * record on disk. Once the transaction has committed the record is queued on the request thread, and a
+ * rolled-back transaction's record is acknowledged away. A single writer thread inserts queued records into
+ * {@code user_audit} in batches, so write transactions carry no extra INSERT. A crash between the append and
+ * the commit replays the record even if the change never committed: the trail may hold a change that was
+ * attempted, but never misses one that was made. When the queue stays full past the offer
+ * timeout the request thread inserts its record itself. Records that could not be stored that way,
+ * or replayed at startup, are handed to the writer, which retries them and skips any that turn out to
+ * be stored already. Records still unstored at shutdown remain in the write-ahead file and are replayed
+ * on the next start; shutdown drains the queue first.
+ *
+ * <p>Bulk loads bypass {@code UserService} and publish no {@link UserChangedEvent}; {@code UserBulkLoader}
+ * inserts their audit rows itself, in the load's transaction.
+ */
+@Slf4j
+public class AuditTrail implements SmartLifecycle {
+
+    private static final String INSERT = "INSERT INTO user_audit (id, user_id, type, request_id, payload, occurred_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final AuditProperties properties;
+    private final AuditWal wal;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<AuditEntry> queue;
+    private final Queue<AuditEntry> retries = new ConcurrentLinkedQueue<>();
+
+    private final Counter writtenCounter;
+    private final Counter overflowCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+
+    private final List<AuditEntry> unstoredAtStartup;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditTrail(AuditProperties properties, AuditWal wal, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.wal = wal;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        // Opened here rather than in start(), so a change committed before the lifecycle starts can still be appended
+        try {
+            this.unstoredAtStartup = wal.open();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open the audit write-ahead file", e);
+        }
+
+        this.writtenCounter = Counter.builder("users.audit.written.total")
+                .description("Total number of audit records stored")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("users.audit.overflow.total")
+                .description("Total number of audit records written on the request thread because the queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("users.audit.failed.total")
+                .description("Total number of audit batches the database rejected")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("users.audit.flush.duration")
+                .description("Time to insert one audit batch")
+                .register(meterRegistry);
+        Gauge.builder("users.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Number of audit records waiting for the writer")
+                .register(meterRegistry);
+        Gauge.builder("users.audit.wal.outstanding", wal, AuditWal::outstanding)
+                .description("Number of audit records in the write-ahead file not yet stored")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        AuditEntry entry = new AuditEntry(RequestIds.next(), event.userId(), event.type(),
+                MDC.get(MdcFields.REQUEST_ID), toJson(event), Instant.now());
+        append(entry);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    enqueue(entry);
+                } else {
+                    discard(entry);
+                }
+            }
+        });
+    }
+
+    /** Appends and queues the record of a change that has already committed. */
+    void record(AuditEntry entry) {
+        append(entry);
+        enqueue(entry);
+    }
+
+    private void append(AuditEntry entry) {
+        try {
+            wal.append(entry);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not append audit record " + entry.id()
+                    + " to the write-ahead file", e);
+        }
+    }
+
+    private void discard(AuditEntry entry) {
+        try {
+            wal.acknowledge(List.of(entry.id()));
+        } catch (IOException e) {
+            log.warn("Could not discard audit record {} of a rolled-back change, it will be replayed: {}",
+                    entry.id(), e.getMessage());
+        }
+    }
+
+    private void enqueue(AuditEntry entry) {
+        boolean queued = false;
+        try {
+            queued = running && queue.offer(entry, properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queued) {
+            overflowCounter.increment();
+            try {
+                store(List.of(entry));
+            } catch (DataAccessException e) {
+                failedCounter.increment();
+                retries.add(entry);
+                log.warn("Could not store audit record {}, the writer retries it: {}", entry.id(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!unstoredAtStartup.isEmpty()) {
+            try {
+                replay(unstoredAtStartup);
+            } catch (DataAccessException e) {
+                retries.addAll(unstoredAtStartup);
+                log.warn("Could not replay {} audit records at startup, the writer retries them: {}",
+                        unstoredAtStartup.size(), e.getMessage());
+            }
+        }
+        running = true;
+        writer = new Thread(this::drain, "users-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            log.warn("Audit writer did not drain within {}, {} records stay in the write-ahead file",
+                    properties.getShutdownTimeout(), wal.outstanding());
+        }
+        try {
+            wal.close();
+        } catch (IOException e) {
+            log.warn("Could not close the audit write-ahead file: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Starts before and stops after the web server, so every request's record is drained on shutdown. */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<AuditEntry> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty() || !batch.isEmpty() || !retries.isEmpty()) {
+            try {
+                if (!retries.isEmpty()) {
+                    retry();
+                }
+                if (batch.isEmpty()) {
+                    AuditEntry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, properties.getBatchSize() - 1);
+                }
+                store(batch);
+                batch.clear();
+            } catch (DataAccessException e) {
+                failedCounter.increment();
+                log.warn("Audit batch of {} records rejected, retrying: {}", batch.size(), e.getMessage());
+                if (!running || !pause()) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /** Stores one batch of retried records, skipping those already stored; puts them back on failure. */
+    private void retry() {
+        List<AuditEntry> pending = new ArrayList<>(properties.getBatchSize());
+        for (AuditEntry entry = retries.poll(); entry != null; entry = retries.poll()) {
+            pending.add(entry);
+            if (pending.size() == properties.getBatchSize()) {
+                break;
+            }
+        }
+        try {
+            replay(pending);
+        } catch (DataAccessException e) {
+            retries.addAll(pending);
+            throw e;
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getRetryDelay().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    private void store(List<AuditEntry> batch) {
+        flushTimer.record(() -> jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (statement, entry) -> {
+            statement.setString(1, entry.id());
+            statement.setLong(2, entry.userId());
+            statement.setString(3, entry.type().name());
+            statement.setString(4, entry.requestId());
+            statement.setString(5, entry.payload());
+            statement.setTimestamp(6, Timestamp.from(entry.occurredAt()));
+        }));
+        writtenCounter.increment(batch.size());
+        try {
+            wal.acknowledge(batch.stream().map(AuditEntry::id).toList());
+        } catch (IOException e) {
+            log.warn("Could not acknowledge {} audit records in the write-ahead file: {}", batch.size(),
+                    e.getMessage());
+        }
+    }
+
+    private void replay(List<AuditEntry> unstored) {
+        Set<String> stored = new HashSet<>();
+        for (int from = 0; from < unstored.size(); from += properties.getBatchSize()) {
+            int to = Math.min(unstored.size(), from + properties.getBatchSize());
+            List<AuditEntry> chunk = unstored.subList(from, to);
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            stored.addAll(jdbcTemplate.queryForList("SELECT id FROM user_audit WHERE id IN (" + placeholders + ")",
+                    String.class, chunk.stream().map(AuditEntry::id).toArray()));
+        }
+        List<AuditEntry> missing = unstored.stream().filter(entry -> !stored.contains(entry.id())).toList();
+        for (int from = 0; from < missing.size(); from += properties.getBatchSize()) {
+            store(missing.subList(from, Math.min(missing.size(), from + properties.getBatchSize())));
+        }
+        try {
+            wal.acknowledge(stored);
+        } catch (IOException e) {
+            log.warn("Could not acknowledge replayed audit records: {}", e.getMessage());
+        }
+        log.info("Replayed {} unstored audit records ({} were already stored)",
+                missing.size(), stored.size());
+    }
+
+    private String toJson(UserChangedEvent event) {
+        if (event.user() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.user());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize user change for audit", e);
+        }
+    }
+}
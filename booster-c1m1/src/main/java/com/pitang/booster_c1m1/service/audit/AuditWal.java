@@ -0,0 +1,174 @@
+package com.pitang.booster_c1m1.service.audit;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only write-ahead file for the audit trail. Each record is appended as a JSON object line
+ * before it is queued; once a batch is in the database its ids are appended as a JSON array line.
+ * When nothing is outstanding the file is truncated, so it stays small in steady state. While some
+ * record stays outstanding (the database is down, or a record keeps failing), the file is instead
+ * rewritten with just the outstanding records each time {@code compactThreshold} more have been
+ * acknowledged, so it never grows past the outstanding records plus that threshold. On startup the
+ * records without an acknowledgement are handed back for replay.
+ */
+@Slf4j
+public class AuditWal implements Closeable {
+
+    private static final TypeReference<List<String>> IDS = new TypeReference<>() {
+    };
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+    private final int compactThreshold;
+    private final Map<String, AuditEntry> outstanding = new LinkedHashMap<>();
+    private FileChannel channel;
+    private long acknowledgedInFile;
+
+    public AuditWal(Path file, ObjectMapper objectMapper, boolean fsync, int compactThreshold) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+        this.compactThreshold = compactThreshold;
+    }
+
+    /**
+     * Opens the file for appending.
+     *
+     * @return records written by a previous run that never reached the database, oldest first
+     */
+    public synchronized List<AuditEntry> open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Map<String, AuditEntry> unacknowledged = new LinkedHashMap<>();
+        long records = 0;
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    records += read(line, unacknowledged);
+                }
+            }
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        outstanding.putAll(unacknowledged);
+        acknowledgedInFile = records - unacknowledged.size();
+        return new ArrayList<>(unacknowledged.values());
+    }
+
+    public synchronized void append(AuditEntry entry) throws IOException {
+        write(channel, objectMapper.writeValueAsBytes(entry));
+        outstanding.put(entry.id(), entry);
+    }
+
+    /**
+     * Marks records as stored; truncates the file when nothing is left outstanding and compacts it once
+     * enough acknowledged records have piled up behind one that is not.
+     */
+    public synchronized void acknowledge(Collection<String> ids) throws IOException {
+        int before = outstanding.size();
+        ids.forEach(outstanding::remove);
+        if (outstanding.isEmpty() && channel != null) {
+            channel.truncate(0);
+            acknowledgedInFile = 0;
+            return;
+        }
+        write(channel, objectMapper.writeValueAsBytes(ids));
+        acknowledgedInFile += before - outstanding.size();
+        if (acknowledgedInFile >= compactThreshold) {
+            compact();
+        }
+    }
+
+    public synchronized int outstanding() {
+        return outstanding.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Writes the outstanding records to a sibling file and moves it over this one, so a crash leaves
+     * either the old file or the compacted one.
+     */
+    private void compact() throws IOException {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (AuditEntry entry : outstanding.values()) {
+                write(target, objectMapper.writeValueAsBytes(entry));
+            }
+            target.force(false);
+        }
+        channel.close();
+        try {
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+        log.debug("Compacted the audit write-ahead file to {} outstanding records after {} acknowledgements",
+                outstanding.size(), acknowledgedInFile);
+        acknowledgedInFile = 0;
+    }
+
+    private void write(FileChannel target, byte[] json) throws IOException {
+        if (target == null) {
+            throw new IOException("Audit write-ahead file " + file + " is not open");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+        if (fsync) {
+            target.force(false);
+        }
+    }
+
+    /** Applies one line; returns 1 for a record line, 0 otherwise. */
+    private int read(String line, Map<String, AuditEntry> unacknowledged) {
+        if (line.isBlank()) {
+            return 0;
+        }
+        try {
+            if (line.charAt(0) == '[') {
+                objectMapper.readValue(line, IDS).forEach(unacknowledged::remove);
+                return 0;
+            }
+            AuditEntry entry = objectMapper.readValue(line, AuditEntry.class);
+            unacknowledged.put(entry.id(), entry);
+            return 1;
+        } catch (IOException e) {
+            // A torn last line from a crash mid-append; the record never reached the queue either.
+            log.warn("Skipping unreadable audit write-ahead line in {}", file);
+            return 0;
+        }
+    }
+}
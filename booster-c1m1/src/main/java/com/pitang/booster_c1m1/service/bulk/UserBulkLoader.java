@@ -0,0 +1,355 @@
+package com.pitang.booster_c1m1.service.bulk;
+
+import java.io.BufferedReader;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.slf4j.MDC;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.cache.UserCacheEvictor;
+import com.pitang.booster_c1m1.config.BulkLoadProperties;
+import com.pitang.booster_c1m1.correlation.MdcFields;
+import com.pitang.booster_c1m1.correlation.RequestIds;
+import com.pitang.booster_c1m1.domain.UserChangeType;
+import com.pitang.booster_c1m1.dto.BulkLoadResultDTO;
+import com.pitang.booster_c1m1.dto.BulkLoadStatusDTO;
+import com.pitang.booster_c1m1.dto.UserDTO;
+import com.pitang.booster_c1m1.event.UsersBulkLoadedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads users from CSV ({@code name,email,password} with a header row) without going through JPA.
+ *
+ * <p>Rows are first streamed into a session-local staging table: on Postgres with
+ * {@code COPY ... FROM STDIN} through the driver's {@code CopyManager}, elsewhere (H2 in the tests)
+ * with batched inserts. One set-based {@code INSERT ... SELECT} then moves every row whose email is
+ * not registered yet, keeping the first occurrence of emails repeated in the file. The load is a
+ * single transaction, so a failure leaves the users table untouched.
+ *
+ * <p>Unless {@code users.bulk-load.outbox-events} is off, every inserted user gets a {@code CREATED}
+ * outbox row in the same transaction, with the payload {@code UserService} would have written. Once the
+ * load commits, local caches are cleared and a {@link UsersBulkLoadedEvent} is published, which other
+ * nodes receive as a cluster-wide invalidation. With the audit trail on, every inserted user also gets a
+ * {@code CREATED} row in {@code user_audit} in the same transaction, since no {@code UserChangedEvent} reaches
+ * {@code AuditTrail} for them.
+ *
+ * <p>A load rejected for its input (a CSV that cannot be parsed, a value the columns cannot hold, a
+ * constraint violation) fails with 400. A lost connection fails with 503 and any other database error
+ * with 500, so a client does not treat a server-side failure as a problem with its file.
+ */
+@Slf4j
+public class UserBulkLoader {
+
+    private static final String STAGING_DDL = "CREATE LOCAL TEMPORARY TABLE users_staging ("
+            + "id BIGINT GENERATED ALWAYS AS IDENTITY, "
+            + "name VARCHAR(255), email VARCHAR(255), password VARCHAR(255))";
+
+    private static final String COPY_SQL =
+            "COPY users_staging (name, email, password) FROM STDIN WITH (FORMAT csv, HEADER true)";
+
+    private static final String INSERT_NEW_USERS = "INSERT INTO users (name, email, password, created_at) "
+            + "SELECT s.name, s.email, s.password, ? FROM users_staging s "
+            + "WHERE s.name IS NOT NULL AND s.email IS NOT NULL AND s.password IS NOT NULL "
+            + "AND s.id IN (SELECT MIN(id) FROM users_staging GROUP BY email) "
+            + "AND NOT EXISTS (SELECT 1 FROM users u WHERE u.email = s.email)";
+
+    private static final String LOADED_USERS = "SELECT id, name, email, created_at FROM users "
+            + "WHERE created_at = ? AND email IN (SELECT email FROM users_staging) ORDER BY id";
+
+    private static final String INSERT_OUTBOX_EVENT =
+            "INSERT INTO user_outbox (user_id, type, payload, occurred_at) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_AUDIT_RECORD = "INSERT INTO user_audit "
+            + "(id, user_id, type, request_id, payload, occurred_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String EXISTING_EMAILS = "SELECT DISTINCT s.email FROM users_staging s "
+            + "WHERE EXISTS (SELECT 1 FROM users u WHERE u.email = s.email)";
+
+    private final DataSource dataSource;
+    private final BulkLoadProperties properties;
+    private final boolean audit;
+    private final List<UserCacheEvictor> caches;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Counter insertedCounter;
+    private final Counter rejectedCounter;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private volatile Instant startedAt;
+
+    /**
+     * @param audit whether inserted users get {@code user_audit} rows, i.e. whether the audit trail is on
+     */
+    public UserBulkLoader(DataSource dataSource, BulkLoadProperties properties, boolean audit,
+            List<UserCacheEvictor> caches, ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.audit = audit;
+        this.caches = caches;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.insertedCounter = Counter.builder("users.bulk-load.inserted.total")
+                .description("Users inserted by bulk loads")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("users.bulk-load.rejected.total")
+                .description("Bulk-load rows skipped for a duplicate email or a missing column")
+                .register(meterRegistry);
+        meterRegistry.gauge("users.bulk-load.rows.read", rowsRead);
+    }
+
+    public BulkLoadResultDTO load(Reader csv) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A bulk load is already running");
+        }
+        rowsRead.set(0);
+        startedAt = Instant.now();
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                BulkLoadResultDTO result = load(connection, csv, start);
+                connection.commit();
+                caches.forEach(UserCacheEvictor::clear);
+                eventPublisher.publishEvent(new UsersBulkLoadedEvent(result.getInserted()));
+                insertedCounter.increment(result.getInserted());
+                rejectedCounter.increment(result.getRejected());
+                log.info("Bulk load finished: {} rows read, {} users inserted, {} rejected in {} ms",
+                        result.getReceived(), result.getInserted(), result.getRejected(), result.getElapsedMillis());
+                return result;
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                dropStaging(connection);
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException | IOException e) {
+            log.error("Bulk load failed after {} rows", rowsRead.get(), e);
+            throw new ResponseStatusException(statusFor(e), "Bulk load failed: " + e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public BulkLoadStatusDTO status() {
+        Instant started = startedAt;
+        return new BulkLoadStatusDTO(running.get(), rowsRead.get(), started == null ? null : started.toString());
+    }
+
+    private BulkLoadResultDTO load(Connection connection, Reader csv, long start) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS users_staging");
+            statement.execute(STAGING_DDL);
+        }
+        long received = connection.isWrapperFor(PGConnection.class)
+                ? copy(connection.unwrap(PGConnection.class), csv)
+                : insertBatches(connection, csv);
+        log.info("Bulk load staged {} rows, checking emails", received);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX users_staging_email ON users_staging (email)");
+        }
+        List<String> existingEmails = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(EXISTING_EMAILS)) {
+            statement.setMaxRows(properties.getRejectedSampleSize());
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    existingEmails.add(rs.getString(1));
+                }
+            }
+        }
+        String loadedAt = Instant.now().toString();
+        long inserted;
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_NEW_USERS)) {
+            statement.setString(1, loadedAt);
+            inserted = statement.executeLargeUpdate();
+        }
+        if ((properties.isOutboxEvents() || audit) && inserted > 0) {
+            recordLoadedUsers(connection, loadedAt);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return new BulkLoadResultDTO(received, inserted, received - inserted, existingEmails, elapsedMillis);
+    }
+
+    /** Writes the outbox events and audit rows of the users this load inserted, in one pass over them. */
+    private void recordLoadedUsers(Connection connection, String loadedAt) throws SQLException {
+        Timestamp occurredAt = Timestamp.from(Instant.now());
+        String requestId = MDC.get(MdcFields.REQUEST_ID);
+        try (PreparedStatement select = connection.prepareStatement(LOADED_USERS);
+                PreparedStatement outbox = connection.prepareStatement(INSERT_OUTBOX_EVENT);
+                PreparedStatement auditRecords = connection.prepareStatement(INSERT_AUDIT_RECORD)) {
+            select.setString(1, loadedAt);
+            select.setFetchSize(properties.getBatchSize());
+            long count = 0;
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    UserDTO user = new UserDTO();
+                    user.setId(rs.getLong("id"));
+                    user.setName(rs.getString("name"));
+                    user.setEmail(rs.getString("email"));
+                    user.setCreatedAt(rs.getString("created_at"));
+                    String payload = toJson(user);
+                    if (properties.isOutboxEvents()) {
+                        outbox.setLong(1, user.getId());
+                        outbox.setString(2, UserChangeType.CREATED.name());
+                        outbox.setString(3, payload);
+                        outbox.setTimestamp(4, occurredAt);
+                        outbox.addBatch();
+                    }
+                    if (audit) {
+                        auditRecords.setString(1, RequestIds.next());
+                        auditRecords.setLong(2, user.getId());
+                        auditRecords.setString(3, UserChangeType.CREATED.name());
+                        auditRecords.setString(4, requestId);
+                        auditRecords.setString(5, payload);
+                        auditRecords.setTimestamp(6, occurredAt);
+                        auditRecords.addBatch();
+                    }
+                    if (++count % properties.getBatchSize() == 0) {
+                        outbox.executeBatch();
+                        auditRecords.executeBatch();
+                    }
+                }
+            }
+            outbox.executeBatch();
+            auditRecords.executeBatch();
+            log.info("Bulk load recorded {} inserted users (outbox events: {}, audit rows: {})", count,
+                    properties.isOutboxEvents(), audit);
+        }
+    }
+
+    private String toJson(UserDTO user) {
+        try {
+            return objectMapper.writeValueAsString(user);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize bulk-loaded user", e);
+        }
+    }
+
+    private long copy(PGConnection connection, Reader csv) throws SQLException, IOException {
+        return connection.getCopyAPI().copyIn(COPY_SQL, new ProgressReader(csv));
+    }
+
+    private long insertBatches(Connection connection, Reader csv) throws SQLException, IOException {
+        CsvRowReader rows = new CsvRowReader(new BufferedReader(csv));
+        if (rows.next() == null) {
+            return 0;
+        }
+        long count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO users_staging (name, email, password) VALUES (?, ?, ?)")) {
+            for (List<String> row = rows.next(); row != null; row = rows.next()) {
+                for (int column = 0; column < 3; column++) {
+                    statement.setString(column + 1, column < row.size() ? row.get(column) : null);
+                }
+                statement.addBatch();
+                count++;
+                progress(count);
+                if (count % properties.getBatchSize() == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+        return count;
+    }
+
+    private void progress(long rows) {
+        rowsRead.set(rows);
+        if (rows % properties.getProgressInterval() == 0) {
+            log.info("Bulk load progress: {} rows read", rows);
+        }
+    }
+
+    /**
+     * 400 for unreadable input and SQLSTATE classes 22 (data exception) and 23 (integrity constraint
+     * violation), 503 for class 08 (connection exception), 500 for anything else the database reports.
+     */
+    static HttpStatus statusFor(Exception failure) {
+        if (!(failure instanceof SQLException sqlException)) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        for (SQLException e = sqlException; e != null; e = e.getNextException()) {
+            String state = e.getSQLState();
+            if (state != null && (state.startsWith("22") || state.startsWith("23"))) {
+                return HttpStatus.BAD_REQUEST;
+            }
+            if (state != null && state.startsWith("08")) {
+                return HttpStatus.SERVICE_UNAVAILABLE;
+            }
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    private static void dropStaging(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS users_staging");
+            connection.commit();
+        } catch (SQLException e) {
+            log.warn("Could not drop the bulk-load staging table", e);
+        }
+    }
+
+    /** Counts data lines as COPY consumes them; the header line is not counted. */
+    private final class ProgressReader extends FilterReader {
+
+        private long lines = -1;
+
+        ProgressReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c == '\n') {
+                line();
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            for (int i = offset; i < offset + read; i++) {
+                if (buffer[i] == '\n') {
+                    line();
+                }
+            }
+            return read;
+        }
+
+        private void line() {
+            lines++;
+            if (lines > 0) {
+                progress(lines);
+            }
+        }
+    }
+}
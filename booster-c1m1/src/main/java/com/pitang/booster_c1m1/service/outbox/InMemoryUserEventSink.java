@@ -0,0 +1,37 @@
+package com.pitang.booster_c1m1.service.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded in-process sink, used by tests and local runs.
+ */
+public class InMemoryUserEventSink implements UserEventSink {
+
+    private final BlockingQueue<UserChangeMessage> queue;
+
+    public InMemoryUserEventSink(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public synchronized void publish(List<UserChangeMessage> batch) {
+        if (batch.size() > queue.remainingCapacity()) {
+            throw new IllegalStateException("Sink is full");
+        }
+        queue.addAll(batch);
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    public List<UserChangeMessage> drain() {
+        List<UserChangeMessage> messages = new ArrayList<>();
+        queue.drainTo(messages);
+        return messages;
+    }
+}
@@ -0,0 +1,159 @@
+package com.pitang.booster_c1m1.service.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pitang.booster_c1m1.config.OutboxProperties;
+import com.pitang.booster_c1m1.domain.OutboxEvent;
+import com.pitang.booster_c1m1.domain.OutboxLock;
+import com.pitang.booster_c1m1.repository.OutboxEventRepository;
+import com.pitang.booster_c1m1.repository.OutboxLockRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the outbox to the configured {@link UserEventSink} in id order, which preserves the order
+ * of changes for every user id. A batch is deleted only after the sink accepted it; a failed batch
+ * stays in place and is retried first on the next run.
+ *
+ * <p>Every batch runs under the {@link OutboxLock} row, so with several nodes only one drains at a time
+ * and a user's events cannot overtake each other. The pending and lag gauges read values refreshed once
+ * per poll instead of querying the outbox on every scrape.
+ */
+@Slf4j
+@Service
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxLockRepository outboxLockRepository;
+    private final UserEventSink sink;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter throttledCounter;
+    private final Timer publishTimer;
+
+    private volatile boolean lockCreated;
+    private volatile long pending;
+    private volatile double lagSeconds;
+
+    public OutboxPublisher(OutboxEventRepository outboxEventRepository, OutboxLockRepository outboxLockRepository,
+            UserEventSink sink, OutboxProperties properties, TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxLockRepository = outboxLockRepository;
+        this.sink = sink;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+
+        this.publishedCounter = Counter.builder("users.outbox.published.total")
+                .description("Total number of outbox events delivered to the sink")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("users.outbox.failed.total")
+                .description("Total number of outbox batches rejected by the sink")
+                .register(meterRegistry);
+        this.throttledCounter = Counter.builder("users.outbox.throttled.total")
+                .description("Total number of drain runs cut short because the sink had no capacity")
+                .register(meterRegistry);
+        this.publishTimer = Timer.builder("users.outbox.publish.duration")
+                .description("Time to publish and delete one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("users.outbox.pending", this, publisher -> publisher.pending)
+                .description("Number of outbox events waiting to be published")
+                .register(meterRegistry);
+        Gauge.builder("users.outbox.lag.seconds", this, publisher -> publisher.lagSeconds)
+                .description("Age of the oldest unpublished outbox event")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${users.outbox.poll-interval:1000}")
+    public void publishPending() {
+        if (properties.isPublisherEnabled()) {
+            drain();
+        }
+        refreshBacklog();
+    }
+
+    /**
+     * Publishes pending events until the outbox is empty, the sink is full or the per-run batch limit is hit.
+     *
+     * @return number of events published
+     */
+    public int drain() {
+        ensureLockRow();
+        int published = 0;
+        for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+            int limit = Math.min(properties.getBatchSize(), sink.remainingCapacity());
+            if (limit <= 0) {
+                throttledCounter.increment();
+                log.debug("Outbox sink has no capacity, postponing drain");
+                break;
+            }
+            Integer count = publishTimer.record(() -> transactionTemplate.execute(status -> publishBatch(limit)));
+            if (count == null || count < 0) {
+                break;
+            }
+            published += count;
+            if (count < limit) {
+                break;
+            }
+        }
+        return published;
+    }
+
+    private int publishBatch(int limit) {
+        outboxLockRepository.lockByName(OutboxLock.DRAIN);
+        List<OutboxEvent> batch = outboxEventRepository.findAllByOrderByIdAsc(PageRequest.of(0, limit));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            sink.publish(batch.stream().map(UserChangeMessage::from).toList());
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("Outbox sink rejected a batch of {} events, will retry: {}", batch.size(), e.getMessage());
+            return -1;
+        }
+        outboxEventRepository.deleteAllInBatch(batch);
+        publishedCounter.increment(batch.size());
+        log.debug("Published {} outbox events", batch.size());
+        return batch.size();
+    }
+
+    /** Updates the values behind the pending and lag gauges; called once per poll. */
+    public void refreshBacklog() {
+        pending = outboxEventRepository.count();
+        lagSeconds = outboxEventRepository.findFirstByOrderByIdAsc()
+                .map(event -> Duration.between(event.getOccurredAt(), Instant.now()).toMillis() / 1000.0)
+                .orElse(0.0);
+    }
+
+    private void ensureLockRow() {
+        if (lockCreated) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!outboxLockRepository.existsById(OutboxLock.DRAIN)) {
+                    outboxLockRepository.saveAndFlush(new OutboxLock(OutboxLock.DRAIN));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Outbox lock row was created by another node");
+        }
+        lockCreated = true;
+    }
+}
@@ -0,0 +1,54 @@
+package com.pitang.booster_c1m1.service.outbox;
+
+import java.time.Instant;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.domain.OutboxEvent;
+import com.pitang.booster_c1m1.event.UserChangedEvent;
+import com.pitang.booster_c1m1.repository.OutboxEventRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes every {@link UserChangedEvent} to the outbox table. Runs synchronously inside the
+ * {@code UserService} transaction, so the event is committed or rolled back together with the change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRecorder {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onUserChanged(UserChangedEvent event) {
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+                .userId(event.userId())
+                .type(event.type())
+                .payload(toJson(event))
+                .occurredAt(Instant.now())
+                .build();
+        outboxEventRepository.save(outboxEvent);
+        log.debug("Recorded {} outbox event for user id: {}", event.type(), event.userId());
+    }
+
+    private String toJson(UserChangedEvent event) {
+        if (event.user() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.user());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize user change for outbox", e);
+        }
+    }
+}
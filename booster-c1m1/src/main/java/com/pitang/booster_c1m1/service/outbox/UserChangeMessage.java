@@ -0,0 +1,21 @@
+package com.pitang.booster_c1m1.service.outbox;
+
+import java.time.Instant;
+
+import com.pitang.booster_c1m1.domain.OutboxEvent;
+import com.pitang.booster_c1m1.domain.UserChangeType;
+
+/**
+ * Wire representation of an outbox row handed to a {@link UserEventSink}.
+ */
+public record UserChangeMessage(Long eventId, Long userId, UserChangeType type, String payload, Instant occurredAt) {
+
+    public static UserChangeMessage from(OutboxEvent event) {
+        return new UserChangeMessage(
+                event.getId(),
+                event.getUserId(),
+                event.getType(),
+                event.getPayload(),
+                event.getOccurredAt());
+    }
+}
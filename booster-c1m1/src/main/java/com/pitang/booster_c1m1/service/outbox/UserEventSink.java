@@ -0,0 +1,20 @@
+package com.pitang.booster_c1m1.service.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for drained outbox events.
+ * Implementations must either accept the whole batch or throw, so the publisher can retry it in order.
+ */
+public interface UserEventSink {
+
+    void publish(List<UserChangeMessage> batch) throws Exception;
+
+    /**
+     * How many more messages the sink can take right now. The publisher never hands over more than this,
+     * which keeps pending events in the outbox table instead of piling up in the sink.
+     */
+    default int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+}
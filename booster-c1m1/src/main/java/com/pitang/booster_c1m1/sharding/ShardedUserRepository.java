@@ -0,0 +1,608 @@
+package com.pitang.booster_c1m1.sharding;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.Ordered;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.pitang.booster_c1m1.deadline.RequestDeadline;
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.jdbc.StatementStats;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * User storage spread over N databases.
+ *
+ * <p>A user lives on exactly one shard, encoded in its id: {@code id = localId * N + shard}, where
+ * {@code localId} is the shard's own identity value, so routing an id needs no lookup. New users are
+ * placed by a hash of their email. Email uniqueness is global: every email is claimed in the
+ * {@code user_emails} directory on shard 0 before the user row is written.
+ *
+ * <p>Listing and name search scatter to all shards in parallel, each returning its first
+ * {@code offset + size} rows in the requested order, and the results are merge-sorted into the page.
+ * Deep pages therefore cost {@code O(shards * (offset + size))} rows. Scatter threads carry the
+ * request's deadline and statement stats; when all of them are busy the calling thread queries the
+ * shard itself rather than queueing behind other requests.
+ *
+ * <p>Inside a Spring transaction, every shard written gets a connection bound to that transaction:
+ * its statements commit just before the caller's transaction (user shards first, the directory last)
+ * and roll back with it, so the outbox row and commit-time notifications match what was stored.
+ * The commits are not atomic with each other, so they are ordered to never leave a user without its
+ * email claim: the claim itself, with no owner, is committed on its own connection when it is taken;
+ * the user row commits next, and the claim's owner last with the rest of the directory. If the caller's
+ * transaction does not commit, a claim whose user was not stored is deleted. A claim left with no owner
+ * by a crash at any point is resolved once it is older than the claim timeout, by looking for a user with
+ * its email on every shard.
+ */
+@Slf4j
+public class ShardedUserRepository implements AutoCloseable {
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name",
+            "email", "email",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at");
+
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> shards;
+    private final JdbcTemplate directory;
+    private final ThreadPoolExecutor scatterExecutor;
+    private final Duration claimTimeout;
+
+    /**
+     * @param scatterThreads most shard queries run in parallel across all requests
+     * @param claimTimeout age after which an email claim with no owner is checked and repaired
+     */
+    public ShardedUserRepository(List<DataSource> dataSources, int scatterThreads, Duration claimTimeout) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.dataSources = List.copyOf(dataSources);
+        this.shards = dataSources.stream().map(JdbcTemplate::new).toList();
+        this.directory = shards.get(0);
+        this.claimTimeout = claimTimeout;
+        this.scatterExecutor = new ThreadPoolExecutor(scatterThreads, scatterThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "user-shard-scatter");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.scatterExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public void initializeSchema() {
+        for (JdbcTemplate shard : shards) {
+            shard.execute("CREATE TABLE IF NOT EXISTS users ("
+                    + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "name VARCHAR(255), email VARCHAR(255), password VARCHAR(255), "
+                    + "created_at VARCHAR(255), updated_at VARCHAR(255))");
+        }
+        directory.execute("CREATE TABLE IF NOT EXISTS user_emails ("
+                + "email VARCHAR(255) PRIMARY KEY, user_id BIGINT, claimed_at TIMESTAMP)");
+        directory.execute("ALTER TABLE user_emails ADD COLUMN IF NOT EXISTS claimed_at TIMESTAMP");
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public int shardOf(long id) {
+        return (int) Math.floorMod(id, (long) shards.size());
+    }
+
+    public User save(User user) {
+        return user.getId() == null ? insert(user) : update(user);
+    }
+
+    public List<User> saveAll(Iterable<User> users) {
+        List<User> saved = new ArrayList<>();
+        users.forEach(user -> saved.add(save(user)));
+        return saved;
+    }
+
+    public Optional<User> findById(Long id) {
+        List<User> users = shardFor(id).query("SELECT * FROM users WHERE id = ?",
+                mapper(shardOf(id)), localId(id));
+        return users.stream().findFirst();
+    }
+
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    public List<User> findAllById(Iterable<Long> ids) {
+        Map<Integer, List<Long>> localIdsByShard = new TreeMap<>();
+        for (Long id : ids) {
+            localIdsByShard.computeIfAbsent(shardOf(id), shard -> new ArrayList<>()).add(localId(id));
+        }
+        List<User> users = new ArrayList<>();
+        localIdsByShard.forEach((shard, localIds) -> {
+            String placeholders = String.join(",", Collections.nCopies(localIds.size(), "?"));
+            users.addAll(shards.get(shard).query("SELECT * FROM users WHERE id IN (" + placeholders + ")",
+                    mapper(shard), localIds.toArray()));
+        });
+        return users;
+    }
+
+    public boolean existsByEmail(String email) {
+        return claim(email).isPresent();
+    }
+
+    public boolean existsByEmailAndIdNot(String email, Long id) {
+        return claim(email).filter(claim -> claim.userId() == null || !claim.userId().equals(id)).isPresent();
+    }
+
+    public Page<User> findAll(Pageable pageable) {
+        return scatter("", new Object[0], pageable);
+    }
+
+    /** The first {@code limit} users with a global id above {@code id}, read from every shard. */
+    public List<User> findByIdGreaterThanOrderByIdAsc(Long id, int limit) {
+        List<User> merged = new ArrayList<>();
+        gather(shard -> shards.get(shard).query("SELECT * FROM users WHERE id > ? ORDER BY id LIMIT ?",
+                mapper(shard), Math.floorDiv(id - shard, (long) shards.size()), limit)).forEach(merged::addAll);
+        merged.sort(Comparator.comparing(User::getId));
+        return new ArrayList<>(merged.subList(0, Math.min(limit, merged.size())));
+    }
+
+    public Page<User> findByNameContainingIgnoreCase(String name, Pageable pageable) {
+        String pattern = "%" + name.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return scatter(" WHERE LOWER(name) LIKE ? ESCAPE '\\'", new Object[] {pattern}, pageable);
+    }
+
+    public long count() {
+        return gather(shard -> shards.get(shard).queryForObject("SELECT COUNT(*) FROM users", Long.class))
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    public void deleteById(Long id) {
+        User user = findById(id).orElseThrow(() -> new EmptyResultDataAccessException(1));
+        enlisted(shardOf(id)).update("DELETE FROM users WHERE id = ?", localId(id));
+        if (user.getEmail() != null) {
+            enlisted(0).update("DELETE FROM user_emails WHERE email = ? AND user_id = ?", user.getEmail(), id);
+        }
+    }
+
+    public void deleteAll() {
+        for (int shard = 0; shard < shards.size(); shard++) {
+            enlisted(shard).update("DELETE FROM users");
+        }
+        enlisted(0).update("DELETE FROM user_emails");
+    }
+
+    @Override
+    public void close() throws Exception {
+        scatterExecutor.shutdownNow();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private User insert(User user) {
+        int shard = homeShard(user.getEmail());
+        claimEmail(user.getEmail());
+        try {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            enlisted(shard).update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO users (name, email, password, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                        new String[] {"id"});
+                bindColumns(statement, user);
+                return statement;
+            }, keyHolder);
+            long id = globalId(keyHolder.getKey().longValue(), shard);
+            if (user.getEmail() != null) {
+                enlisted(0).update("UPDATE user_emails SET user_id = ? WHERE email = ?", id, user.getEmail());
+            }
+            user.setId(id);
+            log.debug("Stored user id: {} on shard {}", id, shard);
+            return user;
+        } catch (RuntimeException e) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                releaseClaim(user.getEmail(), null);
+            }
+            throw e;
+        }
+    }
+
+    private User update(User user) {
+        Long id = user.getId();
+        User current = findById(id).orElse(null);
+        if (current == null) {
+            throw new EmptyResultDataAccessException("No user with id " + id + " on shard " + shardOf(id), 1);
+        }
+        boolean emailChanged = user.getEmail() != null && !user.getEmail().equals(current.getEmail());
+        if (emailChanged) {
+            claimEmail(user.getEmail());
+            enlisted(0).update("UPDATE user_emails SET user_id = ? WHERE email = ?", id, user.getEmail());
+        }
+        try {
+            enlisted(shardOf(id)).update(
+                    "UPDATE users SET name = ?, email = ?, password = ?, created_at = ?, updated_at = ? WHERE id = ?",
+                    user.getName(), user.getEmail(), user.getPassword(), user.getCreatedAt(), user.getUpdatedAt(),
+                    localId(id));
+        } catch (RuntimeException e) {
+            if (emailChanged && !TransactionSynchronizationManager.isSynchronizationActive()) {
+                releaseClaim(user.getEmail(), id);
+            }
+            throw e;
+        }
+        if (emailChanged && current.getEmail() != null) {
+            releaseClaim(current.getEmail(), id);
+        }
+        return user;
+    }
+
+    /**
+     * Inserting into the directory's primary key is what makes an email globally unique: a
+     * concurrent claim for the same email fails with a {@code DuplicateKeyException}. The claim commits
+     * at once, outside any caller transaction, so it is in place before the user row can commit; if that
+     * transaction then fails the claim is settled on completion. Abandoned claims are cleared by
+     * {@link #existsByEmail}, which callers check first.
+     */
+    private void claimEmail(String email) {
+        if (email == null) {
+            return;
+        }
+        onOwnConnection(0, claims -> claims.update("INSERT INTO user_emails (email, claimed_at) VALUES (?, ?)",
+                email, Timestamp.from(Instant.now())));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // After the shard connections are rolled back, which releases their locks on the claim.
+                @Override
+                public int getOrder() {
+                    return Ordered.LOWEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        settleUnownedClaim(email, null);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * The claim on {@code email}, if any. A claim with no owner older than the claim timeout was left by
+     * a writer that stopped between claiming and storing the user: it is given the owner found on the
+     * email's home shard, or deleted when there is none.
+     */
+    private Optional<Claim> claim(String email) {
+        Optional<Claim> claim = directory.query("SELECT user_id, claimed_at FROM user_emails WHERE email = ?",
+                (rs, row) -> new Claim(rs.getObject("user_id", Long.class), rs.getTimestamp("claimed_at")),
+                email).stream().findFirst();
+        Instant staleBefore = Instant.now().minus(claimTimeout);
+        if (claim.isEmpty() || !claim.get().isAbandoned(staleBefore)) {
+            return claim;
+        }
+        return settleUnownedClaim(email, Timestamp.from(staleBefore))
+                .map(owner -> new Claim(owner, claim.get().claimedAt()));
+    }
+
+    /**
+     * Gives the unowned claim on {@code email} the user stored with that email on any shard, or deletes it
+     * (only if claimed before {@code claimedBefore}, when given) when there is none. Runs on its own
+     * connections: it repairs what other transactions committed, and may run as one completes.
+     */
+    private Optional<Long> settleUnownedClaim(String email, Timestamp claimedBefore) {
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Optional<Long> localId = onOwnConnection(shard, users -> users.queryForList(
+                    "SELECT id FROM users WHERE email = ?", Long.class, email)).stream().findFirst();
+            if (localId.isPresent()) {
+                long owner = globalId(localId.get(), shard);
+                log.warn("Repairing email claim left without owner for user id: {}", owner);
+                onOwnConnection(0, claims -> claims.update(
+                        "UPDATE user_emails SET user_id = ? WHERE email = ? AND user_id IS NULL", owner, email));
+                return Optional.of(owner);
+            }
+        }
+        log.warn("Releasing email claim abandoned before its user was stored");
+        onOwnConnection(0, claims -> claimedBefore == null
+                ? claims.update("DELETE FROM user_emails WHERE email = ? AND user_id IS NULL", email)
+                : claims.update("DELETE FROM user_emails WHERE email = ? AND user_id IS NULL "
+                        + "AND (claimed_at IS NULL OR claimed_at < ?)", email, claimedBefore));
+        return Optional.empty();
+    }
+
+    private void releaseClaim(String email, Long owner) {
+        if (email == null) {
+            return;
+        }
+        if (owner == null) {
+            enlisted(0).update("DELETE FROM user_emails WHERE email = ? AND user_id IS NULL", email);
+        } else {
+            enlisted(0).update("DELETE FROM user_emails WHERE email = ? AND user_id = ?", email, owner);
+        }
+    }
+
+    /**
+     * The shard's template, with a connection bound to the caller's Spring transaction when there is
+     * one, so the shard's writes commit and roll back with it. A failed write inside a transaction
+     * leaves its claim for that rollback instead of releasing it on a connection that may be aborted.
+     */
+    private JdbcTemplate enlisted(int shard) {
+        DataSource dataSource = dataSources.get(shard);
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(dataSource)) {
+            try {
+                Connection connection = dataSource.getConnection();
+                connection.setAutoCommit(false);
+                ConnectionHolder holder = new ConnectionHolder(connection);
+                holder.setSynchronizedWithTransaction(true);
+                TransactionSynchronizationManager.bindResource(dataSource, holder);
+                TransactionSynchronizationManager.registerSynchronization(
+                        new ShardTransaction(shard, dataSource, connection));
+            } catch (SQLException e) {
+                throw new CannotGetJdbcConnectionException("Failed to open a transaction on shard " + shard, e);
+            }
+        }
+        return shards.get(shard);
+    }
+
+    /**
+     * Runs {@code work} on a fresh auto-commit connection to the shard, never the one bound to a caller's
+     * transaction.
+     */
+    private <T> T onOwnConnection(int shard, Function<JdbcTemplate, T> work) {
+        try (Connection connection = dataSources.get(shard).getConnection()) {
+            connection.setAutoCommit(true);
+            JdbcTemplate template = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            template.setExceptionTranslator(shards.get(shard).getExceptionTranslator());
+            return work.apply(template);
+        } catch (SQLException e) {
+            throw new CannotGetJdbcConnectionException("Failed to open a connection to shard " + shard, e);
+        }
+    }
+
+    private Page<User> scatter(String where, Object[] args, Pageable pageable) {
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+        String sql = "SELECT * FROM users" + where + orderBy(sort);
+        Object[] limitedArgs = args;
+        if (pageable.isPaged()) {
+            sql += " LIMIT ?";
+            limitedArgs = Arrays.copyOf(args, args.length + 1);
+            limitedArgs[args.length] = pageable.getOffset() + pageable.getPageSize();
+        }
+        String query = sql;
+        Object[] queryArgs = limitedArgs;
+        String countSql = "SELECT COUNT(*) FROM users" + where;
+
+        List<ShardSlice> slices = gather(shard -> new ShardSlice(
+                shards.get(shard).query(query, mapper(shard), queryArgs),
+                shards.get(shard).queryForObject(countSql, Long.class, args)));
+
+        List<User> merged = new ArrayList<>();
+        long total = 0;
+        for (ShardSlice slice : slices) {
+            merged.addAll(slice.users());
+            total += slice.total();
+        }
+        merged.sort(comparator(sort));
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(merged, pageable, total);
+        }
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(new ArrayList<>(merged.subList(from, to)), pageable, total);
+    }
+
+    private <T> List<T> gather(Function<Integer, T> perShard) {
+        Long deadline = RequestDeadline.capture();
+        StatementStats requestStats = StatementStats.current();
+        List<StatementStats> shardStats = new ArrayList<>(shards.size());
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            int index = shard;
+            StatementStats stats = requestStats == null ? null : StatementStats.detached();
+            shardStats.add(stats);
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> onBehalfOfRequest(deadline, stats, () -> perShard.apply(index)), scatterExecutor));
+        }
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } finally {
+            if (requestStats != null) {
+                CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+                shardStats.forEach(stats -> stats.addTo(requestStats));
+            }
+        }
+    }
+
+    /**
+     * Runs {@code work} with the request's deadline and statement scope installed, restoring whatever the
+     * thread had before: with the caller-runs policy that thread can be the request thread itself.
+     */
+    private static <T> T onBehalfOfRequest(Long deadline, StatementStats stats, Supplier<T> work) {
+        Long previousDeadline = RequestDeadline.capture();
+        RequestDeadline.restore(deadline);
+        StatementStats previousStats = StatementStats.swap(stats);
+        try {
+            return work.get();
+        } finally {
+            StatementStats.swap(previousStats);
+            RequestDeadline.restore(previousDeadline);
+        }
+    }
+
+    private static String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+        for (Sort.Order order : sort) {
+            orderBy.append(column(order.getProperty()))
+                    .append(order.isAscending() ? " ASC NULLS FIRST, " : " DESC NULLS LAST, ");
+        }
+        return orderBy.append("id ASC").toString();
+    }
+
+    private static Comparator<User> comparator(Sort sort) {
+        Comparator<User> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<User> next = Comparator.comparing(property(order.getProperty()),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<User> byId = Comparator.comparing(User::getId);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<User, Comparable> property(String property) {
+        column(property);
+        return switch (property) {
+            case "name" -> User::getName;
+            case "email" -> User::getEmail;
+            case "createdAt" -> User::getCreatedAt;
+            case "updatedAt" -> User::getUpdatedAt;
+            default -> user -> (Comparable) user.getId();
+        };
+    }
+
+    private static String column(String property) {
+        String column = SORT_COLUMNS.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("Cannot sort sharded users by " + property);
+        }
+        return column;
+    }
+
+    private JdbcTemplate shardFor(long id) {
+        return shards.get(shardOf(id));
+    }
+
+    private int homeShard(String email) {
+        return Math.floorMod(email == null ? 0 : email.hashCode(), shards.size());
+    }
+
+    private long localId(long id) {
+        return Math.floorDiv(id, (long) shards.size());
+    }
+
+    private long globalId(long localId, int shard) {
+        return localId * shards.size() + shard;
+    }
+
+    private RowMapper<User> mapper(int shard) {
+        return (ResultSet rs, int rowNum) -> User.builder()
+                .id(globalId(rs.getLong("id"), shard))
+                .name(rs.getString("name"))
+                .email(rs.getString("email"))
+                .password(rs.getString("password"))
+                .createdAt(rs.getString("created_at"))
+                .updatedAt(rs.getString("updated_at"))
+                .build();
+    }
+
+    private static void bindColumns(PreparedStatement statement, User user) throws SQLException {
+        statement.setString(1, user.getName());
+        statement.setString(2, user.getEmail());
+        statement.setString(3, user.getPassword());
+        statement.setString(4, user.getCreatedAt());
+        statement.setString(5, user.getUpdatedAt());
+    }
+
+    private record ShardSlice(List<User> users, long total) {
+    }
+
+    private record Claim(Long userId, Timestamp claimedAt) {
+        boolean isAbandoned(Instant staleBefore) {
+            return userId == null && (claimedAt == null || claimedAt.toInstant().isBefore(staleBefore));
+        }
+    }
+
+    /**
+     * Commits one shard's connection just before the caller's transaction, and rolls it back if that
+     * transaction does not commit. The directory on shard 0 commits last, after the user rows whose claims
+     * it gives an owner.
+     */
+    private static final class ShardTransaction implements TransactionSynchronization {
+
+        private final int shard;
+        private final DataSource dataSource;
+        private final Connection connection;
+
+        ShardTransaction(int shard, DataSource dataSource, Connection connection) {
+            this.shard = shard;
+            this.dataSource = dataSource;
+            this.connection = connection;
+        }
+
+        @Override
+        public int getOrder() {
+            return shard == 0 ? Ordered.LOWEST_PRECEDENCE - 1 : Ordered.LOWEST_PRECEDENCE - 2;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            try {
+                connection.commit();
+            } catch (SQLException e) {
+                throw new TransactionSystemException("Failed to commit shard " + shard, e);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+            try {
+                if (status != STATUS_COMMITTED) {
+                    connection.rollback();
+                }
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                log.warn("Failed to roll back shard {}: {}", shard, e.getMessage());
+            } finally {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Failed to close shard {} connection: {}", shard, e.getMessage());
+                }
+            }
+        }
+    }
+}
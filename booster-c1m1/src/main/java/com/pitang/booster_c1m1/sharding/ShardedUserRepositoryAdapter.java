@@ -0,0 +1,91 @@
+package com.pitang.booster_c1m1.sharding;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.repository.UserRepository;
+
+/**
+ * Exposes a {@link ShardedUserRepository} as a {@link UserRepository}, so services keep their
+ * dependency unchanged. Only the operations the application uses are routed; anything else
+ * (JPA flushing, query by example, ...) has no sharded meaning and fails fast.
+ */
+public final class ShardedUserRepositoryAdapter implements InvocationHandler {
+
+    private final ShardedUserRepository shards;
+
+    private ShardedUserRepositoryAdapter(ShardedUserRepository shards) {
+        this.shards = shards;
+    }
+
+    public static UserRepository wrap(ShardedUserRepository shards) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class}, new ShardedUserRepositoryAdapter(shards));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        int arity = method.getParameterCount();
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "ShardedUserRepository[" + shards.shardCount() + " shards]";
+            case "save" -> shards.save((User) args[0]);
+            case "saveAll" -> shards.saveAll((Iterable<User>) args[0]);
+            case "findById" -> shards.findById((Long) args[0]);
+            case "existsById" -> shards.existsById((Long) args[0]);
+            case "findAllById" -> shards.findAllById((Iterable<Long>) args[0]);
+            case "existsByEmail" -> shards.existsByEmail((String) args[0]);
+            case "existsByEmailAndIdNot" -> shards.existsByEmailAndIdNot((String) args[0], (Long) args[1]);
+            case "findByIdGreaterThanOrderByIdAsc" ->
+                    shards.findByIdGreaterThanOrderByIdAsc((Long) args[0], ((Limit) args[1]).max());
+            case "findByNameContainingIgnoreCase" ->
+                    shards.findByNameContainingIgnoreCase((String) args[0], (Pageable) args[1]);
+            // Streams are backed by the merged page: each shard's rows are materialized.
+            case "streamAllBy" -> shards.findAll((Pageable) args[0]).stream();
+            case "streamByNameContainingIgnoreCase" ->
+                    shards.findByNameContainingIgnoreCase((String) args[0], (Pageable) args[1]).stream();
+            case "countByNameContainingIgnoreCase" ->
+                    shards.findByNameContainingIgnoreCase((String) args[0], PageRequest.of(0, 1)).getTotalElements();
+            case "findAll" -> {
+                if (arity == 1 && method.getParameterTypes()[0] == Pageable.class) {
+                    yield shards.findAll((Pageable) args[0]);
+                }
+                if (arity == 0) {
+                    yield shards.findAll(Pageable.unpaged()).getContent();
+                }
+                throw unsupported(method);
+            }
+            case "count" -> {
+                if (arity == 0) {
+                    yield shards.count();
+                }
+                throw unsupported(method);
+            }
+            case "deleteById" -> {
+                shards.deleteById((Long) args[0]);
+                yield null;
+            }
+            case "deleteAll" -> {
+                if (arity == 0) {
+                    shards.deleteAll();
+                    yield null;
+                }
+                throw unsupported(method);
+            }
+            default -> throw unsupported(method);
+        };
+    }
+
+    private static UnsupportedOperationException unsupported(Method method) {
+        return new UnsupportedOperationException(
+                "UserRepository." + method.getName() + " is not supported on sharded user storage");
+    }
+}
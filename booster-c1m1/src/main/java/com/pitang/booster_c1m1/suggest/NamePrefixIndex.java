@@ -0,0 +1,350 @@
+package com.pitang.booster_c1m1.suggest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix index over user names for autocomplete. Every name is indexed under its normalized form
+ * (lower case, accents stripped) starting at each word, so {@code "sil"} finds "João Silva".
+ *
+ * <p>The bulk of the index is an immutable {@link Segment}: entries sorted by key, with keys and
+ * names packed into byte arrays and ids in a {@code long[]}, so there is no per-entry object. Writes
+ * go to a small sorted delta and mark the user's segment entries as superseded; once the delta
+ * reaches the compaction threshold it is merged into a new segment on the compaction executor, so
+ * the writer never pays for it. Readers never lock: they see one immutable {@link State} at a time.
+ */
+public class NamePrefixIndex {
+
+    /** One suggestion: the user and the name as stored. */
+    public record Match(long id, String name) {
+    }
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final int maxWordsPerName;
+    private final int compactThreshold;
+    private final Executor compactor;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final Object writeLock = new Object();
+    private final Object rebuildLock = new Object();
+    private volatile State state = new State(Segment.EMPTY, new TreeMap<>(), Set.of());
+    private List<Runnable> replay;
+
+    public NamePrefixIndex(int maxWordsPerName, int compactThreshold, Executor compactor) {
+        this.maxWordsPerName = maxWordsPerName;
+        this.compactThreshold = compactThreshold;
+        this.compactor = compactor;
+    }
+
+    /** Up to {@code limit} distinct users whose name has a word starting with {@code prefix}, in key order. */
+    public List<Match> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        State current = state;
+        Map<Long, Match> matches = new LinkedHashMap<>();
+        List<Candidate> candidates = new ArrayList<>();
+        current.base.collect(key.getBytes(StandardCharsets.UTF_8), current.superseded, limit, candidates);
+        Set<Long> fromDelta = new HashSet<>();
+        for (DeltaEntry entry : current.delta.subMap(key, key + Character.MAX_VALUE).values()) {
+            if (fromDelta.add(entry.id)) {
+                candidates.add(new Candidate(entry.key, entry.id, entry.name));
+            }
+            if (fromDelta.size() == limit) {
+                break;
+            }
+        }
+        candidates.sort(Comparator.comparing(Candidate::key).thenComparingLong(Candidate::id));
+        for (Candidate candidate : candidates) {
+            matches.putIfAbsent(candidate.id, new Match(candidate.id, candidate.name));
+            if (matches.size() == limit) {
+                break;
+            }
+        }
+        return List.copyOf(matches.values());
+    }
+
+    public void upsert(long id, String name) {
+        apply(() -> write(id, name));
+    }
+
+    public void remove(long id) {
+        apply(() -> write(id, null));
+    }
+
+    /**
+     * Replaces the whole index with the users (id to name) returned by {@code loader}. Writes are
+     * captured from before the loader runs and applied on top of the new segment, so a change
+     * committed while the source is being read is not lost to the swap.
+     */
+    public void replaceAll(Supplier<Map<Long, String>> loader) {
+        swap(current -> entries(loader.get()));
+    }
+
+    /** Index entries, including pending writes. */
+    public int entries() {
+        State current = state;
+        return current.base.size() + current.delta.size();
+    }
+
+    /** Approximate heap used by the index data. */
+    public long sizeInBytes() {
+        State current = state;
+        long delta = 0;
+        for (DeltaEntry entry : current.delta.values()) {
+            // Map node, entry object and the key and name strings.
+            delta += 96 + 2L * (entry.key.length() + entry.name.length()) * 2;
+        }
+        return current.base.sizeInBytes() + delta + 48L * current.superseded.size();
+    }
+
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return SPACES.matcher(MARKS.matcher(decomposed).replaceAll("")).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void apply(Runnable write) {
+        boolean compact;
+        synchronized (writeLock) {
+            write.run();
+            if (replay != null) {
+                replay.add(write);
+            }
+            compact = state.delta.size() + state.superseded.size() > compactThreshold;
+        }
+        if (compact && compacting.compareAndSet(false, true)) {
+            compactor.execute(this::compact);
+        }
+    }
+
+    private void compact() {
+        try {
+            swap(NamePrefixIndex::live);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    /**
+     * Builds a segment from {@code source} applied to the current state and swaps it in. Writes made
+     * from the snapshot on are recorded and replayed on the new segment; only one swap runs at a time.
+     */
+    private void swap(Function<State, List<DeltaEntry>> source) {
+        synchronized (rebuildLock) {
+            State snapshot;
+            synchronized (writeLock) {
+                replay = new ArrayList<>();
+                snapshot = state;
+            }
+            try {
+                Segment segment = Segment.build(source.apply(snapshot));
+                synchronized (writeLock) {
+                    List<Runnable> pending = replay;
+                    state = new State(segment, new TreeMap<>(), Set.of());
+                    pending.forEach(Runnable::run);
+                }
+            } finally {
+                synchronized (writeLock) {
+                    replay = null;
+                }
+            }
+        }
+    }
+
+    /** Called with the write lock held. */
+    private void write(long id, String name) {
+        State current = state;
+        TreeMap<String, DeltaEntry> delta = new TreeMap<>(current.delta);
+        delta.values().removeIf(entry -> entry.id == id);
+        if (name != null) {
+            for (DeltaEntry entry : entries(Map.of(id, name))) {
+                delta.put(entry.key + '\0' + entry.id, entry);
+            }
+        }
+        Set<Long> superseded = new HashSet<>(current.superseded);
+        superseded.add(id);
+        state = new State(current.base, delta, Set.copyOf(superseded));
+    }
+
+    /** The entries of {@code current} that a search can still return. */
+    private static List<DeltaEntry> live(State current) {
+        Segment base = current.base;
+        List<DeltaEntry> entries = new ArrayList<>(base.size() + current.delta.size());
+        for (int i = 0; i < base.size(); i++) {
+            if (!current.superseded.contains(base.ids[i])) {
+                entries.add(new DeltaEntry(base.key(i), base.ids[i], base.name(i)));
+            }
+        }
+        entries.addAll(current.delta.values());
+        return entries;
+    }
+
+    private List<DeltaEntry> entries(Map<Long, String> users) {
+        List<DeltaEntry> entries = new ArrayList<>(users.size() * 2);
+        users.forEach((id, name) -> {
+            if (name == null) {
+                return;
+            }
+            String normalized = normalize(name);
+            int words = 0;
+            for (int start = 0; start < normalized.length() && words < maxWordsPerName; words++) {
+                entries.add(new DeltaEntry(normalized.substring(start), id, name));
+                int space = normalized.indexOf(' ', start);
+                if (space < 0) {
+                    break;
+                }
+                start = space + 1;
+            }
+        });
+        return entries;
+    }
+
+    private record State(Segment base, NavigableMap<String, DeltaEntry> delta, Set<Long> superseded) {
+    }
+
+    private record DeltaEntry(String key, long id, String name) {
+    }
+
+    private record Candidate(String key, long id, String name) {
+    }
+
+    /**
+     * Sorted, packed entries. Entry {@code i} has its key at {@code keys[keyOffsets[i]..keyOffsets[i + 1])}
+     * and its name at {@code names[nameOffsets[i]..nameOffsets[i] + nameLengths[i])}; a name is stored
+     * once however many words it is indexed under.
+     */
+    static final class Segment {
+
+        static final Segment EMPTY = new Segment(new byte[0], new int[] {0}, new long[0], new byte[0], new int[0],
+                new int[0]);
+
+        private final byte[] keys;
+        private final int[] keyOffsets;
+        private final long[] ids;
+        private final byte[] names;
+        private final int[] nameOffsets;
+        private final int[] nameLengths;
+
+        private Segment(byte[] keys, int[] keyOffsets, long[] ids, byte[] names, int[] nameOffsets, int[] nameLengths) {
+            this.keys = keys;
+            this.keyOffsets = keyOffsets;
+            this.ids = ids;
+            this.names = names;
+            this.nameOffsets = nameOffsets;
+            this.nameLengths = nameLengths;
+        }
+
+        static Segment build(List<DeltaEntry> entries) {
+            DeltaEntry[] sorted = entries.toArray(DeltaEntry[]::new);
+            byte[][] keyBytes = new byte[sorted.length][];
+            Integer[] order = new Integer[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                keyBytes[i] = sorted[i].key.getBytes(StandardCharsets.UTF_8);
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int byKey = Arrays.compareUnsigned(keyBytes[a], keyBytes[b]);
+                return byKey != 0 ? byKey : Long.compare(sorted[a].id, sorted[b].id);
+            });
+
+            int keyLength = 0;
+            for (byte[] key : keyBytes) {
+                keyLength += key.length;
+            }
+            byte[] keys = new byte[keyLength];
+            int[] keyOffsets = new int[sorted.length + 1];
+            long[] ids = new long[sorted.length];
+            int[] nameOffsets = new int[sorted.length];
+            int[] nameLengths = new int[sorted.length];
+            Map<Long, int[]> storedNames = new HashMap<>();
+            ByteArrayOutputStream names = new ByteArrayOutputStream();
+            int keyPosition = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                DeltaEntry entry = sorted[order[i]];
+                byte[] key = keyBytes[order[i]];
+                System.arraycopy(key, 0, keys, keyPosition, key.length);
+                keyOffsets[i] = keyPosition;
+                keyPosition += key.length;
+                ids[i] = entry.id;
+                int[] name = storedNames.computeIfAbsent(entry.id, id -> {
+                    byte[] bytes = entry.name.getBytes(StandardCharsets.UTF_8);
+                    int offset = names.size();
+                    names.writeBytes(bytes);
+                    return new int[] {offset, bytes.length};
+                });
+                nameOffsets[i] = name[0];
+                nameLengths[i] = name[1];
+            }
+            keyOffsets[sorted.length] = keyPosition;
+            return new Segment(keys, keyOffsets, ids, names.toByteArray(), nameOffsets, nameLengths);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        long sizeInBytes() {
+            // Array payloads plus a 16-byte header each.
+            return 6 * 16L + keys.length + 4L * keyOffsets.length + 8L * ids.length + names.length
+                    + 4L * nameOffsets.length + 4L * nameLengths.length;
+        }
+
+        String key(int i) {
+            return new String(keys, keyOffsets[i], keyOffsets[i + 1] - keyOffsets[i], StandardCharsets.UTF_8);
+        }
+
+        String name(int i) {
+            return new String(names, nameOffsets[i], nameLengths[i], StandardCharsets.UTF_8);
+        }
+
+        /** Adds live entries starting with {@code prefix} until {@code limit} distinct users are found. */
+        void collect(byte[] prefix, Set<Long> superseded, int limit, List<Candidate> out) {
+            Set<Long> seen = new HashSet<>();
+            for (int i = lowerBound(prefix); i < ids.length && startsWith(i, prefix) && seen.size() < limit; i++) {
+                if (!superseded.contains(ids[i]) && seen.add(ids[i])) {
+                    out.add(new Candidate(key(i), ids[i], name(i)));
+                }
+            }
+        }
+
+        private int lowerBound(byte[] prefix) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (Arrays.compareUnsigned(keys, keyOffsets[mid], keyOffsets[mid + 1], prefix, 0, prefix.length) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private boolean startsWith(int i, byte[] prefix) {
+            int length = keyOffsets[i + 1] - keyOffsets[i];
+            return length >= prefix.length
+                    && Arrays.equals(keys, keyOffsets[i], keyOffsets[i] + prefix.length, prefix, 0, prefix.length);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.pitang.booster_c1m1.suggest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.pitang.booster_c1m1.cache.UserCacheEvictor;
+import com.pitang.booster_c1m1.config.SuggestProperties;
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.domain.UserChangeType;
+import com.pitang.booster_c1m1.dto.UserSuggestionDTO;
+import com.pitang.booster_c1m1.event.UserChangedEvent;
+import com.pitang.booster_c1m1.repository.UserRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves GET /v1/users/suggest from a {@link NamePrefixIndex} instead of a {@code like '%x%'} scan.
+ * The index is built when the application is ready and kept current from committed
+ * {@link UserChangedEvent}s. Writes that bypass the service reach it as a {@link UserCacheEvictor}:
+ * other nodes' invalidations reload the single user, bulk loads rebuild the whole index. A periodic
+ * rebuild covers anything missed in between; it reads the table in id order, one keyset page at a
+ * time, so late pages cost the same as the first.
+ */
+@Slf4j
+@Service
+public class UserSuggestService implements UserCacheEvictor {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final SuggestProperties properties;
+    private final NamePrefixIndex index;
+    private final Timer rebuildTimer;
+
+    public UserSuggestService(UserRepository userRepository, SuggestProperties properties,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.index = new NamePrefixIndex(properties.getMaxWordsPerName(), properties.getCompactThreshold(),
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "users-suggest-compactor");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+        this.rebuildTimer = Timer.builder("users.suggest.rebuild.duration")
+                .description("Time to rebuild the name prefix index from the database")
+                .register(meterRegistry);
+        Gauge.builder("users.suggest.index.bytes", index, NamePrefixIndex::sizeInBytes)
+                .description("Approximate memory held by the name prefix index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("users.suggest.index.entries", index, NamePrefixIndex::entries)
+                .description("Entries in the name prefix index")
+                .register(meterRegistry);
+    }
+
+    public List<UserSuggestionDTO> suggest(String prefix, Integer limit) {
+        int bounded = Math.min(limit != null ? limit : properties.getDefaultLimit(), properties.getMaxLimit());
+        return index.suggest(prefix, bounded).stream()
+                .map(match -> new UserSuggestionDTO(match.id(), match.name()))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${users.suggest.rebuild-interval:600000}",
+            initialDelayString = "${users.suggest.rebuild-interval:600000}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        Map<Long, String> names = new HashMap<>();
+        index.replaceAll(() -> {
+            long lastId = 0;
+            List<User> page;
+            do {
+                page = userRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_PAGE_SIZE));
+                for (User user : page) {
+                    names.put(user.getId(), user.getName());
+                    lastId = user.getId();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+            return names;
+        });
+        long elapsed = System.nanoTime() - start;
+        rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Name prefix index rebuilt: {} users, {} entries, {} KiB in {} ms", names.size(), index.entries(),
+                index.sizeInBytes() / 1024, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.type() == UserChangeType.DELETED || event.user() == null) {
+            index.remove(event.userId());
+        } else {
+            index.upsert(event.userId(), event.user().getName());
+        }
+    }
+
+    @Override
+    public void evictUser(Long userId) {
+        userRepository.findById(userId).ifPresentOrElse(
+                user -> index.upsert(userId, user.getName()),
+                () -> index.remove(userId));
+    }
+
+    @Override
+    public void clear() {
+        rebuild();
+    }
+}
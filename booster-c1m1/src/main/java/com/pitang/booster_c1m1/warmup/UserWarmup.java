@@ -0,0 +1,230 @@
+package com.pitang.booster_c1m1.warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.config.WarmupProperties;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warms a fresh instance before it takes traffic: fills the connection pool, then sends read-only
+ * requests for {@code /v1/users} to the instance's own port over loopback HTTP, so Tomcat, the
+ * {@code DispatcherServlet}, the interceptors, the message converters, {@code UserService}, Hibernate's
+ * query plans and Jackson are all compiled by the JIT by the time {@link WarmupHealthIndicator} lets
+ * readiness go up. Each request carries {@link WarmupFilter#HEADER} with a token generated for this
+ * process, so the server handles it inside a {@link WarmupScope} and request metrics, hot keys, SQL
+ * statistics and request logs stay clean. Without a local web server (a mock servlet environment) only
+ * the pool is filled.
+ *
+ * <p>Rounds stick to primary-key lookups of the users on the first page; the page itself, which also
+ * counts the table, is only re-read every {@value #LIST_EVERY} rounds.
+ */
+@Slf4j
+public class UserWarmup {
+
+    public enum State {
+        PENDING, RUNNING, DONE, SKIPPED
+    }
+
+    private static final int PAGE_SIZE = 10;
+    private static final int LIST_EVERY = 10;
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final WarmupProperties properties;
+    private final ObjectMapper objectMapper;
+    private final DataSource dataSource;
+    private final String token = UUID.randomUUID().toString();
+    private final AtomicLong durationNanos = new AtomicLong();
+    private final AtomicLong rounds = new AtomicLong();
+    private volatile State state;
+
+    public UserWarmup(WarmupProperties properties, ObjectMapper objectMapper, DataSource dataSource,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.dataSource = dataSource;
+        this.state = properties.isEnabled() ? State.PENDING : State.SKIPPED;
+        TimeGauge.builder("users.warmup.duration", durationNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("How long the startup warm-up took")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (state == State.PENDING) {
+            URI baseUri = baseUri(event);
+            Thread thread = new Thread(() -> run(baseUri), "users-warmup");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /** The value {@link WarmupFilter} expects in {@link WarmupFilter#HEADER}. */
+    public String getToken() {
+        return token;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Duration getDuration() {
+        return Duration.ofNanos(durationNanos.get());
+    }
+
+    public long getRounds() {
+        return rounds.get();
+    }
+
+    /**
+     * @param baseUri the instance's own address, or {@code null} to only fill the pool
+     */
+    void run(URI baseUri) {
+        state = State.RUNNING;
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeout().toNanos();
+        try {
+            fillPool();
+            if (baseUri == null) {
+                log.info("No local web server, warm-up only filled the connection pool");
+                return;
+            }
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(CONNECT_TIMEOUT)
+                    .build();
+            ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()));
+            try {
+                for (int i = 0; i < Math.max(1, properties.getConcurrency()); i++) {
+                    workers.execute(() -> exercise(client, baseUri, deadline));
+                }
+                workers.shutdown();
+                if (!workers.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    log.warn("Warm-up timed out after {}", properties.getTimeout());
+                }
+            } finally {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Warm-up failed, accepting traffic anyway", e);
+        } finally {
+            durationNanos.set(System.nanoTime() - start);
+            state = State.DONE;
+            log.info("Warm-up finished in {} ms ({} rounds)", getDuration().toMillis(), rounds.get());
+        }
+    }
+
+    private static URI baseUri(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext() instanceof WebServerApplicationContext context)
+                || context.getWebServer() == null || context.getWebServer().getPort() <= 0) {
+            return null;
+        }
+        String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+        return URI.create("http://localhost:" + context.getWebServer().getPort() + contextPath + "/");
+    }
+
+    private void fillPool() {
+        int target = properties.getConnections();
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                target = Math.min(target, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+            }
+        } catch (SQLException e) {
+            log.debug("Could not inspect the pool size", e);
+        }
+        List<Connection> connections = new ArrayList<>(target);
+        try {
+            for (int i = 0; i < target; i++) {
+                connections.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            log.warn("Warm-up opened {} of {} connections", connections.size(), target, e);
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Could not return a warm-up connection", e);
+                }
+            }
+        }
+    }
+
+    private void exercise(HttpClient client, URI baseUri, long deadline) {
+        List<Long> ids = List.of();
+        for (int i = 0; i < properties.getIterations() && System.nanoTime() < deadline; i++) {
+            try {
+                if (i % LIST_EVERY == 0) {
+                    ids = listFirstPage(client, baseUri);
+                }
+                round(client, baseUri, i, ids);
+                rounds.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException | IOException e) {
+                log.debug("Warm-up round failed", e);
+            }
+        }
+    }
+
+    private List<Long> listFirstPage(HttpClient client, URI baseUri) throws IOException, InterruptedException {
+        JsonNode page = objectMapper.readTree(get(client, baseUri.resolve("v1/users?page=0&size=" + PAGE_SIZE)));
+        List<Long> ids = new ArrayList<>();
+        page.path("content").forEach(user -> ids.add(user.path("id").asLong()));
+        return ids;
+    }
+
+    private void round(HttpClient client, URI baseUri, int i, List<Long> ids) throws IOException, InterruptedException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        get(client, baseUri.resolve("v1/users/" + ids.get(i % ids.size())));
+        get(client, baseUri.resolve("v1/users?ids="
+                + ids.stream().map(String::valueOf).collect(Collectors.joining(","))));
+    }
+
+    private byte[] get(HttpClient client, URI uri) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .header(WarmupFilter.HEADER, token)
+                .timeout(properties.getTimeout())
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Warm-up request " + uri + " answered " + response.statusCode());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,56 @@
+package com.pitang.booster_c1m1.warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Runs requests carrying {@value #HEADER} with this instance's warm-up token inside a {@link WarmupScope}.
+ * Registered ahead of the observation filter, so {@code http.server.requests} leaves them out as well. The
+ * token is generated per process and only {@link UserWarmup} knows it; a request presenting any other value
+ * is handled as ordinary traffic.
+ */
+public class WarmupFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Warmup";
+
+    private final byte[] token;
+
+    public WarmupFilter(String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String presented = request.getHeader(HEADER);
+        return presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        WarmupScope.enter();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            WarmupScope.exit();
+        }
+    }
+}
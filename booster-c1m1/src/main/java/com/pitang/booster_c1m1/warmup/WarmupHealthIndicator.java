@@ -0,0 +1,29 @@
+package com.pitang.booster_c1m1.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} until {@link UserWarmup} has finished. Part of the readiness
+ * group, so load balancers hold traffic back from a cold instance.
+ */
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final UserWarmup warmup;
+
+    @Override
+    public Health health() {
+        UserWarmup.State state = warmup.getState();
+        Health.Builder builder = switch (state) {
+            case DONE -> Health.up()
+                    .withDetail("durationMs", warmup.getDuration().toMillis())
+                    .withDetail("rounds", warmup.getRounds());
+            case SKIPPED -> Health.up();
+            case PENDING, RUNNING -> Health.outOfService().withDetail("rounds", warmup.getRounds());
+        };
+        return builder.withDetail("state", state).build();
+    }
+}
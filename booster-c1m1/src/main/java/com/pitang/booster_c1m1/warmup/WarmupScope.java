@@ -0,0 +1,36 @@
+package com.pitang.booster_c1m1.warmup;
+
+/**
+ * Marks the current thread as running synthetic warm-up traffic, so traffic statistics
+ * ({@code HotKeyTracker}, {@code StatementRecorder}, request metrics and request logs) can leave it out.
+ * {@link WarmupFilter} sets it for the warm-up's requests.
+ */
+public final class WarmupScope {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private WarmupScope() {
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    /** Runs {@code work} with the current thread marked as warm-up traffic. */
+    public static void run(Runnable work) {
+        enter();
+        try {
+            work.run();
+        } finally {
+            exit();
+        }
+    }
+
+    static void enter() {
+        ACTIVE.set(Boolean.TRUE);
+    }
+
+    static void exit() {
+        ACTIVE.remove();
+    }
+}
@@ -0,0 +1,98 @@
+package com.pitang.booster_c1m1.benchmark;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.slf4j.MDC;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The request interceptor as it was before the correlation rework, kept as the benchmark baseline.
+ */
+@Slf4j
+class LegacyLoggingInterceptor implements HandlerInterceptor {
+
+    private static final String REQUEST_ID_HEADER = "X-Request-ID";
+    private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
+    private static final String REQUEST_START_TIME = "requestStartTime";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long startTime = Instant.now().toEpochMilli();
+        request.setAttribute(REQUEST_START_TIME, startTime);
+
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (!StringUtils.hasText(requestId)) {
+            requestId = UUID.randomUUID().toString();
+        }
+
+        String correlationId = request.getHeader(CORRELATION_ID_HEADER);
+        if (!StringUtils.hasText(correlationId)) {
+            correlationId = UUID.randomUUID().toString();
+        }
+
+        MDC.put("requestId", requestId);
+        MDC.put("correlationId", correlationId);
+        MDC.put("method", request.getMethod());
+        MDC.put("uri", request.getRequestURI());
+        MDC.put("remoteAddr", getClientIpAddress(request));
+        MDC.put("userAgent", request.getHeader("User-Agent"));
+
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        response.setHeader(CORRELATION_ID_HEADER, correlationId);
+
+        log.info("HTTP Request started - {} {} from {}",
+            request.getMethod(), request.getRequestURI(), getClientIpAddress(request));
+
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+            ModelAndView modelAndView) {
+        MDC.put("responseStatus", String.valueOf(response.getStatus()));
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        try {
+            Long startTime = (Long) request.getAttribute(REQUEST_START_TIME);
+            long duration = startTime != null ? Instant.now().toEpochMilli() - startTime : 0;
+
+            MDC.put("duration", String.valueOf(duration));
+            MDC.put("responseStatus", String.valueOf(response.getStatus()));
+
+            if (ex != null) {
+                MDC.put("exception", ex.getClass().getSimpleName());
+                MDC.put("exceptionMessage", ex.getMessage());
+                log.error("HTTP Request completed with exception - {} {} - Status: {} - Duration: {}ms",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(), duration, ex);
+            } else {
+                log.info("HTTP Request completed - {} {} - Status: {} - Duration: {}ms",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(), duration);
+            }
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private String getClientIpAddress(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (StringUtils.hasText(xForwardedFor)) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (StringUtils.hasText(xRealIp)) {
+            return xRealIp;
+        }
+
+        return request.getRemoteAddr();
+    }
+}
\ No newline at end of file
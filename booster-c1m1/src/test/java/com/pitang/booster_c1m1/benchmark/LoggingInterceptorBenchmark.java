@@ -0,0 +1,99 @@
+package com.pitang.booster_c1m1.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.pitang.booster_c1m1.config.LoggingInterceptor;
+import com.pitang.booster_c1m1.config.RequestLoggingProperties;
+import com.pitang.booster_c1m1.correlation.RequestLogSampler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Per-request cost of the logging interceptor, old versus new, under contention. Log output is
+ * switched off so the numbers cover id generation, header parsing and MDC work only.
+ *
+ * <p>{@code mdc=all} matches the JSON logging of production profiles; {@code mdc=ids} a console
+ * pattern printing only the request and trace ids.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=LoggingInterceptorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoggingInterceptorBenchmark {
+
+    @Param({"all", "ids"})
+    public String mdc;
+
+    private LegacyLoggingInterceptor legacy;
+    private LoggingInterceptor current;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        RequestLoggingProperties properties = new RequestLoggingProperties();
+        properties.setMdcFields("all".equals(mdc)
+                ? List.of("requestId", "correlationId", "traceId", "spanId", "method", "uri", "remoteAddr",
+                        "userAgent", "responseStatus", "duration", "exception", "exceptionMessage")
+                : List.of("requestId", "traceId"));
+        legacy = new LegacyLoggingInterceptor();
+        current = new LoggingInterceptor(properties, new RequestLogSampler(properties, new SimpleMeterRegistry()));
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp() {
+            request = new MockHttpServletRequest("GET", "/v1/users/42");
+            request.addHeader("Host", "users.internal");
+            request.addHeader("Accept", "application/json");
+            request.addHeader("Accept-Encoding", "gzip");
+            request.addHeader("User-Agent", "okhttp/4.12.0");
+            request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+            request.addHeader("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+            request.addHeader("Authorization", "Bearer token");
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public void legacyInterceptor(Exchange exchange) throws Exception {
+        legacy.preHandle(exchange.request, exchange.response, null);
+        legacy.postHandle(exchange.request, exchange.response, null, null);
+        legacy.afterCompletion(exchange.request, exchange.response, null, null);
+    }
+
+    @Benchmark
+    public void currentInterceptor(Exchange exchange) throws Exception {
+        current.preHandle(exchange.request, exchange.response, null);
+        current.postHandle(exchange.request, exchange.response, null, null);
+        current.afterCompletion(exchange.request, exchange.response, null, null);
+    }
+}
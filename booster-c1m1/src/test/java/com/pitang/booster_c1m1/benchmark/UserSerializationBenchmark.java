@@ -0,0 +1,86 @@
+package com.pitang.booster_c1m1.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.pitang.booster_c1m1.dto.PaginatedResponseDTO;
+import com.pitang.booster_c1m1.dto.UserDTO;
+
+/**
+ * Serializing one GET /v1/users page: the generic converter path (plain mapper, writer looked up per
+ * call) versus Blackbird with a cached {@link ObjectWriter}. Page sizes cover the default page, a
+ * typical UI page and a sync-job page below the streaming threshold.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=UserSerializationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserSerializationBenchmark {
+
+    static final TypeReference<PaginatedResponseDTO<UserDTO>> PAGE_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"10", "100", "450"})
+    public int pageSize;
+
+    private PaginatedResponseDTO<UserDTO> page;
+    private ObjectMapper plain;
+    private JavaType pageType;
+    private ObjectWriter cached;
+
+    @Setup
+    public void setUp() {
+        page = page(pageSize);
+        plain = Jackson2ObjectMapperBuilder.json().build();
+        pageType = plain.constructType(PAGE_TYPE);
+        ObjectMapper tuned = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+        cached = tuned.writerFor(PAGE_TYPE);
+    }
+
+    @Benchmark
+    public byte[] generic() throws JsonProcessingException {
+        return plain.writer().forType(pageType).writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] tuned() throws JsonProcessingException {
+        return cached.writeValueAsBytes(page);
+    }
+
+    static PaginatedResponseDTO<UserDTO> page(int size) {
+        List<UserDTO> users = IntStream.range(0, size).mapToObj(i -> {
+            UserDTO user = new UserDTO();
+            user.setId(1_000L + i);
+            user.setName("User Número " + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setCreatedAt("2024-01-01T10:00:00Z");
+            user.setUpdatedAt(i % 3 == 0 ? null : "2024-06-01T12:30:00.123Z");
+            return user;
+        }).toList();
+        return new PaginatedResponseDTO<>(users, 0, size, 7, 7L * size);
+    }
+}
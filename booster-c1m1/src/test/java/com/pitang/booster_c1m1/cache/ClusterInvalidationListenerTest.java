@@ -0,0 +1,173 @@
+package com.pitang.booster_c1m1.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("ClusterInvalidationListener")
+class ClusterInvalidationListenerTest {
+
+  private RecordingCache cache;
+  private SimpleMeterRegistry meterRegistry;
+  private ClusterInvalidationListener listener;
+
+  @BeforeEach
+  void setUp() {
+    cache = new RecordingCache();
+    meterRegistry = new SimpleMeterRegistry();
+    listener = listener(() -> {
+      throw new SQLException("no database");
+    });
+  }
+
+  @Test
+  @DisplayName("Should evict the user named by an invalidation from another node")
+  void handle_EvictsUser_WhenSentByOtherNode() {
+    listener.handle(InvalidationMessage.forUser("node-b", 42L).encode());
+
+    assertThat(cache.evicted).containsExactly(42L);
+    assertThat(meterRegistry.get("users.cluster_invalidation.received.total").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should ignore invalidations sent by this node and malformed payloads")
+  void handle_IgnoresOwnAndMalformedPayloads() {
+    listener.handle(InvalidationMessage.forUser("node-a", 42L).encode());
+    listener.handle("garbage");
+    listener.handle("node-b:");
+
+    assertThat(cache.evicted).isEmpty();
+    assertThat(cache.clears).hasValue(0);
+  }
+
+  @Test
+  @DisplayName("Should clear all entries for a full invalidation and on resync")
+  void handle_ClearsCache_WhenAllUsersInvalidated() {
+    listener.handle(InvalidationMessage.forUser("node-b", null).encode());
+    listener.resync();
+
+    assertThat(cache.clears).hasValue(2);
+    assertThat(meterRegistry.get("users.cluster_invalidation.resyncs.total").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should keep retrying while the database is unreachable and stop cleanly")
+  void start_RetriesConnection_UntilStopped() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    ClusterInvalidationListener retrying = listener(() -> {
+      attempts.incrementAndGet();
+      throw new SQLException("connection refused");
+    });
+
+    retrying.start();
+    long deadline = System.currentTimeMillis() + 5000;
+    while (attempts.get() < 2 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    retrying.stop();
+
+    assertThat(attempts.get()).isGreaterThanOrEqualTo(2);
+    assertThat(retrying.isRunning()).isFalse();
+    assertThat(retrying.isConnected()).isFalse();
+    assertThat(cache.clears).hasValue(0);
+  }
+
+  @Test
+  @DisplayName("Should reconnect and resync when a quiet connection fails validation")
+  void start_Reconnects_WhenIdleConnectionIsDead() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    ClusterInvalidationListener listening = listener(() -> {
+      attempts.incrementAndGet();
+      return halfOpenConnection();
+    });
+
+    listening.start();
+    long deadline = System.currentTimeMillis() + 5000;
+    while (attempts.get() < 2 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    listening.stop();
+
+    assertThat(attempts.get()).isGreaterThanOrEqualTo(2);
+    assertThat(meterRegistry.get("users.cluster_invalidation.resyncs.total").counter().count())
+        .isGreaterThanOrEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("Should reject channel names that are not plain identifiers")
+  void constructor_RejectsInvalidChannel() {
+    assertThatThrownBy(() -> new ClusterInvalidationListener(() -> null, List.of(cache), "x; DROP TABLE users",
+        "node-a", Duration.ofMillis(10), Duration.ofMillis(10), meterRegistry))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should encode and decode invalidation payloads")
+  void invalidationMessage_RoundTrips() {
+    assertThat(InvalidationMessage.decode("node:a:7")).isEqualTo(new InvalidationMessage("node:a", 7L));
+    assertThat(InvalidationMessage.decode("node-a:*").isAll()).isTrue();
+  }
+
+  private ClusterInvalidationListener listener(ClusterInvalidationListener.ConnectionFactory connectionFactory) {
+    return new ClusterInvalidationListener(connectionFactory, List.of(cache), "user_cache_invalidation",
+        "node-a", Duration.ofMillis(50), Duration.ofMillis(20), meterRegistry);
+  }
+
+  /** A connection that accepts LISTEN and waits quietly, but fails every validation. */
+  private static Connection halfOpenConnection() {
+    Statement statement = proxy(Statement.class, (method, args) -> method.equals("execute") ? false : null);
+    PGConnection pgConnection = proxy(PGConnection.class, (method, args) -> {
+      if (method.equals("getNotifications")) {
+        Thread.sleep((Integer) args[0]);
+        return new PGNotification[0];
+      }
+      return null;
+    });
+    return proxy(Connection.class, (method, args) -> switch (method) {
+      case "createStatement" -> statement;
+      case "unwrap" -> pgConnection;
+      case "isValid" -> false;
+      default -> null;
+    });
+  }
+
+  private static <T> T proxy(Class<T> type, Handler handler) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+        (target, method, args) -> handler.invoke(method.getName(), args)));
+  }
+
+  @FunctionalInterface
+  private interface Handler {
+    Object invoke(String method, Object[] args) throws Exception;
+  }
+
+  private static final class RecordingCache implements UserCacheEvictor {
+    private final List<Long> evicted = new ArrayList<>();
+    private final AtomicInteger clears = new AtomicInteger();
+
+    @Override
+    public void evictUser(Long userId) {
+      evicted.add(userId);
+    }
+
+    @Override
+    public void clear() {
+      clears.incrementAndGet();
+    }
+  }
+}
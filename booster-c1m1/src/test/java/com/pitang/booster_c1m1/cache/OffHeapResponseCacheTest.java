@@ -0,0 +1,175 @@
+package com.pitang.booster_c1m1.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("OffHeapResponseCache")
+class OffHeapResponseCacheTest {
+
+  private final AtomicLong clock = new AtomicLong();
+  private OffHeapResponseCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new OffHeapResponseCache(256, 128, Duration.ofSeconds(30), clock::get);
+  }
+
+  @Test
+  @DisplayName("Should return stored bytes from a direct buffer")
+  void get_ReturnsStoredBytes_WhenEntryExists() {
+    cache.put("/v1/users/1", 1L, bytes("{\"id\":1}"), cache.generation(1L));
+
+    try (OffHeapResponseCache.CachedBody hit = cache.get("/v1/users/1")) {
+      ByteBuffer body = hit.body();
+
+      assertThat(body.isDirect()).isTrue();
+      assertThat(body.isReadOnly()).isTrue();
+      assertThat(text(body)).isEqualTo("{\"id\":1}");
+    }
+    assertThat(cache.get("/v1/users/2")).isNull();
+    assertThat(cache.hitRatio()).isEqualTo(0.5);
+  }
+
+  @Test
+  @DisplayName("Should evict least recently used entries when the size limit is reached")
+  void put_EvictsLeastRecentlyUsed_WhenFull() {
+    cache.put("a", 1L, new byte[100], cache.generation(1L));
+    cache.put("b", 2L, new byte[100], cache.generation(2L));
+    cache.get("a").close();
+    cache.put("c", 3L, new byte[100], cache.generation(3L));
+
+    assertThat(cache.get("b")).isNull();
+    assertThat(cache.get("a")).isNotNull();
+    assertThat(cache.get("c")).isNotNull();
+    assertThat(cache.usedBytes()).isEqualTo(256);
+  }
+
+  @Test
+  @DisplayName("Should refuse oversized entries and entries rendered before an invalidation of their owner")
+  void put_RefusesEntry_WhenTooLargeOrStale() {
+    long userRenderedAt = cache.generation(7L);
+    long pageRenderedAt = cache.generation(null);
+    cache.evictUser(7L);
+
+    assertThat(cache.put("/v1/users/7", 7L, new byte[5], userRenderedAt)).isFalse();
+    assertThat(cache.put("/v1/users?page=0", null, new byte[5], pageRenderedAt)).isFalse();
+    assertThat(cache.put("/v1/users/1", 1L, new byte[129], cache.generation(1L))).isFalse();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should keep caching other users while one user is written")
+  void put_AcceptsEntry_WhenAnotherUserWasInvalidated() {
+    long renderedAt = cache.generation(1L);
+    cache.evictUser(7L);
+
+    assertThat(cache.put("/v1/users/1", 1L, new byte[5], renderedAt)).isTrue();
+    assertThat(cache.get("/v1/users/1")).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Should stop serving entries once their time to live has passed")
+  void get_ReturnsNull_WhenEntryExpired() {
+    cache.put("/v1/users/1", 1L, new byte[5], cache.generation(1L));
+    clock.addAndGet(Duration.ofSeconds(29).toNanos());
+    OffHeapResponseCache.CachedBody hit = cache.get("/v1/users/1");
+    assertThat(hit).isNotNull();
+    hit.close();
+
+    clock.addAndGet(Duration.ofSeconds(1).toNanos());
+
+    assertThat(cache.get("/v1/users/1")).isNull();
+    assertThat(cache.size()).isZero();
+    assertThat(cache.usedBytes()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should evict the user entry and list pages on a user change")
+  void evictUser_RemovesUserAndListEntries() {
+    cache.put("/v1/users/1", 1L, new byte[5], cache.generation(1L));
+    cache.put("/v1/users/2", 2L, new byte[5], cache.generation(2L));
+    cache.put("/v1/users?page=0", null, new byte[5], cache.generation(null));
+
+    cache.evictUser(1L);
+
+    assertThat(cache.get("/v1/users/1")).isNull();
+    assertThat(cache.get("/v1/users?page=0")).isNull();
+    assertThat(cache.get("/v1/users/2")).isNotNull();
+    assertThat(cache.usedBytes()).isEqualTo(64);
+
+    cache.clear();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should reuse freed blocks and merge them back into larger ones")
+  void put_ReusesFreedBlocks_WhenEntriesAreRemoved() {
+    for (int i = 0; i < 4; i++) {
+      cache.put("/v1/users/" + i, (long) i, new byte[50], cache.generation((long) i));
+    }
+    assertThat(cache.usedBytes()).isEqualTo(256);
+
+    cache.evictUser(0L);
+    cache.evictUser(1L);
+
+    assertThat(cache.put("/v1/users/9", 9L, new byte[120], cache.generation(9L))).isTrue();
+    assertThat(cache.get("/v1/users/2")).isNotNull();
+    assertThat(cache.get("/v1/users/3")).isNotNull();
+    assertThat(cache.usedBytes()).isEqualTo(256);
+  }
+
+  @Test
+  @DisplayName("Should keep a leased body intact until the lease is closed")
+  void get_KeepsLeasedBody_WhenEntryIsReplaced() {
+    cache.put("a", 1L, bytes("first"), cache.generation(1L));
+    OffHeapResponseCache.CachedBody hit = cache.get("a");
+
+    cache.evictUser(1L);
+    cache.put("b", 2L, new byte[100], cache.generation(2L));
+    cache.put("c", 3L, new byte[100], cache.generation(3L));
+
+    assertThat(text(hit.body())).isEqualTo("first");
+    assertThat(cache.get("b")).isNull();
+    hit.close();
+    assertThat(cache.put("d", 4L, new byte[100], cache.generation(4L))).isTrue();
+    assertThat(cache.get("c")).isNotNull();
+    assertThat(cache.usedBytes()).isEqualTo(256);
+  }
+
+  @Test
+  @DisplayName("Should export usage and hit metrics")
+  void bindTo_ExportsMetrics() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    cache.bindTo(registry);
+    cache.put("a", 1L, new byte[10], cache.generation(1L));
+    cache.get("a").close();
+    cache.get("missing");
+
+    assertThat(registry.get("users.response_cache.offheap.bytes").gauge().value()).isEqualTo(64.0);
+    assertThat(registry.get("users.response_cache.entries").gauge().value()).isEqualTo(1.0);
+    assertThat(registry.get("users.response_cache.hits.total").functionCounter().count()).isEqualTo(1.0);
+    assertThat(registry.get("users.response_cache.misses.total").functionCounter().count()).isEqualTo(1.0);
+    assertThat(registry.get("users.response_cache.evictions.total").functionCounter().count()).isZero();
+    assertThat(registry.get("users.response_cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String text(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
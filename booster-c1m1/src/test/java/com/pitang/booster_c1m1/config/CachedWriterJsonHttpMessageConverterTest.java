@@ -0,0 +1,79 @@
+package com.pitang.booster_c1m1.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.pitang.booster_c1m1.dto.PaginatedResponseDTO;
+import com.pitang.booster_c1m1.dto.UserBatchResponseDTO;
+import com.pitang.booster_c1m1.dto.UserDTO;
+
+@DisplayName("Cached Writer JSON Converter Tests")
+class CachedWriterJsonHttpMessageConverterTest {
+
+  private final ObjectMapper tuned = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+  private final CachedWriterJsonHttpMessageConverter converter = new CachedWriterJsonHttpMessageConverter(tuned);
+  private final MappingJackson2HttpMessageConverter reference =
+      new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+
+  @Test
+  @DisplayName("Should write pages byte-for-byte like the Jackson converter")
+  void write_MatchesJacksonConverter_ForPages() throws Exception {
+    Type pageType = PaginatedResponseDTO.class.getMethod("from", Page.class)
+        .getGenericReturnType();
+    PaginatedResponseDTO<UserDTO> page = new PaginatedResponseDTO<>(
+        List.of(user(1L, "João \"Zé\" Silva", null), user(2L, "Maria 🎉", "2024-06-01T12:30:00.123Z")), 0, 2, 1, 2);
+
+    assertThat(write(converter, page, pageType)).isEqualTo(write(reference, page, pageType));
+    assertThat(write(converter, page, pageType)).isEqualTo(write(reference, page, pageType));
+  }
+
+  @Test
+  @DisplayName("Should write single users and batches byte-for-byte like the Jackson converter")
+  void write_MatchesJacksonConverter_ForUsersAndBatches() throws Exception {
+    UserDTO user = user(7L, "Ana", "2024-01-02T00:00:00Z");
+    UserBatchResponseDTO batch = new UserBatchResponseDTO(List.of(user), List.of(8L));
+
+    assertThat(write(converter, user, UserDTO.class)).isEqualTo(write(reference, user, UserDTO.class));
+    assertThat(write(converter, batch, UserBatchResponseDTO.class))
+        .isEqualTo(write(reference, batch, UserBatchResponseDTO.class));
+  }
+
+  @Test
+  @DisplayName("Should leave other types and all reads to the Jackson converter")
+  void canWriteAndRead_OnlyUserResponses() {
+    assertThat(converter.canWrite(UserDTO.class, UserDTO.class, MediaType.APPLICATION_JSON)).isTrue();
+    assertThat(converter.canWrite(String.class, String.class, MediaType.APPLICATION_JSON)).isFalse();
+    assertThat(converter.canWrite(UserDTO.class, UserDTO.class, MediaType.APPLICATION_XML)).isFalse();
+    assertThat(converter.canRead(UserDTO.class, UserDTO.class, MediaType.APPLICATION_JSON)).isFalse();
+  }
+
+  private static byte[] write(GenericHttpMessageConverter<Object> target,
+      Object body, Type type) throws Exception {
+    MockHttpOutputMessage message = new MockHttpOutputMessage();
+    target.write(body, type, MediaType.APPLICATION_JSON, message);
+    return message.getBodyAsBytes();
+  }
+
+  private static UserDTO user(Long id, String name, String updatedAt) {
+    UserDTO user = new UserDTO();
+    user.setId(id);
+    user.setName(name);
+    user.setEmail("user" + id + "@example.com");
+    user.setCreatedAt("2024-01-01T10:00:00Z");
+    user.setUpdatedAt(updatedAt);
+    return user;
+  }
+}
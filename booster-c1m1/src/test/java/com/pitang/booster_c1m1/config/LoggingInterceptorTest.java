@@ -0,0 +1,146 @@
+package com.pitang.booster_c1m1.config;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.pitang.booster_c1m1.correlation.RequestLogSampler;
+import com.pitang.booster_c1m1.correlation.TraceContext;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Logging interceptor")
+class LoggingInterceptorTest {
+
+  @AfterEach
+  void tearDown() {
+    MDC.clear();
+  }
+
+  @Test
+  @DisplayName("Should echo client ids and continue the caller's trace")
+  void preHandle_PropagatesClientIdsAndTrace() {
+    LoggingInterceptor interceptor = interceptor(List.of("requestId", "traceId", "remoteAddr"));
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/users");
+    request.addHeader("X-Request-ID", "req-42");
+    request.addHeader("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    interceptor.preHandle(request, response, null);
+
+    assertThat(response.getHeader("X-Request-ID")).isEqualTo("req-42");
+    assertThat(response.getHeader("X-Correlation-ID")).isEqualTo("req-42");
+    assertThat(request.getAttribute(LoggingInterceptor.TRACE_CONTEXT)).isInstanceOf(TraceContext.class);
+    assertThat(MDC.getCopyOfContextMap())
+        .containsEntry("requestId", "req-42")
+        .containsEntry("traceId", "4bf92f3577b34da6a3ce929d0e0e4736")
+        .containsEntry("remoteAddr", "127.0.0.1")
+        .doesNotContainKeys("uri", "method", "correlationId");
+
+    interceptor.afterCompletion(request, response, null, null);
+    assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+  }
+
+  @Test
+  @DisplayName("Should generate a request id and record failures when the client sends none")
+  void afterCompletion_RecordsException_WhenRequestFails() {
+    LoggingInterceptor interceptor = interceptor(List.of("requestId", "duration", "exception"));
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/users");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    response.setStatus(500);
+    Logger logger = (Logger) LoggerFactory.getLogger(LoggingInterceptor.class);
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    appender.start();
+    logger.addAppender(appender);
+    try {
+      interceptor.preHandle(request, response, null);
+      interceptor.afterCompletion(request, response, null, new IllegalStateException("boom"));
+    } finally {
+      logger.detachAppender(appender);
+    }
+
+    String requestId = response.getHeader("X-Request-ID");
+    assertThat(requestId).hasSize(26);
+    ILoggingEvent completed = appender.list.get(appender.list.size() - 1);
+    assertThat(completed.getMDCPropertyMap())
+        .containsEntry("requestId", requestId)
+        .containsEntry("exception", "IllegalStateException")
+        .containsKey("duration")
+        .doesNotContainKeys("exceptionMessage", "responseStatus");
+    assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+  }
+
+  @Test
+  @DisplayName("Should suppress ordinary requests but keep failed, rejected and slow ones when sampling")
+  void afterCompletion_LogsOnlyErrorsAndSlowRequests_WhenSampling() throws Exception {
+    RequestLoggingProperties properties = new RequestLoggingProperties();
+    properties.setMdcFields(List.of("requestId"));
+    properties.setSampleRate(0.0);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    RequestLogSampler sampler = new RequestLogSampler(properties, registry);
+    LoggingInterceptor interceptor = new LoggingInterceptor(properties, sampler);
+    Logger logger = (Logger) LoggerFactory.getLogger(LoggingInterceptor.class);
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    appender.start();
+    logger.addAppender(appender);
+    Level level = logger.getLevel();
+    logger.setLevel(Level.INFO);
+    try {
+      complete(interceptor, 200, null);
+      assertThat(appender.list).isEmpty();
+
+      complete(interceptor, 503, null);
+      assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+          .hasSize(2)
+          .satisfies(lines -> assertThat(lines.get(0)).isEqualTo("HTTP Request started - GET /v1/users from 127.0.0.1"))
+          .satisfies(lines -> assertThat(lines.get(1)).startsWith("HTTP Request completed - GET /v1/users - Status: 503"));
+      assertThat(appender.list.get(0).getMDCPropertyMap()).containsKey("requestId");
+
+      complete(interceptor, 404, null);
+      assertThat(appender.list).hasSize(4);
+
+      sampler.update(0.0, Duration.ZERO);
+      complete(interceptor, 200, null);
+      assertThat(appender.list).hasSize(6);
+
+      sampler.update(1.0, Duration.ofSeconds(1));
+      complete(interceptor, 200, null);
+      assertThat(appender.list).hasSize(8);
+    } finally {
+      logger.setLevel(level);
+      logger.detachAppender(appender);
+    }
+
+    assertThat(registry.get("users.request-logs.total").tag("decision", "suppressed").counter().count()).isEqualTo(1);
+    assertThat(registry.get("users.request-logs.total").tag("decision", "error").counter().count()).isEqualTo(2);
+    assertThat(registry.get("users.request-logs.total").tag("decision", "slow").counter().count()).isEqualTo(1);
+    assertThatThrownBy(() -> sampler.update(1.5, Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static void complete(LoggingInterceptor interceptor, int status, Exception ex) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/users");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    interceptor.preHandle(request, response, null);
+    response.setStatus(status);
+    interceptor.afterCompletion(request, response, null, ex);
+  }
+
+  private static LoggingInterceptor interceptor(List<String> mdcFields) {
+    RequestLoggingProperties properties = new RequestLoggingProperties();
+    properties.setMdcFields(mdcFields);
+    return new LoggingInterceptor(properties, new RequestLogSampler(properties, new SimpleMeterRegistry()));
+  }
+}
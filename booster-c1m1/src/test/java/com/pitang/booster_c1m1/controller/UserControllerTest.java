@@ -28,7 +28,10 @@ import com.pitang.booster_c1m1.domain.User;
 import com.pitang.booster_c1m1.dto.CreateUserDTO;
 import com.pitang.booster_c1m1.dto.PaginatedResponseDTO;
 import com.pitang.booster_c1m1.dto.UserDTO;
+import com.pitang.booster_c1m1.idempotency.IdempotencyService;
 import com.pitang.booster_c1m1.mapper.UserMapper;
+import com.pitang.booster_c1m1.service.UserPageStreamer;
+import com.pitang.booster_c1m1.suggest.UserSuggestService;
 import com.pitang.booster_c1m1.service.UserService;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
@@ -43,6 +46,15 @@ public class UserControllerTest {
   @Mock
   private UserService userService;
 
+  @Mock
+  private UserPageStreamer userPageStreamer;
+
+  @Mock
+  private UserSuggestService userSuggestService;
+
+  @Mock
+  private IdempotencyService idempotencyService;
+
   private UserMapper userMapper = UserMapper.INSTANCE;
 
   @InjectMocks
@@ -198,7 +210,7 @@ public class UserControllerTest {
 
     when(userService.createUser(createUserDTO)).thenReturn(createdUserDTO);
 
-    ResponseEntity<UserDTO> response = userController.createUser(createUserDTO);
+    ResponseEntity<UserDTO> response = userController.createUser(createUserDTO, null);
     assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
     assertThat(response.getBody()).isNotNull();
     assertThat(response.getBody().getName()).isEqualTo("New User");
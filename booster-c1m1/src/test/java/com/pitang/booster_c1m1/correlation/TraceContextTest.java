@@ -0,0 +1,93 @@
+package com.pitang.booster_c1m1.correlation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+@DisplayName("Request correlation")
+class TraceContextTest {
+
+  private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+  @Test
+  @DisplayName("Should keep the caller's trace id and flags with a new span id")
+  void continueOrStart_ContinuesValidTraceparent() {
+    TraceContext trace = TraceContext.continueOrStart(TRACEPARENT);
+
+    assertThat(trace.traceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+    assertThat(trace.flags()).isEqualTo("01");
+    assertThat(trace.spanId()).hasSize(16).isNotEqualTo("00f067aa0ba902b7");
+    assertThat(TraceContext.parse(trace.traceparent())).isEqualTo(trace);
+  }
+
+  @Test
+  @DisplayName("Should reject malformed traceparent values and start a new trace instead")
+  void parse_RejectsInvalidTraceparent() {
+    assertThat(TraceContext.parse(null)).isNull();
+    assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7")).isNull();
+    assertThat(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01")).isNull();
+    assertThat(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01")).isNull();
+    assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01")).isNull();
+    assertThat(TraceContext.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")).isNull();
+    assertThat(TraceContext.parse(TRACEPARENT + "-extra")).isNull();
+    assertThat(TraceContext.parse("01" + TRACEPARENT.substring(2) + "-extra")).isNotNull();
+
+    TraceContext started = TraceContext.continueOrStart("garbage");
+    assertThat(started.traceId()).hasSize(32).matches("[0-9a-f]+");
+    assertThat(started.flags()).isEqualTo("01");
+  }
+
+  @Test
+  @DisplayName("Should generate time-ordered, unique 26 character request ids")
+  void next_GeneratesSortableUniqueIds() {
+    Set<String> ids = new HashSet<>();
+    for (int i = 0; i < 10_000; i++) {
+      ids.add(RequestIds.next());
+    }
+    assertThat(ids).hasSize(10_000).allMatch(id -> id.matches("[0-9A-HJKMNP-TV-Z]{26}"));
+
+    String earlier = RequestIds.next(1_700_000_000_000L, ThreadLocalRandom.current());
+    String later = RequestIds.next(1_700_000_000_001L, ThreadLocalRandom.current());
+    assertThat(earlier.substring(0, 10)).isLessThan(later.substring(0, 10));
+  }
+
+  @Test
+  @DisplayName("Should pick the client address from forwarding headers in one scan")
+  void scan_ReadsHeadersInOnePass() {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setRemoteAddr("10.0.0.9");
+    request.addHeader("x-forwarded-for", "203.0.113.7, 10.0.0.1");
+    request.addHeader("X-Request-ID", "req-1");
+    request.addHeader("traceparent", TRACEPARENT);
+
+    RequestHeaders headers = RequestHeaders.scan(request);
+
+    assertThat(headers.requestId()).isEqualTo("req-1");
+    assertThat(headers.traceparent()).isEqualTo(TRACEPARENT);
+    assertThat(headers.clientAddress(request)).isEqualTo("203.0.113.7");
+
+    MockHttpServletRequest direct = new MockHttpServletRequest();
+    direct.setRemoteAddr("10.0.0.9");
+    assertThat(RequestHeaders.scan(direct).clientAddress(direct)).isEqualTo("10.0.0.9");
+    direct.addHeader("X-Real-IP", "198.51.100.4");
+    assertThat(RequestHeaders.scan(direct).clientAddress(direct)).isEqualTo("198.51.100.4");
+  }
+
+  @Test
+  @DisplayName("Should derive MDC keys from the conversion words of a log pattern")
+  void collect_ReadsMdcKeysFromPattern() {
+    Set<String> used = new HashSet<>();
+
+    assertThat(MdcFields.collect("%d %X{requestId} %mdc{traceId:-none} %correlationId %m%n", used)).isTrue();
+    assertThat(used).containsExactlyInAnyOrder("requestId", "traceId", "spanId");
+    assertThat(MdcFields.collect("%d %X %m%n", new HashSet<>())).isFalse();
+    assertThat(MdcFields.of(used).has("uri")).isFalse();
+    assertThat(MdcFields.all().has("uri")).isTrue();
+  }
+}
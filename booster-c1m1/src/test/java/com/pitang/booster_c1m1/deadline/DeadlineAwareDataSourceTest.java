@@ -0,0 +1,98 @@
+package com.pitang.booster_c1m1.deadline;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import com.pitang.booster_c1m1.config.DeadlineProperties;
+
+@DisplayName("Request deadlines")
+class DeadlineAwareDataSourceTest {
+
+  private DeadlineAwareDataSource dataSource;
+
+  @BeforeEach
+  void setUp() {
+    JdbcDataSource h2 = new JdbcDataSource();
+    h2.setURL("jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1");
+    dataSource = new DeadlineAwareDataSource(h2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestDeadline.clear();
+  }
+
+  @Test
+  @DisplayName("Should leave statements untouched when there is no deadline")
+  void prepareStatement_HasNoTimeout_WithoutDeadline() throws Exception {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+      assertThat(statement.getQueryTimeout()).isZero();
+    }
+  }
+
+  @Test
+  @DisplayName("Should round the remaining time up to the statement query timeout")
+  void prepareStatement_AppliesRemainingTime_WhenDeadlineSet() throws Exception {
+    RequestDeadline.start(Duration.ofMillis(2500));
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement prepared = connection.prepareStatement("SELECT 1");
+        Statement plain = connection.createStatement()) {
+      assertThat(prepared.getQueryTimeout()).isEqualTo(3);
+      assertThat(plain.getQueryTimeout()).isEqualTo(3);
+      assertThat(connection).isEqualTo(connection).isNotEqualTo(null);
+      assertThat(connection.hashCode()).isEqualTo(System.identityHashCode(connection));
+    }
+  }
+
+  @Test
+  @DisplayName("Should refuse statements once the deadline has passed")
+  void prepareStatement_Throws_WhenDeadlineExpired() throws Exception {
+    RequestDeadline.start(Duration.ZERO);
+    try (Connection connection = dataSource.getConnection()) {
+      assertThat(RequestDeadline.isExpired()).isTrue();
+      assertThatThrownBy(() -> connection.prepareStatement("SELECT 1")).isInstanceOf(SQLTimeoutException.class);
+      assertThatThrownBy(() -> connection.createStatement()).isInstanceOf(SQLTimeoutException.class);
+    }
+  }
+
+  @Test
+  @DisplayName("Should take the deadline from the header, capped, or from the endpoint default")
+  void interceptor_ResolvesTimeoutFromHeaderOrEndpoint() throws Exception {
+    DeadlineProperties properties = new DeadlineProperties();
+    properties.setMaxTimeout(Duration.ofSeconds(3));
+    properties.getEndpoints().put("toString", Duration.ofSeconds(2));
+    DeadlineInterceptor interceptor = new DeadlineInterceptor(properties);
+    HandlerMethod handler = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("X-Request-Timeout", "60000");
+    interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+    assertThat(RequestDeadline.remainingMillis()).isBetween(2000L, 3000L);
+
+    interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler);
+    assertThat(RequestDeadline.remainingMillis()).isBetween(1000L, 2000L);
+
+    MockHttpServletRequest invalid = new MockHttpServletRequest();
+    invalid.addHeader("X-Request-Timeout", "soon");
+    interceptor.preHandle(invalid, new MockHttpServletResponse(), new Object());
+    assertThat(RequestDeadline.remainingMillis()).isBetween(9000L, 10000L);
+
+    interceptor.afterCompletion(invalid, new MockHttpServletResponse(), handler, null);
+    assertThat(RequestDeadline.remainingMillis()).isNull();
+  }
+}
@@ -0,0 +1,45 @@
+package com.pitang.booster_c1m1.email;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("EmailBloomFilter")
+class EmailBloomFilterTest {
+
+  @Test
+  @DisplayName("Should never report an added email as absent")
+  void mightContain_HasNoFalseNegatives() {
+    EmailBloomFilter filter = new EmailBloomFilter(10_000, 0.01);
+    IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@example.com"));
+
+    assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("user" + i + "@example.com"))).isTrue();
+    assertThat(filter.puts()).isEqualTo(10_000);
+  }
+
+  @Test
+  @DisplayName("Should keep false positives near the configured rate at capacity")
+  void mightContain_StaysNearTargetFalsePositiveRate() {
+    EmailBloomFilter filter = new EmailBloomFilter(10_000, 0.01);
+    IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@example.com"));
+
+    long falsePositives = IntStream.range(0, 100_000)
+        .filter(i -> filter.mightContain("other" + i + "@example.org"))
+        .count();
+
+    assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.015);
+    assertThat(filter.hashCount()).isEqualTo(7);
+    assertThat(filter.sizeInBytes()).isBetween(11_000L, 13_000L);
+  }
+
+  @Test
+  @DisplayName("Should reject invalid sizing")
+  void constructor_RejectsInvalidArguments() {
+    assertThatThrownBy(() -> new EmailBloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new EmailBloomFilter(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
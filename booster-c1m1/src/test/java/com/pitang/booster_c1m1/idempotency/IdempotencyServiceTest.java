@@ -0,0 +1,282 @@
+package com.pitang.booster_c1m1.idempotency;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.pitang.booster_c1m1.config.IdempotencyProperties;
+import com.pitang.booster_c1m1.deadline.RequestDeadline;
+import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.dto.UserDTO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("IdempotencyService")
+class IdempotencyServiceTest {
+
+  private static final int CALLERS = 8;
+  private static final CreateUserDTO REQUEST = CreateUserDTO.builder()
+      .name("Ana Lima").email("ana@example.com").password("password123").build();
+
+  private SimpleMeterRegistry meterRegistry;
+  private IdempotencyProperties properties;
+  private InMemoryIdempotencyStore store;
+  private IdempotencyService service;
+  private AtomicInteger creates;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    properties = new IdempotencyProperties();
+    store = new InMemoryIdempotencyStore(properties.getMaxEntries());
+    service = new IdempotencyService(store, properties, meterRegistry);
+    creates = new AtomicInteger();
+    executor = Executors.newFixedThreadPool(CALLERS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Should replay the stored response to a retry without creating again")
+  void execute_ReplaysStoredResponse_OnRetry() {
+    IdempotentResponse first = service.execute("key-1", REQUEST, this::create);
+    IdempotentResponse retry = service.execute("key-1", REQUEST, this::create);
+
+    assertThat(first.status()).isEqualTo(201);
+    assertThat(first.replayed()).isFalse();
+    assertThat(retry.replayed()).isTrue();
+    assertThat(retry.body().getId()).isEqualTo(first.body().getId());
+    assertThat(creates).hasValue(1);
+    assertThat(count("executed")).isEqualTo(1.0);
+    assertThat(count("replayed")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should make concurrent duplicates wait for the in-flight create")
+  void execute_SharesInFlightCreate_WithConcurrentDuplicates() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    List<Future<IdempotentResponse>> results = new ArrayList<>();
+    for (int i = 0; i < CALLERS; i++) {
+      results.add(executor.submit(() -> service.execute("key-1", REQUEST, () -> {
+        await(release);
+        return create();
+      })));
+    }
+    waitForCount("waited", CALLERS - 1);
+    release.countDown();
+
+    for (Future<IdempotentResponse> result : results) {
+      assertThat(result.get(5, TimeUnit.SECONDS).body().getId()).isEqualTo(1L);
+    }
+    assertThat(creates).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Should let a duplicate with time left run the create when the first request runs out of its own")
+  void execute_RunsDuplicate_WhenFirstRequestDeadlineExceeded() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Future<IdempotentResponse> first = executor.submit(() -> service.execute("key-1", REQUEST, () -> {
+      started.countDown();
+      await(release);
+      throw new QueryTimeoutException("Request deadline exceeded");
+    }));
+    await(started);
+    Future<IdempotentResponse> duplicate = executor.submit(() -> {
+      RequestDeadline.start(Duration.ofSeconds(5));
+      try {
+        return service.execute("key-1", REQUEST, this::create);
+      } finally {
+        RequestDeadline.clear();
+      }
+    });
+    waitForCount("waited", 1);
+    release.countDown();
+
+    assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(QueryTimeoutException.class);
+    IdempotentResponse response = duplicate.get(5, TimeUnit.SECONDS);
+    assertThat(response.status()).isEqualTo(201);
+    assertThat(response.replayed()).isFalse();
+    assertThat(creates).hasValue(1);
+    assertThat(count("retried")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should replay a client error such as an email conflict")
+  void execute_ReplaysClientError() {
+    for (int i = 0; i < 2; i++) {
+      assertThatThrownBy(() -> service.execute("key-1", REQUEST, () -> {
+        creates.incrementAndGet();
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already in use");
+      }))
+          .isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+            assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(e.getReason()).isEqualTo("Email already in use");
+          });
+    }
+    assertThat(creates).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Should release the key after a server error so a retry runs again")
+  void execute_ReleasesKey_OnServerError() {
+    assertThatThrownBy(() -> service.execute("key-1", REQUEST, () -> {
+      throw new IllegalStateException("database down");
+    })).isInstanceOf(IllegalStateException.class);
+
+    assertThat(service.execute("key-1", REQUEST, this::create).replayed()).isFalse();
+    assertThat(creates).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Should keep the key in flight when the result of a completed create cannot be stored")
+  void execute_KeepsKeyInFlight_WhenCompletionFails() {
+    properties.setWaitTimeout(Duration.ofMillis(200));
+    service = new IdempotencyService(new InMemoryIdempotencyStore(properties.getMaxEntries()) {
+      @Override
+      public void complete(String key, int status, UserDTO body, String message) {
+        throw new IllegalStateException("store down");
+      }
+    }, properties, meterRegistry);
+
+    assertThatThrownBy(() -> service.execute("key-1", REQUEST, this::create))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> service.execute("key-1", REQUEST, this::create))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    assertThat(creates).hasValue(1);
+    assertThat(count("unrecorded")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should reject a key reused for a different request with 422")
+  void execute_RejectsKeyReuse_WithDifferentRequest() {
+    service.execute("key-1", REQUEST, this::create);
+    CreateUserDTO other = CreateUserDTO.builder()
+        .name("Ana Lima").email("other@example.com").password("password123").build();
+
+    assertThatThrownBy(() -> service.execute("key-1", other, this::create))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+    assertThat(creates).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Should reject blank and oversized keys")
+  void execute_RejectsInvalidKeys() {
+    properties.setMaxKeyLength(8);
+
+    assertThatThrownBy(() -> service.execute(" ", REQUEST, this::create))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    assertThatThrownBy(() -> service.execute("123456789", REQUEST, this::create))
+        .isInstanceOf(ResponseStatusException.class);
+    assertThat(creates).hasValue(0);
+  }
+
+  @Test
+  @DisplayName("Should wait for a claim held elsewhere and answer 409 if it does not finish in time")
+  void execute_ReturnsConflict_WhenClaimedElsewhereTooLong() {
+    properties.setWaitTimeout(Duration.ofMillis(200));
+    Instant now = Instant.now();
+    store.claim(IdempotencyEntry.inFlight("key-1", IdempotencyService.fingerprint(REQUEST), now,
+        now.plus(Duration.ofHours(1))));
+
+    assertThatThrownBy(() -> service.execute("key-1", REQUEST, this::create))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    assertThat(creates).hasValue(0);
+  }
+
+  @Test
+  @DisplayName("Should take over a claim abandoned past the in-flight timeout")
+  void execute_TakesOverAbandonedClaim() {
+    Instant longAgo = Instant.now().minus(Duration.ofMinutes(5));
+    store.claim(IdempotencyEntry.inFlight("key-1", IdempotencyService.fingerprint(REQUEST), longAgo,
+        longAgo.plus(Duration.ofHours(1))));
+
+    assertThat(service.execute("key-1", REQUEST, this::create).replayed()).isFalse();
+    assertThat(creates).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Should run every request when disabled")
+  void execute_RunsEveryTime_WhenDisabled() {
+    properties.setEnabled(false);
+
+    service.execute("key-1", REQUEST, this::create);
+    service.execute("key-1", REQUEST, this::create);
+
+    assertThat(creates).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("Should drop the least recently used and expired keys from the memory store")
+  void inMemoryStore_IsBoundedAndExpiring() {
+    InMemoryIdempotencyStore bounded = new InMemoryIdempotencyStore(2);
+    Instant now = Instant.now();
+    bounded.claim(IdempotencyEntry.inFlight("a", "f", now, now.plusSeconds(60)));
+    bounded.claim(IdempotencyEntry.inFlight("b", "f", now, now.plusSeconds(1)));
+    bounded.find("a", now);
+    bounded.claim(IdempotencyEntry.inFlight("c", "f", now, now.plusSeconds(60)));
+
+    assertThat(bounded.size()).isEqualTo(2);
+    assertThat(bounded.find("b", now)).isEmpty();
+    assertThat(bounded.find("a", now)).isPresent();
+    assertThat(bounded.find("c", now.plusSeconds(61))).isEmpty();
+    assertThat(bounded.claim(IdempotencyEntry.inFlight("a", "f", now, now.plusSeconds(60)))).isFalse();
+  }
+
+  private UserDTO create() {
+    UserDTO user = new UserDTO();
+    user.setId((long) creates.incrementAndGet());
+    user.setName(REQUEST.getName());
+    user.setEmail(REQUEST.getEmail());
+    return user;
+  }
+
+  private double count(String result) {
+    return meterRegistry.get("users.idempotency.requests.total").tag("result", result).counter().count();
+  }
+
+  private void waitForCount(String result, int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (System.nanoTime() < deadline) {
+      var counter = meterRegistry.find("users.idempotency.requests.total").tag("result", result).counter();
+      if (counter != null && counter.count() >= expected) {
+        return;
+      }
+      Thread.sleep(5);
+    }
+    fail("Duplicates did not wait in time");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.domain.AuditRecord;
+import com.pitang.booster_c1m1.domain.UserChangeType;
+import com.pitang.booster_c1m1.repository.AuditRecordRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Audit Trail Integration Tests")
+public class AuditTrailIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuditRecordRepository auditRecordRepository;
+
+    @Test
+    @DisplayName("Should write an audit record for every committed change")
+    void userWrites_AreAudited() throws Exception {
+        String body = mockMvc.perform(post("/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Audit Person\",\"email\":\"audit.person@example.com\",\"password\":\"secret123\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readTree(body).get("id").asLong();
+        mockMvc.perform(delete("/v1/users/{id}", id)).andExpect(status().isNoContent());
+
+        List<AuditRecord> records = awaitRecords(id, 2);
+
+        assertThat(records).extracting(AuditRecord::getType)
+                .containsExactly(UserChangeType.CREATED, UserChangeType.DELETED);
+        assertThat(records.get(0).getRequestId()).isNotBlank();
+        JsonNode payload = objectMapper.readTree(records.get(0).getPayload());
+        assertThat(payload.get("email").asText()).isEqualTo("audit.person@example.com");
+        assertThat(payload.has("password")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not audit rejected writes")
+    void rejectedWrite_IsNotAudited() throws Exception {
+        mockMvc.perform(delete("/v1/users/{id}", 987654L)).andExpect(status().isNotFound());
+        Thread.sleep(300);
+
+        assertThat(auditRecordRepository.findByUserIdOrderByOccurredAtAsc(987654L)).isEmpty();
+    }
+
+    private List<AuditRecord> awaitRecords(Long userId, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        List<AuditRecord> records = auditRecordRepository.findByUserIdOrderByOccurredAtAsc(userId);
+        while (records.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            records = auditRecordRepository.findByUserIdOrderByOccurredAtAsc(userId);
+        }
+        return records;
+    }
+}
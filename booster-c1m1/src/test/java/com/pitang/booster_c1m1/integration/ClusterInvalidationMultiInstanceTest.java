@@ -0,0 +1,117 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.BoosterC1M1Application;
+import com.pitang.booster_c1m1.cache.ClusterInvalidationListener;
+
+/**
+ * Runs two application instances against one Postgres database and checks that a write on one
+ * instance evicts the cached response on the other. Needs a reachable Postgres, so it only runs when
+ * {@code POSTGRES_TEST_URL} (plus {@code POSTGRES_TEST_USER}/{@code POSTGRES_TEST_PASSWORD}) is set.
+ */
+@EnabledIfEnvironmentVariable(named = "POSTGRES_TEST_URL", matches = ".+")
+@DisplayName("Cluster Invalidation Multi-Instance Tests")
+public class ClusterInvalidationMultiInstanceTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    @DisplayName("Should evict the cached user on every node after a write on one node")
+    void updateOnOneNode_EvictsCachedUserOnOtherNode() throws Exception {
+        awaitListening(nodeB);
+        String email = "cluster-" + UUID.randomUUID() + "@example.com";
+        JsonNode created = send(nodeA, "POST", "/v1/users", body("Cluster User", email));
+        long id = created.get("id").asLong();
+
+        assertThat(send(nodeB, "GET", "/v1/users/" + id, null).get("name").asText()).isEqualTo("Cluster User");
+        assertThat(send(nodeB, "GET", "/v1/users/" + id, null).get("name").asText()).isEqualTo("Cluster User");
+
+        send(nodeA, "PUT", "/v1/users/" + id, body("Renamed On A", email));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        String name = null;
+        while (System.currentTimeMillis() < deadline) {
+            name = send(nodeB, "GET", "/v1/users/" + id, null).get("name").asText();
+            if ("Renamed On A".equals(name)) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        assertThat(name).isEqualTo("Renamed On A");
+
+        send(nodeA, "DELETE", "/v1/users/" + id, null);
+    }
+
+    private ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(BoosterC1M1Application.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + System.getenv("POSTGRES_TEST_URL"),
+                "--spring.datasource.username=" + System.getenv("POSTGRES_TEST_USER"),
+                "--spring.datasource.password=" + System.getenv("POSTGRES_TEST_PASSWORD"),
+                "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--users.response-cache.enabled=true",
+                "--users.cluster-invalidation.enabled=true");
+    }
+
+    private void awaitListening(ConfigurableApplicationContext node) throws InterruptedException {
+        ClusterInvalidationListener listener = node.getBean(ClusterInvalidationListener.class);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!listener.isConnected() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(listener.isConnected()).isTrue();
+    }
+
+    private JsonNode send(ConfigurableApplicationContext node, String method, String path, String body)
+            throws Exception {
+        String port = node.getEnvironment().getProperty("local.server.port");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isLessThan(300);
+        return response.body().isEmpty() ? null : objectMapper.readTree(response.body());
+    }
+
+    private String body(String name, String email) {
+        return "{\"name\":\"" + name + "\",\"email\":\"" + email + "\",\"password\":\"password123\"}";
+    }
+}
@@ -0,0 +1,143 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pitang.booster_c1m1.domain.IdempotencyRecord;
+import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.dto.UserDTO;
+import com.pitang.booster_c1m1.idempotency.DatabaseIdempotencyStore;
+import com.pitang.booster_c1m1.idempotency.IdempotencyService;
+import com.pitang.booster_c1m1.idempotency.IdempotencyStore;
+import com.pitang.booster_c1m1.repository.IdempotencyRecordRepository;
+import com.pitang.booster_c1m1.repository.UserRepository;
+import com.pitang.booster_c1m1.service.UserService;
+
+@SpringBootTest(properties = {"users.idempotency.store=database", "users.idempotency.wait-timeout=300ms"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Database Idempotency Store Integration Tests")
+public class DatabaseIdempotencyIntegrationTest {
+
+    private static final String ANA =
+            "{\"name\":\"Ana Lima\",\"email\":\"ana@example.com\",\"password\":\"password123\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        idempotencyRecordRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should store the response in the table and replay it")
+    void createUser_StoresAndReplaysFromTable() throws Exception {
+        assertThat(idempotencyStore).isInstanceOf(DatabaseIdempotencyStore.class);
+
+        mockMvc.perform(createAna("key-1")).andExpect(status().isCreated());
+        mockMvc.perform(createAna("key-1"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.email").value("ana@example.com"));
+
+        IdempotencyRecord record = idempotencyRecordRepository.findById("key-1").orElseThrow();
+        assertThat(record.getStatus()).isEqualTo(201);
+        assertThat(record.getBody()).contains("ana@example.com").doesNotContain("password123");
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should store the response in the transaction that creates the user")
+    void inWriteTransaction_CommitsUserAndResponseTogether() {
+        Instant now = Instant.now();
+        insert("key-1", fingerprint(), now, now.plus(Duration.ofHours(1)));
+
+        assertThatThrownBy(() -> idempotencyStore.inWriteTransaction(() -> {
+            UserDTO created = userService.createUser(CreateUserDTO.builder()
+                    .name("Ana Lima").email("ana@example.com").password("password123").build());
+            idempotencyStore.complete("key-1", 201, created, null);
+            throw new IllegalStateException("commit failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(userRepository.count()).isZero();
+        assertThat(idempotencyRecordRepository.findById("key-1").orElseThrow().getStatus()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should answer 409 while another instance holds the key")
+    void createUser_Conflicts_WhileClaimedByAnotherInstance() throws Exception {
+        insert("key-1", fingerprint(), Instant.now(), Instant.now().plus(Duration.ofHours(1)));
+
+        mockMvc.perform(createAna("key-1")).andExpect(status().isConflict());
+
+        assertThat(userRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reuse a key whose row expired and purge expired rows")
+    void createUser_ReusesExpiredKey() throws Exception {
+        Instant past = Instant.now().minus(Duration.ofDays(2));
+        insert("key-1", fingerprint(), past, past.plus(Duration.ofDays(1)));
+        insert("key-2", fingerprint(), past, past.plus(Duration.ofDays(1)));
+
+        mockMvc.perform(createAna("key-1"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "false"));
+
+        ((DatabaseIdempotencyStore) idempotencyStore).purgeExpired();
+        assertThat(idempotencyRecordRepository.findAll())
+                .extracting(IdempotencyRecord::getIdempotencyKey)
+                .containsExactly("key-1");
+    }
+
+    private RequestBuilder createAna(String key) {
+        return post("/v1/users")
+                .header(IdempotencyService.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ANA);
+    }
+
+    private void insert(String key, String fingerprint, Instant createdAt, Instant expiresAt) {
+        transactionTemplate.executeWithoutResult(tx -> idempotencyRecordRepository.insert(key, fingerprint,
+                createdAt.truncatedTo(ChronoUnit.MILLIS), expiresAt.truncatedTo(ChronoUnit.MILLIS)));
+    }
+
+    private static String fingerprint() {
+        return IdempotencyService.fingerprint(CreateUserDTO.builder()
+                .name("Ana Lima").email("ana@example.com").password("password123").build());
+    }
+}
@@ -0,0 +1,48 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.pitang.booster_c1m1.deadline.RequestDeadline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Request Deadline Integration Tests")
+public class DeadlineIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should return 504 when the request deadline has already expired")
+    void getAllUsers_Returns504_WhenDeadlineExpired() throws Exception {
+        mockMvc.perform(get("/v1/users").header("X-Request-Timeout", "0"))
+                .andExpect(status().isGatewayTimeout());
+
+        assertThat(meterRegistry.get("users.deadline.exceeded.total").tag("source", "query").counter().count())
+                .isGreaterThanOrEqualTo(1.0);
+        assertThat(RequestDeadline.remainingMillis()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should serve the request when the deadline leaves enough time")
+    void getAllUsers_ReturnsOk_WhenDeadlineNotExpired() throws Exception {
+        mockMvc.perform(get("/v1/users").header("X-Request-Timeout", "5000"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,136 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.email.EmailAvailabilityService;
+import com.pitang.booster_c1m1.repository.UserRepository;
+import com.pitang.booster_c1m1.service.UserService;
+import com.pitang.booster_c1m1.support.QueryBudget;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Email Availability Integration Tests")
+public class EmailAvailabilityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailAvailabilityService emailAvailabilityService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userRepository.save(user("taken@example.com"));
+        emailAvailabilityService.rebuild();
+    }
+
+    @Test
+    @QueryBudget(statements = 0, rows = 0)
+    @DisplayName("Should answer for an unregistered email without a query")
+    void checkEmailAvailability_Unregistered() {
+        assertThat(userService.checkEmailAvailability("nobody@example.com").isAvailable()).isTrue();
+    }
+
+    @Test
+    @QueryBudget(statements = 1, rows = 1)
+    @DisplayName("Should confirm a registered email with one query")
+    void checkEmailAvailability_Registered() {
+        assertThat(userService.checkEmailAvailability("taken@example.com").isAvailable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should check the database on create even when the filter has not seen the email")
+    void createUser_Returns409_WhenEmailOnlyInDatabase() {
+        userRepository.save(user("unseen@example.com"));
+
+        assertThat(emailAvailabilityService.isRegistered("unseen@example.com")).isFalse();
+        assertThatThrownBy(() -> userService.createUser(CreateUserDTO.builder()
+                .name("Ana Lima").email("unseen@example.com").password("password123").build()))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("409");
+    }
+
+    @Test
+    @DisplayName("Should report availability and follow users created through the service")
+    void emailAvailability_FollowsServiceWrites() throws Exception {
+        mockMvc.perform(get("/v1/users/email-availability").param("email", "ana@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("ana@example.com"))
+                .andExpect(jsonPath("$.available").value(true));
+
+        userService.createUser(CreateUserDTO.builder()
+                .name("Ana Lima").email("ana@example.com").password("password123").build());
+
+        mockMvc.perform(get("/v1/users/email-availability").param("email", "ana@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available").value(false));
+    }
+
+    @Test
+    @DisplayName("Should pick up users written behind the service on rebuild and on invalidation")
+    void emailAvailability_CoversWritesBypassingTheService() throws Exception {
+        User bulk = userRepository.save(user("bulk@example.com"));
+        User remote = userRepository.save(user("remote@example.com"));
+        double negativesBefore = lookups("negative");
+
+        assertThat(emailAvailabilityService.isRegistered("bulk@example.com")).isFalse();
+        assertThat(lookups("negative")).isEqualTo(negativesBefore + 1);
+
+        emailAvailabilityService.evictUser(remote.getId());
+        assertThat(emailAvailabilityService.isRegistered("REMOTE@example.com ")).isFalse();
+        assertThat(emailAvailabilityService.isRegistered("remote@example.com")).isTrue();
+
+        emailAvailabilityService.clear();
+        assertThat(emailAvailabilityService.isRegistered(bulk.getEmail())).isTrue();
+        assertThat(lookups("false_positive")).isGreaterThanOrEqualTo(1);
+        assertThat(lookups("registered")).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject a blank email")
+    void emailAvailability_Returns400_WhenEmailBlank() throws Exception {
+        mockMvc.perform(get("/v1/users/email-availability").param("email", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("users.email-filter.lookups.total").tag("result", result).counter().count();
+    }
+
+    private static User user(String email) {
+        return User.builder()
+                .name("Behind Service")
+                .email(email)
+                .password("password123")
+                .createdAt("2024-01-01T10:00:00Z")
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.metrics.HotKeyTracker;
+import com.pitang.booster_c1m1.repository.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Hot Keys Endpoint Integration Tests")
+public class HotKeysEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should expose the most read user ids and search terms")
+    void hotKeys_ReportsHeavyHitters_AfterReads() throws Exception {
+        User user = userRepository.save(User.builder()
+                .name("Hot User")
+                .email("hot-" + System.nanoTime() + "@example.com")
+                .password("password123")
+                .build());
+        for (int i = 0; i < 25; i++) {
+            mockMvc.perform(get("/v1/users/{id}", user.getId())).andExpect(status().isOk());
+        }
+        for (int i = 0; i < 30; i++) {
+            mockMvc.perform(get("/v1/users").param("name", "HotSearch")).andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/actuator/hotkeys"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId.PT1M[0].key").value(user.getId().toString()))
+                .andExpect(jsonPath("$.searchTerm.PT1M[0].key").value(HotKeyTracker.hash("hotsearch")));
+
+        mockMvc.perform(get("/actuator/hotkeys/searchTerm").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.PT10M.length()").value(1));
+
+        userRepository.delete(user);
+    }
+}
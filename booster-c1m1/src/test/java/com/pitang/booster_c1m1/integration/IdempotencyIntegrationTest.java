@@ -0,0 +1,120 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.dto.UserDTO;
+import com.pitang.booster_c1m1.idempotency.IdempotencyService;
+import com.pitang.booster_c1m1.repository.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Idempotency-Key Integration Tests")
+public class IdempotencyIntegrationTest {
+
+    private static final String ANA =
+            "{\"name\":\"Ana Lima\",\"email\":\"ana@example.com\",\"password\":\"password123\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should replay the first response to a retry with the same key")
+    void createUser_ReplaysResponse_WhenKeyIsRepeated() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        MvcResult first = mockMvc.perform(post("/v1/users")
+                .header(IdempotencyService.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ANA))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "false"))
+                .andReturn();
+        UserDTO created = objectMapper.readValue(first.getResponse().getContentAsString(), UserDTO.class);
+
+        mockMvc.perform(post("/v1/users")
+                .header(IdempotencyService.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ANA))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(created.getId()))
+                .andExpect(jsonPath("$.email").value("ana@example.com"));
+
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep answering 409 to retries without a key")
+    void createUser_Conflicts_WithoutKey() throws Exception {
+        mockMvc.perform(post("/v1/users").contentType(MediaType.APPLICATION_JSON).content(ANA))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/v1/users").contentType(MediaType.APPLICATION_JSON).content(ANA))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different user with 422")
+    void createUser_RejectsKeyReuse() throws Exception {
+        String key = UUID.randomUUID().toString();
+        mockMvc.perform(post("/v1/users")
+                .header(IdempotencyService.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ANA))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/v1/users")
+                .header(IdempotencyService.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Bia Souza\",\"email\":\"bia@example.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not store anything for an invalid payload")
+    void createUser_InvalidPayload_DoesNotClaimKey() throws Exception {
+        String key = UUID.randomUUID().toString();
+        mockMvc.perform(post("/v1/users")
+                .header(IdempotencyService.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"\",\"email\":\"invalid\",\"password\":\"\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/v1/users")
+                .header(IdempotencyService.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ANA))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "false"));
+    }
+}
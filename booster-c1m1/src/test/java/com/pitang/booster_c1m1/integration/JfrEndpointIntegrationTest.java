@@ -0,0 +1,138 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("JFR Endpoint Integration Tests")
+public class JfrEndpointIntegrationTest {
+
+    private static final String TOKEN = "Bearer test-jfr-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should refuse profiling requests without the token")
+    void jfr_Unauthorized_WhenTokenMissingOrWrong() throws Exception {
+        mockMvc.perform(get("/actuator/jfr"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/jfrsummary").header(HttpHeaders.AUTHORIZATION, "Bearer nope"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/jfr/continuous").header(HttpHeaders.AUTHORIZATION, "test-jfr-token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should report the recorder status")
+    void status_ReturnsRecorderState() throws Exception {
+        mockMvc.perform(get("/actuator/jfr").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.continuous").value(true));
+    }
+
+    @Test
+    @DisplayName("Should record in the background and stream the finished .jfr file")
+    void record_ReturnsJfrFile_OnceFinished() throws Exception {
+        String id = start("/actuator/jfr");
+
+        mockMvc.perform(get("/actuator/jfr").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(jsonPath("$.onDemand.id").value(id));
+        mockMvc.perform(post("/actuator/jfr")
+                .header(HttpHeaders.AUTHORIZATION, TOKEN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"durationSeconds\":1}"))
+                .andExpect(status().isTooManyRequests());
+
+        byte[] body = poll("/actuator/jfr/" + id).getResponse().getContentAsByteArray();
+        assertThat(Arrays.copyOf(body, 3)).isEqualTo("FLR".getBytes(StandardCharsets.US_ASCII));
+
+        mockMvc.perform(get("/actuator/jfr/" + id).header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should summarize a finished background recording")
+    void recordSummary_ReturnsSummary_OnceFinished() throws Exception {
+        String id = start("/actuator/jfrsummary");
+
+        MvcResult result = poll("/actuator/jfrsummary/" + id);
+        assertThat(objectMapper.readTree(result.getResponse().getContentAsString()).path("executionSamples").isNumber())
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown JFR settings")
+    void record_BadRequest_WhenProfileUnknown() throws Exception {
+        mockMvc.perform(post("/actuator/jfr")
+                .header(HttpHeaders.AUTHORIZATION, TOKEN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"profile\":\"nope\",\"durationSeconds\":1}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should dump and summarize the continuous recording")
+    void continuous_ReturnsDumpAndSummary() throws Exception {
+        mockMvc.perform(get("/v1/users")).andExpect(status().isOk());
+
+        byte[] dump = mockMvc.perform(get("/actuator/jfr/continuous").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(dump).isNotEmpty();
+
+        mockMvc.perform(get("/actuator/jfrsummary").param("limit", "5").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.executionSamples").isNumber())
+                .andExpect(jsonPath("$.hotMethods.length()").value(org.hamcrest.Matchers.lessThanOrEqualTo(5)))
+                .andExpect(jsonPath("$.allocationSites").isArray());
+
+        mockMvc.perform(get("/actuator/jfr/other").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isNotFound());
+    }
+
+    private String start(String path) throws Exception {
+        String body = mockMvc.perform(post(path)
+                .header(HttpHeaders.AUTHORIZATION, TOKEN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"profile\":\"default\",\"durationSeconds\":1}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.state").value("recording"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("id").asText();
+    }
+
+    private MvcResult poll(String path) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            MvcResult result = mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, TOKEN)).andReturn();
+            if (result.getResponse().getStatus() != 202 || System.currentTimeMillis() > deadline) {
+                assertThat(result.getResponse().getStatus()).isEqualTo(200);
+                return result;
+            }
+            Thread.sleep(100);
+        }
+    }
+}
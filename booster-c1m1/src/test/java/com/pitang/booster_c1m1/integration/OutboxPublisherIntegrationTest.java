@@ -0,0 +1,196 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.config.OutboxProperties;
+import com.pitang.booster_c1m1.domain.UserChangeType;
+import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.dto.UserDTO;
+import com.pitang.booster_c1m1.repository.OutboxEventRepository;
+import com.pitang.booster_c1m1.repository.OutboxLockRepository;
+import com.pitang.booster_c1m1.repository.UserRepository;
+import com.pitang.booster_c1m1.service.UserService;
+import com.pitang.booster_c1m1.service.outbox.FileUserEventSink;
+import com.pitang.booster_c1m1.service.outbox.InMemoryUserEventSink;
+import com.pitang.booster_c1m1.service.outbox.OutboxPublisher;
+import com.pitang.booster_c1m1.service.outbox.UserChangeMessage;
+import com.pitang.booster_c1m1.service.outbox.UserEventSink;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Outbox Publisher Integration Tests")
+public class OutboxPublisherIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private OutboxLockRepository outboxLockRepository;
+
+    @Autowired
+    private UserEventSink sink;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private InMemoryUserEventSink memorySink;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        memorySink = (InMemoryUserEventSink) sink;
+        memorySink.drain();
+    }
+
+    @Test
+    @DisplayName("Should record user changes and publish them in order")
+    void drain_PublishesChangesInOrder_WhenUserIsWritten() {
+        UserDTO created = userService.createUser(createUserDTO("outbox@example.com"));
+        userService.updateUser(created.getId(), createUserDTO("outbox.updated@example.com"));
+        userService.deleteUser(created.getId());
+
+        assertThat(outboxEventRepository.count()).isEqualTo(3);
+
+        int published = outboxPublisher.drain();
+
+        assertThat(published).isEqualTo(3);
+        assertThat(outboxEventRepository.count()).isZero();
+        List<UserChangeMessage> messages = memorySink.drain();
+        assertThat(messages)
+                .extracting(UserChangeMessage::type)
+                .containsExactly(UserChangeType.CREATED, UserChangeType.UPDATED, UserChangeType.DELETED);
+        assertThat(messages).allMatch(message -> message.userId().equals(created.getId()));
+        assertThat(messages.get(1).payload()).contains("outbox.updated@example.com");
+        assertThat(messages.get(2).payload()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not record an event when the write is rejected")
+    void createUser_DoesNotRecordEvent_WhenEmailConflicts() {
+        userService.createUser(createUserDTO("conflict@example.com"));
+
+        assertThatThrownBy(() -> userService.createUser(createUserDTO("conflict@example.com")))
+                .isInstanceOf(ResponseStatusException.class);
+
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep events in the outbox while the sink is full")
+    void drain_KeepsPendingEvents_WhenSinkHasNoCapacity() {
+        for (int i = 0; i < 5; i++) {
+            userService.createUser(createUserDTO("fill" + i + "@example.com"));
+        }
+        InMemoryUserEventSink smallSink = new InMemoryUserEventSink(2);
+        OutboxPublisher publisher = publisherFor(smallSink);
+
+        assertThat(publisher.drain()).isEqualTo(2);
+        assertThat(publisher.drain()).isZero();
+        assertThat(outboxEventRepository.count()).isEqualTo(3);
+
+        smallSink.drain();
+        assertThat(publisher.drain()).isEqualTo(2);
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should retry a batch when the sink rejects it")
+    void drain_RetriesBatch_WhenSinkFails() {
+        userService.createUser(createUserDTO("retry@example.com"));
+        AtomicBoolean failing = new AtomicBoolean(true);
+        List<UserChangeMessage> received = new ArrayList<>();
+        OutboxPublisher publisher = publisherFor(batch -> {
+            if (failing.get()) {
+                throw new IOException("sink unavailable");
+            }
+            received.addAll(batch);
+        });
+
+        assertThat(publisher.drain()).isZero();
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+
+        failing.set(false);
+        assertThat(publisher.drain()).isEqualTo(1);
+        assertThat(received).hasSize(1);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should append published events to the file sink as JSON lines")
+    void fileSink_AppendsJsonLines(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("events/user-events.jsonl");
+        FileUserEventSink fileSink = new FileUserEventSink(file, objectMapper);
+        userService.createUser(createUserDTO("file@example.com"));
+
+        assertThat(publisherFor(fileSink).drain()).isEqualTo(1);
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0)).contains("\"type\":\"CREATED\"").contains("file@example.com");
+    }
+
+    @Test
+    @DisplayName("Should report lag of the oldest pending event")
+    void lag_IsReported_WhenEventsArePending() {
+        outboxPublisher.publishPending();
+        assertThat(meterRegistry.get("users.outbox.lag.seconds").gauge().value()).isZero();
+
+        userService.createUser(createUserDTO("lag@example.com"));
+        outboxPublisher.publishPending();
+
+        assertThat(meterRegistry.get("users.outbox.pending").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("users.outbox.lag.seconds").gauge().value()).isGreaterThanOrEqualTo(0.0);
+    }
+
+    private OutboxPublisher publisherFor(UserEventSink eventSink) {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        return new OutboxPublisher(outboxEventRepository, outboxLockRepository, eventSink, properties,
+                transactionTemplate, new SimpleMeterRegistry());
+    }
+
+    private CreateUserDTO createUserDTO(String email) {
+        return CreateUserDTO.builder()
+                .name("Outbox User")
+                .email(email)
+                .password("password123")
+                .build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.cache.OffHeapResponseCache;
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.metrics.HeavyHitters.HeavyHitter;
+import com.pitang.booster_c1m1.metrics.HotKeyTracker;
+import com.pitang.booster_c1m1.repository.UserRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = "users.response-cache.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Response Cache Integration Tests")
+public class ResponseCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OffHeapResponseCache cache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User savedUser;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        cache.clear();
+        savedUser = userRepository.save(User.builder()
+                .name("João Silva")
+                .email("joao@example.com")
+                .password("password123")
+                .createdAt("2024-01-01T10:00:00Z")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should serve the second read of a user from the cache with identical bytes")
+    void getUserById_ServedFromCache_OnSecondRead() throws Exception {
+        String first = mockMvc.perform(get("/v1/users/{id}", savedUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Cache", "MISS"))
+                .andReturn().getResponse().getContentAsString();
+
+        String second = mockMvc.perform(get("/v1/users/{id}", savedUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Cache", "HIT"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("Should give cache hits request ids and resource metrics like rendered responses")
+    void getUserById_CacheHit_PassesThroughInterceptors() throws Exception {
+        mockMvc.perform(get("/v1/users/{id}", savedUser.getId()))
+                .andExpect(header().string("X-Cache", "MISS"));
+        double recorded = allocatedCount();
+
+        mockMvc.perform(get("/v1/users/{id}", savedUser.getId()).header("X-Request-ID", "hit-request"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Cache", "HIT"))
+                .andExpect(header().string("X-Request-ID", "hit-request"))
+                .andExpect(header().string("X-Correlation-ID", "hit-request"));
+
+        assertThat(allocatedCount()).isEqualTo(recorded + 1);
+    }
+
+    @Test
+    @DisplayName("Should count cache hits as reads of the hot key")
+    void getUserById_RecordsHotKey_WhenServedFromCache() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/v1/users/{id}", savedUser.getId())).andExpect(status().isOk());
+        }
+
+        long reads = hotKeyTracker.top(HotKeyTracker.USER_ID, Duration.ofMinutes(1), 100).stream()
+                .filter(hitter -> hitter.key().equals(savedUser.getId().toString()))
+                .mapToLong(HeavyHitter::estimate)
+                .sum();
+        assertThat(reads).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should not cache error responses")
+    void getUserById_NotCached_WhenNotFound() throws Exception {
+        mockMvc.perform(get("/v1/users/{id}", 999999L))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/v1/users/{id}", 999999L))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("X-Cache"));
+    }
+
+    @Test
+    @DisplayName("Should invalidate cached user and list pages when the user is updated")
+    void updateUser_InvalidatesCachedResponses() throws Exception {
+        mockMvc.perform(get("/v1/users/{id}", savedUser.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/v1/users").param("page", "0").param("size", "10")).andExpect(status().isOk());
+        mockMvc.perform(get("/v1/users").param("size", "10").param("page", "0"))
+                .andExpect(header().string("X-Cache", "HIT"));
+
+        CreateUserDTO update = CreateUserDTO.builder()
+                .name("João Atualizado")
+                .email("joao@example.com")
+                .password("password123")
+                .build();
+        mockMvc.perform(put("/v1/users/{id}", savedUser.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/users/{id}", savedUser.getId()))
+                .andExpect(header().string("X-Cache", "MISS"))
+                .andExpect(jsonPath("$.name").value("João Atualizado"));
+        mockMvc.perform(get("/v1/users").param("page", "0").param("size", "10"))
+                .andExpect(header().string("X-Cache", "MISS"))
+                .andExpect(jsonPath("$.content[0].name").value("João Atualizado"));
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache when the client does not accept JSON")
+    void getUserById_BypassesCache_WhenJsonNotAccepted() throws Exception {
+        mockMvc.perform(get("/v1/users/{id}", savedUser.getId()).accept(MediaType.TEXT_PLAIN));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private double allocatedCount() {
+        return meterRegistry.find("users.request.allocated").tag("uri", "/v1/users/{id}").summaries().stream()
+                .mapToDouble(DistributionSummary::count)
+                .sum();
+    }
+}
@@ -0,0 +1,44 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.pitang.booster_c1m1.cache.SecondLevelCacheEvictor;
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.repository.UserRepository;
+import com.pitang.booster_c1m1.support.QueryCount;
+
+@SpringBootTest(properties = "users.l2-cache.enabled=false")
+@ActiveProfiles("test")
+@DisplayName("Second-Level Cache Disabled Integration Tests")
+public class SecondLevelCacheDisabledIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    @DisplayName("Should read users from the database every time when the cache is disabled")
+    void findById_AlwaysHitsDatabase() {
+        Long id = userRepository.save(User.builder()
+                .name("Uncached User")
+                .email("uncached@example.com")
+                .password("password123")
+                .createdAt("2024-01-01T10:00:00Z")
+                .build()).getId();
+
+        assertThat(QueryCount.of(() -> userRepository.findById(id)).statements()).isEqualTo(1);
+        assertThat(QueryCount.of(() -> userRepository.findById(id)).statements()).isEqualTo(1);
+        assertThat(applicationContext.getBeansOfType(SecondLevelCacheEvictor.class)).isEmpty();
+
+        userRepository.deleteById(id);
+    }
+}
@@ -0,0 +1,103 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.pitang.booster_c1m1.cache.SecondLevelCacheEvictor;
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.repository.UserRepository;
+import com.pitang.booster_c1m1.service.UserService;
+import com.pitang.booster_c1m1.support.QueryCount;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Second-Level Cache Integration Tests")
+public class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SecondLevelCacheEvictor secondLevelCacheEvictor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        ids.clear();
+        for (int i = 0; i < 3; i++) {
+            ids.add(userService.createUser(CreateUserDTO.builder()
+                    .name("Cached User " + i)
+                    .email("cached" + i + "@example.com")
+                    .password("password123")
+                    .build()).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve users by id from the cache until evicted")
+    void findById_IsServedFromCache() {
+        // Identity-generated inserts are not put in the cache; the first read fills it.
+        assertThat(QueryCount.of(() -> userRepository.findById(ids.get(0))).statements()).isEqualTo(1);
+        assertThat(QueryCount.of(() -> userRepository.findById(ids.get(0))).statements()).isZero();
+
+        secondLevelCacheEvictor.evictUser(ids.get(0));
+
+        assertThat(QueryCount.of(() -> userRepository.findById(ids.get(0))).statements()).isEqualTo(1);
+        assertThat(QueryCount.of(() -> userRepository.findById(ids.get(0))).statements()).isZero();
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", User.CACHE_REGION, "result", "hit").functionCounter().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated name searches from the query cache until users change")
+    void findByName_IsServedFromQueryCache() {
+        PageRequest page = PageRequest.of(0, 2, Sort.by("id"));
+        assertThat(QueryCount.of(() -> userRepository.findByNameContainingIgnoreCase("cached", page)).statements())
+                .isEqualTo(2);
+        assertThat(QueryCount.of(() -> userRepository.findByNameContainingIgnoreCase("cached", page)).statements())
+                .isZero();
+
+        userService.createUser(CreateUserDTO.builder()
+                .name("Cached User 3").email("cached3@example.com").password("password123").build());
+
+        assertThat(userRepository.findByNameContainingIgnoreCase("cached", page).getTotalElements()).isEqualTo(4);
+        assertThat(meterRegistry.get("hibernate.cache.query.requests").tag("result", "hit").functionCounter().count())
+                .isPositive();
+    }
+
+    @Test
+    @DisplayName("Should drop cached pages and users after a bulk load")
+    void clear_DropsCachedEntries() {
+        userRepository.findByNameContainingIgnoreCase("cached", PageRequest.of(0, 10));
+
+        secondLevelCacheEvictor.clear();
+
+        assertThat(QueryCount.of(() -> userRepository.findById(ids.get(1))).statements()).isEqualTo(1);
+        assertThat(QueryCount.of(() -> userRepository.findByNameContainingIgnoreCase("cached", PageRequest.of(0, 10)))
+                .statements()).isEqualTo(1);
+    }
+}
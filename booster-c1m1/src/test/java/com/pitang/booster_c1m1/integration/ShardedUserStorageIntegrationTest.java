@@ -0,0 +1,84 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.repository.UserRepository;
+import com.pitang.booster_c1m1.sharding.ShardedUserRepository;
+
+@SpringBootTest(properties = {
+        "users.sharding.enabled=true",
+        "users.bulk-load.enabled=false",
+        "users.sharding.shards[0].url=jdbc:h2:mem:users-shard-0;DB_CLOSE_DELAY=-1",
+        "users.sharding.shards[1].url=jdbc:h2:mem:users-shard-1;DB_CLOSE_DELAY=-1",
+        "users.sharding.shards[2].url=jdbc:h2:mem:users-shard-2;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Sharded User Storage Integration Tests")
+public class ShardedUserStorageIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShardedUserRepository shardedUserRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should create, read, list and delete users spread over the shards")
+    void userLifecycle_WorksOnShardedStorage() throws Exception {
+        for (int i = 0; i < 9; i++) {
+            mockMvc.perform(post("/v1/users")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"Sharded " + i + "\",\"email\":\"sharded" + i
+                            + "@example.com\",\"password\":\"secret1\"}"))
+                    .andExpect(status().isCreated());
+        }
+
+        assertThat(shardedUserRepository.count()).isEqualTo(9);
+
+        String body = mockMvc.perform(get("/v1/users").param("size", "4").param("sort", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(4))
+                .andExpect(jsonPath("$.totalElements").value(9))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode first = objectMapper.readTree(body).path("content").get(0);
+        long id = first.path("id").asLong();
+
+        mockMvc.perform(get("/v1/users/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(first.path("email").asText()));
+
+        mockMvc.perform(post("/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Dup\",\"email\":\"sharded0@example.com\",\"password\":\"secret1\"}"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(delete("/v1/users/{id}", id)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/v1/users/{id}", id)).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,107 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.dto.PaginatedResponseDTO;
+import com.pitang.booster_c1m1.repository.UserRepository;
+import com.pitang.booster_c1m1.service.UserService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Streamed Page Integration Tests")
+public class StreamedPageIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userRepository.saveAll(IntStream.range(0, 130)
+                .mapToObj(i -> User.builder()
+                        .name((i % 2 == 0 ? "Even " : "Odd ") + i)
+                        .email("streamed" + i + "@example.com")
+                        .password("password123")
+                        .createdAt("2024-01-01T10:00:00Z")
+                        .updatedAt("2024-01-01T10:00:00Z")
+                        .build())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Should stream large pages in the same JSON shape as regular pages")
+    void getAllUsers_StreamsSameJson_WhenPageIsLarge() throws Exception {
+        for (int page = 0; page < 3; page++) {
+            String expected = objectMapper.writeValueAsString(PaginatedResponseDTO.from(
+                    userService.getAllUsers(PageRequest.of(page, 60, Sort.by("id")), null)));
+
+            String body = mockMvc.perform(get("/v1/users")
+                    .param("page", String.valueOf(page))
+                    .param("size", "60")
+                    .param("sort", "id"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("X-Cache"))
+                    .andReturn().getResponse().getContentAsString();
+
+            assertThat(body).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream filtered pages with their totals")
+    void getAllUsers_StreamsFilteredPage() throws Exception {
+        String expected = objectMapper.writeValueAsString(PaginatedResponseDTO.from(
+                userService.getAllUsers(PageRequest.of(1, 50, Sort.by("id")), "odd")));
+
+        String body = mockMvc.perform(get("/v1/users")
+                .param("page", "1")
+                .param("size", "50")
+                .param("sort", "id")
+                .param("name", "odd"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(15))
+                .andExpect(jsonPath("$.totalElements").value(65))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should clamp page sizes to the configured maximum")
+    void getAllUsers_ClampsPageSize() throws Exception {
+        mockMvc.perform(get("/v1/users").param("size", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(5000))
+                .andExpect(jsonPath("$.content.length()").value(130))
+                .andExpect(jsonPath("$.totalPages").value(1));
+    }
+}
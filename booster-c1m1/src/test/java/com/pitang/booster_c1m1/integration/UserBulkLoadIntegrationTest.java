@@ -0,0 +1,143 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.pitang.booster_c1m1.domain.AuditRecord;
+import com.pitang.booster_c1m1.domain.OutboxEvent;
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.domain.UserChangeType;
+import com.pitang.booster_c1m1.repository.AuditRecordRepository;
+import com.pitang.booster_c1m1.repository.OutboxEventRepository;
+import com.pitang.booster_c1m1.repository.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("User Bulk Load Integration Tests")
+public class UserBulkLoadIntegrationTest {
+
+    private static final String TOKEN = "Bearer test-bulk-load-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private AuditRecordRepository auditRecordRepository;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(User.builder().name("Existing").email("existing@example.com").password("secret1").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should insert new users and skip emails that are taken or repeated")
+    void bulkLoadUsers_InsertsNewUsers_AndRejectsDuplicates() throws Exception {
+        String csv = """
+                name,email,password
+                Ana,ana@example.com,secret1
+                "Silva, Bruno",bruno@example.com,"pa""ss"
+                Again,existing@example.com,secret1
+                Ana Copy,ana@example.com,secret1
+                No Password,nopass@example.com,
+                """;
+
+        mockMvc.perform(post("/v1/admin/users/bulk-load").contentType("text/csv").content(csv)
+                        .header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(5))
+                .andExpect(jsonPath("$.inserted").value(2))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.existingEmails[0]").value("existing@example.com"));
+
+        assertThat(userRepository.count()).isEqualTo(3);
+        User bruno = userRepository.findByNameContainingIgnoreCase("bruno", PageRequest.of(0, 1)).getContent().get(0);
+        assertThat(bruno.getName()).isEqualTo("Silva, Bruno");
+        assertThat(bruno.getPassword()).isEqualTo("pa\"ss");
+        assertThat(bruno.getCreatedAt()).isNotNull();
+        assertThat(userRepository.findByNameContainingIgnoreCase("ana", PageRequest.of(0, 5)).getContent())
+                .extracting(User::getName).containsExactly("Ana");
+        assertThat(outboxEventRepository.findAll())
+                .allSatisfy(event -> assertThat(event.getType()).isEqualTo(UserChangeType.CREATED))
+                .extracting(OutboxEvent::getUserId)
+                .containsExactlyInAnyOrderElementsOf(userRepository.findAll().stream()
+                        .filter(user -> !user.getEmail().equals("existing@example.com"))
+                        .map(User::getId)
+                        .toList());
+        assertThat(outboxEventRepository.findAll()).extracting(OutboxEvent::getPayload)
+                .anySatisfy(payload -> assertThat(payload).contains("\"email\":\"bruno@example.com\""));
+        assertThat(auditRecordRepository.findByUserIdOrderByOccurredAtAsc(bruno.getId()))
+                .singleElement()
+                .satisfies(record -> {
+                    assertThat(record.getType()).isEqualTo(UserChangeType.CREATED);
+                    assertThat(record.getRequestId()).isNotBlank();
+                    assertThat(record.getPayload()).contains("\"email\":\"bruno@example.com\"");
+                });
+
+        mockMvc.perform(get("/v1/admin/users/bulk-load").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.running").value(false))
+                .andExpect(jsonPath("$.rowsRead").value(5));
+    }
+
+    @Test
+    @DisplayName("Should leave the users table untouched when the input is malformed")
+    void bulkLoadUsers_RollsBack_WhenCsvIsMalformed() throws Exception {
+        String csv = "name,email,password\r\nAna,ana@example.com,secret1\r\n\"Broken,broken@example.com,secret1\r\n";
+
+        mockMvc.perform(post("/v1/admin/users/bulk-load").contentType("text/csv").content(csv)
+                        .header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isBadRequest());
+
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should accept an empty upload")
+    void bulkLoadUsers_ReturnsZeroCounts_WhenInputIsEmpty() throws Exception {
+        mockMvc.perform(post("/v1/admin/users/bulk-load").contentType("text/csv").content("")
+                        .header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(0))
+                .andExpect(jsonPath("$.inserted").value(0));
+    }
+
+    @Test
+    @DisplayName("Should refuse loads without the bearer token")
+    void bulkLoadUsers_ReturnsUnauthorized_WithoutToken() throws Exception {
+        mockMvc.perform(post("/v1/admin/users/bulk-load").contentType("text/csv")
+                        .content("name,email,password\nAna,ana@example.com,secret1\n"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/v1/admin/users/bulk-load").header(HttpHeaders.AUTHORIZATION, "Bearer nope"))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+}
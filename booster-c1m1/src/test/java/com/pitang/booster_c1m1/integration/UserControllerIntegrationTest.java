@@ -135,6 +135,47 @@ public class UserControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Should get users by ids in request order when ids parameter is provided")
+    void getUsersByIds_ReturnsUsersInRequestOrder_WhenIdsParameterProvided() throws Exception {
+        User anotherUser = User.builder()
+                .name("Pedro Costa")
+                .email("pedro@example.com")
+                .password("password789")
+                .build();
+        User first = userRepository.save(testUser);
+        User second = userRepository.save(anotherUser);
+
+        mockMvc.perform(get("/v1/users")
+                .param("ids", second.getId() + "," + first.getId() + ",999999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(second.getId()))
+                .andExpect(jsonPath("$.content[1].id").value(first.getId()))
+                .andExpect(jsonPath("$.missingIds[0]").value(999999));
+    }
+
+    @Test
+    @DisplayName("Should get users by ids from request body")
+    void getUsersByIdsBatch_ReturnsUsers_WhenBodyProvided() throws Exception {
+        User savedUser = userRepository.save(testUser);
+
+        mockMvc.perform(post("/v1/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [" + savedUser.getId() + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email").value("joao@example.com"))
+                .andExpect(jsonPath("$.missingIds").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when batch request has no ids")
+    void getUsersByIdsBatch_Returns400_WhenIdsAreEmpty() throws Exception {
+        mockMvc.perform(post("/v1/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should create user when valid data is provided")
     void createUser_CreatesUser_WhenValidDataProvided() throws Exception {
@@ -256,6 +297,59 @@ public class UserControllerIntegrationTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    @DisplayName("Should patch only the provided fields with a merge patch")
+    void patchUser_UpdatesProvidedFields_WhenMergePatchProvided() throws Exception {
+        User savedUser = userRepository.save(testUser);
+
+        mockMvc.perform(patch("/v1/users/{id}", savedUser.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"name\": \"João Patch\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("João Patch"))
+                .andExpect(jsonPath("$.email").value("joao@example.com"));
+
+        User patchedUser = userRepository.findById(savedUser.getId()).orElseThrow();
+        assertThat(patchedUser.getName()).isEqualTo("João Patch");
+        assertThat(patchedUser.getPassword()).isEqualTo("password123");
+        assertThat(patchedUser.getUpdatedAt()).isNotEqualTo("2024-01-01T10:00:00Z");
+    }
+
+    @Test
+    @DisplayName("Should return 400 and leave the user unchanged when a merge patch sets a field to null")
+    void patchUser_Returns400_WhenFieldIsExplicitlyNull() throws Exception {
+        User savedUser = userRepository.save(testUser);
+
+        mockMvc.perform(patch("/v1/users/{id}", savedUser.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"name\": null, \"email\": \"outro@example.com\"}"))
+                .andExpect(status().isBadRequest());
+
+        User unchangedUser = userRepository.findById(savedUser.getId()).orElseThrow();
+        assertThat(unchangedUser.getName()).isEqualTo("João Silva");
+        assertThat(unchangedUser.getEmail()).isEqualTo("joao@example.com");
+    }
+
+    @Test
+    @DisplayName("Should return 400 when patching with invalid data")
+    void patchUser_Returns400_WhenInvalidDataProvided() throws Exception {
+        User savedUser = userRepository.save(testUser);
+
+        mockMvc.perform(patch("/v1/users/{id}", savedUser.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"email\": \"invalid-email\", \"password\": \"123\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return 404 when patching non-existent user")
+    void patchUser_Returns404_WhenUserNotFound() throws Exception {
+        mockMvc.perform(patch("/v1/users/{id}", 999L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Nobody\"}"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Should delete user when user exists")
     void deleteUser_DeletesUser_WhenUserExists() throws Exception {
@@ -0,0 +1,166 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.dto.UpdateUserDTO;
+import com.pitang.booster_c1m1.repository.UserRepository;
+import com.pitang.booster_c1m1.service.UserService;
+import com.pitang.booster_c1m1.support.QueryBudget;
+import com.pitang.booster_c1m1.support.QueryCount;
+
+/**
+ * Statement and row budgets for every {@link UserService} operation. A failure lists the statements
+ * that ran; raise a budget only when the extra round trip is intended.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("UserService Query Budget Tests")
+public class UserServiceQueryBudgetTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        ids.clear();
+        for (int i = 0; i < 3; i++) {
+            ids.add(userRepository.save(User.builder()
+                    .name("Budget User " + i)
+                    .email("budget" + i + "@example.com")
+                    .password("password123")
+                    .createdAt("2024-01-01T10:00:00Z")
+                    .build()).getId());
+        }
+        // Reads by id are budgeted against a warm second-level cache.
+        userRepository.findAllById(ids);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @QueryBudget(statements = 2, rows = 3)
+    @DisplayName("getAllUsers")
+    void getAllUsers() {
+        assertThat(userService.getAllUsers(PageRequest.of(0, 2), null).getContent()).hasSize(2);
+    }
+
+    @Test
+    @QueryBudget(statements = 1, rows = 3)
+    @DisplayName("getAllUsers with a name filter")
+    void getAllUsers_WithName() {
+        assertThat(userService.getAllUsers(PageRequest.of(0, 10), "budget").getContent()).hasSize(3);
+    }
+
+    @Test
+    @QueryBudget(statements = 0, rows = 0)
+    @DisplayName("getUserById")
+    void getUserById() {
+        assertThat(userService.getUserById(ids.get(0)).getEmail()).isEqualTo("budget0@example.com");
+    }
+
+    @Test
+    @QueryBudget(statements = 1, rows = 0)
+    @DisplayName("getUserById for a missing user")
+    void getUserById_NotFound() {
+        assertThatThrownBy(() -> userService.getUserById(999_999L)).isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    @QueryBudget(statements = 1, rows = 3)
+    @DisplayName("getUsersByIds")
+    void getUsersByIds() {
+        assertThat(userService.getUsersByIds(ids).getContent()).hasSize(3);
+    }
+
+    @Test
+    @QueryBudget(statements = 3, rows = 2)
+    @DisplayName("createUser")
+    void createUser() {
+        userService.createUser(CreateUserDTO.builder()
+                .name("New User").email("new@example.com").password("password123").build());
+    }
+
+    @Test
+    @QueryBudget(statements = 1, rows = 1)
+    @DisplayName("createUser with a taken email")
+    void createUser_Conflict() {
+        assertThatThrownBy(() -> userService.createUser(CreateUserDTO.builder()
+                .name("Dup").email("budget0@example.com").password("password123").build()))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    @QueryBudget(statements = 4, rows = 2)
+    @DisplayName("updateUser")
+    void updateUser() {
+        userService.updateUser(ids.get(0), CreateUserDTO.builder()
+                .name("Renamed").email("renamed@example.com").password("password123").build());
+    }
+
+    @Test
+    @QueryBudget(statements = 3, rows = 2)
+    @DisplayName("patchUser")
+    void patchUser() {
+        userService.patchUser(ids.get(0), UpdateUserDTO.builder().name("Patched").build());
+    }
+
+    @Test
+    @QueryBudget(statements = 4, rows = 2)
+    @DisplayName("patchUser changing the email")
+    void patchUser_WithEmail() {
+        userService.patchUser(ids.get(0), UpdateUserDTO.builder().email("patched@example.com").build());
+    }
+
+    @Test
+    @QueryBudget(statements = 2, rows = 1)
+    @DisplayName("deleteUser")
+    void deleteUser() {
+        userService.deleteUser(ids.get(0));
+    }
+
+    @Test
+    @DisplayName("GET /v1/users/{id} through the web layer")
+    void getUserById_OverHttp() {
+        QueryCount count = QueryCount.of(() -> {
+            try {
+                mockMvc.perform(get("/v1/users/{id}", ids.get(1))).andExpect(status().isOk());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        count.assertWithin(0, 0);
+    }
+}
@@ -0,0 +1,77 @@
+package com.pitang.booster_c1m1.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.pitang.booster_c1m1.warmup.UserWarmup;
+import com.pitang.booster_c1m1.warmup.WarmupFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "users.warmup.enabled=true",
+        "users.warmup.iterations=50",
+        "users.warmup.concurrency=2",
+        "users.warmup.timeout=20s"
+})
+@DisplayName("Warm-up Integration Tests")
+public class WarmupIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserWarmup warmup;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should report readiness once warm-up has finished")
+    void readiness_Up_AfterWarmup() throws Exception {
+        awaitWarmup();
+
+        assertThat(warmup.getState()).isEqualTo(UserWarmup.State.DONE);
+        assertThat(warmup.getRounds()).isEqualTo(100);
+        assertThat(meterRegistry.get("users.warmup.duration").timeGauge().value()).isPositive();
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    @DisplayName("Should send warm-up requests through the server while keeping them out of request metrics")
+    void warmupRequests_LeftOutOfRequestMetrics() throws Exception {
+        awaitWarmup();
+
+        assertThat(warmup.getRounds()).isEqualTo(100);
+        assertThat(meterRegistry.find("http.server.requests").tag("uri", "/v1/users").timers()).isEmpty();
+        assertThat(meterRegistry.find("users.request.allocated").tag("uri", "/v1/users").summaries()).isEmpty();
+
+        mockMvc.perform(get("/v1/users").header(WarmupFilter.HEADER, "not-the-token"))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.find("users.request.allocated").tag("uri", "/v1/users").summaries()).hasSize(1);
+    }
+
+    private void awaitWarmup() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (warmup.getState() != UserWarmup.State.DONE && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+}
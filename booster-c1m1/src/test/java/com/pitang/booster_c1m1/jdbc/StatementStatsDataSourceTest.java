@@ -0,0 +1,114 @@
+package com.pitang.booster_c1m1.jdbc;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.pitang.booster_c1m1.config.JdbcStatsProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("JDBC statement stats")
+class StatementStatsDataSourceTest {
+
+  private SimpleMeterRegistry registry;
+  private JdbcStatsProperties properties;
+  private StatementStatsDataSource dataSource;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    registry = new SimpleMeterRegistry();
+    properties = new JdbcStatsProperties();
+    properties.setRepeatedStatementThreshold(3);
+    properties.setMaxStatementMetrics(3);
+    properties.setSlowThreshold(Duration.ofMinutes(1));
+    JdbcDataSource h2 = new JdbcDataSource();
+    h2.setURL("jdbc:h2:mem:statement-stats;DB_CLOSE_DELAY=-1");
+    StatementRecorder recorder = new StatementRecorder(properties, registry);
+    dataSource = new StatementStatsDataSource(h2, () -> recorder);
+    try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE IF NOT EXISTS people (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+      statement.execute("MERGE INTO people KEY (id) VALUES (1, 'Ana'), (2, 'Bruno'), (3, 'Caio')");
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    StatementStats.clear();
+  }
+
+  @Test
+  @DisplayName("Should fold literals, whitespace and IN lists into one fingerprint")
+  void normalize_FoldsValues() {
+    assertThat(StatementRecorder.normalize("select *\n  from people where id = 42 and name = 'O''Hara'"))
+        .isEqualTo("select * from people where id = ? and name = ?");
+    assertThat(StatementRecorder.normalize("select u1_0.id from users u1_0 where u1_0.id in (?,?, ?)"))
+        .isEqualTo("select u1_0.id from users u1_0 where u1_0.id in (?)");
+    assertThat(StatementRecorder.normalize(null)).isEqualTo("other");
+    assertThat(StatementRecorder.normalize("select " + "x, ".repeat(100) + "y")).hasSize(200);
+  }
+
+  @Test
+  @DisplayName("Should count statements per request and flag repeated ones")
+  void requestCompleted_FlagsRepeatedStatements() throws Exception {
+    StatementStatsInterceptor interceptor = new StatementStatsInterceptor(properties,
+        new StatementRecorder(properties, registry));
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/users");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    interceptor.preHandle(request, response, null);
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement byId = connection.prepareStatement("SELECT name FROM people WHERE id = ?")) {
+      for (long id = 1; id <= 3; id++) {
+        byId.setLong(1, id);
+        try (ResultSet rs = byId.executeQuery()) {
+          assertThat(rs.next()).isTrue();
+        }
+      }
+      try (Statement statement = connection.createStatement()) {
+        statement.executeQuery("SELECT COUNT(*) FROM people").close();
+      }
+    }
+
+    StatementStats stats = StatementStats.current();
+    assertThat(stats.count()).isEqualTo(4);
+    assertThat(stats.totalNanos()).isPositive();
+    assertThat(stats.repeated(3)).containsOnly(entry("SELECT name FROM people WHERE id = ?", 3));
+
+    interceptor.afterCompletion(request, response, null, null);
+
+    assertThat(StatementStats.current()).isNull();
+    assertThat(registry.get("users.jdbc.n_plus_one.total").counter().count()).isEqualTo(1);
+    assertThat(registry.get("users.jdbc.request.statements").summary().totalAmount()).isEqualTo(4);
+    assertThat(registry.get("users.jdbc.statement").tag("sql", "SELECT name FROM people WHERE id = ?")
+        .timer().count()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Should count slow statements and cap the number of statement timers")
+  void executed_CountsSlowStatementsAndCapsTimers() {
+    properties.setSlowThreshold(Duration.ZERO);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    StatementRecorder recorder = new StatementRecorder(properties, registry);
+
+    for (int i = 0; i < 5; i++) {
+      recorder.executed("SELECT " + i + " FROM t" + i, 1_000);
+    }
+
+    assertThat(registry.get("users.jdbc.slow.total").counter().count()).isEqualTo(5);
+    assertThat(registry.find("users.jdbc.statement").timers()).hasSize(4);
+    assertThat(registry.get("users.jdbc.statement").tag("sql", "other").timer().count()).isEqualTo(2);
+  }
+}
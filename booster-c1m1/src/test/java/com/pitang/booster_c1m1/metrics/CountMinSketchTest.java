@@ -0,0 +1,24 @@
+package com.pitang.booster_c1m1.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CountMinSketch")
+class CountMinSketchTest {
+
+  @Test
+  @DisplayName("Should keep keys with the same String hash code apart")
+  void estimate_SeparatesKeys_WhenStringHashCodesCollide() {
+    assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+    CountMinSketch sketch = new CountMinSketch(4, 1024, 42L);
+
+    for (int i = 0; i < 100; i++) {
+      sketch.add("Aa");
+    }
+
+    assertThat(sketch.estimate("Aa")).isEqualTo(100);
+    assertThat(sketch.estimate("BB")).isZero();
+  }
+}
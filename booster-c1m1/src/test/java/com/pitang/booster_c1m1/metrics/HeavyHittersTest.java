@@ -0,0 +1,89 @@
+package com.pitang.booster_c1m1.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pitang.booster_c1m1.metrics.HeavyHitters.HeavyHitter;
+
+@DisplayName("HeavyHitters")
+class HeavyHittersTest {
+
+  private final AtomicLong now = new AtomicLong(1_000_000);
+  private HeavyHitters hitters;
+
+  @BeforeEach
+  void setUp() {
+    hitters = new HeavyHitters(3, Duration.ofSeconds(10), 6, 4, 256, now::get);
+  }
+
+  @Test
+  @DisplayName("Should report the most frequent keys first")
+  void top_ReturnsMostFrequentKeys() {
+    record("1", 50);
+    record("2", 30);
+    record("3", 10);
+    for (int i = 100; i < 400; i++) {
+      hitters.record(String.valueOf(i));
+    }
+
+    List<HeavyHitter> top = hitters.top(Duration.ofMinutes(1), 2);
+
+    assertThat(top).extracting(HeavyHitter::key).containsExactly("1", "2");
+    assertThat(top.get(0).estimate()).isGreaterThanOrEqualTo(50);
+  }
+
+  @Test
+  @DisplayName("Should merge buckets within the window and forget buckets outside it")
+  void top_CoversOnlyRequestedWindow() {
+    record("old", 40);
+    now.addAndGet(Duration.ofSeconds(20).toMillis());
+    record("new", 5);
+
+    assertThat(hitters.top(Duration.ofSeconds(10), 5)).extracting(HeavyHitter::key).containsExactly("new");
+    assertThat(hitters.top(Duration.ofMinutes(1), 5)).extracting(HeavyHitter::key).containsExactly("old", "new");
+
+    now.addAndGet(Duration.ofMinutes(2).toMillis());
+    assertThat(hitters.top(Duration.ofMinutes(1), 5)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should keep memory fixed and report it")
+  void sizeInBytes_IsFixed() {
+    long before = hitters.sizeInBytes();
+    for (int i = 0; i < 10_000; i++) {
+      hitters.record("key-" + i);
+    }
+
+    assertThat(hitters.sizeInBytes()).isEqualTo(before).isEqualTo(6L * 4 * 256 * Integer.BYTES);
+    assertThat(hitters.top(Duration.ofMinutes(1), 10)).hasSizeLessThanOrEqualTo(3);
+    assertThat(hitters.maxWindow()).isEqualTo(Duration.ofMinutes(1));
+  }
+
+  @Test
+  @DisplayName("Count-min sketch should never undercount")
+  void countMinSketch_NeverUndercounts() {
+    CountMinSketch sketch = new CountMinSketch(4, 64);
+    for (int i = 0; i < 1000; i++) {
+      sketch.add("k" + (i % 100));
+    }
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(sketch.estimate("k" + i)).isGreaterThanOrEqualTo(10);
+    }
+    sketch.reset();
+    assertThat(sketch.estimate("k1")).isZero();
+  }
+
+  private void record(String key, int times) {
+    for (int i = 0; i < times; i++) {
+      hitters.record(key);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.pitang.booster_c1m1.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.sun.management.ThreadMXBean;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Per-request resource usage")
+class ResourceUsageInterceptorTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ResourceUsageInterceptor interceptor = new ResourceUsageInterceptor(registry);
+
+  @Test
+  @DisplayName("Should record allocated bytes and CPU time with http.server.requests tags")
+  void afterCompletion_RecordsAllocationAndCpu() {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/users/7");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/v1/users/{id}");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    interceptor.preHandle(request, response, null);
+    byte[][] garbage = new byte[64][];
+    for (int i = 0; i < garbage.length; i++) {
+      garbage[i] = new byte[16 * 1024];
+    }
+    interceptor.afterCompletion(request, response, null, null);
+
+    DistributionSummary allocated = registry.get("users.request.allocated")
+        .tag("method", "GET").tag("uri", "/v1/users/{id}").tag("status", "200")
+        .tag("outcome", "SUCCESS").tag("exception", "none")
+        .summary();
+    assertThat(allocated.count()).isEqualTo(1);
+    assertThat(allocated.totalAmount()).isGreaterThanOrEqualTo(garbage.length * 16 * 1024);
+    assertThat(registry.get("users.request.cpu").tag("uri", "/v1/users/{id}").summary().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should tag failed requests with the exception")
+  void afterCompletion_TagsException() {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/users");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/v1/users");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    response.setStatus(500);
+
+    interceptor.preHandle(request, response, null);
+    interceptor.afterCompletion(request, response, null, new IllegalStateException("boom"));
+
+    assertThat(registry.get("users.request.allocated")
+        .tag("status", "500").tag("outcome", "SERVER_ERROR").tag("exception", "IllegalStateException")
+        .summary().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should skip requests that complete on another thread")
+  void afterCompletion_SkipsOtherThread() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/users");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    interceptor.preHandle(request, response, null);
+
+    Thread other = new Thread(() -> interceptor.afterCompletion(request, response, null, null));
+    other.start();
+    other.join();
+    interceptor.afterCompletion(new MockHttpServletRequest(), response, null, null);
+
+    assertThat(registry.find("users.request.allocated").summaries()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should take the end readings before building tags and registering meters")
+  void afterCompletion_ReadsCountersBeforeRegisteringMeters() {
+    AtomicBoolean meterAdded = new AtomicBoolean();
+    registry.config().onMeterAdded(meter -> meterAdded.set(true));
+    ThreadMXBean threads = mock(ThreadMXBean.class);
+    when(threads.isThreadAllocatedMemorySupported()).thenReturn(true);
+    when(threads.isThreadAllocatedMemoryEnabled()).thenReturn(true);
+    when(threads.isCurrentThreadCpuTimeSupported()).thenReturn(true);
+    when(threads.isThreadCpuTimeEnabled()).thenReturn(true);
+    when(threads.getCurrentThreadAllocatedBytes()).thenReturn(1_000L, 1_500L, 1_000_000L);
+    when(threads.getCurrentThreadCpuTime()).thenAnswer(invocation -> meterAdded.get() ? 9_000_000_000L : 0L);
+    ResourceUsageInterceptor measured = new ResourceUsageInterceptor(registry, threads);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/users");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    measured.preHandle(request, response, null);
+    measured.afterCompletion(request, response, null, null);
+
+    assertThat(registry.get("users.request.allocated").summary().totalAmount()).isEqualTo(500);
+    assertThat(registry.get("users.request.cpu").summary().totalAmount()).isZero();
+  }
+}
@@ -0,0 +1,117 @@
+package com.pitang.booster_c1m1.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pitang.booster_c1m1.config.JfrProperties;
+
+@DisplayName("JFR Recorder Tests")
+class JfrRecorderTest {
+
+  private final JfrProperties properties = new JfrProperties();
+  private final JfrRecorder recorder = new JfrRecorder(properties);
+
+  @Test
+  @DisplayName("Should attribute execution samples to application frames")
+  void summarize_ReportsHotMethods_OfApplicationPackages() throws Exception {
+    AtomicBoolean busy = new AtomicBoolean(true);
+    CompletableFuture<Void> worker = CompletableFuture.runAsync(() -> spin(busy));
+    Path file = recorder.record("profile", Duration.ofSeconds(1)).file().get(10, TimeUnit.SECONDS);
+    busy.set(false);
+    worker.join();
+
+    try {
+      JfrSummary summary = recorder.summarize(file, 3);
+
+      assertThat(summary.executionSamples()).isPositive();
+      assertThat(summary.hotMethods()).hasSizeLessThanOrEqualTo(3)
+          .anySatisfy(site -> assertThat(site.site()).startsWith(JfrRecorderTest.class.getName() + ".spin"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  @DisplayName("Should cap the recording length at the configured maximum")
+  void record_CapsDuration() throws Exception {
+    properties.setMaxDuration(Duration.ofMillis(200));
+
+    long start = System.nanoTime();
+    Path file = recorder.record("default", Duration.ofMinutes(10)).file().get(10, TimeUnit.SECONDS);
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+    assertThat(Files.size(file)).isPositive();
+    Files.delete(file);
+  }
+
+  @Test
+  @DisplayName("Should return at once and hand the finished file over exactly once")
+  void record_RunsInBackground_AndFileIsTakenOnce() throws Exception {
+    properties.setMaxDuration(Duration.ofSeconds(30));
+
+    long start = System.nanoTime();
+    OnDemandRecording recording = recorder.record("default", Duration.ofSeconds(3));
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+    assertThat(recorder.isOnDemandRunning()).isTrue();
+    assertThat(recorder.take(recording.id())).isNull();
+    assertThatThrownBy(() -> recorder.record("default", Duration.ofSeconds(1)))
+        .isInstanceOf(IllegalStateException.class);
+
+    recording.file().get(10, TimeUnit.SECONDS);
+    assertThat(recorder.isOnDemandRunning()).isFalse();
+    Path file = recorder.take(recording.id());
+    assertThat(Files.size(file)).isPositive();
+    assertThat(recorder.take(recording.id())).isNull();
+    assertThat(recorder.onDemand(recording.id())).isNull();
+    Files.delete(file);
+  }
+
+  @Test
+  @DisplayName("Should reject unknown settings")
+  void record_Throws_WhenProfileUnknown() {
+    assertThatThrownBy(() -> recorder.record("missing", Duration.ofSeconds(1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should only dump the continuous recording while it runs")
+  void dumpContinuous_FollowsLifecycle() throws Exception {
+    assertThat(recorder.dumpContinuous()).isNull();
+
+    properties.getContinuous().setEnabled(true);
+    recorder.start();
+    try {
+      Path file = recorder.dumpContinuous();
+      assertThat(recorder.isContinuousRunning()).isTrue();
+      assertThat(Files.size(file)).isPositive();
+      Files.delete(file);
+    } finally {
+      recorder.stop();
+    }
+
+    assertThat(recorder.isContinuousRunning()).isFalse();
+  }
+
+  private static void spin(AtomicBoolean busy) {
+    List<Double> values = new ArrayList<>();
+    while (busy.get()) {
+      values.add(Math.sqrt(values.size()));
+      if (values.size() > 10_000) {
+        values.clear();
+      }
+    }
+  }
+}
@@ -0,0 +1,222 @@
+package com.pitang.booster_c1m1.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.pitang.booster_c1m1.deadline.RequestDeadline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("RequestCoalescer")
+class RequestCoalescerTest {
+
+  private static final int CALLERS = 8;
+
+  private SimpleMeterRegistry meterRegistry;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    executor = Executors.newFixedThreadPool(CALLERS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Should run the loader once for concurrent identical calls")
+  void execute_SharesOneCall_WhenCallsAreConcurrent() throws Exception {
+    RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, Duration.ofSeconds(5));
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<Future<String>> results = submitAll(() -> coalescer.execute("getUserById", 1L, () -> {
+      loads.incrementAndGet();
+      await(release);
+      return "user-1";
+    }));
+    waitForCoalesced(CALLERS - 1);
+    release.countDown();
+
+    for (Future<String> result : results) {
+      assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("user-1");
+    }
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Should flag the requests that shared another caller's flight, and only those")
+  void joinedFlight_IsTrueOnlyForFollowers() throws Exception {
+    RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, Duration.ofSeconds(5));
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<Future<String>> results = submitAll(() -> {
+      MockHttpServletRequest request = new MockHttpServletRequest();
+      RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+      try {
+        coalescer.execute("getUserById", 1L, () -> {
+          await(release);
+          return "user-1";
+        });
+      } finally {
+        RequestContextHolder.resetRequestAttributes();
+      }
+      return RequestCoalescer.joinedFlight(request) ? "follower" : "leader";
+    });
+    waitForCoalesced(CALLERS - 1);
+    release.countDown();
+
+    List<String> roles = new ArrayList<>();
+    for (Future<String> result : results) {
+      roles.add(result.get(5, TimeUnit.SECONDS));
+    }
+    assertThat(roles).containsOnlyOnce("leader");
+    assertThat(RequestCoalescer.joinedFlight(new MockHttpServletRequest())).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should propagate the loader exception to every waiting caller")
+  void execute_PropagatesException_ToAllCallers() throws Exception {
+    RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, Duration.ofSeconds(5));
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<Future<String>> results = submitAll(() -> coalescer.execute("getUserById", 1L, () -> {
+      await(release);
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+    }));
+    waitForCoalesced(CALLERS - 1);
+    release.countDown();
+
+    for (Future<String> result : results) {
+      assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+          .hasCauseInstanceOf(ResponseStatusException.class)
+          .hasMessageContaining("User not found");
+    }
+  }
+
+  @Test
+  @DisplayName("Should run the loader again for a follower with time left when the leader runs out of its own")
+  void execute_RetriesForFollower_WhenLeaderDeadlineExceeded() throws Exception {
+    RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, Duration.ofSeconds(5));
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Supplier<String> loader = () -> {
+      if (loads.incrementAndGet() == 1) {
+        started.countDown();
+        await(release);
+        throw new QueryTimeoutException("Request deadline exceeded");
+      }
+      return "user-1";
+    };
+
+    Future<String> leader = executor.submit(() -> coalescer.execute("getUserById", 1L, loader));
+    await(started);
+    Future<String> follower = executor.submit(() -> {
+      RequestDeadline.start(Duration.ofSeconds(5));
+      try {
+        return coalescer.execute("getUserById", 1L, loader);
+      } finally {
+        RequestDeadline.clear();
+      }
+    });
+    waitForCoalesced(1);
+    release.countDown();
+
+    assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(QueryTimeoutException.class);
+    assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("user-1");
+    assertThat(loads).hasValue(2);
+    assertThat(meterRegistry.get("users.coalesced.retries.total").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should give up with service unavailable when the in-flight call exceeds the wait bound")
+  void execute_ThrowsServiceUnavailable_WhenWaitExceeded() throws Exception {
+    RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, Duration.ofMillis(50));
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Future<String> leader = executor.submit(() -> coalescer.execute("getAllUsers", "page-0", () -> {
+      started.countDown();
+      await(release);
+      return "page";
+    }));
+    await(started);
+    while (meterRegistry.find("users.coalesced.total").counter() == null && !leader.isDone()) {
+      try {
+        assertThat(coalescer.<String>execute("getAllUsers", "page-0", () -> "fresh")).isNotNull();
+      } catch (ResponseStatusException e) {
+        assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+      }
+    }
+    release.countDown();
+
+    assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+    assertThat(meterRegistry.get("users.coalesced.timeouts.total").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should not share results between different keys or completed calls")
+  void execute_RunsLoaderAgain_WhenKeyDiffersOrCallCompleted() {
+    RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, Duration.ofSeconds(1));
+    AtomicInteger loads = new AtomicInteger();
+
+    coalescer.execute("getUserById", 1L, loads::incrementAndGet);
+    coalescer.execute("getUserById", 1L, loads::incrementAndGet);
+    coalescer.execute("getUserById", 2L, loads::incrementAndGet);
+
+    assertThat(loads).hasValue(3);
+    assertThat(meterRegistry.find("users.coalesced.total").counter()).isNull();
+  }
+
+  private List<Future<String>> submitAll(java.util.concurrent.Callable<String> call) {
+    List<Future<String>> results = new ArrayList<>();
+    for (int i = 0; i < CALLERS; i++) {
+      results.add(executor.submit(call));
+    }
+    return results;
+  }
+
+  private void waitForCoalesced(int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (System.nanoTime() < deadline) {
+      var counter = meterRegistry.find("users.coalesced.total").counter();
+      if (counter != null && counter.count() >= expected) {
+        return;
+      }
+      Thread.sleep(5);
+    }
+    fail("Callers were not coalesced in time");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -7,9 +7,13 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,18 +22,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.pitang.booster_c1m1.config.EmailFilterProperties;
+import com.pitang.booster_c1m1.config.HotKeyProperties;
 import com.pitang.booster_c1m1.domain.User;
 import com.pitang.booster_c1m1.dto.CreateUserDTO;
+import com.pitang.booster_c1m1.dto.UpdateUserDTO;
+import com.pitang.booster_c1m1.dto.UserBatchResponseDTO;
 import com.pitang.booster_c1m1.dto.UserDTO;
+import com.pitang.booster_c1m1.email.EmailAvailabilityService;
+import com.pitang.booster_c1m1.event.UserChangedEvent;
+import com.pitang.booster_c1m1.metrics.HotKeyTracker;
 import com.pitang.booster_c1m1.repository.UserRepository;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UserService")
@@ -53,6 +66,9 @@ class UserServiceTest {
   @Mock
   private Counter emailConflictCounter;
 
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
   private UserService userService;
 
   private User user;
@@ -98,7 +114,11 @@ class UserServiceTest {
         userUpdatedCounter,
         userDeletedCounter,
         userNotFoundCounter,
-        emailConflictCounter
+        emailConflictCounter,
+        eventPublisher,
+        new RequestCoalescer(new SimpleMeterRegistry(), Duration.ofSeconds(2)),
+        new HotKeyTracker(new HotKeyProperties(), new SimpleMeterRegistry()),
+        new EmailAvailabilityService(userRepository, new EmailFilterProperties(), new SimpleMeterRegistry())
     );
   }
 
@@ -163,7 +183,7 @@ class UserServiceTest {
   @Test
   @DisplayName("Should find user by id when successful")
   void findUserById_ReturnsUser_WhenSuccesful() {
-    when(userRepository.findById(1L)).thenReturn(java.util.Optional.of(user));
+    when(userRepository.findById(1L)).thenReturn(Optional.of(user));
     UserDTO result = userService.getUserById(1L);
     assertThat(result).isNotNull();
     assertThat(result.getId()).isEqualTo(1L);
@@ -175,7 +195,7 @@ class UserServiceTest {
   @Test
   @DisplayName("Should throw not found exception when user id does not exist")
   void findUserById_ThrowsNotFoundException_WhenUserDoesNotExist() {
-    when(userRepository.findById(1L)).thenReturn(java.util.Optional.empty());
+    when(userRepository.findById(1L)).thenReturn(Optional.empty());
     assertThatThrownBy(() -> userService.getUserById(1L))
         .isInstanceOf(ResponseStatusException.class)
         .hasMessageContaining("User not found");
@@ -183,6 +203,40 @@ class UserServiceTest {
     verify(userNotFoundCounter).increment();
   }
 
+  @Test
+  @DisplayName("Should get users by ids in request order reporting missing ids")
+  void getUsersByIds_ReturnsUsersInRequestOrder_WhenSomeIdsAreMissing() {
+    when(userRepository.findAllById(any())).thenReturn(Arrays.asList(user, anotherUser));
+
+    UserBatchResponseDTO result = userService.getUsersByIds(Arrays.asList(2L, 99L, 1L, 2L));
+
+    assertThat(result.getContent()).extracting(UserDTO::getId).containsExactly(2L, 1L);
+    assertThat(result.getMissingIds()).containsExactly(99L);
+    verify(userRepository).findAllById(new LinkedHashSet<>(Arrays.asList(2L, 99L, 1L)));
+  }
+
+  @Test
+  @DisplayName("Should throw bad request exception when too many ids are requested")
+  void getUsersByIds_ThrowsBadRequestException_WhenTooManyIds() {
+    List<Long> ids = LongStream.rangeClosed(1, UserService.MAX_BATCH_IDS + 1L).boxed().toList();
+    assertThatThrownBy(() -> userService.getUsersByIds(ids))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("At most");
+    verify(userRepository, never()).findAllById(any());
+  }
+
+  @Test
+  @DisplayName("Should throw bad request exception when no ids are requested")
+  void getUsersByIds_ThrowsBadRequestException_WhenIdsAreEmpty() {
+    assertThatThrownBy(() -> userService.getUsersByIds(List.of()))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("At least one user ID is required");
+    assertThatThrownBy(() -> userService.getUsersByIds(Arrays.asList(1L, null)))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("Invalid user ID");
+    verify(userRepository, never()).findAllById(any());
+  }
+
   @Test
   @DisplayName("Should create user when successful")
   void createUser_CreatesUser_WhenSuccesful() {
@@ -195,6 +249,7 @@ class UserServiceTest {
     verify(userRepository).save(any(User.class));
     verify(userCreatedCounter).increment();
     verify(emailConflictCounter, never()).increment();
+    verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
   }
 
   @Test
@@ -208,12 +263,13 @@ class UserServiceTest {
     verify(userRepository, never()).save(any(User.class));
     verify(emailConflictCounter).increment();
     verify(userCreatedCounter, never()).increment();
+    verify(eventPublisher, never()).publishEvent(any(UserChangedEvent.class));
   }
 
   @Test
   @DisplayName("Should update user when successful")
   void updateUser_UpdatesUser_WhenSuccesful() {
-    when(userRepository.findById(1L)).thenReturn(java.util.Optional.of(user));
+    when(userRepository.findById(1L)).thenReturn(Optional.of(user));
     when(userRepository.existsByEmailAndIdNot("joao.silva@email.com", 1L)).thenReturn(false);
     when(userRepository.save(any(User.class))).thenReturn(user);
     createUserDTO.setEmail("joao.silva@email.com");
@@ -230,7 +286,7 @@ class UserServiceTest {
   @Test
   @DisplayName("Should throw not found exception when updating non-existent user")
   void updateUser_ThrowsNotFoundException_WhenUserDoesNotExist() {
-    when(userRepository.findById(1L)).thenReturn(java.util.Optional.empty());
+    when(userRepository.findById(1L)).thenReturn(Optional.empty());
     assertThatThrownBy(() -> userService.updateUser(1L, createUserDTO))
         .isInstanceOf(ResponseStatusException.class)
         .hasMessageContaining("User not found");
@@ -242,7 +298,7 @@ class UserServiceTest {
   @Test
   @DisplayName("Should throw conflict exception when updating user with existing email")
   void updateUser_ThrowsConflictException_WhenEmailAlreadyExists() {
-    when(userRepository.findById(1L)).thenReturn(java.util.Optional.of(user));
+    when(userRepository.findById(1L)).thenReturn(Optional.of(user));
     when(userRepository.existsByEmailAndIdNot("maria@email.com", 1L)).thenReturn(true);
     assertThatThrownBy(() -> userService.updateUser(1L, anotherCreateUserDTO))
         .isInstanceOf(ResponseStatusException.class)
@@ -252,24 +308,79 @@ class UserServiceTest {
     verify(userRepository, never()).save(any(User.class));
   }
 
+  @Test
+  @DisplayName("Should patch only the given fields without checking an unchanged email")
+  void patchUser_UpdatesName_WithoutEmailCheck_WhenEmailUnchanged() {
+    when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+    when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    UpdateUserDTO patch = UpdateUserDTO.builder().name("João Atualizado").email("joao@email.com").build();
+
+    UserDTO result = userService.patchUser(1L, patch);
+
+    assertThat(result.getName()).isEqualTo("João Atualizado");
+    assertThat(result.getEmail()).isEqualTo("joao@email.com");
+    verify(userRepository, never()).existsByEmailAndIdNot(anyString(), any(Long.class));
+    verify(userUpdatedCounter).increment();
+    verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("Should skip the update when the patch changes nothing")
+  void patchUser_SkipsUpdate_WhenNothingChanges() {
+    String updatedAt = user.getUpdatedAt();
+    when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+    UserDTO result = userService.patchUser(1L, UpdateUserDTO.builder().name("João Silva").build());
+
+    assertThat(result.getUpdatedAt()).isEqualTo(updatedAt);
+    verify(userRepository, never()).save(any(User.class));
+    verify(userUpdatedCounter, never()).increment();
+    verify(eventPublisher, never()).publishEvent(any(UserChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("Should throw conflict exception when patching to an email in use")
+  void patchUser_ThrowsConflictException_WhenEmailAlreadyExists() {
+    when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+    when(userRepository.existsByEmailAndIdNot("maria@email.com", 1L)).thenReturn(true);
+
+    assertThatThrownBy(() -> userService.patchUser(1L, UpdateUserDTO.builder().email("maria@email.com").build()))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("Email already in use");
+    verify(userRepository, never()).save(any(User.class));
+    verify(emailConflictCounter).increment();
+  }
+
+  @Test
+  @DisplayName("Should throw not found exception when patching non-existent user")
+  void patchUser_ThrowsNotFoundException_WhenUserDoesNotExist() {
+    when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> userService.patchUser(1L, UpdateUserDTO.builder().name("X").build()))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("User not found");
+    verify(userNotFoundCounter).increment();
+  }
+
   @Test
   @DisplayName("Should delete user when successful")
   void deleteUser_DeletesUser_WhenSuccessful() {
-    when(userRepository.existsById(1L)).thenReturn(true);
+    when(userRepository.findById(1L)).thenReturn(Optional.of(user));
     userService.deleteUser(1L);
     verify(userRepository).deleteById(1L);
     verify(userDeletedCounter).increment();
+    verify(eventPublisher).publishEvent(UserChangedEvent.deleted(1L));
     verify(userNotFoundCounter, never()).increment();
   }
 
   @Test
   @DisplayName("Should throw not found exception when deleting non-existent user")
   void deleteUser_ThrowsNotFoundException_WhenUserDoesNotExist() {
-    when(userRepository.existsById(1L)).thenReturn(false);
+    when(userRepository.findById(1L)).thenReturn(Optional.empty());
     assertThatThrownBy(() -> userService.deleteUser(1L))
         .isInstanceOf(ResponseStatusException.class)
         .hasMessageContaining("User not found");
-    verify(userRepository).existsById(1L);
+    verify(userRepository).findById(1L);
     verify(userRepository, never()).deleteById(any(Long.class));
     verify(userNotFoundCounter).increment();
     verify(userDeletedCounter, never()).increment();
@@ -281,7 +392,7 @@ class UserServiceTest {
     assertThatThrownBy(() -> userService.deleteUser(0L))
         .isInstanceOf(ResponseStatusException.class)
         .hasMessageContaining("Invalid user ID");
-    verify(userRepository, never()).existsById(any(Long.class));
+    verify(userRepository, never()).findById(any(Long.class));
     verify(userRepository, never()).deleteById(any(Long.class));
     verify(userDeletedCounter, never()).increment();
     verify(userNotFoundCounter, never()).increment();
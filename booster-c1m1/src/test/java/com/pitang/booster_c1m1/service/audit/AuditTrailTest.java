@@ -0,0 +1,237 @@
+package com.pitang.booster_c1m1.service.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pitang.booster_c1m1.config.AuditProperties;
+import com.pitang.booster_c1m1.domain.UserChangeType;
+import com.pitang.booster_c1m1.event.UserChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Audit Trail Tests")
+class AuditTrailTest {
+
+  private static final int COMPACT_THRESHOLD = 5;
+
+  @TempDir
+  Path directory;
+
+  private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+  private final AuditProperties properties = new AuditProperties();
+  private JdbcTemplate jdbcTemplate;
+  private Path walFile;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+        "jdbc:h2:mem:audit-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+    jdbcTemplate.execute("CREATE TABLE user_audit (id VARCHAR(26) PRIMARY KEY, user_id BIGINT NOT NULL, "
+        + "type VARCHAR(16) NOT NULL, request_id VARCHAR(64), payload VARCHAR(4000), occurred_at TIMESTAMP NOT NULL)");
+    walFile = directory.resolve("audit.wal");
+    properties.setBatchSize(10);
+    properties.setRetryDelay(Duration.ofMillis(10));
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.execute("SHUTDOWN");
+  }
+
+  @Test
+  @DisplayName("Should store every queued record before stopping")
+  void stop_DrainsQueue() throws Exception {
+    AuditTrail trail = trail();
+    trail.start();
+
+    for (int i = 0; i < 95; i++) {
+      trail.record(entry("ID" + i));
+    }
+    trail.stop();
+
+    assertThat(count()).isEqualTo(95);
+    assertThat(Files.size(walFile)).isZero();
+  }
+
+  @Test
+  @DisplayName("Should write on the request thread when the queue is full")
+  void record_StoresDirectly_WhenQueueFull() throws Exception {
+    properties.setQueueCapacity(1);
+    properties.setOfferTimeout(Duration.ZERO);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    AuditTrail trail = new AuditTrail(properties, wal(), jdbcTemplate,
+        objectMapper, registry);
+
+    trail.record(entry("BEFORE-START"));
+
+    assertThat(count()).isEqualTo(1);
+    assertThat(registry.get("users.audit.overflow.total").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should replay unstored records from the write-ahead file exactly once")
+  void start_ReplaysWriteAheadFile() throws Exception {
+    AuditWal previousRun = new AuditWal(walFile, objectMapper, true, COMPACT_THRESHOLD);
+    previousRun.open();
+    previousRun.append(entry("STORED"));
+    previousRun.append(entry("LOST-1"));
+    previousRun.append(entry("ACKED"));
+    previousRun.append(entry("LOST-2"));
+    previousRun.acknowledge(List.of("ACKED"));
+    previousRun.close();
+    jdbcTemplate.update("INSERT INTO user_audit (id, user_id, type, occurred_at) VALUES ('STORED', 1, 'CREATED', ?)",
+        java.sql.Timestamp.from(Instant.now()));
+
+    AuditTrail trail = trail();
+    trail.start();
+    trail.stop();
+
+    assertThat(jdbcTemplate.queryForList("SELECT id FROM user_audit ORDER BY id", String.class))
+        .containsExactly("LOST-1", "LOST-2", "STORED");
+    assertThat(Files.size(walFile)).isZero();
+  }
+
+  @Test
+  @DisplayName("Should skip a torn last line")
+  void open_IgnoresTornLine() throws Exception {
+    AuditWal wal = wal();
+    wal.open();
+    wal.append(entry("WHOLE"));
+    wal.close();
+    Files.writeString(walFile, "{\"id\":\"TOR", java.nio.file.StandardOpenOption.APPEND);
+
+    List<AuditEntry> unstored = wal().open();
+
+    assertThat(unstored).extracting(AuditEntry::id).containsExactly("WHOLE");
+  }
+
+  @Test
+  @DisplayName("Should keep the write-ahead file bounded while a record stays outstanding")
+  void acknowledge_CompactsFile_WhileRecordsOutstanding() throws Exception {
+    AuditWal wal = wal();
+    wal.open();
+    wal.append(entry("STUCK"));
+    for (int i = 0; i < 23; i++) {
+      wal.append(entry("ID" + i));
+      wal.acknowledge(List.of("ID" + i));
+    }
+    wal.close();
+
+    assertThat(Files.readAllLines(walFile)).hasSizeLessThanOrEqualTo(1 + 2 * COMPACT_THRESHOLD);
+    assertThat(wal().open()).extracting(AuditEntry::id).containsExactly("STUCK");
+  }
+
+  @Test
+  @DisplayName("Should retry records the request thread and the startup replay could not store")
+  void writer_RetriesOverflowAndReplayFailures() throws Exception {
+    properties.setQueueCapacity(1);
+    properties.setOfferTimeout(Duration.ZERO);
+    AuditWal previousRun = wal();
+    previousRun.open();
+    previousRun.append(entry("LOST"));
+    previousRun.close();
+    jdbcTemplate.execute("ALTER TABLE user_audit RENAME TO user_audit_offline");
+
+    AuditTrail trail = trail();
+    trail.record(entry("OVERFLOW"));
+    trail.start();
+    jdbcTemplate.execute("ALTER TABLE user_audit_offline RENAME TO user_audit");
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (count() < 2 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+    trail.stop();
+
+    assertThat(jdbcTemplate.queryForList("SELECT id FROM user_audit ORDER BY id", String.class))
+        .containsExactly("LOST", "OVERFLOW");
+    assertThat(Files.size(walFile)).isZero();
+  }
+
+  @Test
+  @DisplayName("Should write ahead before commit and store the record once the transaction commits")
+  void onUserChanged_StoresRecord_AfterCommit() throws Exception {
+    AuditWal wal = wal();
+    AuditTrail trail = new AuditTrail(properties, wal, jdbcTemplate, objectMapper, new SimpleMeterRegistry());
+    trail.start();
+
+    transactions().executeWithoutResult(status -> {
+      trail.onUserChanged(UserChangedEvent.deleted(7L));
+      assertThat(wal.outstanding()).isEqualTo(1);
+    });
+    trail.stop();
+
+    assertThat(jdbcTemplate.queryForList("SELECT user_id FROM user_audit", Long.class)).containsExactly(7L);
+    assertThat(Files.size(walFile)).isZero();
+  }
+
+  @Test
+  @DisplayName("Should discard the written-ahead record when the transaction rolls back")
+  void onUserChanged_DiscardsRecord_OnRollback() throws Exception {
+    AuditWal wal = wal();
+    AuditTrail trail = new AuditTrail(properties, wal, jdbcTemplate, objectMapper, new SimpleMeterRegistry());
+    trail.start();
+
+    transactions().executeWithoutResult(status -> {
+      trail.onUserChanged(UserChangedEvent.deleted(7L));
+      status.setRollbackOnly();
+    });
+    trail.stop();
+
+    assertThat(count()).isZero();
+    assertThat(wal().open()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should fail the transaction when the record cannot be written ahead")
+  void onUserChanged_Fails_WhenAppendFails() throws Exception {
+    AuditWal wal = wal();
+    AuditTrail trail = new AuditTrail(properties, wal, jdbcTemplate, objectMapper, new SimpleMeterRegistry());
+    wal.close();
+
+    assertThatThrownBy(() -> transactions().executeWithoutResult(
+        status -> trail.onUserChanged(UserChangedEvent.deleted(7L))))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("write-ahead file");
+    assertThat(count()).isZero();
+  }
+
+  private TransactionTemplate transactions() {
+    return new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+  }
+
+  private AuditWal wal() {
+    return new AuditWal(walFile, objectMapper, false, COMPACT_THRESHOLD);
+  }
+
+  private AuditTrail trail() {
+    return new AuditTrail(properties, wal(), jdbcTemplate, objectMapper,
+        new SimpleMeterRegistry());
+  }
+
+  private static AuditEntry entry(String id) {
+    return new AuditEntry(id, 1L, UserChangeType.CREATED, "req", null, Instant.now().truncatedTo(ChronoUnit.MILLIS));
+  }
+
+  private long count() {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_audit", Long.class);
+  }
+}
@@ -0,0 +1,73 @@
+package com.pitang.booster_c1m1.service.bulk;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitang.booster_c1m1.config.AuditProperties;
+import com.pitang.booster_c1m1.config.BulkLoadConfig;
+import com.pitang.booster_c1m1.config.BulkLoadProperties;
+import com.pitang.booster_c1m1.config.ShardingProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("UserBulkLoader")
+class UserBulkLoaderTest {
+
+  @Test
+  @DisplayName("Should answer 400 only for failures caused by the uploaded file")
+  void statusFor_SeparatesInputErrorsFromServerFailures() {
+    BatchUpdateException tooLong = new BatchUpdateException("batch failed", "HY000", new int[0]);
+    tooLong.setNextException(new SQLException("Value too long", "22001"));
+
+    assertThat(UserBulkLoader.statusFor(new IOException("Unterminated quoted CSV field")))
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(UserBulkLoader.statusFor(tooLong)).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(UserBulkLoader.statusFor(new SQLException("duplicate key", "23505")))
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(UserBulkLoader.statusFor(new SQLException("Connection refused", "08001")))
+        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(UserBulkLoader.statusFor(new SQLException("out of disk", "53100")))
+        .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    assertThat(UserBulkLoader.statusFor(new SQLException("no state"))).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+  }
+
+  @Test
+  @DisplayName("Should fail with 503 when the database cannot be reached")
+  void load_Returns503_WhenConnectionFails() throws Exception {
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused", "08001"));
+    UserBulkLoader loader = new UserBulkLoader(dataSource, new BulkLoadProperties(), true, List.of(), event -> { },
+        new ObjectMapper(), new SimpleMeterRegistry());
+
+    assertThatThrownBy(() -> loader.load(new StringReader("name,email,password\n")))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    assertThat(loader.status().isRunning()).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should refuse to start when sharding is enabled")
+  void config_RefusesLoader_WhenShardingEnabled() {
+    ShardingProperties sharding = new ShardingProperties();
+    sharding.setEnabled(true);
+
+    assertThatThrownBy(() -> new BulkLoadConfig().userBulkLoader(mock(DataSource.class), new BulkLoadProperties(),
+        sharding, new AuditProperties(), null, event -> { }, new ObjectMapper(), new SimpleMeterRegistry()))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("users.sharding.enabled");
+  }
+}
@@ -0,0 +1,342 @@
+package com.pitang.booster_c1m1.sharding;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pitang.booster_c1m1.config.JdbcStatsProperties;
+import com.pitang.booster_c1m1.deadline.RequestDeadline;
+import com.pitang.booster_c1m1.domain.User;
+import com.pitang.booster_c1m1.jdbc.StatementRecorder;
+import com.pitang.booster_c1m1.jdbc.StatementStats;
+import com.pitang.booster_c1m1.jdbc.StatementStatsDataSource;
+import com.pitang.booster_c1m1.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Sharded user storage")
+class ShardedUserRepositoryTest {
+
+  private static final int SHARDS = 3;
+
+  private final List<Long> deadlinesSeen = new CopyOnWriteArrayList<>();
+  private final List<DataSource> shards = new ArrayList<>();
+  private final AtomicBoolean failDirectoryCommit = new AtomicBoolean();
+  private String run;
+  private ShardedUserRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    run = UUID.randomUUID().toString();
+    StatementRecorder recorder = new StatementRecorder(new JdbcStatsProperties(), new SimpleMeterRegistry());
+    for (int i = 0; i < SHARDS; i++) {
+      JdbcDataSource h2 = new JdbcDataSource();
+      h2.setURL("jdbc:h2:mem:shard-" + i + "-" + run + ";DB_CLOSE_DELAY=-1");
+      DataSource shard = i == 0 ? new CommitFailingDataSource(h2) : h2;
+      shards.add(new StatementStatsDataSource(new DeadlineRecordingDataSource(shard), () -> recorder));
+    }
+    repository = new ShardedUserRepository(shards, 2, Duration.ofMinutes(1));
+    repository.initializeSchema();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    repository.close();
+  }
+
+  @Test
+  @DisplayName("Should route every user back to the shard encoded in its id")
+  void findById_RoutesToOwningShard() {
+    List<User> users = IntStream.range(0, 30).mapToObj(i -> repository.save(user("User " + i, i))).toList();
+
+    assertThat(users).extracting(user -> repository.shardOf(user.getId())).containsOnly(0, 1, 2);
+    for (User user : users) {
+      assertThat(repository.findById(user.getId())).get()
+          .extracting(User::getEmail).isEqualTo(user.getEmail());
+    }
+    assertThat(repository.count()).isEqualTo(30);
+    assertThat(repository.findById(999_999L)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should reject a duplicate email even when it would land on another shard")
+  void save_RejectsDuplicateEmail_AcrossShards() {
+    repository.save(user("First", 1));
+
+    assertThatThrownBy(() -> repository.save(user("Second", 1)))
+        .isInstanceOf(DataIntegrityViolationException.class);
+    assertThat(repository.count()).isEqualTo(1);
+    assertThat(repository.existsByEmail("user1@example.com")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should move the email claim when a user changes email")
+  void save_MovesEmailClaim_WhenEmailChanges() {
+    User user = repository.save(user("Mover", 1));
+    User other = repository.save(user("Other", 2));
+
+    user.setEmail("moved@example.com");
+    repository.save(user);
+
+    assertThat(repository.existsByEmail("user1@example.com")).isFalse();
+    assertThat(repository.existsByEmailAndIdNot("moved@example.com", user.getId())).isFalse();
+    assertThat(repository.existsByEmailAndIdNot("moved@example.com", other.getId())).isTrue();
+
+    other.setEmail("moved@example.com");
+    assertThatThrownBy(() -> repository.save(other)).isInstanceOf(DataIntegrityViolationException.class);
+    assertThat(repository.findById(other.getId())).get()
+        .extracting(User::getEmail).isEqualTo("user2@example.com");
+  }
+
+  @Test
+  @DisplayName("Should merge shard results into one globally ordered page")
+  void findAll_MergeSortsPagesAcrossShards() {
+    List<User> users = IntStream.range(0, 25).mapToObj(i -> repository.save(user("User " + (char) ('A' + i), i))).toList();
+
+    Page<User> byId = repository.findAll(PageRequest.of(1, 10));
+    assertThat(byId.getTotalElements()).isEqualTo(25);
+    assertThat(byId.getTotalPages()).isEqualTo(3);
+    assertThat(byId.getContent()).extracting(User::getId)
+        .isEqualTo(users.stream().map(User::getId).sorted().skip(10).limit(10).toList());
+
+    Page<User> byNameDesc = repository.findAll(PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "name")));
+    assertThat(byNameDesc.getContent()).extracting(User::getName)
+        .containsExactly("User Y", "User X", "User W", "User V", "User U");
+
+    assertThat(repository.findAll(Pageable.unpaged()).getContent()).hasSize(25);
+    assertThatThrownBy(() -> repository.findAll(PageRequest.of(0, 5, Sort.by("password"))))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should page through every shard in global id order by keyset")
+  void findByIdGreaterThan_PagesAcrossShardsInIdOrder() {
+    List<Long> ids = IntStream.range(0, 25).mapToObj(i -> repository.save(user("User " + i, i)).getId())
+        .sorted().toList();
+
+    List<Long> seen = new ArrayList<>();
+    long lastId = 0;
+    List<User> page;
+    do {
+      page = repository.findByIdGreaterThanOrderByIdAsc(lastId, 7);
+      page.forEach(user -> seen.add(user.getId()));
+      lastId = page.isEmpty() ? lastId : page.get(page.size() - 1).getId();
+    } while (page.size() == 7);
+
+    assertThat(seen).isEqualTo(ids);
+  }
+
+  @Test
+  @DisplayName("Should search names on every shard")
+  void findByNameContainingIgnoreCase_SearchesAllShards() {
+    IntStream.range(0, 12).forEach(i -> repository.save(user((i % 2 == 0 ? "Ana " : "Bruno ") + i, i)));
+    repository.save(user("100%_literal", 99));
+
+    Page<User> page = repository.findByNameContainingIgnoreCase("ana", PageRequest.of(0, 4));
+    assertThat(page.getTotalElements()).isEqualTo(6);
+    assertThat(page.getContent()).hasSize(4).allMatch(user -> user.getName().startsWith("Ana"));
+    assertThat(repository.findByNameContainingIgnoreCase("%_", PageRequest.of(0, 4)).getContent())
+        .extracting(User::getName).containsExactly("100%_literal");
+  }
+
+  @Test
+  @DisplayName("Should fetch batches from several shards and release emails on delete")
+  void findAllByIdAndDelete_SpanShards() {
+    List<User> users = IntStream.range(0, 6).mapToObj(i -> repository.save(user("User " + i, i))).toList();
+    List<Long> ids = users.stream().map(User::getId).toList();
+
+    assertThat(repository.findAllById(ids)).extracting(User::getId).containsExactlyInAnyOrderElementsOf(ids);
+
+    repository.deleteById(ids.get(0));
+    assertThat(repository.existsById(ids.get(0))).isFalse();
+    assertThat(repository.existsByEmail("user0@example.com")).isFalse();
+    assertThatThrownBy(() -> repository.deleteById(ids.get(0))).isInstanceOf(EmptyResultDataAccessException.class);
+
+    repository.deleteAll();
+    assertThat(repository.count()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should run scatter queries under the request's deadline and statement stats")
+  void findAll_CarriesRequestContextToScatterThreads() {
+    repository.save(user("Context", 1));
+    deadlinesSeen.clear();
+    StatementStats stats = StatementStats.start();
+    RequestDeadline.start(Duration.ofSeconds(30));
+    Long deadline = RequestDeadline.capture();
+    try {
+      repository.findAll(PageRequest.of(0, 5));
+    } finally {
+      RequestDeadline.clear();
+      StatementStats.clear();
+    }
+
+    assertThat(deadlinesSeen).hasSize(2 * SHARDS).containsOnly(deadline);
+    assertThat(stats.count()).isEqualTo(2 * SHARDS);
+    assertThat(stats.rows()).isGreaterThanOrEqualTo(SHARDS + 1);
+  }
+
+  @Test
+  @DisplayName("Should commit shard writes with the caller's transaction and roll them back with it")
+  void save_FollowsCallerTransaction() {
+    JdbcDataSource main = new JdbcDataSource();
+    main.setURL("jdbc:h2:mem:main-" + run + ";DB_CLOSE_DELAY=-1");
+    TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(main));
+
+    assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+      repository.save(user("Rolled back", 1));
+      throw new IllegalStateException("rollback");
+    })).isInstanceOf(IllegalStateException.class);
+
+    assertThat(repository.count()).isZero();
+    assertThat(repository.existsByEmail("user1@example.com")).isFalse();
+
+    User saved = transaction.execute(status -> repository.save(user("Committed", 1)));
+    assertThat(repository.findById(saved.getId())).isPresent();
+    assertThat(repository.existsByEmailAndIdNot("user1@example.com", saved.getId())).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should keep the email claimed when the directory fails to commit after the user row")
+  void save_KeepsEmailClaimed_WhenDirectoryCommitFails() {
+    JdbcDataSource main = new JdbcDataSource();
+    main.setURL("jdbc:h2:mem:main-" + run + ";DB_CLOSE_DELAY=-1");
+    TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(main));
+    int n = IntStream.iterate(1, i -> i + 1)
+        .filter(i -> Math.floorMod(("user" + i + "@example.com").hashCode(), SHARDS) != 0)
+        .findFirst().getAsInt();
+
+    failDirectoryCommit.set(true);
+    assertThatThrownBy(() -> transaction.execute(status -> repository.save(user("Committed", n))))
+        .isInstanceOf(TransactionSystemException.class);
+    failDirectoryCommit.set(false);
+
+    assertThat(repository.count()).isEqualTo(1);
+    User stored = repository.findAll(Pageable.unpaged()).getContent().get(0);
+    assertThat(repository.existsByEmail(stored.getEmail())).isTrue();
+    assertThat(repository.existsByEmailAndIdNot(stored.getEmail(), stored.getId())).isFalse();
+    assertThatThrownBy(() -> repository.save(user("Duplicate", n)))
+        .isInstanceOf(DataIntegrityViolationException.class);
+    assertThat(repository.count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should repair or release email claims left without an owner")
+  void existsByEmail_ResolvesAbandonedClaims() {
+    JdbcTemplate directory = new JdbcTemplate(shards.get(0));
+    Timestamp longAgo = Timestamp.from(Instant.now().minus(Duration.ofMinutes(5)));
+    User stored = repository.save(user("Stored", 1));
+    directory.update("UPDATE user_emails SET user_id = NULL, claimed_at = ? WHERE email = ?",
+        longAgo, "user1@example.com");
+    directory.update("INSERT INTO user_emails (email, claimed_at) VALUES (?, ?)", "user2@example.com", longAgo);
+    directory.update("INSERT INTO user_emails (email, claimed_at) VALUES (?, ?)", "user3@example.com",
+        Timestamp.from(Instant.now()));
+
+    assertThat(repository.existsByEmailAndIdNot("user1@example.com", stored.getId())).isFalse();
+    assertThat(repository.existsByEmail("user1@example.com")).isTrue();
+    assertThat(repository.existsByEmail("user2@example.com")).isFalse();
+    assertThat(repository.save(user("Reclaimed", 2)).getId()).isNotNull();
+    assertThat(repository.existsByEmail("user3@example.com")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should expose the sharded storage through the UserRepository interface")
+  void adapter_DelegatesSupportedOperations() {
+    UserRepository adapter = ShardedUserRepositoryAdapter.wrap(repository);
+
+    User saved = adapter.save(user("Adapter", 1));
+    adapter.saveAll(List.of(user("Batch", 2)));
+
+    assertThat(adapter.findById(saved.getId())).isPresent();
+    assertThat(adapter.existsById(saved.getId())).isTrue();
+    assertThat(adapter.existsByEmail("user1@example.com")).isTrue();
+    assertThat(adapter.findAll()).hasSize(2);
+    assertThat(adapter.count()).isEqualTo(2);
+    assertThat(adapter.findByNameContainingIgnoreCase("adap", PageRequest.of(0, 5)).getContent()).hasSize(1);
+    assertThat(adapter.toString()).contains("3 shards");
+    assertThatThrownBy(adapter::flush).isInstanceOf(UnsupportedOperationException.class);
+
+    adapter.deleteById(saved.getId());
+    adapter.deleteAll();
+    assertThat(adapter.count()).isZero();
+  }
+
+  /** Fails commits while {@link #failDirectoryCommit} is set; only transactions commit explicitly. */
+  private final class CommitFailingDataSource extends DelegatingDataSource {
+
+    CommitFailingDataSource(DataSource target) {
+      super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      Connection connection = super.getConnection();
+      return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+          new Class<?>[] {Connection.class},
+          (proxy, method, args) -> {
+            if (method.getName().equals("commit") && failDirectoryCommit.get()) {
+              throw new SQLException("directory commit failed");
+            }
+            try {
+              return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+              throw e.getCause();
+            }
+          });
+    }
+  }
+
+  private final class DeadlineRecordingDataSource extends DelegatingDataSource {
+
+    DeadlineRecordingDataSource(DataSource target) {
+      super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      deadlinesSeen.add(RequestDeadline.capture());
+      return super.getConnection();
+    }
+  }
+
+  private static User user(String name, int n) {
+    return User.builder()
+        .name(name)
+        .email("user" + n + "@example.com")
+        .password("secret1")
+        .createdAt("2025-01-01T00:00:00")
+        .updatedAt("2025-01-01T00:00:00")
+        .build();
+  }
+}
@@ -0,0 +1,125 @@
+package com.pitang.booster_c1m1.suggest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pitang.booster_c1m1.suggest.NamePrefixIndex.Match;
+
+@DisplayName("NamePrefixIndex")
+class NamePrefixIndexTest {
+
+  private NamePrefixIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new NamePrefixIndex(4, 4, Runnable::run);
+    index.replaceAll(() -> Map.of(1L, "João Silva", 2L, "Maria Santos", 3L, "Joana Souza"));
+  }
+
+  @Test
+  @DisplayName("Should match any word of the name, ignoring case and accents")
+  void suggest_MatchesWordPrefixes() {
+    assertThat(index.suggest("jo", 10)).extracting(Match::id).containsExactly(3L, 1L);
+    assertThat(index.suggest("JOÃO", 10)).containsExactly(new Match(1L, "João Silva"));
+    assertThat(index.suggest("sa", 10)).extracting(Match::name).containsExactly("Maria Santos");
+    assertThat(index.suggest("s", 10)).extracting(Match::id).containsExactly(2L, 1L, 3L);
+    assertThat(index.suggest("x", 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should return each user once and stop at the limit")
+  void suggest_DeduplicatesAndLimits() {
+    index.upsert(4L, "Silva Silvana Silveira");
+
+    assertThat(index.suggest("silv", 10)).extracting(Match::id).containsExactly(1L, 4L);
+    assertThat(index.suggest("s", 2)).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("Should reflect upserts and removals before and after compaction")
+  void upsertAndRemove_AreVisibleImmediately() {
+    index.upsert(1L, "Pedro Alves");
+    index.remove(2L);
+
+    assertThat(index.suggest("jo", 10)).extracting(Match::id).containsExactly(3L);
+    assertThat(index.suggest("pe", 10)).containsExactly(new Match(1L, "Pedro Alves"));
+    assertThat(index.suggest("maria", 10)).isEmpty();
+
+    for (long id = 10; id < 30; id++) {
+      index.upsert(id, "Paula " + id);
+    }
+
+    assertThat(index.suggest("pa", 100)).hasSize(20);
+    assertThat(index.suggest("pe", 10)).containsExactly(new Match(1L, "Pedro Alves"));
+    assertThat(index.suggest("maria", 10)).isEmpty();
+    assertThat(index.entries()).isEqualTo(2 + 2 + 2 * 20);
+  }
+
+  @Test
+  @DisplayName("Should keep writes made while the rebuild source is being read")
+  void replaceAll_KeepsWritesMadeDuringTheRead() {
+    index = new NamePrefixIndex(4, 100, Runnable::run);
+    index.replaceAll(() -> {
+      Map<Long, String> snapshot = Map.of(1L, "João Silva", 2L, "Maria Santos");
+      index.upsert(2L, "Mariana Costa");
+      index.upsert(5L, "Pedro Alves");
+      return snapshot;
+    });
+
+    assertThat(index.suggest("maria", 10)).containsExactly(new Match(2L, "Mariana Costa"));
+    assertThat(index.suggest("pe", 10)).containsExactly(new Match(5L, "Pedro Alves"));
+    assertThat(index.suggest("joana", 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should compact on the compaction executor, not on the writer")
+  void upsert_LeavesCompactionToTheExecutor() {
+    List<Runnable> compactions = new ArrayList<>();
+    index = new NamePrefixIndex(4, 4, compactions::add);
+    index.replaceAll(() -> Map.of(1L, "João Silva"));
+
+    for (long id = 10; id < 20; id++) {
+      index.upsert(id, "Paula " + id);
+    }
+
+    assertThat(compactions).hasSize(1);
+    assertThat(index.suggest("pa", 100)).hasSize(10);
+    compactions.get(0).run();
+    index.upsert(20, "Paula 20");
+
+    assertThat(index.suggest("pa", 100)).hasSize(11);
+    assertThat(index.entries()).isEqualTo(2 + 2 * 11);
+    assertThat(compactions).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("Should keep memory proportional to the indexed names")
+  void sizeInBytes_GrowsWithContent() {
+    long small = index.sizeInBytes();
+    Map<Long, String> users = new HashMap<>();
+    for (long id = 0; id < 10_000; id++) {
+      users.put(id, "User Number " + id);
+    }
+
+    index.replaceAll(() -> users);
+
+    assertThat(index.entries()).isEqualTo(30_000);
+    assertThat(index.sizeInBytes()).isGreaterThan(small).isLessThan(2_000_000);
+    assertThat(index.suggest("number 99", 3)).extracting(Match::name)
+        .containsExactly("User Number 99", "User Number 990", "User Number 9900");
+  }
+
+  @Test
+  @DisplayName("Should normalize accents, case and spacing")
+  void normalize_FoldsText() {
+    assertThat(NamePrefixIndex.normalize("  José   ÁLVARES ")).isEqualTo("jose alvares");
+  }
+}
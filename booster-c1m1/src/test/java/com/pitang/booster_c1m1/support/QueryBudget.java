@@ -0,0 +1,27 @@
+package com.pitang.booster_c1m1.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Fails the test when its body (not its {@code @BeforeEach} setup) runs more SQL statements, or reads
+ * more rows, than declared. Counting relies on the statement-stats data source wrapper, so the test
+ * needs a Spring context with {@code users.jdbc-stats.enabled} left on.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /** Maximum number of statements executed. */
+    int statements();
+
+    /** Maximum number of result-set rows read; negative means not checked. */
+    long rows() default -1;
+}
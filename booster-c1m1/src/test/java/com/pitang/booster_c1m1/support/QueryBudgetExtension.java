@@ -0,0 +1,32 @@
+package com.pitang.booster_c1m1.support;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import com.pitang.booster_c1m1.jdbc.StatementStats;
+
+/**
+ * Measures the test method body for {@link QueryBudget}. Runs after {@code @BeforeEach} methods, so
+ * fixture setup does not count against the budget.
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), StatementStats.start());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        StatementStats stats = context.getStore(NAMESPACE).remove(context.getUniqueId(), StatementStats.class);
+        StatementStats.clear();
+        QueryBudget budget = context.getRequiredTestMethod().getAnnotation(QueryBudget.class);
+        if (stats != null && budget != null) {
+            QueryCount.from(stats).assertWithin(budget.statements(), budget.rows());
+        }
+    }
+}
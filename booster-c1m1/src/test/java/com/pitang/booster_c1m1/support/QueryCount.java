@@ -0,0 +1,46 @@
+package com.pitang.booster_c1m1.support;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.pitang.booster_c1m1.jdbc.StatementStats;
+
+/**
+ * Statements and rows counted over one measured scope.
+ */
+public record QueryCount(int statements, long rows, Map<String, Integer> executions) {
+
+    /** Runs {@code action} in its own statement-stats scope and returns what it executed. */
+    public static QueryCount of(Runnable action) {
+        StatementStats stats = StatementStats.start();
+        try {
+            action.run();
+        } finally {
+            StatementStats.clear();
+        }
+        return from(stats);
+    }
+
+    static QueryCount from(StatementStats stats) {
+        return new QueryCount(stats.count(), stats.rows(), Map.copyOf(stats.executions()));
+    }
+
+    /** Throws an {@link AssertionError} listing the executed statements when over budget. */
+    public QueryCount assertWithin(int maxStatements, long maxRows) {
+        if (statements > maxStatements || (maxRows >= 0 && rows > maxRows)) {
+            throw new AssertionError("Query budget exceeded: " + statements + " statements (budget " + maxStatements
+                    + "), " + rows + " rows (budget " + (maxRows < 0 ? "unchecked" : maxRows) + ")\n" + describe());
+        }
+        return this;
+    }
+
+    public QueryCount assertWithin(int maxStatements) {
+        return assertWithin(maxStatements, -1);
+    }
+
+    private String describe() {
+        return executions.entrySet().stream()
+                .map(entry -> "  " + entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining("\n"));
+    }
+}
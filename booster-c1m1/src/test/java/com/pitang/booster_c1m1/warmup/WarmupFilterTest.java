@@ -0,0 +1,51 @@
+package com.pitang.booster_c1m1.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@DisplayName("Warm-up Filter Tests")
+class WarmupFilterTest {
+
+  private final WarmupFilter filter = new WarmupFilter("secret-token");
+
+  @Test
+  @DisplayName("Should run requests with the warm-up token inside the warm-up scope")
+  void doFilter_ActivatesScope_ForToken() throws Exception {
+    assertThat(activeDuring("secret-token")).isTrue();
+    assertThat(WarmupScope.isActive()).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should treat requests without the token as ordinary traffic")
+  void doFilter_IgnoresMissingOrWrongToken() throws Exception {
+    assertThat(activeDuring(null)).isFalse();
+    assertThat(activeDuring("guess")).isFalse();
+  }
+
+  private boolean activeDuring(String token) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/users");
+    if (token != null) {
+      request.addHeader(WarmupFilter.HEADER, token);
+    }
+    AtomicBoolean active = new AtomicBoolean();
+    HttpServlet servlet = new HttpServlet() {
+      @Override
+      protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        active.set(WarmupScope.isActive());
+      }
+    };
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(servlet));
+    return active.get();
+  }
+}
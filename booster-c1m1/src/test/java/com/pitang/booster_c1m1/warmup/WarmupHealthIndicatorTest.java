@@ -0,0 +1,47 @@
+package com.pitang.booster_c1m1.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+@DisplayName("Warmup Health Indicator Tests")
+class WarmupHealthIndicatorTest {
+
+  private final UserWarmup warmup = mock(UserWarmup.class);
+  private final WarmupHealthIndicator indicator = new WarmupHealthIndicator(warmup);
+
+  @Test
+  @DisplayName("Should hold readiness down while warming up")
+  void health_OutOfService_WhileRunning() {
+    when(warmup.getState()).thenReturn(UserWarmup.State.RUNNING);
+
+    assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+  }
+
+  @Test
+  @DisplayName("Should report the warm-up duration once done")
+  void health_Up_WithDuration_WhenDone() {
+    when(warmup.getState()).thenReturn(UserWarmup.State.DONE);
+    when(warmup.getDuration()).thenReturn(Duration.ofMillis(1500));
+
+    Health health = indicator.health();
+
+    assertThat(health.getStatus()).isEqualTo(Status.UP);
+    assertThat(health.getDetails()).containsEntry("durationMs", 1500L);
+  }
+
+  @Test
+  @DisplayName("Should be up when warm-up is disabled")
+  void health_Up_WhenSkipped() {
+    when(warmup.getState()).thenReturn(UserWarmup.State.SKIPPED);
+
+    assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+  }
+}
@@ -0,0 +1,59 @@
+package com.pitang.booster_c1m1.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pitang.booster_c1m1.config.HotKeyProperties;
+import com.pitang.booster_c1m1.config.JdbcStatsProperties;
+import com.pitang.booster_c1m1.jdbc.StatementRecorder;
+import com.pitang.booster_c1m1.jdbc.StatementStats;
+import com.pitang.booster_c1m1.metrics.HotKeyTracker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Warm-up Scope Tests")
+class WarmupScopeTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @AfterEach
+  void tearDown() {
+    StatementStats.clear();
+  }
+
+  @Test
+  @DisplayName("Should keep warm-up traffic out of hot keys")
+  void hotKeyTracker_IgnoresWarmupTraffic() {
+    HotKeyTracker tracker = new HotKeyTracker(new HotKeyProperties(), registry);
+
+    WarmupScope.run(() -> {
+      tracker.recordUserId(1L);
+      tracker.recordSearchTerm("ana");
+    });
+    tracker.recordUserId(2L);
+
+    assertThat(WarmupScope.isActive()).isFalse();
+    assertThat(tracker.top(HotKeyTracker.USER_ID, Duration.ofMinutes(1), 10))
+        .extracting(hitter -> hitter.key()).containsExactly("2");
+    assertThat(tracker.top(HotKeyTracker.SEARCH_TERM, Duration.ofMinutes(1), 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should keep warm-up statements out of SQL statistics")
+  void statementRecorder_IgnoresWarmupStatements() {
+    StatementRecorder recorder = new StatementRecorder(new JdbcStatsProperties(), registry);
+    StatementStats stats = StatementStats.start();
+
+    WarmupScope.run(() -> recorder.executed("SELECT 1", 1_000));
+    recorder.executed("SELECT 2", 1_000);
+
+    assertThat(stats.count()).isEqualTo(1);
+    assertThat(stats.executions()).containsOnlyKeys("SELECT ?");
+    assertThat(registry.find("users.jdbc.statement").timers()).hasSize(1);
+  }
+}